@@ -2,12 +2,16 @@ package com.aguardi.ecommerce;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class AguardiApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(AguardiApplication.class, args);
+		SpringApplication application = new SpringApplication(AguardiApplication.class);
+		// Timeline de arranque expuesto en /api/actuator/startup
+		application.setApplicationStartup(new BufferingApplicationStartup(4096));
+		application.run(args);
 	}
 
 }
@@ -5,24 +5,46 @@
 
 package com.aguardi.ecommerce.auth.security;
 
+import com.aguardi.ecommerce.shared.event.CachesResyncEvent;
+import com.aguardi.ecommerce.shared.event.UserChangedEvent;
 import com.aguardi.ecommerce.shared.exception.ResourceNotFoundException;
 import com.aguardi.ecommerce.user.entity.User;
 import com.aguardi.ecommerce.user.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
+    // Usuarios autenticados por JWT: evita una query por request.
+    // Se invalida con UserChangedEvent (también los de otras instancias)
+    private final Cache<Long, UserPrincipal> principals;
+
+    public CustomUserDetailsService(
+            UserRepository userRepository,
+            @Value("${app.security.principal-cache-ttl:5m}") Duration principalCacheTtl
+    ) {
+        this.userRepository = userRepository;
+        this.principals = Caffeine.newBuilder()
+                .expireAfterWrite(principalCacheTtl)
+                .maximumSize(10_000)
+                .build();
+    }
+
     /**
      * Cargar usuario por email (usado por Spring Security en el login)
      * @param email Email del usuario
@@ -49,11 +71,23 @@ public class CustomUserDetailsService implements UserDetailsService {
      */
     @Transactional(readOnly = true)
     public UserDetails loadUserById(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario", "id", userId));
+        return principals.get(userId, id -> {
+            User user = userRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Usuario", "id", id));
 
-        log.debug("User loaded by ID: {}", userId);
+            log.debug("User loaded by ID: {}", id);
 
-        return UserPrincipal.create(user);
+            return UserPrincipal.create(user);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        principals.invalidate(event.getUserId());
+    }
+
+    @EventListener
+    public void onCachesResync(CachesResyncEvent event) {
+        principals.invalidateAll();
     }
 }
\ No newline at end of file
@@ -0,0 +1,203 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/cart/controller/CartController.java
+// Propósito: Controller para endpoints del carrito
+// ============================================
+
+package com.aguardi.ecommerce.cart.controller;
+
+import com.aguardi.ecommerce.cart.dto.AddCartItemRequest;
+import com.aguardi.ecommerce.cart.dto.CartQuoteDTO;
+import com.aguardi.ecommerce.cart.dto.CheckoutHoldDTO;
+import com.aguardi.ecommerce.cart.dto.UpdateCartItemRequest;
+import com.aguardi.ecommerce.cart.service.CartService;
+import com.aguardi.ecommerce.shared.dto.ApiResponse;
+import com.aguardi.ecommerce.shared.dto.MessageResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/cart")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Cart", description = "Endpoints del carrito de compras")
+public class CartController {
+
+    private final CartService cartService;
+
+    /**
+     * Crear carrito (anónimo o del usuario autenticado)
+     * POST /api/cart
+     */
+    @PostMapping
+    @Operation(
+            summary = "Crear carrito",
+            description = "Crear un carrito vacío; si hay sesión queda asignado al usuario"
+    )
+    public ResponseEntity<ApiResponse<CartQuoteDTO>> createCart() {
+
+        log.info("Create cart request received");
+
+        CartQuoteDTO cart = cartService.createCart();
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Carrito creado exitosamente", cart));
+    }
+
+    /**
+     * Obtener carrito cotizado
+     * GET /api/cart/{cartId}
+     */
+    @GetMapping("/{cartId}")
+    @Operation(
+            summary = "Obtener carrito",
+            description = "Obtener el carrito con precios, envío y disponibilidad actuales"
+    )
+    public ResponseEntity<ApiResponse<CartQuoteDTO>> getCart(
+            @PathVariable UUID cartId) {
+
+        log.info("Get cart request received - id: {}", cartId);
+
+        return ResponseEntity.ok(
+                ApiResponse.success(cartService.getCart(cartId))
+        );
+    }
+
+    /**
+     * Agregar producto al carrito
+     * POST /api/cart/{cartId}/items
+     */
+    @PostMapping("/{cartId}/items")
+    @Operation(
+            summary = "Agregar producto",
+            description = "Sumar unidades de un producto al carrito"
+    )
+    public ResponseEntity<ApiResponse<CartQuoteDTO>> addItem(
+            @PathVariable UUID cartId,
+            @Valid @RequestBody AddCartItemRequest request) {
+
+        log.info("Add cart item request received - cart: {}, product: {}", cartId, request.getProductId());
+
+        return ResponseEntity.ok(
+                ApiResponse.success(cartService.addItem(cartId, request))
+        );
+    }
+
+    /**
+     * Cambiar cantidad de un producto
+     * PUT /api/cart/{cartId}/items/{productId}
+     */
+    @PutMapping("/{cartId}/items/{productId}")
+    @Operation(
+            summary = "Actualizar cantidad",
+            description = "Fijar la cantidad de un producto del carrito (0 lo elimina)"
+    )
+    public ResponseEntity<ApiResponse<CartQuoteDTO>> updateItem(
+            @PathVariable UUID cartId,
+            @PathVariable Long productId,
+            @Valid @RequestBody UpdateCartItemRequest request) {
+
+        log.info("Update cart item request received - cart: {}, product: {}", cartId, productId);
+
+        return ResponseEntity.ok(
+                ApiResponse.success(cartService.updateItem(cartId, productId, request))
+        );
+    }
+
+    /**
+     * Quitar producto del carrito
+     * DELETE /api/cart/{cartId}/items/{productId}
+     */
+    @DeleteMapping("/{cartId}/items/{productId}")
+    @Operation(
+            summary = "Quitar producto",
+            description = "Eliminar un producto del carrito"
+    )
+    public ResponseEntity<ApiResponse<CartQuoteDTO>> removeItem(
+            @PathVariable UUID cartId,
+            @PathVariable Long productId) {
+
+        log.info("Remove cart item request received - cart: {}, product: {}", cartId, productId);
+
+        return ResponseEntity.ok(
+                ApiResponse.success(cartService.removeItem(cartId, productId))
+        );
+    }
+
+    /**
+     * Iniciar checkout (reserva temporal de stock)
+     * POST /api/cart/{cartId}/checkout
+     */
+    @PostMapping("/{cartId}/checkout")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(
+            summary = "Iniciar checkout",
+            description = "Reservar el stock del carrito mientras se completa la compra (requiere sesión)"
+    )
+    public ResponseEntity<ApiResponse<CheckoutHoldDTO>> startCheckout(
+            @PathVariable UUID cartId) {
+
+        log.info("Start checkout request received - cart: {}", cartId);
+
+        return ResponseEntity.ok(
+                ApiResponse.success(cartService.startCheckout(cartId))
+        );
+    }
+
+    /**
+     * Cancelar checkout (libera el stock reservado)
+     * DELETE /api/cart/{cartId}/checkout
+     */
+    @DeleteMapping("/{cartId}/checkout")
+    @Operation(
+            summary = "Cancelar checkout",
+            description = "Liberar el stock reservado para el carrito"
+    )
+    public ResponseEntity<ApiResponse<MessageResponse>> cancelCheckout(
+            @PathVariable UUID cartId) {
+
+        log.info("Cancel checkout request received - cart: {}", cartId);
+
+        cartService.cancelCheckout(cartId);
+
+        return ResponseEntity.ok(
+                ApiResponse.success(
+                        "Reserva liberada exitosamente",
+                        MessageResponse.success("Reserva liberada exitosamente")
+                )
+        );
+    }
+
+    /**
+     * Eliminar carrito
+     * DELETE /api/cart/{cartId}
+     */
+    @DeleteMapping("/{cartId}")
+    @Operation(
+            summary = "Eliminar carrito",
+            description = "Vaciar y eliminar el carrito"
+    )
+    public ResponseEntity<ApiResponse<MessageResponse>> deleteCart(
+            @PathVariable UUID cartId) {
+
+        log.info("Delete cart request received - id: {}", cartId);
+
+        cartService.deleteCart(cartId);
+
+        return ResponseEntity.ok(
+                ApiResponse.success(
+                        "Carrito eliminado exitosamente",
+                        MessageResponse.success("Carrito eliminado exitosamente")
+                )
+        );
+    }
+}
@@ -0,0 +1,29 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/cart/dto/AddCartItemRequest.java
+// Propósito: DTO para agregar un producto al carrito
+// ============================================
+
+package com.aguardi.ecommerce.cart.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AddCartItemRequest {
+
+    @NotNull(message = "El ID del producto es obligatorio")
+    private Long productId;
+
+    @NotNull(message = "La cantidad es obligatoria")
+    @Min(value = 1, message = "La cantidad debe ser al menos 1")
+    @Max(value = 99, message = "La cantidad no puede superar 99")
+    private Integer quantity;
+}
@@ -0,0 +1,33 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/cart/dto/CartItemDTO.java
+// Propósito: DTO de un item del carrito cotizado
+// ============================================
+
+package com.aguardi.ecommerce.cart.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartItemDTO {
+    private Long productId;
+    private String name;
+    private String mainImageUrl;
+
+    // Precio efectivo actual (con descuento si está en oferta)
+    private BigDecimal unitPrice;
+    private Integer quantity;
+    private BigDecimal lineTotal;
+
+    private Integer availableStock;
+
+    // false si el producto ya no está activo o no alcanza el stock
+    private Boolean available;
+}
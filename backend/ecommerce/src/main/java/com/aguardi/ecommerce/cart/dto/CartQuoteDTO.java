@@ -0,0 +1,39 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/cart/dto/CartQuoteDTO.java
+// Propósito: DTO con el carrito cotizado (precios, envío y stock)
+// ============================================
+
+package com.aguardi.ecommerce.cart.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartQuoteDTO {
+    private UUID cartId;
+
+    @Builder.Default
+    private List<CartItemDTO> items = new ArrayList<>();
+
+    private Integer itemCount; // Cantidad total de unidades
+
+    private BigDecimal subtotal;
+    private BigDecimal shippingCost;
+    private BigDecimal total;
+
+    // true si todos los items tienen stock suficiente
+    private Boolean allAvailable;
+
+    private LocalDateTime quotedAt;
+}
@@ -0,0 +1,32 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/cart/dto/CheckoutHoldDTO.java
+// Propósito: DTO de la reserva de stock de un checkout en curso
+// ============================================
+
+package com.aguardi.ecommerce.cart.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CheckoutHoldDTO {
+    private UUID cartId;
+
+    // productId -> unidades reservadas
+    private Map<Long, Integer> items;
+
+    // Pasado este momento el stock se libera y hay que reiniciar el checkout
+    private Instant expiresAt;
+
+    // Cotización del carrito al momento de reservar
+    private CartQuoteDTO quote;
+}
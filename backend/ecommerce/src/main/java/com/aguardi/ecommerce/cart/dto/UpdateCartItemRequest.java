@@ -0,0 +1,26 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/cart/dto/UpdateCartItemRequest.java
+// Propósito: DTO para cambiar la cantidad de un producto del carrito
+// ============================================
+
+package com.aguardi.ecommerce.cart.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UpdateCartItemRequest {
+
+    @NotNull(message = "La cantidad es obligatoria")
+    @Min(value = 0, message = "La cantidad no puede ser negativa")  // 0 elimina el item
+    @Max(value = 99, message = "La cantidad no puede superar 99")
+    private Integer quantity;
+}
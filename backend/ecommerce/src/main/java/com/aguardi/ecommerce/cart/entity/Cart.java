@@ -0,0 +1,53 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/cart/entity/Cart.java
+// Propósito: Entidad de carrito (CartStore lo lee y escribe en cada cambio)
+// ============================================
+
+package com.aguardi.ecommerce.cart.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Entity
+@Table(name = "carts")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Cart {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "user_id")
+    private Long userId;  // null si el carrito es anónimo
+
+    // productId -> cantidad
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "cart_items", joinColumns = @JoinColumn(name = "cart_id"))
+    @MapKeyColumn(name = "product_id")
+    @Column(name = "quantity", nullable = false)
+    @Builder.Default
+    private Map<Long, Integer> items = new LinkedHashMap<>();
+
+    // Control optimista: CartStore escribe con WHERE version = <la que leyó>
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,16 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/cart/repository/CartRepository.java
+// Propósito: Repositorio de carritos
+// ============================================
+
+package com.aguardi.ecommerce.cart.repository;
+
+import com.aguardi.ecommerce.cart.entity.Cart;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface CartRepository extends JpaRepository<Cart, UUID> {
+}
@@ -0,0 +1,55 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/cart/service/AbandonedCartCleanupJob.java
+// Propósito: Job que borra los carritos persistidos sin cambios hace tiempo
+// ============================================
+
+package com.aguardi.ecommerce.cart.service;
+
+import com.aguardi.ecommerce.shared.job.ScheduledJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Los carritos que terminan en orden se borran al confirmarla; los abandonados
+ * quedan en la BD. Sus items se borran en cascada.
+ *
+ * Un carrito borrado que sigue en memoria de alguna instancia deja de existir
+ * también ahí: CartStore compara su versión con la BD en cada lectura.
+ */
+@Component
+@Slf4j
+public class AbandonedCartCleanupJob implements ScheduledJob {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int retentionDays;
+
+    public AbandonedCartCleanupJob(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.jobs.abandoned-cart-cleanup.retention-days:30}") int retentionDays
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionDays = retentionDays;
+    }
+
+    @Override
+    public String getName() {
+        return "abandoned-cart-cleanup";
+    }
+
+    @Override
+    public String getDefaultCron() {
+        return "0 15 3 * * *";
+    }
+
+    @Override
+    public String run() {
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM carts WHERE updated_at < CURRENT_TIMESTAMP - (? || ' days')::INTERVAL",
+                retentionDays
+        );
+
+        return String.format("%d carts not updated in %d days deleted", deleted, retentionDays);
+    }
+}
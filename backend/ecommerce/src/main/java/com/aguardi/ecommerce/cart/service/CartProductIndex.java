@@ -0,0 +1,59 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/cart/service/CartProductIndex.java
+// Propósito: Carritos en memoria por producto, para invalidar solo las cotizaciones afectadas
+// ============================================
+
+package com.aguardi.ecommerce.cart.service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lo mantiene cada CartState al agregar o quitar productos: un cambio de
+ * producto o de reservas toca solo los carritos que lo tienen, sin recorrer
+ * todos los carritos en memoria. Guarda las instancias (no los IDs): un carrito
+ * desalojado y vuelto a cargar no pisa las entradas del nuevo.
+ *
+ * {@code quoteEpoch} invalida todas las cotizaciones de una vez: una cotización
+ * guardada con un epoch anterior ya no se usa.
+ */
+class CartProductIndex {
+
+    private final ConcurrentHashMap<Long, Set<CartState>> cartsByProduct = new ConcurrentHashMap<>();
+    private final AtomicLong quoteEpoch = new AtomicLong();
+
+    void add(CartState cart, Long productId) {
+        // Dentro de compute: un remove concurrente no puede quitar el set antes del add
+        cartsByProduct.compute(productId, (id, carts) -> {
+            Set<CartState> updated = carts != null ? carts : ConcurrentHashMap.newKeySet();
+            updated.add(cart);
+            return updated;
+        });
+    }
+
+    void remove(CartState cart, Long productId) {
+        cartsByProduct.computeIfPresent(productId, (id, carts) -> {
+            carts.remove(cart);
+            return carts.isEmpty() ? null : carts;
+        });
+    }
+
+    /**
+     * Carritos que tienen el producto
+     */
+    Set<CartState> cartsWith(Long productId) {
+        return cartsByProduct.getOrDefault(productId, Set.of());
+    }
+
+    long getQuoteEpoch() {
+        return quoteEpoch.get();
+    }
+
+    /**
+     * Invalidar las cotizaciones de todos los carritos
+     */
+    void invalidateAllQuotes() {
+        quoteEpoch.incrementAndGet();
+    }
+}
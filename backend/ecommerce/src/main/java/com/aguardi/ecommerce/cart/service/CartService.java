@@ -0,0 +1,95 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/cart/service/CartService.java
+// Propósito: Interface del servicio de carritos
+// ============================================
+
+package com.aguardi.ecommerce.cart.service;
+
+import com.aguardi.ecommerce.cart.dto.AddCartItemRequest;
+import com.aguardi.ecommerce.cart.dto.CartQuoteDTO;
+import com.aguardi.ecommerce.cart.dto.CheckoutHoldDTO;
+import com.aguardi.ecommerce.cart.dto.UpdateCartItemRequest;
+
+import java.util.UUID;
+
+public interface CartService {
+
+    /**
+     * Crear un carrito vacío (anónimo o del usuario autenticado)
+     * @return Carrito nuevo cotizado
+     */
+    CartQuoteDTO createCart();
+
+    /**
+     * Obtener el carrito con su cotización (precios, envío y stock)
+     * @param cartId ID del carrito
+     * @return Carrito cotizado (cacheado hasta que cambie el carrito o sus productos)
+     */
+    CartQuoteDTO getCart(UUID cartId);
+
+    /**
+     * Agregar unidades de un producto
+     * @param cartId ID del carrito
+     * @param request Producto y cantidad
+     * @return Carrito cotizado
+     */
+    CartQuoteDTO addItem(UUID cartId, AddCartItemRequest request);
+
+    /**
+     * Cambiar la cantidad de un producto (0 lo elimina)
+     * @param cartId ID del carrito
+     * @param productId ID del producto
+     * @param request Nueva cantidad
+     * @return Carrito cotizado
+     */
+    CartQuoteDTO updateItem(UUID cartId, Long productId, UpdateCartItemRequest request);
+
+    /**
+     * Quitar un producto del carrito
+     * @param cartId ID del carrito
+     * @param productId ID del producto
+     * @return Carrito cotizado
+     */
+    CartQuoteDTO removeItem(UUID cartId, Long productId);
+
+    /**
+     * Eliminar el carrito
+     * @param cartId ID del carrito
+     */
+    void deleteCart(UUID cartId);
+
+    /**
+     * Iniciar el checkout: reservar el stock del carrito por un tiempo limitado
+     * (volver a llamarlo renueva la reserva con el contenido actual)
+     * @param cartId ID del carrito
+     * @return Reserva con su vencimiento
+     */
+    CheckoutHoldDTO startCheckout(UUID cartId);
+
+    /**
+     * Cancelar el checkout y liberar el stock reservado
+     * @param cartId ID del carrito
+     */
+    void cancelCheckout(UUID cartId);
+
+    /**
+     * Obtener la cotización para crear la orden (requiere usuario autenticado)
+     * @param cartId ID del carrito
+     * @return Carrito cotizado
+     */
+    CartQuoteDTO getQuoteForCheckout(UUID cartId);
+
+    /**
+     * Bloquear el carrito en la transacción actual (la de la orden) y verificar
+     * que sigue teniendo lo cotizado: no puede cambiar hasta que la orden confirme
+     * @param cartId ID del carrito
+     * @param quote Cotización con la que se arma la orden
+     */
+    void lockForCheckout(UUID cartId, CartQuoteDTO quote);
+
+    /**
+     * Descartar la cotización cacheada (la próxima lectura vuelve a cotizar)
+     * @param cartId ID del carrito
+     */
+    void invalidateQuote(UUID cartId);
+}
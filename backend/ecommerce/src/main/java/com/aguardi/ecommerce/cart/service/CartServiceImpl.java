@@ -0,0 +1,344 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/cart/service/CartServiceImpl.java
+// Propósito: Implementación del servicio de carritos
+// ============================================
+
+package com.aguardi.ecommerce.cart.service;
+
+import com.aguardi.ecommerce.cart.dto.AddCartItemRequest;
+import com.aguardi.ecommerce.cart.dto.CartItemDTO;
+import com.aguardi.ecommerce.cart.dto.CartQuoteDTO;
+import com.aguardi.ecommerce.cart.dto.CheckoutHoldDTO;
+import com.aguardi.ecommerce.cart.dto.UpdateCartItemRequest;
+import com.aguardi.ecommerce.order.service.ShippingCalculator;
+import com.aguardi.ecommerce.product.entity.Product;
+import com.aguardi.ecommerce.product.mapper.ProductMapper;
+import com.aguardi.ecommerce.product.repository.ProductRepository;
+import com.aguardi.ecommerce.product.service.StockHold;
+import com.aguardi.ecommerce.product.service.StockHoldRegistry;
+import com.aguardi.ecommerce.shared.event.CartCheckedOutEvent;
+import com.aguardi.ecommerce.shared.exception.BadRequestException;
+import com.aguardi.ecommerce.shared.exception.ConflictException;
+import com.aguardi.ecommerce.shared.exception.ForbiddenException;
+import com.aguardi.ecommerce.shared.exception.ResourceNotFoundException;
+import com.aguardi.ecommerce.shared.exception.UnauthorizedException;
+import com.aguardi.ecommerce.shared.util.SecurityUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class CartServiceImpl implements CartService {
+
+    private final CartStore cartStore;
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final ShippingCalculator shippingCalculator;
+    private final StockHoldRegistry stockHoldRegistry;
+    private final int maxItems;
+
+    public CartServiceImpl(
+            CartStore cartStore,
+            ProductRepository productRepository,
+            ProductMapper productMapper,
+            ShippingCalculator shippingCalculator,
+            StockHoldRegistry stockHoldRegistry,
+            @Value("${app.cart.max-items:50}") int maxItems
+    ) {
+        this.cartStore = cartStore;
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.shippingCalculator = shippingCalculator;
+        this.stockHoldRegistry = stockHoldRegistry;
+        this.maxItems = maxItems;
+    }
+
+    @Override
+    public CartQuoteDTO createCart() {
+        Long userId = SecurityUtils.isAuthenticated() ? SecurityUtils.getCurrentUserId() : null;
+
+        CartState cart = cartStore.create(userId);
+        log.info("Cart created: {} (user: {})", cart.getId(), userId);
+
+        return quote(cart);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CartQuoteDTO getCart(UUID cartId) {
+        return quote(getAccessibleCart(cartId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CartQuoteDTO addItem(UUID cartId, AddCartItemRequest request) {
+        log.info("Adding product {} x{} to cart {}", request.getProductId(), request.getQuantity(), cartId);
+
+        CartState cart = getAccessibleCart(cartId);
+
+        if (!productRepository.existsByIdAndActiveTrue(request.getProductId())) {
+            throw new ResourceNotFoundException("Producto", "id", request.getProductId());
+        }
+
+        cartStore.update(cart, state -> {
+            if (!state.contains(request.getProductId()) && state.size() >= maxItems) {
+                throw new BadRequestException(
+                        String.format("El carrito no puede tener más de %d productos distintos", maxItems)
+                );
+            }
+
+            state.addItem(request.getProductId(), request.getQuantity());
+        });
+
+        return quote(cart);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CartQuoteDTO updateItem(UUID cartId, Long productId, UpdateCartItemRequest request) {
+        log.info("Updating product {} to x{} in cart {}", productId, request.getQuantity(), cartId);
+
+        CartState cart = getAccessibleCart(cartId);
+
+        cartStore.update(cart, state -> {
+            if (!state.contains(productId)) {
+                throw new ResourceNotFoundException("Producto en carrito", "id", productId);
+            }
+
+            state.setItem(productId, request.getQuantity());
+        });
+
+        return quote(cart);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CartQuoteDTO removeItem(UUID cartId, Long productId) {
+        log.info("Removing product {} from cart {}", productId, cartId);
+
+        CartState cart = getAccessibleCart(cartId);
+        cartStore.update(cart, state -> state.setItem(productId, 0));
+
+        return quote(cart);
+    }
+
+    @Override
+    public void deleteCart(UUID cartId) {
+        log.info("Deleting cart: {}", cartId);
+
+        getAccessibleCart(cartId);
+        cartStore.remove(cartId);
+        stockHoldRegistry.release(cartId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CheckoutHoldDTO startCheckout(UUID cartId) {
+        log.info("Starting checkout for cart: {}", cartId);
+
+        CartQuoteDTO quote = getQuoteForCheckout(cartId);
+
+        Map<Long, Integer> items = quote.getItems().stream()
+                .collect(Collectors.toMap(CartItemDTO::getProductId, CartItemDTO::getQuantity));
+
+        StockHold hold = stockHoldRegistry.place(cartId, items);
+
+        return CheckoutHoldDTO.builder()
+                .cartId(cartId)
+                .items(hold.getItems())
+                .expiresAt(hold.getExpiresAt())
+                .quote(quote)
+                .build();
+    }
+
+    @Override
+    public void cancelCheckout(UUID cartId) {
+        log.info("Cancelling checkout for cart: {}", cartId);
+
+        getAccessibleCart(cartId);
+        stockHoldRegistry.release(cartId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CartQuoteDTO getQuoteForCheckout(UUID cartId) {
+        if (!SecurityUtils.isAuthenticated()) {
+            throw new UnauthorizedException("Debe iniciar sesión para finalizar la compra");
+        }
+
+        CartQuoteDTO quote = quote(getAccessibleCart(cartId));
+
+        if (quote.getItems().isEmpty()) {
+            throw new BadRequestException("El carrito está vacío");
+        }
+
+        return quote;
+    }
+
+    @Override
+    public void lockForCheckout(UUID cartId, CartQuoteDTO quote) {
+        Map<Long, Integer> items = cartStore.lockItems(cartId);
+        if (items == null) {
+            throw new ResourceNotFoundException("Carrito", "id", cartId);
+        }
+
+        Map<Long, Integer> quoted = quote.getItems().stream()
+                .collect(Collectors.toMap(CartItemDTO::getProductId, CartItemDTO::getQuantity));
+
+        if (!items.equals(quoted)) {
+            invalidateQuote(cartId);
+            throw new ConflictException("El carrito cambió. Revisá el carrito antes de confirmar la compra");
+        }
+    }
+
+    @Override
+    public void invalidateQuote(UUID cartId) {
+        CartState cart = cartStore.find(cartId);
+        if (cart != null) {
+            cart.invalidateQuote();
+        }
+    }
+
+    /**
+     * Eliminar el carrito y su reserva una vez confirmada la orden
+     * (el stock ya se descontó en la misma transacción)
+     */
+    @TransactionalEventListener
+    public void onCartCheckedOut(CartCheckedOutEvent event) {
+        log.info("Cart {} converted to order {}", event.getCartId(), event.getOrderId());
+        cartStore.remove(event.getCartId());
+        stockHoldRegistry.release(event.getCartId());
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    /**
+     * Buscar el carrito y verificar que el usuario actual puede usarlo.
+     * Un carrito anónimo queda asignado al primer usuario autenticado que lo usa.
+     */
+    private CartState getAccessibleCart(UUID cartId) {
+        CartState cart = cartStore.find(cartId);
+        if (cart == null) {
+            throw new ResourceNotFoundException("Carrito", "id", cartId);
+        }
+
+        Long ownerId = cart.getUserId();
+
+        if (SecurityUtils.isAuthenticated()) {
+            Long currentUserId = SecurityUtils.getCurrentUserId();
+            if (ownerId == null) {
+                cartStore.update(cart, state -> {
+                    // Otra sesión pudo asignarlo mientras tanto
+                    if (state.getUserId() != null && !state.getUserId().equals(currentUserId)) {
+                        throw new ForbiddenException("No tiene permisos para acceder a este carrito");
+                    }
+                    state.assignUser(currentUserId);
+                });
+            } else if (!ownerId.equals(currentUserId) && !SecurityUtils.isAdmin()) {
+                throw new ForbiddenException("No tiene permisos para acceder a este carrito");
+            }
+        } else if (ownerId != null) {
+            throw new ForbiddenException("Debe iniciar sesión para acceder a este carrito");
+        }
+
+        return cart;
+    }
+
+    /**
+     * Cotizar el carrito con una sola query de productos; el resultado queda
+     * cacheado en el carrito hasta que cambie el carrito o alguno de sus productos
+     */
+    private CartQuoteDTO quote(CartState cart) {
+        CartQuoteDTO cached = cart.getQuote();
+        if (cached != null) {
+            return cached;
+        }
+
+        CartState.Snapshot snapshot = cart.snapshot();
+
+        Map<Long, Product> products = snapshot.items().isEmpty()
+                ? Map.of()
+                : productRepository.findActiveByIdIn(snapshot.items().keySet()).stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        // Lo reservado por otros checkouts no está disponible para este carrito
+        Map<Long, Integer> reservedByOthers = products.isEmpty()
+                ? Map.of()
+                : stockHoldRegistry.reservedByOthers(products.keySet(), cart.getId());
+
+        List<CartItemDTO> items = new ArrayList<>();
+        BigDecimal subtotal = BigDecimal.ZERO;
+        int itemCount = 0;
+        boolean allAvailable = true;
+
+        for (Map.Entry<Long, Integer> entry : snapshot.items().entrySet()) {
+            Product product = products.get(entry.getKey());
+            int quantity = entry.getValue();
+
+            if (product == null) {
+                // Producto desactivado o eliminado después de agregarlo
+                items.add(CartItemDTO.builder()
+                        .productId(entry.getKey())
+                        .quantity(quantity)
+                        .availableStock(0)
+                        .available(false)
+                        .build());
+                allAvailable = false;
+                continue;
+            }
+
+            BigDecimal unitPrice = product.getEffectivePrice();
+            BigDecimal lineTotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
+
+            int availableStock = Math.max(0,
+                    product.getStock() - reservedByOthers.getOrDefault(product.getId(), 0));
+            boolean available = quantity <= availableStock;
+
+            items.add(CartItemDTO.builder()
+                    .productId(product.getId())
+                    .name(product.getName())
+                    .mainImageUrl(productMapper.getMainImageUrl(product))
+                    .unitPrice(unitPrice)
+                    .quantity(quantity)
+                    .lineTotal(lineTotal)
+                    .availableStock(availableStock)
+                    .available(available)
+                    .build());
+
+            subtotal = subtotal.add(lineTotal);
+            itemCount += quantity;
+            allAvailable &= available;
+        }
+
+        BigDecimal shippingCost = items.isEmpty() ? BigDecimal.ZERO : shippingCalculator.calculate(subtotal);
+
+        CartQuoteDTO quote = CartQuoteDTO.builder()
+                .cartId(cart.getId())
+                .items(items)
+                .itemCount(itemCount)
+                .subtotal(subtotal)
+                .shippingCost(shippingCost)
+                .total(subtotal.add(shippingCost))
+                .allAvailable(allAvailable)
+                .quotedAt(LocalDateTime.now())
+                .build();
+
+        cart.cacheQuote(quote, snapshot.version());
+
+        return quote;
+    }
+}
@@ -0,0 +1,229 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/cart/service/CartState.java
+// Propósito: Estado en memoria de un carrito (items, cotización cacheada, versión en la BD)
+// ============================================
+
+package com.aguardi.ecommerce.cart.service;
+
+import com.aguardi.ecommerce.cart.dto.CartQuoteDTO;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Todos los accesos se sincronizan sobre la instancia: un carrito recibe pocos
+ * requests concurrentes (el mismo usuario), así que no hace falta nada más fino.
+ *
+ * {@code version} cuenta los cambios en memoria: la cotización solo se acepta si
+ * no hubo cambios mientras se calculaba. {@code dbVersion} es la versión de la
+ * fila de carts de la que salen los datos; CartStore la compara con la BD para
+ * saber si otra instancia cambió el carrito.
+ *
+ * Mientras está en CartStore, cada producto agregado o quitado se refleja en el
+ * CartProductIndex; al salir de memoria ({@link #detach}) deja de estarlo.
+ */
+public class CartState {
+
+    @Getter
+    private final UUID id;
+
+    private Long userId;
+    private final Map<Long, Integer> items;
+    private final CartProductIndex index;
+    private boolean detached;
+
+    private long version;
+    private long dbVersion;
+    private boolean discarded;
+
+    private CartQuoteDTO quote;
+    private long quoteVersion = -1;
+    private long quoteEpoch;
+
+    CartState(UUID id, Long userId, Map<Long, Integer> items, long dbVersion, CartProductIndex index) {
+        this.id = id;
+        this.userId = userId;
+        this.items = new LinkedHashMap<>(items);
+        this.index = index;
+        this.dbVersion = dbVersion;
+
+        items.keySet().forEach(productId -> index.add(this, productId));
+    }
+
+    public synchronized Long getUserId() {
+        return userId;
+    }
+
+    public synchronized void assignUser(Long userId) {
+        this.userId = userId;
+        changed();
+    }
+
+    public synchronized Map<Long, Integer> getItems() {
+        return new LinkedHashMap<>(items);
+    }
+
+    public synchronized int size() {
+        return items.size();
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sumar unidades de un producto
+     */
+    public synchronized void addItem(Long productId, int quantity) {
+        if (!items.containsKey(productId)) {
+            indexed(productId);
+        }
+        items.merge(productId, quantity, Integer::sum);
+        changed();
+    }
+
+    /**
+     * Fijar la cantidad de un producto (0 lo elimina)
+     */
+    public synchronized void setItem(Long productId, int quantity) {
+        if (quantity <= 0) {
+            if (items.remove(productId) != null) {
+                unindexed(productId);
+            }
+        } else if (items.put(productId, quantity) == null) {
+            indexed(productId);
+        }
+        changed();
+    }
+
+    public synchronized boolean contains(Long productId) {
+        return items.containsKey(productId);
+    }
+
+    // ========================================
+    // COTIZACIÓN CACHEADA
+    // ========================================
+
+    public synchronized CartQuoteDTO getQuote() {
+        return quoteVersion == version && quoteEpoch == index.getQuoteEpoch() ? quote : null;
+    }
+
+    /**
+     * Guardar la cotización si el carrito no cambió mientras se calculaba
+     */
+    public synchronized void cacheQuote(CartQuoteDTO quote, long calculatedAtVersion) {
+        if (calculatedAtVersion == version) {
+            this.quote = quote;
+            this.quoteVersion = calculatedAtVersion;
+            this.quoteEpoch = index.getQuoteEpoch();
+        }
+    }
+
+    public synchronized void invalidateQuote() {
+        quote = null;
+        quoteVersion = -1;
+    }
+
+    // ========================================
+    // VERSIÓN EN LA BD
+    // ========================================
+
+    public synchronized long getDbVersion() {
+        return dbVersion;
+    }
+
+    /**
+     * Copia consistente de los datos a persistir
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(userId, new LinkedHashMap<>(items), version);
+    }
+
+    /**
+     * Registrar la versión de la fila después de escribir los cambios
+     */
+    public synchronized void markPersisted(long persistedDbVersion) {
+        dbVersion = persistedDbVersion;
+    }
+
+    /**
+     * Volver a los datos de un snapshot (la escritura en la BD falló)
+     */
+    public synchronized void restore(Snapshot snapshot) {
+        if (snapshot.version() != version) {
+            replaceContents(snapshot.userId(), snapshot.items());
+        }
+    }
+
+    /**
+     * Reemplazar los datos por los de la BD (otra instancia cambió el carrito).
+     * Una lectura más vieja que la versión actual se ignora.
+     */
+    public synchronized void reset(Long userId, Map<Long, Integer> items, long loadedDbVersion) {
+        if (loadedDbVersion > dbVersion) {
+            replaceContents(userId, items);
+            dbVersion = loadedDbVersion;
+        }
+    }
+
+    /**
+     * Marcar el carrito como descartado (checkout o borrado)
+     */
+    public synchronized void discard() {
+        discarded = true;
+        invalidateQuote();
+        detach();
+    }
+
+    /**
+     * Sacar el carrito del índice por producto (salió de memoria)
+     */
+    public synchronized void detach() {
+        if (!detached) {
+            detached = true;
+            items.keySet().forEach(productId -> index.remove(this, productId));
+        }
+    }
+
+    public synchronized boolean isDiscarded() {
+        return discarded;
+    }
+
+    private void replaceContents(Long userId, Map<Long, Integer> newItems) {
+        this.userId = userId;
+
+        items.keySet().stream()
+                .filter(productId -> !newItems.containsKey(productId))
+                .toList()
+                .forEach(this::unindexed);
+        newItems.keySet().stream()
+                .filter(productId -> !items.containsKey(productId))
+                .forEach(this::indexed);
+
+        items.clear();
+        items.putAll(newItems);
+        changed();
+    }
+
+    private void indexed(Long productId) {
+        if (!detached) {
+            index.add(this, productId);
+        }
+    }
+
+    private void unindexed(Long productId) {
+        if (!detached) {
+            index.remove(this, productId);
+        }
+    }
+
+    private void changed() {
+        version++;
+        invalidateQuote();
+    }
+
+    public record Snapshot(Long userId, Map<Long, Integer> items, long version) {
+    }
+}
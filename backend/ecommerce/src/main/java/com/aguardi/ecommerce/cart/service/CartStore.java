@@ -0,0 +1,324 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/cart/service/CartStore.java
+// Propósito: Carritos activos en memoria, escritos en la BD en cada cambio
+// ============================================
+
+package com.aguardi.ecommerce.cart.service;
+
+import com.aguardi.ecommerce.cart.entity.Cart;
+import com.aguardi.ecommerce.cart.repository.CartRepository;
+import com.aguardi.ecommerce.shared.datasource.PrimaryReads;
+import com.aguardi.ecommerce.shared.event.CachesResyncEvent;
+import com.aguardi.ecommerce.shared.event.CatalogChangedEvent;
+import com.aguardi.ecommerce.shared.event.StockHoldsChangedEvent;
+import com.aguardi.ecommerce.shared.exception.ConflictException;
+import com.aguardi.ecommerce.shared.exception.ResourceNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * La BD es la fuente de verdad y cualquier instancia puede atender cualquier
+ * carrito (no hace falta sticky session). La memoria es un cache de la fila de
+ * carts con su versión, que guarda también la cotización calculada.
+ *
+ * Cada cambio se escribe en la BD antes de responder, con control optimista:
+ * UPDATE ... WHERE version = <la de memoria>. Si otra instancia lo cambió antes,
+ * se relee el carrito y se vuelve a aplicar el cambio sobre los datos nuevos.
+ *
+ * Cada lectura compara la versión en memoria con la del primario (una consulta
+ * por clave primaria): si otra instancia lo cambió se relee, y si lo borró
+ * (orden creada, carrito eliminado) el carrito deja de existir también acá.
+ *
+ * Las lecturas y escrituras de la BD usan una transacción propia: remove() se
+ * llama desde listeners AFTER_COMMIT y los métodos de CartService corren en
+ * transacciones de solo lectura, que irían a una réplica o no escribirían nada.
+ * Los carritos sin cambios por {@code app.jobs.abandoned-cart-cleanup.retention-days}
+ * los borra AbandonedCartCleanupJob.
+ */
+@Component
+@Slf4j
+public class CartStore {
+
+    // Escrituras concurrentes desde otras instancias antes de rendirse con un 409
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private final CartRepository cartRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate primaryRead;
+    private final Cache<UUID, CartState> carts;
+    private final CartProductIndex index = new CartProductIndex();
+
+    public CartStore(
+            CartRepository cartRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.cart.idle-ttl:30m}") Duration idleTtl,
+            @Value("${app.cart.max-in-memory:50000}") long maxInMemory,
+            MeterRegistry meterRegistry
+    ) {
+        this.cartRepository = cartRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.primaryRead = PrimaryReads.template(transactionManager);
+        this.carts = Caffeine.newBuilder()
+                .expireAfterAccess(idleTtl)
+                .maximumSize(maxInMemory)
+                .scheduler(Scheduler.systemScheduler())
+                .evictionListener(this::onEviction)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, carts, "carts");
+    }
+
+    /**
+     * Crear un carrito nuevo (queda en la BD antes de devolverlo)
+     */
+    public CartState create(Long userId) {
+        UUID cartId = UUID.randomUUID();
+
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.update(
+                "INSERT INTO carts (id, user_id, version) VALUES (?, ?, 0)", cartId, userId
+        ));
+
+        CartState state = new CartState(cartId, userId, Map.of(), 0, index);
+        carts.put(cartId, state);
+        return state;
+    }
+
+    /**
+     * Buscar un carrito, al día con la BD
+     * @return Estado del carrito, o null si no existe
+     */
+    public CartState find(UUID cartId) {
+        CartState cached = carts.getIfPresent(cartId);
+        if (cached == null) {
+            return carts.get(cartId, this::load);
+        }
+
+        List<Long> versions = primaryRead.execute(status -> jdbcTemplate.queryForList(
+                "SELECT version FROM carts WHERE id = ?", Long.class, cartId
+        ));
+
+        if (versions.isEmpty()) {
+            evict(cached);
+            return null;
+        }
+
+        if (versions.get(0) != cached.getDbVersion() && !reload(cached)) {
+            return null;
+        }
+
+        return cached;
+    }
+
+    /**
+     * Aplicar un cambio al carrito y escribirlo en la BD. Si otra instancia lo
+     * cambió antes, se relee y se vuelve a aplicar {@code change} (que puede
+     * validar y lanzar una excepción sobre los datos nuevos).
+     * @throws ResourceNotFoundException si el carrito se eliminó en otra instancia
+     * @throws ConflictException si sigue cambiando en otras instancias después de los reintentos
+     */
+    public void update(CartState state, Consumer<CartState> change) {
+        synchronized (state) {
+            for (int attempt = 1; ; attempt++) {
+                CartState.Snapshot before = state.snapshot();
+
+                try {
+                    change.accept(state);
+                    state.markPersisted(write(state.getId(), state.snapshot(), state.getDbVersion()));
+                    return;
+                } catch (OptimisticLockingFailureException e) {
+                    state.restore(before);
+
+                    if (!reload(state)) {
+                        throw new ResourceNotFoundException("Carrito", "id", state.getId());
+                    }
+                    if (attempt == MAX_WRITE_ATTEMPTS) {
+                        throw new ConflictException("El carrito se modificó desde otra sesión. Intentá de nuevo", e);
+                    }
+
+                    log.debug("Cart {} changed on another instance, retrying update", state.getId());
+                } catch (RuntimeException e) {
+                    state.restore(before);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Items del carrito en la BD, bloqueando su fila hasta el fin de la transacción
+     * del llamador: no puede cambiar mientras se crea la orden
+     * @return productId -> cantidad, o null si el carrito no existe
+     */
+    public Map<Long, Integer> lockItems(UUID cartId) {
+        if (jdbcTemplate.queryForList("SELECT id FROM carts WHERE id = ? FOR UPDATE", UUID.class, cartId).isEmpty()) {
+            return null;
+        }
+
+        Map<Long, Integer> items = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT product_id, quantity FROM cart_items WHERE cart_id = ?",
+                rs -> {
+                    items.put(rs.getLong("product_id"), rs.getInt("quantity"));
+                },
+                cartId
+        );
+
+        return items;
+    }
+
+    /**
+     * Eliminar un carrito de memoria y de la BD
+     */
+    public void remove(UUID cartId) {
+        CartState state = carts.asMap().remove(cartId);
+        if (state != null) {
+            state.discard();
+        }
+
+        writeTransaction.executeWithoutResult(status ->
+                jdbcTemplate.update("DELETE FROM carts WHERE id = ?", cartId)
+        );
+    }
+
+    /**
+     * Invalidar las cotizaciones de los carritos que tienen el producto modificado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getEntityType() != CatalogChangedEvent.EntityType.PRODUCT) {
+            return;
+        }
+
+        invalidateQuotes(event.getEntityIds());
+    }
+
+    /**
+     * Invalidar las cotizaciones afectadas por reservas de stock de otros checkouts
+     * (después del commit: una cotización armada antes no vería la reserva)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockHoldsChanged(StockHoldsChangedEvent event) {
+        invalidateQuotes(event.getProductIds());
+    }
+
+    /**
+     * Invalidar todas las cotizaciones (pudieron perderse cambios de otras instancias)
+     */
+    @EventListener
+    public void onCachesResync(CachesResyncEvent event) {
+        index.invalidateAllQuotes();
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    private void invalidateQuotes(Collection<Long> productIds) {
+        for (Long productId : productIds) {
+            index.cartsWith(productId).forEach(CartState::invalidateQuote);
+        }
+    }
+
+    private CartState load(UUID cartId) {
+        return primaryRead.execute(status -> cartRepository.findById(cartId)
+                .map(cart -> new CartState(cart.getId(), cart.getUserId(), cart.getItems(), cart.getVersion(), index))
+                .orElse(null));
+    }
+
+    /**
+     * Releer un carrito en memoria
+     * @return false si ya no existe en la BD (se saca de memoria)
+     */
+    private boolean reload(CartState state) {
+        // items es EAGER: la entidad se usa completa fuera de la transacción
+        Cart cart = primaryRead.execute(status -> cartRepository.findById(state.getId()).orElse(null));
+
+        if (cart == null) {
+            evict(state);
+            return false;
+        }
+
+        state.reset(cart.getUserId(), cart.getItems(), cart.getVersion());
+        return true;
+    }
+
+    /**
+     * Escribir el carrito si la fila sigue en la versión de la que salieron sus datos
+     * @return Nueva versión de la fila
+     * @throws OptimisticLockingFailureException si otra instancia lo cambió o eliminó
+     */
+    private long write(UUID cartId, CartState.Snapshot snapshot, long expectedVersion) {
+        return writeTransaction.execute(status -> {
+            List<Long> versions = jdbcTemplate.queryForList(
+                    "UPDATE carts SET user_id = ?, version = version + 1, updated_at = CURRENT_TIMESTAMP " +
+                            "WHERE id = ? AND version = ? RETURNING version",
+                    Long.class, snapshot.userId(), cartId, expectedVersion
+            );
+
+            if (versions.isEmpty()) {
+                throw new OptimisticLockingFailureException(
+                        "Cart " + cartId + " is no longer at version " + expectedVersion);
+            }
+
+            jdbcTemplate.update("DELETE FROM cart_items WHERE cart_id = ?", cartId);
+
+            if (!snapshot.items().isEmpty()) {
+                List<Long> productIds = List.copyOf(snapshot.items().keySet());
+                List<Integer> quantities = productIds.stream().map(snapshot.items()::get).toList();
+
+                jdbcTemplate.update(
+                        "INSERT INTO cart_items (cart_id, product_id, quantity) " +
+                                "SELECT ?, t.product_id, t.quantity " +
+                                "FROM unnest(?::bigint[], ?::integer[]) AS t(product_id, quantity)",
+                        ps -> {
+                            ps.setObject(1, cartId);
+                            ps.setArray(2, ps.getConnection().createArrayOf("bigint", productIds.toArray()));
+                            ps.setArray(3, ps.getConnection().createArrayOf("integer", quantities.toArray()));
+                        }
+                );
+            }
+
+            return versions.get(0);
+        });
+    }
+
+    private void evict(CartState state) {
+        if (carts.asMap().remove(state.getId(), state)) {
+            state.discard();
+        }
+    }
+
+    private void onEviction(UUID cartId, CartState state, RemovalCause cause) {
+        if (state != null) {
+            // Los datos ya están en la BD: solo deja de contar para las invalidaciones
+            state.detach();
+        }
+    }
+}
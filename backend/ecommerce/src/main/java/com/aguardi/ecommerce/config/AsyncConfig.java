@@ -12,6 +12,8 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Configuration
 @EnableAsync
@@ -34,4 +36,17 @@ public class AsyncConfig {
 
         return executor;
     }
+
+    /**
+     * Executor de virtual threads para consultas en paralelo (un thread por tarea).
+     * Las tareas bloquean en JDBC, así que no conviene un pool chico de platform threads.
+     */
+    @Bean(name = "virtualThreadExecutor", destroyMethod = "close")
+    public ExecutorService virtualThreadExecutor() {
+        log.info("Creating Virtual Thread Executor");
+
+        return Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("vt-", 0).factory()
+        );
+    }
 }
\ No newline at end of file
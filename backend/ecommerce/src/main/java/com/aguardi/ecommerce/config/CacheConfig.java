@@ -0,0 +1,48 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/config/CacheConfig.java
+// Propósito: Caches en memoria (Caffeine) de respuestas del catálogo
+// ============================================
+
+package com.aguardi.ecommerce.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+@Slf4j
+public class CacheConfig {
+
+    /** Respuesta compuesta de la home (una sola entrada) */
+    public static final String STOREFRONT_HOME = "storefrontHome";
+
+    /**
+     * Cache manager con configuración propia por cache.
+     * Las entradas se invalidan con CatalogChangedEvent; el TTL es solo un respaldo.
+     */
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${app.storefront.cache-ttl:10m}") Duration storefrontTtl
+    ) {
+        log.info("Creating Caffeine cache manager");
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+
+        cacheManager.registerCustomCache(STOREFRONT_HOME, Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(storefrontTtl)
+                .recordStats()
+                .build());
+
+        return cacheManager;
+    }
+}
@@ -0,0 +1,39 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/config/CloudinaryConfig.java
+// Propósito: Cliente de Cloudinary compartido (storage y URLs de imágenes)
+// ============================================
+
+package com.aguardi.ecommerce.config;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "storage.type", havingValue = "cloudinary")
+@Slf4j
+public class CloudinaryConfig {
+
+    /**
+     * Cliente de Cloudinary (no hace llamadas de red al crearse)
+     */
+    @Bean
+    public Cloudinary cloudinary(
+            @Value("${cloudinary.cloud-name}") String cloudName,
+            @Value("${cloudinary.api-key}") String apiKey,
+            @Value("${cloudinary.api-secret}") String apiSecret
+    ) {
+        log.info("Creating Cloudinary client for cloud: {}", cloudName);
+
+        return new Cloudinary(ObjectUtils.asMap(
+                "cloud_name", cloudName,
+                "api_key", apiKey,
+                "api_secret", apiSecret,
+                "secure", true
+        ));
+    }
+}
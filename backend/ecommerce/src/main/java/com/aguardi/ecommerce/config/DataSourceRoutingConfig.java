@@ -0,0 +1,124 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/config/DataSourceRoutingConfig.java
+// Propósito: Pool primario + pool de réplica con ruteo de transacciones readOnly
+// Uso: Solo con app.datasource.replica.enabled=true (si no, Spring Boot crea el pool único)
+// ============================================
+
+package com.aguardi.ecommerce.config;
+
+import com.aguardi.ecommerce.shared.datasource.ReadYourWritesTracker;
+import com.aguardi.ecommerce.shared.datasource.ReplicaLagMonitor;
+import com.aguardi.ecommerce.shared.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+@Slf4j
+public class DataSourceRoutingConfig {
+
+    /**
+     * Pool primario: escrituras y lecturas que no pueden ir a la réplica.
+     * Toma spring.datasource.* y spring.datasource.hikari.* como el pool por defecto.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(
+            DataSourceProperties properties,
+            ObjectProvider<JdbcConnectionDetails> connectionDetails
+    ) {
+        JdbcConnectionDetails details = connectionDetails.getIfAvailable();
+
+        HikariDataSource dataSource = DataSourceBuilder.create(properties.getClassLoader())
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(details != null ? details.getJdbcUrl() : properties.determineUrl())
+                .username(details != null ? details.getUsername() : properties.determineUsername())
+                .password(details != null ? details.getPassword() : properties.determinePassword())
+                .build();
+        dataSource.setPoolName("primary");
+
+        return dataSource;
+    }
+
+    /**
+     * Pool de réplica: solo transacciones readOnly
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username}") String username,
+            @Value("${app.datasource.replica.password}") String password
+    ) {
+        HikariDataSource dataSource = DataSourceBuilder.create(properties.getClassLoader())
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${app.datasource.replica.max-lag:5s}") Duration maxLag,
+            MeterRegistry meterRegistry
+    ) {
+        return new ReplicaLagMonitor(replicaDataSource, maxLag, meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${app.datasource.replica.sticky-window:10s}") Duration stickyWindow
+    ) {
+        return new ReadYourWritesTracker(stickyWindow);
+    }
+
+    /**
+     * DataSource usado por JPA, Flyway y JdbcTemplate
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaLagMonitor replicaLagMonitor,
+            ReadYourWritesTracker readYourWritesTracker,
+            MeterRegistry meterRegistry
+    ) {
+        log.info("Routing readOnly transactions to the read replica");
+
+        // Se verifica la réplica antes de mandarle tráfico
+        replicaLagMonitor.check();
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primaryDataSource, replicaDataSource, replicaLagMonitor, readYourWritesTracker, meterRegistry
+        );
+
+        // La conexión se elige con la primera sentencia, no al abrir la transacción
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,122 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/config/HibernateCacheConfig.java
+// Propósito: Cache de segundo nivel de Hibernate (JCache sobre Caffeine, local a cada instancia)
+// Uso: Entidades de referencia (categorías, productos, imágenes, usuarios) leídas por id
+// ============================================
+
+package com.aguardi.ecommerce.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+@Configuration
+@Slf4j
+public class HibernateCacheConfig {
+
+    // Regiones (nombres usados en @Cache y en los hints de consultas cacheables)
+    public static final String CATEGORY_REGION = "category";
+    public static final String CATEGORY_QUERIES_REGION = "category.queries";
+    public static final String PRODUCT_REGION = "product";
+    public static final String PRODUCT_IMAGES_REGION = "product.images";
+    public static final String PRODUCT_IMAGE_REGION = "productImage";
+    public static final String USER_REGION = "user";
+
+    // Regiones propias de Hibernate para el cache de consultas
+    private static final String DEFAULT_QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Value("${app.entity-cache.category.max-size:500}")
+    private long categoryMaxSize;
+
+    @Value("${app.entity-cache.category.ttl:1h}")
+    private Duration categoryTtl;
+
+    @Value("${app.entity-cache.product.max-size:10000}")
+    private long productMaxSize;
+
+    @Value("${app.entity-cache.product.ttl:10m}")
+    private Duration productTtl;
+
+    @Value("${app.entity-cache.product-image.max-size:50000}")
+    private long productImageMaxSize;
+
+    @Value("${app.entity-cache.user.max-size:10000}")
+    private long userMaxSize;
+
+    @Value("${app.entity-cache.user.ttl:30m}")
+    private Duration userTtl;
+
+    /**
+     * Cache manager JCache con una región por entidad/colección, cada una con su
+     * tamaño y TTL. Las entradas se guardan por referencia (Hibernate ya guarda
+     * el estado desarmado e inmutable, no hace falta copiarlo en cada lectura).
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        log.info("Creating Hibernate second-level cache regions");
+
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                provider.getDefaultURI(), HibernateCacheConfig.class.getClassLoader()
+        );
+
+        createRegion(cacheManager, CATEGORY_REGION, categoryMaxSize, categoryTtl);
+        createRegion(cacheManager, CATEGORY_QUERIES_REGION, categoryMaxSize, categoryTtl);
+
+        // Las imágenes siguen al producto: mismo TTL
+        createRegion(cacheManager, PRODUCT_REGION, productMaxSize, productTtl);
+        createRegion(cacheManager, PRODUCT_IMAGES_REGION, productMaxSize, productTtl);
+        createRegion(cacheManager, PRODUCT_IMAGE_REGION, productImageMaxSize, productTtl);
+
+        createRegion(cacheManager, USER_REGION, userMaxSize, userTtl);
+
+        createRegion(cacheManager, DEFAULT_QUERY_RESULTS_REGION, 1_000, Duration.ofMinutes(10));
+        // Los timestamps no pueden vencer antes que los resultados que validan
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, 1_000, null);
+
+        return cacheManager;
+    }
+
+    /**
+     * Propiedades de Hibernate: cache de segundo nivel, cache de consultas y
+     * estadísticas (Spring Boot las exporta a Actuator como hibernate.*)
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // Una región sin configurar se crea igual (sin límite) y queda en el log
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create-warn");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    private void createRegion(CacheManager cacheManager, String name, long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>()
+                .setStoreByValue(false)
+                .setMaximumSize(OptionalLong.of(maxSize))
+                .setExpireAfterWrite(ttl != null ? OptionalLong.of(ttl.toNanos()) : OptionalLong.empty());
+
+        cacheManager.createCache(name, configuration);
+    }
+}
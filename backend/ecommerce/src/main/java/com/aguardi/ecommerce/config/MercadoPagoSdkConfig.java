@@ -0,0 +1,30 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/config/MercadoPagoSdkConfig.java
+// Propósito: Configuración única (global) del SDK de MercadoPago
+// ============================================
+
+package com.aguardi.ecommerce.config;
+
+import com.mercadopago.MercadoPagoConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * El SDK guarda el access token en un campo estático que usan todos sus
+ * clientes (pagos, preferencias, health check). Se configura una sola vez al
+ * levantar el contexto, sin llamadas de red; los clientes se usan recién en
+ * requests o después de ApplicationReadyEvent.
+ */
+@Configuration
+@Slf4j
+public class MercadoPagoSdkConfig {
+
+    public MercadoPagoSdkConfig(@Value("${mercadopago.access-token:}") String accessToken) {
+        // Sin token, MercadoPagoHealthIndicator lo reporta como no configurado
+        if (accessToken != null && !accessToken.isBlank()) {
+            MercadoPagoConfig.setAccessToken(accessToken);
+            log.info("MercadoPago SDK configured");
+        }
+    }
+}
@@ -0,0 +1,139 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/config/NativeHintsConfig.java
+// Propósito: Metadata de reachability para la imagen nativa de GraalVM (perfil Maven "native")
+// ============================================
+
+package com.aguardi.ecommerce.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Los hints solo se usan al compilar con Spring AOT (mvn -Pnative native:compile);
+ * en la JVM esta configuración no tiene efecto.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.AguardiRuntimeHints.class)
+public class NativeHintsConfig {
+
+    @Slf4j
+    static class AguardiRuntimeHints implements RuntimeHintsRegistrar {
+
+        /**
+         * Implementaciones generadas por MapStruct: se buscan en el classpath al
+         * compilar, así un mapper nuevo no depende de acordarse de esta lista
+         */
+        private static final String MAPSTRUCT_MAPPERS = "com/aguardi/ecommerce/**/mapper/*MapperImpl.class";
+
+        /** Clases de jjwt-impl que jjwt-api instancia por reflexión */
+        private static final List<String> JJWT_IMPLEMENTATIONS = List.of(
+                "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+                "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+                "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+                "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+                "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+                "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+                "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+                "io.jsonwebtoken.impl.security.JwksBridge",
+                "io.jsonwebtoken.impl.security.KeysBridge",
+                "io.jsonwebtoken.impl.security.StandardCurves",
+                "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyOperations",
+                "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        );
+
+        /** Paquetes del SDK de MercadoPago serializados con Gson (acceso a campos por reflexión) */
+        private static final List<String> MERCADOPAGO_PACKAGES = List.of(
+                "com/mercadopago/client",
+                "com/mercadopago/resources",
+                "com/mercadopago/net",
+                "com/mercadopago/core"
+        );
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            registerMapStructMappers(hints, classLoader);
+
+            JJWT_IMPLEMENTATIONS.forEach(type -> hints.reflection().registerType(
+                    TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS
+            ));
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            registerMercadoPagoTypes(hints, classLoader);
+
+            // Templates de email (Thymeleaf)
+            hints.resources().registerPattern("templates/*.html");
+        }
+
+        private void registerMapStructMappers(RuntimeHints hints, ClassLoader classLoader) {
+            PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+
+            try {
+                for (Resource resource : resolver.getResources("classpath*:" + MAPSTRUCT_MAPPERS)) {
+                    String className = toClassName(resource, "com/aguardi/ecommerce/");
+                    if (className != null) {
+                        hints.reflection().registerType(
+                                TypeReference.of(className),
+                                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                                MemberCategory.INVOKE_DECLARED_METHODS
+                        );
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Could not scan MapStruct mappers for native hints", e);
+            }
+        }
+
+        private void registerMercadoPagoTypes(RuntimeHints hints, ClassLoader classLoader) {
+            PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+
+            for (String basePackage : MERCADOPAGO_PACKAGES) {
+                try {
+                    for (Resource resource : resolver.getResources("classpath*:" + basePackage + "/**/*.class")) {
+                        String className = toClassName(resource, "com/mercadopago/");
+                        if (className != null) {
+                            hints.reflection().registerType(
+                                    TypeReference.of(className),
+                                    MemberCategory.DECLARED_FIELDS,
+                                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                                    MemberCategory.INVOKE_PUBLIC_METHODS
+                            );
+                        }
+                    }
+                } catch (IOException e) {
+                    log.warn("Could not scan MercadoPago package {} for native hints", basePackage, e);
+                }
+            }
+        }
+
+        private String toClassName(Resource resource, String rootPackage) throws IOException {
+            String url = resource.getURL().toString();
+            int jarSeparator = url.lastIndexOf("!/");
+            int start = jarSeparator != -1 ? jarSeparator + 2 : url.lastIndexOf(rootPackage);
+            if (start < 2 || url.contains("package-info")) {
+                return null;
+            }
+            return url.substring(start, url.length() - ".class".length()).replace('/', '.');
+        }
+    }
+}
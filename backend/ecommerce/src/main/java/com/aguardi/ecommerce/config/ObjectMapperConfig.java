@@ -1,38 +1,28 @@
 // ============================================
 // FILE: src/main/java/com/aguardi/config/ObjectMapperConfig.java
-// Propósito: Configurar ObjectMapper para usar en toda la aplicación
+// Propósito: Módulos extra para el ObjectMapper auto-configurado por Spring Boot
 // ============================================
 
 package com.aguardi.ecommerce.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Primary;
 
 @Configuration
 public class ObjectMapperConfig {
 
     /**
-     * Bean de ObjectMapper personalizado
-     * Configurado para manejar LocalDateTime correctamente
+     * Módulo Blackbird: reemplaza la reflexión por accessors generados con
+     * LambdaMetafactory para serializar más rápido.
+     *
+     * Spring Boot registra todos los beans de tipo Module en su ObjectMapper, así
+     * se siguen respetando las propiedades spring.jackson.* de application.yml
+     * (la indentación queda activa solo en el perfil dev).
      */
     @Bean
-    @Primary
-    public ObjectMapper objectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-
-        // Registrar módulo para Java 8 date/time API
-        mapper.registerModule(new JavaTimeModule());
-
-        // No escribir fechas como timestamps
-        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-
-        // Pretty print en desarrollo
-        mapper.enable(SerializationFeature.INDENT_OUTPUT);
-
-        return mapper;
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
     }
-}
\ No newline at end of file
+}
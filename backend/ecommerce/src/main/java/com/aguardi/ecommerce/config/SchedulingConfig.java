@@ -0,0 +1,14 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/config/SchedulingConfig.java
+// Propósito: Habilitar tareas programadas (@Scheduled)
+// ============================================
+
+package com.aguardi.ecommerce.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -61,6 +61,15 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/products/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/categories/**").permitAll()
 
+                        // Home de la tienda (respuesta compuesta)
+                        .requestMatchers(HttpMethod.GET, "/api/storefront/**").permitAll()
+
+                        // Validación de stock del carrito (carritos anónimos)
+                        .requestMatchers(HttpMethod.POST, "/api/products/stock-check").permitAll()
+
+                        // Carrito (anónimo o con sesión; el servicio valida el dueño)
+                        .requestMatchers("/api/cart/**").permitAll()
+
                         // Actuator (health checks)
                         .requestMatchers("/api/actuator/health/**").permitAll()
 
@@ -0,0 +1,63 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/config/StartupTimelineReporter.java
+// Propósito: Reporte de los pasos más lentos del arranque (ApplicationStartup)
+// ============================================
+
+package com.aguardi.ecommerce.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * El timeline completo queda disponible en GET /api/actuator/startup;
+ * acá solo se loguean los pasos más costosos para compararlos entre releases.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StartupTimelineReporter {
+
+    private final ApplicationStartup applicationStartup;
+
+    @Value("${app.startup.report-top-steps:10}")
+    private int topSteps;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportStartup(ApplicationReadyEvent event) {
+        log.info("Application ready in {} ms", event.getTimeTaken().toMillis());
+
+        if (!(applicationStartup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+
+        StartupTimeline timeline = buffering.getBufferedTimeline();
+        List<StartupTimeline.TimelineEvent> slowest = timeline.getEvents().stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(topSteps)
+                .toList();
+
+        slowest.forEach(step -> log.info("Startup step {} ms - {} {}",
+                step.getDuration().toMillis(),
+                step.getStartupStep().getName(),
+                describeTags(step.getStartupStep())));
+    }
+
+    private String describeTags(StartupStep step) {
+        return StreamSupport.stream(step.getTags().spliterator(), false)
+                .map(tag -> tag.getKey() + "=" + tag.getValue())
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+}
@@ -0,0 +1,193 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/config/WebMvcConfig.java
+// Propósito: Interceptors, filtros y message converters (cache HTTP, formatos binarios)
+// ============================================
+
+package com.aguardi.ecommerce.config;
+
+import com.aguardi.ecommerce.product.service.CatalogVersionTracker;
+import com.aguardi.ecommerce.product.service.ProductViewCounter;
+import com.aguardi.ecommerce.product.web.CatalogCacheInterceptor;
+import com.aguardi.ecommerce.product.web.CatalogResponseCache;
+import com.aguardi.ecommerce.product.web.CatalogResponseCacheFilter;
+import com.aguardi.ecommerce.product.web.ProductViewTrackingFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.WebContentInterceptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private static final String PRODUCT_DETAIL = "/api/products/{id:\\d+}";
+    private static final String PRODUCT_TRENDING = "/api/products/trending";
+
+    // Stock disponible (descuenta las reservas de checkouts en curso): ningún cache debe reutilizarlo
+    private static final String PRODUCT_STOCK = "/api/products/{id:\\d+}/check-stock";
+
+    // Dependen de vistas, recomendaciones o del índice de sugerencias: la versión
+    // del catálogo no cambia cuando cambian ellos, así que van sin ETag ni cache de respuestas
+    private static final List<String> UNVERSIONED = List.of(
+            PRODUCT_TRENDING,
+            "/api/products/suggest",
+            "/api/products/{id:\\d+}/related"
+    );
+
+    private final CatalogVersionTracker catalogVersionTracker;
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    // Listados y búsquedas de productos (y la home)
+    @Value("${app.http-cache.products.max-age:60s}")
+    private Duration productsMaxAge;
+
+    @Value("${app.http-cache.products.stale-while-revalidate:5m}")
+    private Duration productsStale;
+
+    // Detalle de producto
+    @Value("${app.http-cache.product-detail.max-age:30s}")
+    private Duration productDetailMaxAge;
+
+    @Value("${app.http-cache.product-detail.stale-while-revalidate:2m}")
+    private Duration productDetailStale;
+
+    // Categorías (cambian poco)
+    @Value("${app.http-cache.categories.max-age:5m}")
+    private Duration categoriesMaxAge;
+
+    @Value("${app.http-cache.categories.stale-while-revalidate:1h}")
+    private Duration categoriesStale;
+
+    // Endpoints sin versión (solo max-age corto, sin revalidación)
+    @Value("${app.http-cache.unversioned.max-age:30s}")
+    private Duration unversionedMaxAge;
+
+    // Más vistos (cambia con cada volcado de vistas)
+    @Value("${app.http-cache.trending.max-age:30s}")
+    private Duration trendingMaxAge;
+
+    /**
+     * Representaciones binarias (Smile y CBOR) de los mismos DTOs, para clientes
+     * que las pidan con Accept: application/x-jackson-smile o application/cbor.
+     *
+     * Se agregan al final de la lista: con un Accept comodín se sigue respondiendo JSON.
+     * Usan el builder de Boot, así respetan spring.jackson.* y el módulo Blackbird.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.getObject().smile().build()
+        ));
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.getObject().cbor().build()
+        ));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(catalogInterceptor(productDetailMaxAge, productDetailStale))
+                .addPathPatterns(PRODUCT_DETAIL);
+
+        registry.addInterceptor(catalogInterceptor(productsMaxAge, productsStale))
+                .addPathPatterns("/api/products", "/api/products/**", "/api/storefront/**")
+                .excludePathPatterns(PRODUCT_DETAIL, PRODUCT_STOCK)
+                .excludePathPatterns(UNVERSIONED);
+
+        registry.addInterceptor(unversionedInterceptor(trendingMaxAge))
+                .addPathPatterns(PRODUCT_TRENDING);
+
+        registry.addInterceptor(unversionedInterceptor(unversionedMaxAge))
+                .addPathPatterns(UNVERSIONED)
+                .excludePathPatterns(PRODUCT_TRENDING);
+
+        registry.addInterceptor(catalogInterceptor(categoriesMaxAge, categoriesStale))
+                .addPathPatterns("/api/categories", "/api/categories/**");
+
+        registry.addInterceptor(noStoreInterceptor())
+                .addPathPatterns(PRODUCT_STOCK);
+    }
+
+    /**
+     * Cache de respuestas serializadas del catálogo.
+     * Orden 0: después de Spring Security (-100) y antes del DispatcherServlet.
+     */
+    @Bean
+    public FilterRegistrationBean<CatalogResponseCacheFilter> catalogResponseCacheFilter(
+            CatalogResponseCache catalogResponseCache) {
+        FilterRegistrationBean<CatalogResponseCacheFilter> registration = new FilterRegistrationBean<>(
+                new CatalogResponseCacheFilter(catalogResponseCache, catalogVersionTracker, uncachedPaths())
+        );
+        registration.addUrlPatterns("/api/products", "/api/products/*", "/api/categories",
+                "/api/categories/*", "/api/storefront/*");
+        registration.setOrder(0);
+
+        return registration;
+    }
+
+    /**
+     * Conteo de vistas del detalle de producto.
+     * Orden -1: envuelve al cache de respuestas para contar también sus hits.
+     */
+    @Bean
+    public FilterRegistrationBean<ProductViewTrackingFilter> productViewTrackingFilter(
+            ProductViewCounter productViewCounter) {
+        FilterRegistrationBean<ProductViewTrackingFilter> registration = new FilterRegistrationBean<>(
+                new ProductViewTrackingFilter(productViewCounter)
+        );
+        registration.addUrlPatterns("/api/products/*");
+        registration.setOrder(-1);
+
+        return registration;
+    }
+
+    private CatalogCacheInterceptor catalogInterceptor(Duration maxAge, Duration staleWhileRevalidate) {
+        CacheControl cacheControl = CacheControl.maxAge(maxAge)
+                .cachePublic()
+                .staleWhileRevalidate(staleWhileRevalidate);
+
+        return new CatalogCacheInterceptor(catalogVersionTracker, cacheControl);
+    }
+
+    private WebContentInterceptor unversionedInterceptor(Duration maxAge) {
+        WebContentInterceptor interceptor = new WebContentInterceptor();
+        // Sin restricción de métodos: el 405 lo sigue resolviendo el DispatcherServlet
+        interceptor.setSupportedMethods((String[]) null);
+        interceptor.setCacheControl(CacheControl.maxAge(maxAge).cachePublic());
+        interceptor.setVaryByRequestHeaders(HttpHeaders.ACCEPT);
+
+        return interceptor;
+    }
+
+    private WebContentInterceptor noStoreInterceptor() {
+        WebContentInterceptor interceptor = new WebContentInterceptor();
+        interceptor.setSupportedMethods((String[]) null);
+        interceptor.setCacheControl(CacheControl.noStore());
+
+        return interceptor;
+    }
+
+    /**
+     * Paths que el cache de respuestas no guarda: los sin versión y el stock
+     */
+    private List<String> uncachedPaths() {
+        List<String> paths = new ArrayList<>(UNVERSIONED);
+        paths.add(PRODUCT_STOCK);
+
+        return List.copyOf(paths);
+    }
+}
@@ -0,0 +1,56 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/notification/service/MailHealthIndicator.java
+// Propósito: Health check del servidor SMTP (conexión en segundo plano)
+// ============================================
+
+package com.aguardi.ecommerce.notification.service;
+
+import com.aguardi.ecommerce.shared.health.ExternalServiceHealthIndicator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Al llamarse "mailHealthIndicator" reemplaza al health check de mail de Spring Boot,
+ * que abre una conexión SMTP de forma sincrónica en cada consulta a /actuator/health.
+ */
+@Component
+public class MailHealthIndicator extends ExternalServiceHealthIndicator {
+
+    private final ObjectProvider<JavaMailSender> mailSender;
+
+    public MailHealthIndicator(
+            ObjectProvider<JavaMailSender> mailSender,
+            @Qualifier("taskExecutor") Executor taskExecutor,
+            @Value("${app.health.external-check-interval:5m}") Duration checkInterval
+    ) {
+        super(taskExecutor, checkInterval);
+        this.mailSender = mailSender;
+    }
+
+    @Override
+    protected String serviceName() {
+        return "SMTP";
+    }
+
+    @Override
+    protected boolean isConfigured() {
+        return mailSender.getIfAvailable() instanceof JavaMailSenderImpl sender
+                && sender.getUsername() != null
+                && !sender.getUsername().isBlank();
+    }
+
+    @Override
+    protected Map<String, Object> verify() throws Exception {
+        JavaMailSenderImpl sender = (JavaMailSenderImpl) mailSender.getObject();
+        sender.testConnection();
+        return Map.of("host", sender.getHost() + ":" + sender.getPort());
+    }
+}
@@ -12,6 +12,8 @@ import com.aguardi.ecommerce.order.service.OrderService;
 import com.aguardi.ecommerce.shared.dto.ApiResponse;
 import com.aguardi.ecommerce.shared.dto.MessageResponse;
 import com.aguardi.ecommerce.shared.dto.PageResponse;
+import com.aguardi.ecommerce.shared.web.FieldSelection;
+import com.aguardi.ecommerce.shared.web.SparseFieldsets;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -34,6 +36,7 @@ import java.math.BigDecimal;
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
 @Slf4j
+@SparseFieldsets
 @Tag(name = "Orders", description = "Endpoints para gestión de órdenes")
 @SecurityRequirement(name = "Bearer Authentication")
 public class OrderController {
@@ -111,11 +114,13 @@ public class OrderController {
     )
     public ResponseEntity<ApiResponse<OrderDetailDTO>> getOrderById(
             @Parameter(description = "ID de la orden")
-            @PathVariable Long id
+            @PathVariable Long id,
+            @Parameter(description = "Campos a incluir (ej: id,orderNumber,status,total)")
+            @RequestParam(name = FieldSelection.PARAM, required = false) String fields
     ) {
         log.info("REST request to get order by ID: {}", id);
 
-        OrderDetailDTO order = orderService.getOrderById(id);
+        OrderDetailDTO order = orderService.getOrderById(id, FieldSelection.parse(fields));
 
         return ResponseEntity.ok(ApiResponse.success(
                 "Orden obtenida exitosamente",
@@ -135,11 +140,13 @@ public class OrderController {
     )
     public ResponseEntity<ApiResponse<OrderDetailDTO>> getOrderByNumber(
             @Parameter(description = "Número de orden (ej: ORD-2024-00001)")
-            @PathVariable String orderNumber
+            @PathVariable String orderNumber,
+            @Parameter(description = "Campos a incluir (ej: id,orderNumber,status,total)")
+            @RequestParam(name = FieldSelection.PARAM, required = false) String fields
     ) {
         log.info("REST request to get order by number: {}", orderNumber);
 
-        OrderDetailDTO order = orderService.getOrderByOrderNumber(orderNumber);
+        OrderDetailDTO order = orderService.getOrderByOrderNumber(orderNumber, FieldSelection.parse(fields));
 
         return ResponseEntity.ok(ApiResponse.success(
                 "Orden obtenida exitosamente",
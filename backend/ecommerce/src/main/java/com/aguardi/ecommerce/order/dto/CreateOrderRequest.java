@@ -6,7 +6,6 @@
 package com.aguardi.ecommerce.order.dto;
 
 import jakarta.validation.Valid;
-import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -15,6 +14,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.UUID;
 
 @Data
 @NoArgsConstructor
@@ -22,10 +22,13 @@ import java.util.List;
 @Builder
 public class CreateOrderRequest {
 
-    @NotEmpty(message = "La orden debe tener al menos un item")
+    // Items explícitos; se ignoran si se indica cartId
     @Valid
     private List<CreateOrderItemRequest> items;
 
+    // Carrito del servidor a convertir en orden (alternativa a items)
+    private UUID cartId;
+
     @NotNull(message = "La información de envío es obligatoria")
     @Valid
     private CreateShippingInfoRequest shippingInfo;
@@ -42,6 +42,9 @@ public class Order {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    @Column(unique = true, updatable = false)
+    private UUID cartId;  // Carrito convertido en la orden (null si se creó con items sueltos)
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private OrderStatus status;
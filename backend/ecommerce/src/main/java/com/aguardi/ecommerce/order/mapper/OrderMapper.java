@@ -7,6 +7,8 @@ package com.aguardi.ecommerce.order.mapper;
 
 import com.aguardi.ecommerce.order.dto.*;
 import com.aguardi.ecommerce.order.entity.Order;
+import com.aguardi.ecommerce.order.repository.OrderSummary;
+import com.aguardi.ecommerce.shared.web.FieldSelection;
 import org.mapstruct.*;
 
 import java.util.List;
@@ -32,6 +34,13 @@ public interface OrderMapper {
     @Mapping(target = "itemCount", expression = "java(order.getItems().size())")
     OrderDTO toDTO(Order order);
 
+    /**
+     * Convertir un OrderSummary (listados paginados) a OrderDTO
+     * @param summary Modelo de lectura de la orden
+     * @return DTO básico de orden
+     */
+    OrderDTO toDTO(OrderSummary summary);
+
     /**
      * Convertir lista de Order a lista de OrderDTO
      * @param orders Lista de entidades
@@ -52,6 +61,24 @@ public interface OrderMapper {
     @Mapping(target = "paymentInfo", ignore = true) // Se setea en el servicio si es necesario
     OrderDetailDTO toDetailDTO(Order order);
 
+    /**
+     * Convertir Order Entity a OrderDetailDTO mapeando solo los campos pedidos
+     * (items y shippingInfo no se cargan si no se seleccionaron)
+     * @param order Entidad de orden
+     * @param fields Campos seleccionados con ?fields=
+     * @return DTO con los campos pedidos
+     */
+    @InheritConfiguration(name = "toDetailDTO")
+    OrderDetailDTO toDetailDTO(Order order, @Context FieldSelection fields);
+
+    /**
+     * Mapear una propiedad solo si fue seleccionada
+     */
+    @Condition
+    default boolean isSelected(@TargetPropertyName String property, @Context FieldSelection fields) {
+        return fields.includes(property);
+    }
+
     // ========================================
     // DTO -> Entity
     // ========================================
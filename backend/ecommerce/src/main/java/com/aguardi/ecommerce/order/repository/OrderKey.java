@@ -0,0 +1,15 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/order/repository/OrderKey.java
+// Propósito: Proyección (createdAt, id) para paginar órdenes por keyset
+// ============================================
+
+package com.aguardi.ecommerce.order.repository;
+
+import java.time.LocalDateTime;
+
+public interface OrderKey {
+
+    Long getId();
+
+    LocalDateTime getCreatedAt();
+}
@@ -7,6 +7,7 @@ package com.aguardi.ecommerce.order.repository;
 
 import com.aguardi.ecommerce.order.entity.Order;
 import com.aguardi.ecommerce.order.entity.OrderStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -17,12 +18,23 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    /**
+     * SELECT de los listados paginados: solo las columnas de OrderDTO, sin
+     * entidades administradas
+     */
+    String SUMMARY_SELECT = "SELECT new com.aguardi.ecommerce.order.repository.OrderSummary(" +
+            "o.id, o.orderNumber, o.user.id, o.status, o.subtotal, o.shippingCost, o.discount, o.total, " +
+            "SIZE(o.items), o.createdAt, o.paidAt, o.shippedAt, o.deliveredAt) " +
+            "FROM Order o ";
+
     // ========================================
     // BÚSQUEDAS BÁSICAS
     // ========================================
@@ -41,6 +53,21 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      */
     boolean existsByOrderNumber(String orderNumber);
 
+    /**
+     * Verificar si un carrito ya se convirtió en orden
+     * @param cartId ID del carrito
+     * @return true si ya hay una orden de ese carrito
+     */
+    boolean existsByCartId(UUID cartId);
+
+    /**
+     * Listar todas las órdenes
+     * @param pageable Configuración de paginación
+     * @return Página de órdenes
+     */
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(o) FROM Order o")
+    Page<OrderSummary> findSummaries(Pageable pageable);
+
     // ========================================
     // BÚSQUEDAS POR USUARIO
     // ========================================
@@ -51,7 +78,9 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      * @param pageable Configuración de paginación
      * @return Página de órdenes del usuario
      */
-    Page<Order> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE o.user.id = :userId ORDER BY o.createdAt DESC",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.user.id = :userId")
+    Page<OrderSummary> findByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId, Pageable pageable);
 
     /**
      * Buscar órdenes de un usuario por estado
@@ -60,7 +89,11 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      * @param pageable Configuración de paginación
      * @return Página de órdenes
      */
-    Page<Order> findByUserIdAndStatusOrderByCreatedAtDesc(Long userId, OrderStatus status, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE o.user.id = :userId AND o.status = :status ORDER BY o.createdAt DESC",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.user.id = :userId AND o.status = :status")
+    Page<OrderSummary> findByUserIdAndStatusOrderByCreatedAtDesc(@Param("userId") Long userId,
+                                                                 @Param("status") OrderStatus status,
+                                                                 Pageable pageable);
 
     /**
      * Contar órdenes de un usuario
@@ -87,7 +120,9 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      * @param pageable Configuración de paginación
      * @return Página de órdenes
      */
-    Page<Order> findByStatusOrderByCreatedAtDesc(OrderStatus status, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE o.status = :status ORDER BY o.createdAt DESC",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.status = :status")
+    Page<OrderSummary> findByStatusOrderByCreatedAtDesc(@Param("status") OrderStatus status, Pageable pageable);
 
     /**
      * Buscar órdenes en múltiples estados
@@ -95,7 +130,10 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      * @param pageable Configuración de paginación
      * @return Página de órdenes
      */
-    Page<Order> findByStatusInOrderByCreatedAtDesc(List<OrderStatus> statuses, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE o.status IN :statuses ORDER BY o.createdAt DESC",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.status IN :statuses")
+    Page<OrderSummary> findByStatusInOrderByCreatedAtDesc(@Param("statuses") List<OrderStatus> statuses,
+                                                          Pageable pageable);
 
     /**
      * Contar órdenes por estado
@@ -105,10 +143,25 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     long countByStatus(OrderStatus status);
 
     /**
-     * Buscar órdenes pendientes de pago
-     * @return Lista de órdenes pendientes
+     * Página de órdenes pendientes creadas antes de un momento, ordenadas por
+     * (createdAt, id) y posteriores a la última clave vista (keyset)
+     * @param createdBefore Solo órdenes creadas antes de este momento
+     * @param afterCreatedAt createdAt de la última orden de la página anterior
+     * @param afterId ID de la última orden de la página anterior
+     * @param limit Tamaño de página
+     * @return Claves de las órdenes pendientes
      */
-    List<Order> findByStatusOrderByCreatedAtAsc(OrderStatus status);
+    @Query("SELECT o.id AS id, o.createdAt AS createdAt FROM Order o " +
+            "WHERE o.status = com.aguardi.ecommerce.order.entity.OrderStatus.PENDING " +
+            "AND o.createdAt < :createdBefore " +
+            "AND (o.createdAt > :afterCreatedAt OR (o.createdAt = :afterCreatedAt AND o.id > :afterId)) " +
+            "ORDER BY o.createdAt ASC, o.id ASC")
+    List<OrderKey> findPendingCreatedBefore(
+            @Param("createdBefore") LocalDateTime createdBefore,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
 
     // ========================================
     // BÚSQUEDAS POR FECHA
@@ -121,7 +174,11 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      * @param pageable Configuración de paginación
      * @return Página de órdenes
      */
-    Page<Order> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE o.createdAt BETWEEN :startDate AND :endDate",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.createdAt BETWEEN :startDate AND :endDate")
+    Page<OrderSummary> findByCreatedAtBetween(@Param("startDate") LocalDateTime startDate,
+                                              @Param("endDate") LocalDateTime endDate,
+                                              Pageable pageable);
 
     /**
      * Buscar órdenes pagadas entre dos fechas
@@ -151,7 +208,11 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      * @param pageable Configuración de paginación
      * @return Página de órdenes
      */
-    Page<Order> findByTotalBetween(BigDecimal minAmount, BigDecimal maxAmount, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE o.total BETWEEN :minAmount AND :maxAmount",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.total BETWEEN :minAmount AND :maxAmount")
+    Page<OrderSummary> findByTotalBetween(@Param("minAmount") BigDecimal minAmount,
+                                          @Param("maxAmount") BigDecimal maxAmount,
+                                          Pageable pageable);
 
     /**
      * Buscar órdenes mayores a un monto
@@ -273,5 +334,17 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Modifying
     @Query("UPDATE Order o SET o.status = 'CANCELLED', o.cancelledAt = :cancelledAt WHERE o.id = :orderId")
     void cancelOrder(@Param("orderId") Long orderId, @Param("cancelledAt") LocalDateTime cancelledAt);
+
+    /**
+     * Cancelar en una sola sentencia las órdenes que sigan pendientes
+     * @param orderIds IDs de las órdenes
+     * @param cancelledAt Fecha de cancelación
+     * @return IDs de las órdenes efectivamente canceladas (las pagadas en el medio se omiten)
+     */
+    @Query(value = "UPDATE orders SET status = 'CANCELLED', cancelled_at = :cancelledAt, " +
+            "updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id IN (:orderIds) AND status = 'PENDING' RETURNING id", nativeQuery = true)
+    List<Long> cancelPendingOrders(@Param("orderIds") Collection<Long> orderIds,
+                                   @Param("cancelledAt") LocalDateTime cancelledAt);
 }
 
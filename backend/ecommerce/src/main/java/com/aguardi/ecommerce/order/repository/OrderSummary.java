@@ -0,0 +1,32 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/order/repository/OrderSummary.java
+// Propósito: Modelo de lectura para listados de órdenes (sin entidades administradas)
+// ============================================
+
+package com.aguardi.ecommerce.order.repository;
+
+import com.aguardi.ecommerce.order.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Columnas que necesita OrderDTO; las notas y los items no se leen
+ * (itemCount sale de un COUNT en la misma consulta).
+ */
+public record OrderSummary(
+        Long id,
+        String orderNumber,
+        Long userId,
+        OrderStatus status,
+        BigDecimal subtotal,
+        BigDecimal shippingCost,
+        BigDecimal discount,
+        BigDecimal total,
+        Integer itemCount,
+        LocalDateTime createdAt,
+        LocalDateTime paidAt,
+        LocalDateTime shippedAt,
+        LocalDateTime deliveredAt
+) {
+}
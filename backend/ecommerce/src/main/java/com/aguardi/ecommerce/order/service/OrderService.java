@@ -7,6 +7,7 @@ package com.aguardi.ecommerce.order.service;
 
 import com.aguardi.ecommerce.order.dto.*;
 import com.aguardi.ecommerce.order.entity.OrderStatus;
+import com.aguardi.ecommerce.shared.web.FieldSelection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -29,16 +30,18 @@ public interface OrderService {
     /**
      * Obtener detalle de orden
      * @param orderId ID de la orden
+     * @param fields Campos pedidos (las relaciones no pedidas no se cargan)
      * @return Detalle completo de la orden
      */
-    OrderDetailDTO getOrderById(Long orderId);
+    OrderDetailDTO getOrderById(Long orderId, FieldSelection fields);
 
     /**
      * Obtener orden por número de orden
      * @param orderNumber Número de orden
+     * @param fields Campos pedidos (las relaciones no pedidas no se cargan)
      * @return Detalle completo de la orden
      */
-    OrderDetailDTO getOrderByOrderNumber(String orderNumber);
+    OrderDetailDTO getOrderByOrderNumber(String orderNumber, FieldSelection fields);
 
     /**
      * Obtener todas las órdenes (solo admin)
@@ -5,6 +5,9 @@
 
 package com.aguardi.ecommerce.order.service;
 
+import com.aguardi.ecommerce.cart.dto.CartItemDTO;
+import com.aguardi.ecommerce.cart.dto.CartQuoteDTO;
+import com.aguardi.ecommerce.cart.service.CartService;
 import com.aguardi.ecommerce.order.dto.*;
 import com.aguardi.ecommerce.order.entity.Order;
 import com.aguardi.ecommerce.order.entity.OrderItem;
@@ -13,18 +16,26 @@ import com.aguardi.ecommerce.order.entity.ShippingInfo;
 import com.aguardi.ecommerce.order.mapper.OrderMapper;
 import com.aguardi.ecommerce.order.mapper.ShippingInfoMapper;
 import com.aguardi.ecommerce.order.repository.OrderRepository;
+import com.aguardi.ecommerce.order.repository.OrderSummary;
 import com.aguardi.ecommerce.product.entity.Product;
 import com.aguardi.ecommerce.product.repository.ProductRepository;
+import com.aguardi.ecommerce.product.service.StockHoldRegistry;
+import com.aguardi.ecommerce.shared.event.CartCheckedOutEvent;
+import com.aguardi.ecommerce.shared.event.CatalogChangedEvent;
 import com.aguardi.ecommerce.shared.exception.BadRequestException;
+import com.aguardi.ecommerce.shared.exception.ConflictException;
 import com.aguardi.ecommerce.shared.exception.ForbiddenException;
 import com.aguardi.ecommerce.shared.exception.InsufficientStockException;
 import com.aguardi.ecommerce.shared.exception.ResourceNotFoundException;
 import com.aguardi.ecommerce.shared.util.SecurityUtils;
+import com.aguardi.ecommerce.shared.web.FieldSelection;
 import com.aguardi.ecommerce.user.entity.User;
 import com.aguardi.ecommerce.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -34,23 +45,29 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderServiceImpl implements OrderService {
 
+    // Restricción única de orders.cart_id (V14)
+    private static final String CART_ID_CONSTRAINT = "uk_order_cart_id";
+
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final OrderMapper orderMapper;
     private final ShippingInfoMapper shippingInfoMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Value("${app.shipping.free-shipping-threshold}")
-    private BigDecimal freeShippingThreshold;
-
-    @Value("${app.shipping.default-cost}")
-    private BigDecimal defaultShippingCost;
+    private final ShippingCalculator shippingCalculator;
+    private final CartService cartService;
+    private final StockHoldRegistry stockHoldRegistry;
 
     @Override
     @Transactional
@@ -58,11 +75,17 @@ public class OrderServiceImpl implements OrderService {
         Long userId = SecurityUtils.getCurrentUserId();
         log.info("Creating order for user: {}", userId);
 
-        // Validar que hay items
-        if (request.getItems() == null || request.getItems().isEmpty()) {
+        // Validar que hay items (en el request o en el carrito)
+        boolean fromCart = request.getCartId() != null;
+        if (!fromCart && (request.getItems() == null || request.getItems().isEmpty())) {
             throw new BadRequestException("La orden debe tener al menos un producto");
         }
 
+        // Un carrito genera a lo sumo una orden (reintento o doble click)
+        if (fromCart && orderRepository.existsByCartId(request.getCartId())) {
+            throw new ConflictException("El carrito ya se convirtió en una orden");
+        }
+
         // Obtener usuario
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuario", "id", userId));
@@ -70,51 +93,23 @@ public class OrderServiceImpl implements OrderService {
         // Crear orden
         Order order = new Order();
         order.setUser(user);
+        order.setCartId(request.getCartId());
         order.setStatus(OrderStatus.PENDING);
         order.setCustomerNotes(request.getCustomerNotes());
         order.setDiscount(BigDecimal.ZERO);
 
         // Procesar items
-        List<OrderItem> orderItems = new ArrayList<>();
-        BigDecimal subtotal = BigDecimal.ZERO;
-
-        for (CreateOrderItemRequest itemRequest : request.getItems()) {
-            // Buscar producto
-            Product product = productRepository.findByIdAndActiveTrue(itemRequest.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Producto", "id", itemRequest.getProductId()
-                    ));
-
-            // Verificar stock
-            if (!product.hasStock(itemRequest.getQuantity())) {
-                throw new InsufficientStockException(
-                        product.getId(),
-                        product.getName(),
-                        itemRequest.getQuantity(),
-                        product.getStock()
-                );
-            }
-
-            // Crear item
-            OrderItem item = new OrderItem();
-            item.setOrder(order);
-            item.setProduct(product);
-            item.setProductName(product.getName());
-            item.setProductPrice(product.getEffectivePrice());
-            item.setQuantity(itemRequest.getQuantity());
-            item.setProductImageUrl(
-                    product.getMainImage() != null ? product.getMainImage().getUrl() : null
-            );
+        List<OrderItem> orderItems = fromCart
+                ? createItemsFromCart(order, request.getCartId())
+                : createItemsFromRequest(order, request.getItems());
 
-            orderItems.add(item);
+        // Un solo evento con todos los productos cuyo stock bajó
+        eventPublisher.publishEvent(CatalogChangedEvent.products(
+                orderItems.stream().map(item -> item.getProduct().getId()).toList()));
 
-            // Acumular subtotal
-            subtotal = subtotal.add(item.getLineTotal());
-
-            // Reducir stock
-            product.reduceStock(itemRequest.getQuantity());
-            productRepository.save(product);
-        }
+        BigDecimal subtotal = orderItems.stream()
+                .map(OrderItem::getLineTotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         order.setItems(orderItems);
         order.setSubtotal(subtotal);
@@ -125,14 +120,19 @@ public class OrderServiceImpl implements OrderService {
         order.setShippingInfo(shippingInfo);
 
         // Calcular costo de envío
-        BigDecimal shippingCost = calculateShippingCostInternal(subtotal);
+        BigDecimal shippingCost = shippingCalculator.calculate(subtotal);
         order.setShippingCost(shippingCost);
 
         // Calcular total
         order.calculateTotal();
 
         // Guardar orden
-        order = orderRepository.save(order);
+        order = saveOrder(order);
+
+        // El carrito se elimina cuando la transacción confirma
+        if (fromCart) {
+            eventPublisher.publishEvent(new CartCheckedOutEvent(request.getCartId(), order.getId()));
+        }
 
         log.info("Order created successfully: {} ({})", order.getId(), order.getOrderNumber());
 
@@ -145,13 +145,13 @@ public class OrderServiceImpl implements OrderService {
         Long userId = SecurityUtils.getCurrentUserId();
         log.info("Getting orders for user: {}", userId);
 
-        Page<Order> orders = orderRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+        Page<OrderSummary> orders = orderRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
         return orders.map(orderMapper::toDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public OrderDetailDTO getOrderById(Long orderId) {
+    public OrderDetailDTO getOrderById(Long orderId, FieldSelection fields) {
         log.info("Getting order by ID: {}", orderId);
 
         Order order = orderRepository.findById(orderId)
@@ -162,12 +162,12 @@ public class OrderServiceImpl implements OrderService {
             throw new ForbiddenException("No tiene permisos para ver esta orden");
         }
 
-        return orderMapper.toDetailDTO(order);
+        return orderMapper.toDetailDTO(order, fields);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public OrderDetailDTO getOrderByOrderNumber(String orderNumber) {
+    public OrderDetailDTO getOrderByOrderNumber(String orderNumber, FieldSelection fields) {
         log.info("Getting order by order number: {}", orderNumber);
 
         Order order = orderRepository.findByOrderNumber(orderNumber)
@@ -178,7 +178,7 @@ public class OrderServiceImpl implements OrderService {
             throw new ForbiddenException("No tiene permisos para ver esta orden");
         }
 
-        return orderMapper.toDetailDTO(order);
+        return orderMapper.toDetailDTO(order, fields);
     }
 
     @Override
@@ -191,7 +191,7 @@ public class OrderServiceImpl implements OrderService {
             throw new ForbiddenException("Solo los administradores pueden ver todas las órdenes");
         }
 
-        Page<Order> orders = orderRepository.findAll(pageable);
+        Page<OrderSummary> orders = orderRepository.findSummaries(pageable);
         return orders.map(orderMapper::toDTO);
     }
 
@@ -205,7 +205,7 @@ public class OrderServiceImpl implements OrderService {
             throw new ForbiddenException("Solo los administradores pueden filtrar órdenes");
         }
 
-        Page<Order> orders = orderRepository.findByStatusOrderByCreatedAtDesc(status, pageable);
+        Page<OrderSummary> orders = orderRepository.findByStatusOrderByCreatedAtDesc(status, pageable);
         return orders.map(orderMapper::toDTO);
     }
 
@@ -305,7 +305,7 @@ public class OrderServiceImpl implements OrderService {
     public BigDecimal calculateShippingCost(ShippingInfoDTO shippingInfo) {
         // Por ahora, costo fijo
         // En el futuro se puede calcular por provincia, peso, etc.
-        return defaultShippingCost;
+        return shippingCalculator.getDefaultCost();
     }
 
     // ========================================
@@ -313,15 +313,143 @@ public class OrderServiceImpl implements OrderService {
     // ========================================
 
     /**
-     * Calcular costo de envío basado en el subtotal
+     * Crear los items a partir del request (producto por producto). El stock se
+     * descuenta con un UPDATE condicional que resta las reservas vigentes de
+     * todos los checkouts
+     */
+    private List<OrderItem> createItemsFromRequest(Order order, List<CreateOrderItemRequest> itemRequests) {
+        List<OrderItem> orderItems = new ArrayList<>();
+
+        productRepository.lockForStockUpdate(
+                itemRequests.stream().map(CreateOrderItemRequest::getProductId).toList()
+        );
+
+        for (CreateOrderItemRequest itemRequest : itemRequests) {
+            // Buscar producto
+            Product product = productRepository.findByIdAndActiveTrue(itemRequest.getProductId())
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Producto", "id", itemRequest.getProductId()
+                    ));
+
+            // Reducir stock solo si alcanza sin tocar lo reservado (0 filas = stock insuficiente)
+            if (productRepository.reduceStock(product.getId(), itemRequest.getQuantity()) == 0) {
+                int reserved = stockHoldRegistry.reserved(List.of(product.getId())).getOrDefault(product.getId(), 0);
+                throw new InsufficientStockException(
+                        product.getId(),
+                        product.getName(),
+                        itemRequest.getQuantity(),
+                        Math.max(0, product.getStock() - reserved)
+                );
+            }
+
+            // Crear item
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setProductName(product.getName());
+            item.setProductPrice(product.getEffectivePrice());
+            item.setQuantity(itemRequest.getQuantity());
+            item.setProductImageUrl(
+                    product.getMainImage() != null ? product.getMainImage().getUrl() : null
+            );
+            item.calculateLineTotal();
+
+            orderItems.add(item);
+        }
+
+        return orderItems;
+    }
+
+    /**
+     * Crear los items a partir de la cotización del carrito. La fila del carrito
+     * queda bloqueada hasta el commit y se verifica que coincida con la
+     * cotización (otra instancia pudo cambiarlo recién). El stock se descuenta
+     * con un UPDATE condicional por línea que resta las reservas de otros
+     * carritos; después se releen los productos en la misma transacción (ya
+     * están bloqueados, su precio no puede cambiar hasta el commit) y se rechaza
+     * la orden si alguno cambió desde la cotización.
+     * La reserva del carrito (si hay) se convierte: sus unidades se pueden
+     * descontar y se libera cuando la orden confirma.
      */
-    private BigDecimal calculateShippingCostInternal(BigDecimal subtotal) {
-        // Envío gratis si supera el threshold
-        if (subtotal.compareTo(freeShippingThreshold) >= 0) {
-            return BigDecimal.ZERO;
+    private List<OrderItem> createItemsFromCart(Order order, UUID cartId) {
+        CartQuoteDTO quote = cartService.getQuoteForCheckout(cartId);
+        cartService.lockForCheckout(cartId, quote);
+
+        productRepository.lockForStockUpdate(
+                quote.getItems().stream().map(CartItemDTO::getProductId).toList()
+        );
+
+        for (CartItemDTO cartItem : quote.getItems()) {
+            // Producto desactivado después de agregarlo al carrito
+            if (cartItem.getUnitPrice() == null) {
+                throw new ResourceNotFoundException("Producto", "id", cartItem.getProductId());
+            }
+
+            // Reducir stock solo si alcanza sin tocar reservas ajenas (0 filas = stock insuficiente)
+            if (productRepository.reduceStockForCart(cartItem.getProductId(), cartItem.getQuantity(), cartId) == 0) {
+                throw new InsufficientStockException(
+                        cartItem.getProductId(),
+                        cartItem.getName(),
+                        cartItem.getQuantity(),
+                        cartItem.getAvailableStock()
+                );
+            }
+        }
+
+        Map<Long, Product> products = productRepository.findActiveByIdIn(
+                quote.getItems().stream().map(CartItemDTO::getProductId).toList()
+        ).stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<OrderItem> orderItems = new ArrayList<>();
+
+        for (CartItemDTO cartItem : quote.getItems()) {
+            Product product = products.get(cartItem.getProductId());
+            if (product == null) {
+                throw new ResourceNotFoundException("Producto", "id", cartItem.getProductId());
+            }
+
+            // La cotización es la que vio el cliente: si el precio cambió, tiene que volver a verla
+            if (product.getEffectivePrice().compareTo(cartItem.getUnitPrice()) != 0) {
+                cartService.invalidateQuote(cartId);
+                throw new ConflictException(String.format(
+                        "El precio de %s cambió. Revisá el carrito antes de confirmar la compra",
+                        product.getName()
+                ));
+            }
+
+            // Crear item
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setProductName(product.getName());
+            item.setProductPrice(product.getEffectivePrice());
+            item.setQuantity(cartItem.getQuantity());
+            item.setProductImageUrl(
+                    product.getMainImage() != null ? product.getMainImage().getUrl() : null
+            );
+            item.calculateLineTotal();
+
+            orderItems.add(item);
         }
 
-        return defaultShippingCost;
+        return orderItems;
+    }
+
+    /**
+     * Guardar la orden. Con IDENTITY el INSERT sale acá: si otro checkout del mismo
+     * carrito confirmó mientras tanto, falla la restricción única de cart_id
+     */
+    private Order saveOrder(Order order) {
+        try {
+            return orderRepository.save(order);
+        } catch (DataIntegrityViolationException e) {
+            if (order.getCartId() != null
+                    && e.getCause() instanceof ConstraintViolationException violation
+                    && CART_ID_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName())) {
+                throw new ConflictException("El carrito ya se convirtió en una orden", e);
+            }
+            throw e;
+        }
     }
 
     /**
@@ -351,13 +479,11 @@ public class OrderServiceImpl implements OrderService {
     private void restoreStock(Order order) {
         log.info("Restoring stock for cancelled order: {}", order.getId());
 
-        for (OrderItem item : order.getItems()) {
-            Product product = item.getProduct();
-            product.restoreStock(item.getQuantity());
-            productRepository.save(product);
-
-            log.debug("Restored {} units of product: {}",
-                    item.getQuantity(), product.getName());
+        List<Long> productIds = productRepository.restoreStockForOrders(List.of(order.getId()));
+        if (!productIds.isEmpty()) {
+            eventPublisher.publishEvent(CatalogChangedEvent.products(productIds));
         }
+
+        log.debug("Restored stock of {} products", productIds.size());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,140 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/order/service/PendingOrderReaper.java
+// Propósito: Cancelar órdenes pendientes de pago vencidas y devolver su stock
+// ============================================
+
+package com.aguardi.ecommerce.order.service;
+
+import com.aguardi.ecommerce.order.repository.OrderKey;
+import com.aguardi.ecommerce.order.repository.OrderRepository;
+import com.aguardi.ecommerce.product.repository.ProductRepository;
+import com.aguardi.ecommerce.shared.event.CatalogChangedEvent;
+import com.aguardi.ecommerce.shared.job.ScheduledJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * La preferencia de MercadoPago vence a las 24h; pasado {@code app.orders.pending-expiry}
+ * la orden ya no se puede pagar y solo retiene stock.
+ *
+ * Recorre las órdenes vencidas por keyset (createdAt, id) en lotes. Cada lote
+ * es una transacción con dos sentencias: cancelar (solo las que siguen
+ * PENDING) y devolver el stock sumado por producto.
+ */
+@Component
+@Slf4j
+public class PendingOrderReaper implements ScheduledJob {
+
+    // Clave inicial del keyset (anterior a cualquier orden)
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private final OrderRepository orderRepository;
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration pendingExpiry;
+    private final int batchSize;
+
+    public PendingOrderReaper(
+            OrderRepository orderRepository,
+            ProductRepository productRepository,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.orders.pending-expiry:25h}") Duration pendingExpiry,
+            @Value("${app.jobs.pending-order-expiry.batch-size:200}") int batchSize
+    ) {
+        this.orderRepository = orderRepository;
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.pendingExpiry = pendingExpiry;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public String getName() {
+        return "pending-order-expiry";
+    }
+
+    @Override
+    public String getDefaultCron() {
+        return "0 */10 * * * *";
+    }
+
+    @Override
+    public String run() {
+        return String.format("%d unpaid orders cancelled", expirePendingOrders());
+    }
+
+    /**
+     * Cancelar las órdenes pendientes vencidas
+     * @return Cantidad de órdenes canceladas
+     */
+    public int expirePendingOrders() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(pendingExpiry);
+
+        LocalDateTime afterCreatedAt = KEYSET_START;
+        long afterId = 0;
+        int cancelled = 0;
+
+        while (true) {
+            List<OrderKey> page = orderRepository.findPendingCreatedBefore(
+                    cutoff, afterCreatedAt, afterId, Limit.of(batchSize)
+            );
+            if (page.isEmpty()) {
+                break;
+            }
+
+            List<Long> orderIds = page.stream().map(OrderKey::getId).toList();
+            Integer batchCancelled = transactionTemplate.execute(status -> expireBatch(orderIds));
+            cancelled += batchCancelled != null ? batchCancelled : 0;
+
+            if (page.size() < batchSize) {
+                break;
+            }
+
+            OrderKey last = page.get(page.size() - 1);
+            afterCreatedAt = last.getCreatedAt();
+            afterId = last.getId();
+        }
+
+        if (cancelled > 0) {
+            log.info("Cancelled {} unpaid orders created before {}", cancelled, cutoff);
+        }
+
+        return cancelled;
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    /**
+     * Cancelar un lote y devolver su stock (dentro de la transacción del lote)
+     * @return Cantidad de órdenes canceladas
+     */
+    private int expireBatch(List<Long> orderIds) {
+        // Las que se pagaron mientras tanto quedan fuera por el filtro de estado
+        List<Long> cancelledIds = orderRepository.cancelPendingOrders(orderIds, LocalDateTime.now());
+        if (cancelledIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> productIds = productRepository.restoreStockForOrders(cancelledIds);
+        if (!productIds.isEmpty()) {
+            eventPublisher.publishEvent(CatalogChangedEvent.products(productIds));
+        }
+
+        log.debug("Expired orders {} (stock restored for {} products)", cancelledIds, productIds.size());
+
+        return cancelledIds.size();
+    }
+}
@@ -0,0 +1,37 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/order/service/ShippingCalculator.java
+// Propósito: Reglas de costo de envío (app.shipping.*)
+// Uso: Órdenes y cotización del carrito
+// ============================================
+
+package com.aguardi.ecommerce.order.service;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+@Component
+@Getter
+public class ShippingCalculator {
+
+    @Value("${app.shipping.free-shipping-threshold}")
+    private BigDecimal freeShippingThreshold;
+
+    @Value("${app.shipping.default-cost}")
+    private BigDecimal defaultCost;
+
+    /**
+     * Calcular costo de envío basado en el subtotal
+     * @param subtotal Subtotal de la compra
+     * @return 0 si supera el umbral de envío gratis, costo por defecto si no
+     */
+    public BigDecimal calculate(BigDecimal subtotal) {
+        if (subtotal.compareTo(freeShippingThreshold) >= 0) {
+            return BigDecimal.ZERO;
+        }
+
+        return defaultCost;
+    }
+}
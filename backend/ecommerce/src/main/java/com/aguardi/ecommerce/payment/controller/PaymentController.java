@@ -11,6 +11,7 @@ import com.aguardi.ecommerce.payment.service.PaymentService;
 import com.aguardi.ecommerce.shared.dto.ApiResponse;
 import com.aguardi.ecommerce.shared.dto.MessageResponse;
 import com.aguardi.ecommerce.shared.dto.PageResponse;
+import com.aguardi.ecommerce.shared.web.SparseFieldsets;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -35,6 +36,7 @@ import java.util.Map;
 @RequestMapping("/api/payments")
 @RequiredArgsConstructor
 @Slf4j
+@SparseFieldsets
 @Tag(name = "Payments", description = "Endpoints para gestión de pagos con MercadoPago")
 @SecurityRequirement(name = "Bearer Authentication")
 public class PaymentController {
@@ -9,6 +9,7 @@ import com.aguardi.ecommerce.order.dto.PaymentInfoDTO;
 import com.aguardi.ecommerce.payment.dto.*;
 import com.aguardi.ecommerce.payment.entity.Payment;
 import com.aguardi.ecommerce.payment.entity.PaymentStatus;
+import com.aguardi.ecommerce.payment.repository.PaymentSummary;
 import org.mapstruct.*;
 
 import java.util.List;
@@ -34,6 +35,13 @@ public interface PaymentMapper {
     @Mapping(target = "userId", source = "user.id")
     PaymentDTO toDTO(Payment payment);
 
+    /**
+     * Convertir un PaymentSummary (listados paginados) a PaymentDTO
+     * @param summary Modelo de lectura del pago
+     * @return DTO de pago
+     */
+    PaymentDTO toDTO(PaymentSummary summary);
+
     /**
      * Convertir lista de Payment a lista de PaymentDTO
      * @param payments Lista de entidades
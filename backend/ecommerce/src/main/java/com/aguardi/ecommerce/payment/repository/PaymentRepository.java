@@ -24,6 +24,15 @@ import java.util.Optional;
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
+    /**
+     * SELECT de los listados paginados: solo las columnas de PaymentDTO, sin
+     * entidades administradas (el número de orden sale del join con orders)
+     */
+    String SUMMARY_SELECT = "SELECT new com.aguardi.ecommerce.payment.repository.PaymentSummary(" +
+            "p.id, o.id, o.orderNumber, p.user.id, p.amount, p.status, p.method, " +
+            "p.externalPaymentId, p.statusDetail, p.createdAt, p.approvedAt) " +
+            "FROM Payment p JOIN p.order o ";
+
     // ========================================
     // BÚSQUEDAS BÁSICAS
     // ========================================
@@ -56,6 +65,14 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      */
     boolean existsByExternalPaymentId(String externalPaymentId);
 
+    /**
+     * Listar todos los pagos
+     * @param pageable Configuración de paginación
+     * @return Página de pagos
+     */
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(p) FROM Payment p")
+    Page<PaymentSummary> findSummaries(Pageable pageable);
+
     // ========================================
     // BÚSQUEDAS POR USUARIO
     // ========================================
@@ -66,7 +83,9 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      * @param pageable Configuración de paginación
      * @return Página de pagos del usuario
      */
-    Page<Payment> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE p.user.id = :userId ORDER BY p.createdAt DESC",
+            countQuery = "SELECT COUNT(p) FROM Payment p WHERE p.user.id = :userId")
+    Page<PaymentSummary> findByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId, Pageable pageable);
 
     /**
      * Buscar pagos de un usuario por estado
@@ -75,7 +94,11 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      * @param pageable Configuración de paginación
      * @return Página de pagos
      */
-    Page<Payment> findByUserIdAndStatusOrderByCreatedAtDesc(Long userId, PaymentStatus status, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE p.user.id = :userId AND p.status = :status ORDER BY p.createdAt DESC",
+            countQuery = "SELECT COUNT(p) FROM Payment p WHERE p.user.id = :userId AND p.status = :status")
+    Page<PaymentSummary> findByUserIdAndStatusOrderByCreatedAtDesc(@Param("userId") Long userId,
+                                                                   @Param("status") PaymentStatus status,
+                                                                   Pageable pageable);
 
     /**
      * Contar pagos de un usuario
@@ -102,7 +125,9 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      * @param pageable Configuración de paginación
      * @return Página de pagos
      */
-    Page<Payment> findByStatusOrderByCreatedAtDesc(PaymentStatus status, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE p.status = :status ORDER BY p.createdAt DESC",
+            countQuery = "SELECT COUNT(p) FROM Payment p WHERE p.status = :status")
+    Page<PaymentSummary> findByStatusOrderByCreatedAtDesc(@Param("status") PaymentStatus status, Pageable pageable);
 
     /**
      * Buscar pagos en múltiples estados
@@ -110,7 +135,10 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      * @param pageable Configuración de paginación
      * @return Página de pagos
      */
-    Page<Payment> findByStatusInOrderByCreatedAtDesc(List<PaymentStatus> statuses, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE p.status IN :statuses ORDER BY p.createdAt DESC",
+            countQuery = "SELECT COUNT(p) FROM Payment p WHERE p.status IN :statuses")
+    Page<PaymentSummary> findByStatusInOrderByCreatedAtDesc(@Param("statuses") List<PaymentStatus> statuses,
+                                                            Pageable pageable);
 
     /**
      * Contar pagos por estado
@@ -134,6 +162,24 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     @Query("SELECT p FROM Payment p WHERE p.status = 'PENDING' AND p.createdAt < :time")
     List<Payment> findStalePendingPayments(@Param("time") LocalDateTime time);
 
+    /**
+     * Buscar pagos pendientes antiguos con paginación (más antiguos primero)
+     * @param time Tiempo límite
+     * @param pageable Configuración de paginación
+     * @return Página de pagos pendientes antiguos
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE p.status = 'PENDING' AND p.createdAt < :time ORDER BY p.createdAt ASC",
+            countQuery = "SELECT COUNT(p) FROM Payment p WHERE p.status = 'PENDING' AND p.createdAt < :time")
+    Page<PaymentSummary> findStalePendingPayments(@Param("time") LocalDateTime time, Pageable pageable);
+
+    /**
+     * Contar pagos pendientes antiguos
+     * @param time Tiempo límite
+     * @return Cantidad de pagos pendientes creados antes de ese momento
+     */
+    @Query("SELECT COUNT(p) FROM Payment p WHERE p.status = 'PENDING' AND p.createdAt < :time")
+    long countStalePendingPayments(@Param("time") LocalDateTime time);
+
     // ========================================
     // BÚSQUEDAS POR MÉTODO DE PAGO
     // ========================================
@@ -144,7 +190,9 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      * @param pageable Configuración de paginación
      * @return Página de pagos
      */
-    Page<Payment> findByMethodOrderByCreatedAtDesc(PaymentMethod method, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE p.method = :method ORDER BY p.createdAt DESC",
+            countQuery = "SELECT COUNT(p) FROM Payment p WHERE p.method = :method")
+    Page<PaymentSummary> findByMethodOrderByCreatedAtDesc(@Param("method") PaymentMethod method, Pageable pageable);
 
     /**
      * Contar pagos por método
@@ -171,7 +219,11 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      * @param pageable Configuración de paginación
      * @return Página de pagos
      */
-    Page<Payment> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE p.createdAt BETWEEN :startDate AND :endDate",
+            countQuery = "SELECT COUNT(p) FROM Payment p WHERE p.createdAt BETWEEN :startDate AND :endDate")
+    Page<PaymentSummary> findByCreatedAtBetween(@Param("startDate") LocalDateTime startDate,
+                                                @Param("endDate") LocalDateTime endDate,
+                                                Pageable pageable);
 
     /**
      * Buscar pagos aprobados entre dos fechas
@@ -201,7 +253,11 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      * @param pageable Configuración de paginación
      * @return Página de pagos
      */
-    Page<Payment> findByAmountBetween(BigDecimal minAmount, BigDecimal maxAmount, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE p.amount BETWEEN :minAmount AND :maxAmount",
+            countQuery = "SELECT COUNT(p) FROM Payment p WHERE p.amount BETWEEN :minAmount AND :maxAmount")
+    Page<PaymentSummary> findByAmountBetween(@Param("minAmount") BigDecimal minAmount,
+                                             @Param("maxAmount") BigDecimal maxAmount,
+                                             Pageable pageable);
 
     /**
      * Buscar pagos mayores a un monto
@@ -0,0 +1,30 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/payment/repository/PaymentSummary.java
+// Propósito: Modelo de lectura para listados de pagos (sin entidades administradas)
+// ============================================
+
+package com.aguardi.ecommerce.payment.repository;
+
+import com.aguardi.ecommerce.payment.entity.PaymentMethod;
+import com.aguardi.ecommerce.payment.entity.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Columnas que necesita PaymentDTO; paymentDetails (JSON de MercadoPago) no se lee.
+ */
+public record PaymentSummary(
+        Long id,
+        Long orderId,
+        String orderNumber,
+        Long userId,
+        BigDecimal amount,
+        PaymentStatus status,
+        PaymentMethod method,
+        String externalPaymentId,
+        String statusDetail,
+        LocalDateTime createdAt,
+        LocalDateTime approvedAt
+) {
+}
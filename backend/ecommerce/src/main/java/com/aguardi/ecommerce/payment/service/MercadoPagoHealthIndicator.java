@@ -0,0 +1,52 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/payment/service/MercadoPagoHealthIndicator.java
+// Propósito: Health check de MercadoPago en segundo plano
+// ============================================
+
+package com.aguardi.ecommerce.payment.service;
+
+import com.aguardi.ecommerce.shared.health.ExternalServiceHealthIndicator;
+import com.mercadopago.client.user.UserClient;
+import com.mercadopago.resources.user.User;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Usa el access token que configura MercadoPagoSdkConfig; la validación de
+ * credenciales contra la API se hace en segundo plano.
+ */
+@Component
+public class MercadoPagoHealthIndicator extends ExternalServiceHealthIndicator {
+
+    private final String accessToken;
+
+    public MercadoPagoHealthIndicator(
+            @Value("${mercadopago.access-token:}") String accessToken,
+            @Qualifier("taskExecutor") Executor taskExecutor,
+            @Value("${app.health.external-check-interval:5m}") Duration checkInterval
+    ) {
+        super(taskExecutor, checkInterval);
+        this.accessToken = accessToken;
+    }
+
+    @Override
+    protected String serviceName() {
+        return "MercadoPago";
+    }
+
+    @Override
+    protected boolean isConfigured() {
+        return accessToken != null && !accessToken.isBlank();
+    }
+
+    @Override
+    protected Map<String, Object> verify() throws Exception {
+        User account = new UserClient().get();
+        return Map.of("accountId", String.valueOf(account.getId()));
+    }
+}
@@ -16,12 +16,13 @@ import com.aguardi.ecommerce.payment.entity.PaymentWebhookLog;
 import com.aguardi.ecommerce.payment.mapper.PaymentMapper;
 import com.aguardi.ecommerce.payment.mapper.PaymentWebhookMapper;
 import com.aguardi.ecommerce.payment.repository.PaymentRepository;
+import com.aguardi.ecommerce.payment.repository.PaymentSummary;
 import com.aguardi.ecommerce.payment.repository.PaymentWebhookLogRepository;
 import com.aguardi.ecommerce.shared.exception.*;
 import com.aguardi.ecommerce.shared.util.SecurityUtils;
 import com.aguardi.ecommerce.user.entity.User;
 import com.aguardi.ecommerce.user.repository.UserRepository;
-import com.mercadopago.MercadoPagoConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mercadopago.client.preference.*;
 import com.mercadopago.exceptions.MPApiException;
 import com.mercadopago.exceptions.MPException;
@@ -53,9 +54,7 @@ public class PaymentServiceImpl implements PaymentService {
     private final PaymentWebhookLogRepository webhookLogRepository;
     private final PaymentMapper paymentMapper;
     private final PaymentWebhookMapper webhookMapper;
-
-    @Value("${mercadopago.access-token}")
-    private String mercadoPagoAccessToken;
+    private final ObjectMapper objectMapper;
 
     @Value("${mercadopago.success-url}")
     private String successUrl;
@@ -186,7 +185,7 @@ public class PaymentServiceImpl implements PaymentService {
         Long userId = SecurityUtils.getCurrentUserId();
         log.info("Getting payments for user: {}", userId);
 
-        Page<Payment> payments = paymentRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+        Page<PaymentSummary> payments = paymentRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
         return payments.map(paymentMapper::toDTO);
     }
 
@@ -200,7 +199,7 @@ public class PaymentServiceImpl implements PaymentService {
             throw new ForbiddenException("Solo los administradores pueden ver todos los pagos");
         }
 
-        Page<Payment> payments = paymentRepository.findAll(pageable);
+        Page<PaymentSummary> payments = paymentRepository.findSummaries(pageable);
         return payments.map(paymentMapper::toDTO);
     }
 
@@ -214,7 +213,7 @@ public class PaymentServiceImpl implements PaymentService {
             throw new ForbiddenException("Solo los administradores pueden filtrar pagos");
         }
 
-        Page<Payment> payments = paymentRepository.findByStatusOrderByCreatedAtDesc(status, pageable);
+        Page<PaymentSummary> payments = paymentRepository.findByStatusOrderByCreatedAtDesc(status, pageable);
         return payments.map(paymentMapper::toDTO);
     }
 
@@ -283,7 +282,7 @@ public class PaymentServiceImpl implements PaymentService {
 
         // Serializar el payload
         try {
-            webhookLog.setPayload(new com.fasterxml.jackson.databind.ObjectMapper().writeValueAsString(webhookData));
+            webhookLog.setPayload(objectMapper.writeValueAsString(webhookData));
         } catch (Exception e) {
             webhookLog.setPayload(webhookData.toString());
         }
@@ -443,10 +442,9 @@ public class PaymentServiceImpl implements PaymentService {
     @Transactional(readOnly = true)
     public Page<PaymentDTO> getStalePendingPayments(int minutesOld, Pageable pageable) {
         LocalDateTime time = LocalDateTime.now().minusMinutes(minutesOld);
-        List<Payment> stalePayments = paymentRepository.findStalePendingPayments(time);
 
-        // Convertir a Page (simplificado)
-        return Page.empty(pageable);
+        return paymentRepository.findStalePendingPayments(time, pageable)
+                .map(paymentMapper::toDTO);
     }
 
     // ========================================
@@ -459,8 +457,7 @@ public class PaymentServiceImpl implements PaymentService {
     private Preference createMercadoPagoPreferenceInternal(Order order, Payment payment)
             throws MPException, MPApiException {
 
-        // Configurar MercadoPago
-        MercadoPagoConfig.setAccessToken(mercadoPagoAccessToken);
+        // El access token se configura una sola vez (ver MercadoPagoHealthIndicator)
 
         // Crear items de la preferencia
         List<PreferenceItemRequest> items = new ArrayList<>();
@@ -0,0 +1,75 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/payment/service/StalePaymentCheckJob.java
+// Propósito: Job que detecta pagos que siguen pendientes después de un tiempo razonable
+// ============================================
+
+package com.aguardi.ecommerce.payment.service;
+
+import com.aguardi.ecommerce.payment.repository.PaymentRepository;
+import com.aguardi.ecommerce.shared.job.ScheduledJob;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Un pago pendiente por mucho tiempo suele ser un webhook de MercadoPago que no
+ * llegó. El job los cuenta y deja un aviso en el log y en job_runs; la consulta
+ * detallada está en PaymentService.getStalePendingPayments.
+ *
+ * La métrica para alertar se calcula al leerla, en cada nodo: el job corre en un
+ * solo nodo por disparo y un valor guardado en memoria quedaría en 0 en los demás.
+ */
+@Component
+@Slf4j
+public class StalePaymentCheckJob implements ScheduledJob {
+
+    private final PaymentRepository paymentRepository;
+    private final Duration staleAfter;
+
+    public StalePaymentCheckJob(
+            PaymentRepository paymentRepository,
+            @Value("${app.jobs.stale-payment-check.stale-after:60m}") Duration staleAfter,
+            MeterRegistry meterRegistry
+    ) {
+        this.paymentRepository = paymentRepository;
+        this.staleAfter = staleAfter;
+
+        Gauge.builder("payments.stale.pending", this, StalePaymentCheckJob::countStalePayments)
+                .description("Pagos pendientes más antiguos que app.jobs.stale-payment-check.stale-after")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return "stale-payment-check";
+    }
+
+    @Override
+    public String getDefaultCron() {
+        return "0 */15 * * * *";
+    }
+
+    @Override
+    public String run() {
+        long count = countStalePayments();
+
+        if (count > 0) {
+            log.warn("{} payments pending for more than {}", count, staleAfter);
+        }
+
+        return String.format("%d payments pending for more than %s", count, staleAfter);
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    private long countStalePayments() {
+        return paymentRepository.countStalePendingPayments(LocalDateTime.now().minus(staleAfter));
+    }
+}
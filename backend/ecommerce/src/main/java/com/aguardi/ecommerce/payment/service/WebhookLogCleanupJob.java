@@ -0,0 +1,50 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/payment/service/WebhookLogCleanupJob.java
+// Propósito: Job que borra los logs de webhooks procesados antiguos
+// ============================================
+
+package com.aguardi.ecommerce.payment.service;
+
+import com.aguardi.ecommerce.shared.job.ScheduledJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Usa la función cleanup_old_webhook_logs (V6): solo borra logs ya procesados.
+ */
+@Component
+@Slf4j
+public class WebhookLogCleanupJob implements ScheduledJob {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int retentionDays;
+
+    public WebhookLogCleanupJob(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.jobs.webhook-log-cleanup.retention-days:30}") int retentionDays
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionDays = retentionDays;
+    }
+
+    @Override
+    public String getName() {
+        return "webhook-log-cleanup";
+    }
+
+    @Override
+    public String getDefaultCron() {
+        return "0 30 3 * * *";
+    }
+
+    @Override
+    public String run() {
+        Integer deleted = jdbcTemplate.queryForObject(
+                "SELECT cleanup_old_webhook_logs(?)", Integer.class, retentionDays
+        );
+
+        return String.format("%d webhook logs older than %d days deleted", deleted, retentionDays);
+    }
+}
@@ -0,0 +1,125 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/controller/PriceCampaignController.java
+// Propósito: Controller para programar campañas de precios (solo admin)
+// ============================================
+
+package com.aguardi.ecommerce.product.controller;
+
+import com.aguardi.ecommerce.product.dto.CreatePriceCampaignRequest;
+import com.aguardi.ecommerce.product.dto.PriceCampaignDTO;
+import com.aguardi.ecommerce.product.entity.PriceCampaignStatus;
+import com.aguardi.ecommerce.product.service.PriceCampaignService;
+import com.aguardi.ecommerce.shared.dto.ApiResponse;
+import com.aguardi.ecommerce.shared.dto.PageResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/price-campaigns")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasRole('ADMIN')")
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Price Campaigns", description = "Endpoints de campañas de precios programadas (solo admin)")
+public class PriceCampaignController {
+
+    private final PriceCampaignService campaignService;
+
+    /**
+     * Programar campaña
+     * POST /api/price-campaigns
+     */
+    @PostMapping
+    @Operation(
+            summary = "[ADMIN] Programar campaña de precios",
+            description = "Las reglas ponen en oferta productos o categorías entre startsAt y endsAt. " +
+                    "Gana la regla de producto y, entre iguales, el menor precio. " +
+                    "Solo se aplica si baja el precio actual (incluida una oferta manual). " +
+                    "Al terminar, cada producto vuelve a la oferta que tenía"
+    )
+    public ResponseEntity<ApiResponse<PriceCampaignDTO>> createCampaign(
+            @Valid @RequestBody CreatePriceCampaignRequest request) {
+
+        log.info("Create price campaign request received - name: {}", request.getName());
+
+        PriceCampaignDTO campaign = campaignService.createCampaign(request);
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Campaña programada exitosamente", campaign));
+    }
+
+    /**
+     * Listar campañas
+     * GET /api/price-campaigns
+     */
+    @GetMapping
+    @Operation(
+            summary = "[ADMIN] Listar campañas de precios",
+            description = "Filtro opcional por estado (SCHEDULED, ACTIVE, ENDED, CANCELLED)"
+    )
+    public ResponseEntity<ApiResponse<PageResponse<PriceCampaignDTO>>> getCampaigns(
+            @RequestParam(required = false) PriceCampaignStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        log.info("Get price campaigns request received - status: {}", status);
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by("startsAt").descending());
+        Page<PriceCampaignDTO> campaigns = campaignService.getCampaigns(status, pageable);
+
+        return ResponseEntity.ok(
+                ApiResponse.success(PageResponse.of(campaigns))
+        );
+    }
+
+    /**
+     * Obtener campaña con sus reglas
+     * GET /api/price-campaigns/{id}
+     */
+    @GetMapping("/{id}")
+    @Operation(
+            summary = "[ADMIN] Obtener campaña de precios",
+            description = "Detalle de la campaña con sus reglas"
+    )
+    public ResponseEntity<ApiResponse<PriceCampaignDTO>> getCampaignById(@PathVariable Long id) {
+        log.info("Get price campaign request received - id: {}", id);
+
+        PriceCampaignDTO campaign = campaignService.getCampaignById(id);
+
+        return ResponseEntity.ok(
+                ApiResponse.success(campaign)
+        );
+    }
+
+    /**
+     * Cancelar campaña
+     * POST /api/price-campaigns/{id}/cancel
+     */
+    @PostMapping("/{id}/cancel")
+    @Operation(
+            summary = "[ADMIN] Cancelar campaña de precios",
+            description = "Una campaña activa devuelve a sus productos la oferta que tenían antes"
+    )
+    public ResponseEntity<ApiResponse<PriceCampaignDTO>> cancelCampaign(@PathVariable Long id) {
+        log.info("Cancel price campaign request received - id: {}", id);
+
+        PriceCampaignDTO campaign = campaignService.cancelCampaign(id);
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Campaña cancelada exitosamente", campaign)
+        );
+    }
+}
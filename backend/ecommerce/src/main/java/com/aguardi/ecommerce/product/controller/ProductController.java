@@ -10,6 +10,8 @@ import com.aguardi.ecommerce.product.service.ProductService;
 import com.aguardi.ecommerce.shared.dto.ApiResponse;
 import com.aguardi.ecommerce.shared.dto.MessageResponse;
 import com.aguardi.ecommerce .shared.dto.PageResponse;
+import com.aguardi.ecommerce.shared.web.FieldSelection;
+import com.aguardi.ecommerce.shared.web.SparseFieldsets;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -31,6 +33,7 @@ import java.util.List;
 @RequestMapping("/api/products")
 @RequiredArgsConstructor
 @Slf4j
+@SparseFieldsets
 @Tag(name = "Products", description = "Endpoints de gestión de productos")
 public class ProductController {
 
@@ -67,6 +70,48 @@ public class ProductController {
         );
     }
 
+    /**
+     * Obtener varios productos por ID (público)
+     * GET /api/products?ids=1,2,3
+     */
+    @GetMapping(params = "ids")
+    @Operation(
+            summary = "Obtener productos por IDs",
+            description = "Obtener hasta 100 productos activos en una sola consulta (carritos anónimos)"
+    )
+    public ResponseEntity<ApiResponse<List<ProductDTO>>> getProductsByIds(
+            @RequestParam List<Long> ids) {
+
+        log.info("Get products by IDs request received - {} ids", ids.size());
+
+        List<ProductDTO> products = productService.getProductsByIds(ids);
+
+        return ResponseEntity.ok(
+                ApiResponse.success(products)
+        );
+    }
+
+    /**
+     * Validar stock de los ítems del carrito (público)
+     * POST /api/products/stock-check
+     */
+    @PostMapping("/stock-check")
+    @Operation(
+            summary = "Validar stock del carrito",
+            description = "Devolver precio efectivo, stock disponible e imagen principal de cada ítem"
+    )
+    public ResponseEntity<ApiResponse<List<StockCheckResultDTO>>> checkStock(
+            @RequestBody List<StockCheckItemRequest> items) {
+
+        log.info("Stock check request received - {} items", items.size());
+
+        List<StockCheckResultDTO> results = productService.checkStockBatch(items);
+
+        return ResponseEntity.ok(
+                ApiResponse.success(results)
+        );
+    }
+
     /**
      * Buscar productos con filtros (público)
      * GET /api/products/search
@@ -115,6 +160,67 @@ public class ProductController {
         );
     }
 
+    /**
+     * Conteos de los filtros del catálogo (público)
+     * GET /api/products/facets
+     */
+    @GetMapping("/facets")
+    @Operation(
+            summary = "Facetas del catálogo",
+            description = "Cantidad de productos por categoría, rango de precio, novedades, ofertas y stock " +
+                    "para los filtros aplicados"
+    )
+    public ResponseEntity<ApiResponse<ProductFacetsDTO>> getFacets(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String categorySlug,
+            @RequestParam(required = false) java.math.BigDecimal minPrice,
+            @RequestParam(required = false) java.math.BigDecimal maxPrice,
+            @RequestParam(required = false) Boolean isNew,
+            @RequestParam(required = false) Boolean onSale,
+            @RequestParam(required = false) Boolean inStock) {
+
+        log.info("Product facets request received - query: {}", q);
+
+        ProductFilterRequest filter = ProductFilterRequest.builder()
+                .searchTerm(q)
+                .categoryId(categoryId)
+                .categorySlug(categorySlug)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .isNew(isNew)
+                .onSale(onSale)
+                .inStock(inStock)
+                .build();
+
+        ProductFacetsDTO facets = productService.getFacets(filter);
+
+        return ResponseEntity.ok(
+                ApiResponse.success(facets)
+        );
+    }
+
+    /**
+     * Autocompletado de la búsqueda (público)
+     * GET /api/products/suggest?q=
+     */
+    @GetMapping("/suggest")
+    @Operation(
+            summary = "Sugerencias de búsqueda",
+            description = "Productos (por nombre o SKU) y categorías que empiezan con el texto escrito, " +
+                    "sin distinguir acentos, ordenados por ventas"
+    )
+    public ResponseEntity<ApiResponse<ProductSuggestionsDTO>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit) {
+
+        ProductSuggestionsDTO suggestions = productService.suggest(q, limit);
+
+        return ResponseEntity.ok(
+                ApiResponse.success(suggestions)
+        );
+    }
+
     /**
      * Obtener productos por categoría (público)
      * GET /api/products/category/{categoryId}
@@ -218,6 +324,52 @@ public class ProductController {
         );
     }
 
+    /**
+     * Obtener productos más vistos (público)
+     * GET /api/products/trending
+     */
+    @GetMapping("/trending")
+    @Operation(
+            summary = "Productos más vistos",
+            description = "Obtener los productos con más vistas en los últimos días"
+    )
+    public ResponseEntity<ApiResponse<List<ProductDTO>>> getTrendingProducts(
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        log.info("Get trending products request received - days: {}, limit: {}", days, limit);
+
+        List<ProductDTO> products = productService.getTrendingProducts(days, limit);
+
+        return ResponseEntity.ok(
+                ApiResponse.success(products)
+        );
+    }
+
+    /**
+     * Obtener vistas y conversión por producto (solo admin)
+     * GET /api/products/view-stats
+     */
+    @GetMapping("/view-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(
+            summary = "Vistas y conversión",
+            description = "Vistas del detalle, órdenes pagadas y conversión de los productos más vistos (solo admin)"
+    )
+    public ResponseEntity<ApiResponse<List<ProductViewStatsDTO>>> getViewStats(
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        log.info("Get product view stats request received - days: {}, limit: {}", days, limit);
+
+        List<ProductViewStatsDTO> stats = productService.getViewStats(days, limit);
+
+        return ResponseEntity.ok(
+                ApiResponse.success(stats)
+        );
+    }
+
     /**
      * Obtener producto por ID (público)
      * GET /api/products/{id}
@@ -228,11 +380,12 @@ public class ProductController {
             description = "Obtener detalle completo de un producto"
     )
     public ResponseEntity<ApiResponse<ProductDetailDTO>> getProductById(
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @RequestParam(name = FieldSelection.PARAM, required = false) String fields) {
 
         log.info("Get product by ID request received - id: {}", id);
 
-        ProductDetailDTO product = productService.getProductById(id);
+        ProductDetailDTO product = productService.getProductById(id, FieldSelection.parse(fields));
 
         return ResponseEntity.ok(
                 ApiResponse.success(product)
@@ -246,7 +399,7 @@ public class ProductController {
     @GetMapping("/{id}/related")
     @Operation(
             summary = "Productos relacionados",
-            description = "Obtener productos similares o de la misma categoría"
+            description = "Productos comprados junto con este, completados con otros de la misma categoría"
     )
     public ResponseEntity<ApiResponse<List<ProductDTO>>> getRelatedProducts(
             @PathVariable Long id,
@@ -0,0 +1,63 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/dto/CreatePriceCampaignRequest.java
+// Propósito: DTO para programar una campaña de precios (solo admin)
+// ============================================
+
+package com.aguardi.ecommerce.product.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreatePriceCampaignRequest {
+
+    @NotBlank(message = "El nombre es obligatorio")
+    @Size(max = 200, message = "El nombre no puede exceder 200 caracteres")
+    private String name;
+
+    @NotNull(message = "La fecha de inicio es obligatoria")
+    private LocalDateTime startsAt;
+
+    @NotNull(message = "La fecha de fin es obligatoria")
+    private LocalDateTime endsAt;
+
+    @NotEmpty(message = "La campaña debe tener al menos una regla")
+    @Size(max = 500, message = "La campaña no puede tener más de 500 reglas")
+    @Valid
+    private List<RuleRequest> rules;
+
+    /**
+     * Un producto o una categoría, con precio fijo o porcentaje de descuento
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RuleRequest {
+        private Long productId;
+        private Long categoryId;
+
+        @DecimalMin(value = "0.01", message = "El descuento debe ser mayor a 0")
+        @DecimalMax(value = "99.99", message = "El descuento debe ser menor a 100")
+        private BigDecimal discountPercent;
+
+        @DecimalMin(value = "0.01", message = "El precio de oferta debe ser mayor a 0")
+        private BigDecimal salePrice;
+    }
+}
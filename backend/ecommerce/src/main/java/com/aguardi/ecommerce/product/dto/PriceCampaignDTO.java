@@ -0,0 +1,49 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/dto/PriceCampaignDTO.java
+// Propósito: DTO de campaña de precios (solo admin)
+// ============================================
+
+package com.aguardi.ecommerce.product.dto;
+
+import com.aguardi.ecommerce.product.entity.PriceCampaignStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceCampaignDTO {
+    private Long id;
+    private String name;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private PriceCampaignStatus status;
+
+    // Productos que pasaron a oferta al activarse (0 mientras está programada)
+    private Integer productsApplied;
+
+    // Solo en el detalle
+    private List<RuleDTO> rules;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RuleDTO {
+        private Long id;
+        private Long productId;
+        private Long categoryId;
+        private BigDecimal discountPercent;
+        private BigDecimal salePrice;
+    }
+}
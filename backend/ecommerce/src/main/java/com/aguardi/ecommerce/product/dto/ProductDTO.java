@@ -5,6 +5,7 @@
 
 package com.aguardi.ecommerce.product.dto;
 
+import com.aguardi.ecommerce.shared.dto.ResponsiveImageDTO;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -29,6 +30,7 @@ public class ProductDTO {
     private Boolean onSale;
     private Boolean active;
     private String mainImageUrl;
+    private ResponsiveImageDTO mainImage;
     private Integer discountPercentage;
 
     // Precio efectivo (con descuento si aplica)
@@ -5,6 +5,7 @@
 
 package com.aguardi.ecommerce.product.dto;
 
+import com.aguardi.ecommerce.shared.dto.ResponsiveImageDTO;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -36,6 +37,9 @@ public class ProductDetailDTO {
     @Builder.Default
     private List<ProductImageDTO> images = new ArrayList<>();
 
+    // Imagen principal en formato responsive (srcset)
+    private ResponsiveImageDTO mainImage;
+
     private Integer discountPercentage;
     private BigDecimal effectivePrice;
     private Boolean inStock;
@@ -0,0 +1,53 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/dto/ProductFacetsDTO.java
+// Propósito: DTO con los conteos de cada filtro del catálogo
+// ============================================
+
+package com.aguardi.ecommerce.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductFacetsDTO {
+
+    // Productos que cumplen todos los filtros
+    private Long total;
+
+    // Cada faceta se cuenta con los demás filtros aplicados, sin el propio
+    private List<CategoryFacet> categories;
+    private List<PriceFacet> prices;
+    private Long newProducts;
+    private Long onSale;
+    private Long inStock;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CategoryFacet {
+        private Long categoryId;
+        private String slug;
+        private String name;
+        private Long count;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class PriceFacet {
+        // Desde (inclusive) y hasta (exclusive); null = sin límite
+        private BigDecimal minPrice;
+        private BigDecimal maxPrice;
+        private Long count;
+    }
+}
@@ -5,6 +5,7 @@
 
 package com.aguardi.ecommerce.product.dto;
 
+import com.aguardi.ecommerce.shared.dto.ResponsiveImageDTO;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,4 +21,7 @@ public class ProductImageDTO {
     private String altText;
     private Boolean isMain;
     private Integer displayOrder;
+
+    // URLs por tamaño (thumb/card/detail) listas para srcset
+    private ResponsiveImageDTO responsive;
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/dto/ProductSuggestionsDTO.java
+// Propósito: DTO con las sugerencias del autocompletado de la búsqueda
+// ============================================
+
+package com.aguardi.ecommerce.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSuggestionsDTO {
+
+    // Ordenados por ventas (los más vendidos primero)
+    private List<ProductSuggestion> products;
+    private List<CategorySuggestion> categories;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ProductSuggestion {
+        private Long id;
+        private String name;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CategorySuggestion {
+        private Long id;
+        private String slug;
+        private String name;
+    }
+}
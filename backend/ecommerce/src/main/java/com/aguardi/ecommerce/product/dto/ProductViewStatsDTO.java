@@ -0,0 +1,29 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/dto/ProductViewStatsDTO.java
+// Propósito: DTO con las vistas y la conversión de un producto en un período (admin)
+// ============================================
+
+package com.aguardi.ecommerce.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductViewStatsDTO {
+    private Long productId;
+    private String name;
+    private Long views;
+
+    // Órdenes pagadas en el período que incluyen el producto
+    private Long orders;
+
+    // Órdenes cada 100 vistas (las vistas del día en curso llegan cada flush-interval)
+    private BigDecimal conversionRate;
+}
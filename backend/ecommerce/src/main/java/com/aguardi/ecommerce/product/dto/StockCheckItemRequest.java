@@ -0,0 +1,22 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/dto/StockCheckItemRequest.java
+// Propósito: DTO de un ítem del carrito a validar (producto + cantidad)
+// ============================================
+
+package com.aguardi.ecommerce.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockCheckItemRequest {
+
+    private Long productId;
+
+    private Integer quantity;
+}
@@ -0,0 +1,36 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/dto/StockCheckResultDTO.java
+// Propósito: DTO con el resultado de validar un ítem del carrito
+// ============================================
+
+package com.aguardi.ecommerce.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockCheckResultDTO {
+    private Long productId;
+    private String name;
+
+    // Cantidad pedida y stock actual
+    private Integer requestedQuantity;
+    private Integer availableStock;
+
+    // true si el producto existe, está activo y alcanza el stock
+    private Boolean available;
+
+    // false si el producto no existe o fue desactivado
+    private Boolean found;
+
+    private BigDecimal price;
+    private BigDecimal effectivePrice;
+    private String mainImageUrl;
+}
@@ -0,0 +1,66 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/entity/PriceCampaign.java
+// Propósito: Entidad de campaña de precios (ofertas con inicio y fin programados)
+// ============================================
+
+package com.aguardi.ecommerce.product.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "price_campaigns")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceCampaign {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 200)
+    private String name;
+
+    @Column(nullable = false)
+    private LocalDateTime startsAt;
+
+    @Column(nullable = false)
+    private LocalDateTime endsAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private PriceCampaignStatus status = PriceCampaignStatus.SCHEDULED;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer productsApplied = 0;  // Productos que pasaron a oferta al activarse
+
+    @OneToMany(mappedBy = "campaign", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id ASC")
+    @Builder.Default
+    private List<PriceCampaignRule> rules = new ArrayList<>();
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Método helper para manejar reglas
+    public void addRule(PriceCampaignRule rule) {
+        rules.add(rule);
+        rule.setCampaign(this);
+    }
+}
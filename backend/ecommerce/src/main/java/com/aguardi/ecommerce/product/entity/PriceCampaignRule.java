@@ -0,0 +1,46 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/entity/PriceCampaignRule.java
+// Propósito: Regla de una campaña de precios (producto o categoría, precio fijo o descuento)
+// ============================================
+
+package com.aguardi.ecommerce.product.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Se aplica a un producto (productId) o a todos los de una categoría
+ * (categoryId). Si un producto cumple varias reglas, gana la de producto y,
+ * entre iguales, la de menor precio resultante.
+ */
+@Entity
+@Table(name = "price_campaign_rules")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceCampaignRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "campaign_id", nullable = false)
+    private PriceCampaign campaign;
+
+    @Column
+    private Long productId;
+
+    @Column
+    private Long categoryId;
+
+    @Column(precision = 5, scale = 2)
+    private BigDecimal discountPercent;  // Porcentaje sobre el precio normal
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal salePrice;  // Precio fijo de oferta
+}
@@ -0,0 +1,13 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/entity/PriceCampaignStatus.java
+// Propósito: Enum de estados de una campaña de precios
+// ============================================
+
+package com.aguardi.ecommerce.product.entity;
+
+public enum PriceCampaignStatus {
+    SCHEDULED,    // Programada, todavía no empezó
+    ACTIVE,       // Precios aplicados
+    ENDED,        // Terminó y se restauraron los precios
+    CANCELLED     // Cancelada por el admin (antes o durante su vigencia)
+}
@@ -5,8 +5,11 @@
 
 package com.aguardi.ecommerce.product.entity;
 
+import com.aguardi.ecommerce.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -27,6 +30,8 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.PRODUCT_REGION)
 public class Product {
 
     @Id
@@ -45,6 +50,9 @@ public class Product {
     @Column(precision = 10, scale = 2)
     private BigDecimal salePrice;  // Precio en oferta
 
+    @Column
+    private Long priceCampaignId;  // Campaña que fijó salePrice/onSale (null = oferta manual)
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
@@ -74,6 +82,7 @@ public class Product {
     // Relación con imágenes
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("displayOrder ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.PRODUCT_IMAGES_REGION)
     @Builder.Default
     private List<ProductImage> images = new ArrayList<>();
 
@@ -131,11 +140,20 @@ public class Product {
 
     // Método para obtener precio efectivo (con descuento si está en oferta)
     public BigDecimal getEffectivePrice() {
-        return (onSale && salePrice != null) ? salePrice : price;
+        return effectivePrice(price, salePrice, onSale);
     }
 
     // Método para calcular porcentaje de descuento
     public Integer getDiscountPercentage() {
+        return discountPercentage(price, salePrice, onSale);
+    }
+
+    // Mismos cálculos para los modelos de lectura (ProductSummary)
+    public static BigDecimal effectivePrice(BigDecimal price, BigDecimal salePrice, Boolean onSale) {
+        return (onSale && salePrice != null) ? salePrice : price;
+    }
+
+    public static Integer discountPercentage(BigDecimal price, BigDecimal salePrice, Boolean onSale) {
         if (!onSale || salePrice == null || salePrice.compareTo(price) >= 0) {
             return 0;
         }
@@ -0,0 +1,55 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/mapper/PriceCampaignMapper.java
+// Propósito: Mapper para convertir entre PriceCampaign Entity y DTOs
+// ============================================
+
+package com.aguardi.ecommerce.product.mapper;
+
+import com.aguardi.ecommerce.product.dto.CreatePriceCampaignRequest;
+import com.aguardi.ecommerce.product.dto.PriceCampaignDTO;
+import com.aguardi.ecommerce.product.entity.PriceCampaign;
+import com.aguardi.ecommerce.product.entity.PriceCampaignRule;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(
+        componentModel = "spring",
+        unmappedTargetPolicy = ReportingPolicy.IGNORE
+)
+public interface PriceCampaignMapper {
+
+    // ========================================
+    // Entity -> DTO
+    // ========================================
+
+    /**
+     * Convertir PriceCampaign a DTO con sus reglas
+     * @param campaign Entidad de campaña (con reglas cargadas)
+     * @return DTO de campaña
+     */
+    PriceCampaignDTO toDTO(PriceCampaign campaign);
+
+    /**
+     * Convertir PriceCampaign a DTO sin reglas (listados)
+     * @param campaign Entidad de campaña
+     * @return DTO de campaña
+     */
+    @Mapping(target = "rules", ignore = true)
+    PriceCampaignDTO toSummaryDTO(PriceCampaign campaign);
+
+    PriceCampaignDTO.RuleDTO toRuleDTO(PriceCampaignRule rule);
+
+    // ========================================
+    // DTO -> Entity
+    // ========================================
+
+    /**
+     * Convertir una regla del request a entidad (la campaña se asigna con addRule)
+     * @param request Regla del request
+     * @return Nueva entidad de regla
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "campaign", ignore = true)
+    PriceCampaignRule toRuleEntity(CreatePriceCampaignRequest.RuleRequest request);
+}
@@ -14,7 +14,8 @@ import java.util.List;
 @Mapper(
         componentModel = "spring",
         unmappedTargetPolicy = ReportingPolicy.IGNORE,
-        nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE
+        nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE,
+        uses = ResponsiveImageMapper.class
 )
 public interface ProductImageMapper {
 
@@ -27,6 +28,7 @@ public interface ProductImageMapper {
      * @param image Entidad de imagen
      * @return DTO de imagen
      */
+    @Mapping(target = "responsive", source = "image", qualifiedByName = "responsiveImage")
     ProductImageDTO toDTO(ProductImage image);
 
     /**
@@ -8,6 +8,8 @@ package com.aguardi.ecommerce.product.mapper;
 import com.aguardi.ecommerce.product.dto.*;
 import com.aguardi.ecommerce.product.entity.Product;
 import com.aguardi.ecommerce.product.entity.ProductImage;
+import com.aguardi.ecommerce.product.repository.ProductSummary;
+import com.aguardi.ecommerce.shared.web.FieldSelection;
 import org.mapstruct.*;
 
 import java.math.BigDecimal;
@@ -17,7 +19,7 @@ import java.util.List;
         componentModel = "spring",
         unmappedTargetPolicy = ReportingPolicy.IGNORE,
         nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE,
-        uses = {CategoryMapper.class, ProductImageMapper.class}
+        uses = {CategoryMapper.class, ProductImageMapper.class, ResponsiveImageMapper.class}
 )
 public interface ProductMapper {
 
@@ -33,10 +35,21 @@ public interface ProductMapper {
     @Mapping(target = "categoryId", source = "category.id")
     @Mapping(target = "categoryName", source = "category.name")
     @Mapping(target = "mainImageUrl", expression = "java(getMainImageUrl(product))")
+    @Mapping(target = "mainImage", source = "product", qualifiedByName = "mainResponsiveImage")
     @Mapping(target = "discountPercentage", expression = "java(product.getDiscountPercentage())")
     @Mapping(target = "effectivePrice", expression = "java(product.getEffectivePrice())")
     ProductDTO toDTO(Product product);
 
+    /**
+     * Convertir un ProductSummary (listados paginados) a ProductDTO
+     * @param summary Modelo de lectura del producto
+     * @return DTO básico de producto
+     */
+    @Mapping(target = "mainImage", source = "summary", qualifiedByName = "summaryResponsiveImage")
+    @Mapping(target = "discountPercentage", expression = "java(summary.getDiscountPercentage())")
+    @Mapping(target = "effectivePrice", expression = "java(summary.getEffectivePrice())")
+    ProductDTO toDTO(ProductSummary summary);
+
     /**
      * Convertir lista de Product a lista de ProductDTO
      * @param products Lista de entidades
@@ -51,12 +64,25 @@ public interface ProductMapper {
      */
     @Mapping(target = "category", source = "category")
     @Mapping(target = "images", source = "images")
+    @Mapping(target = "mainImage", source = "product", qualifiedByName = "mainResponsiveImage")
     @Mapping(target = "discountPercentage", expression = "java(product.getDiscountPercentage())")
     @Mapping(target = "effectivePrice", expression = "java(product.getEffectivePrice())")
     @Mapping(target = "inStock", expression = "java(product.getStock() > 0)")
     @Mapping(target = "relatedProducts", ignore = true) // Se setea después en el servicio
     ProductDetailDTO toDetailDTO(Product product);
 
+    /**
+     * Convertir Product Entity a ProductDetailDTO mapeando solo los campos pedidos
+     * (las relaciones no seleccionadas, como images, no se cargan)
+     * @param product Entidad de producto
+     * @param fields Campos seleccionados con ?fields=
+     * @return DTO con los campos pedidos
+     */
+    @InheritConfiguration(name = "toDetailDTO")
+    @Mapping(target = "mainImage", source = "product", qualifiedByName = "mainResponsiveImage",
+            conditionExpression = "java(fields.includes(\"mainImage\"))")
+    ProductDetailDTO toDetailDTO(Product product, @Context FieldSelection fields);
+
     // ========================================
     // DTO -> Entity
     // ========================================
@@ -106,6 +132,14 @@ public interface ProductMapper {
         return mainImage != null ? mainImage.getUrl() : null;
     }
 
+    /**
+     * Mapear una propiedad solo si fue seleccionada
+     */
+    @Condition
+    default boolean isSelected(@TargetPropertyName String property, @Context FieldSelection fields) {
+        return fields.includes(property);
+    }
+
     /**
      * Enriquecer DTO con campos calculados
      */
@@ -0,0 +1,55 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/mapper/ResponsiveImageMapper.java
+// Propósito: Mapper de imágenes de producto a URLs responsive (usado por MapStruct)
+// ============================================
+
+package com.aguardi.ecommerce.product.mapper;
+
+import com.aguardi.ecommerce.product.entity.Product;
+import com.aguardi.ecommerce.product.entity.ProductImage;
+import com.aguardi.ecommerce.product.repository.ProductSummary;
+import com.aguardi.ecommerce.shared.dto.ResponsiveImageDTO;
+import com.aguardi.ecommerce.storage.service.ImageUrlService;
+import lombok.RequiredArgsConstructor;
+import org.mapstruct.Named;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ResponsiveImageMapper {
+
+    private final ImageUrlService imageUrlService;
+
+    /**
+     * Convertir una imagen de producto a su estructura responsive
+     */
+    @Named("responsiveImage")
+    public ResponsiveImageDTO toResponsiveImage(ProductImage image) {
+        if (image == null) {
+            return null;
+        }
+        return imageUrlService.getResponsiveImage(image.getPublicId(), image.getUrl());
+    }
+
+    /**
+     * Obtener la imagen principal de un producto en formato responsive
+     */
+    @Named("mainResponsiveImage")
+    public ResponsiveImageDTO toMainResponsiveImage(Product product) {
+        if (product == null || product.getImages() == null || product.getImages().isEmpty()) {
+            return null;
+        }
+        return toResponsiveImage(product.getMainImage());
+    }
+
+    /**
+     * Imagen principal de un listado (ya resuelta en la consulta)
+     */
+    @Named("summaryResponsiveImage")
+    public ResponsiveImageDTO toMainResponsiveImage(ProductSummary summary) {
+        if (summary == null || summary.mainImageUrl() == null) {
+            return null;
+        }
+        return imageUrlService.getResponsiveImage(summary.mainImagePublicId(), summary.mainImageUrl());
+    }
+}
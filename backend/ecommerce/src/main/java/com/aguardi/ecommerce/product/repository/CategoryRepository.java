@@ -5,9 +5,13 @@
 
 package com.aguardi.ecommerce.product.repository;
 
+import com.aguardi.ecommerce.config.HibernateCacheConfig;
 import com.aguardi.ecommerce.product.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -31,16 +35,24 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByName(String name);
 
     /**
-     * Verificar si existe una categoría con ese slug
+     * Verificar si existe una categoría con ese slug (cache de consultas)
      * @param slug Slug a verificar
      * @return true si existe, false si no
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.CATEGORY_QUERIES_REGION)
+    })
     boolean existsBySlug(String slug);
 
     /**
-     * Buscar categorías activas ordenadas por displayOrder
+     * Buscar categorías activas ordenadas por displayOrder (cache de consultas)
      * @return Lista de categorías activas
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.CATEGORY_QUERIES_REGION)
+    })
     List<Category> findByActiveTrueOrderByDisplayOrderAsc();
 
     /**
@@ -55,6 +67,13 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      */
     long countByActiveTrue();
 
+    /**
+     * Versión de las categorías (para ETag / Last-Modified)
+     * @return Última modificación y total de categorías
+     */
+    @Query("SELECT MAX(c.updatedAt) AS lastModified, COUNT(c) AS total FROM Category c")
+    EntityVersion findVersion();
+
     /**
      * Buscar categorías con productos
      * @return Lista de categorías que tienen al menos un producto activo
@@ -0,0 +1,17 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/repository/EntityVersion.java
+// Propósito: Proyección con la última modificación y el total de filas de una tabla
+// ============================================
+
+package com.aguardi.ecommerce.product.repository;
+
+import java.time.LocalDateTime;
+
+public interface EntityVersion {
+
+    /** MAX(updatedAt) de la tabla (null si está vacía) */
+    LocalDateTime getLastModified();
+
+    /** COUNT(*) de la tabla, para detectar borrados físicos */
+    Long getTotal();
+}
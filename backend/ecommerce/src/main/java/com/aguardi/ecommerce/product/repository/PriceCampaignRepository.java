@@ -0,0 +1,174 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/repository/PriceCampaignRepository.java
+// Propósito: Repositorio de campañas de precios (y sus aplicaciones masivas sobre products)
+// ============================================
+
+package com.aguardi.ecommerce.product.repository;
+
+import com.aguardi.ecommerce.product.entity.PriceCampaign;
+import com.aguardi.ecommerce.product.entity.PriceCampaignStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PriceCampaignRepository extends JpaRepository<PriceCampaign, Long> {
+
+    // ========================================
+    // BÚSQUEDAS
+    // ========================================
+
+    /**
+     * Buscar campaña con sus reglas
+     * @param id ID de la campaña
+     * @return Optional con la campaña
+     */
+    @EntityGraph(attributePaths = "rules")
+    Optional<PriceCampaign> findWithRulesById(Long id);
+
+    /**
+     * Buscar campañas por estado
+     * @param status Estado
+     * @param pageable Configuración de paginación
+     * @return Página de campañas
+     */
+    Page<PriceCampaign> findByStatus(PriceCampaignStatus status, Pageable pageable);
+
+    /**
+     * Campaña con el inicio o fin más próximo según el estado (para programar el timer)
+     */
+    Optional<PriceCampaign> findFirstByStatusOrderByStartsAtAsc(PriceCampaignStatus status);
+
+    Optional<PriceCampaign> findFirstByStatusOrderByEndsAtAsc(PriceCampaignStatus status);
+
+    /**
+     * Campañas programadas cuyo inicio ya llegó (y que todavía no terminaron)
+     * @param now Fecha actual
+     * @return IDs ordenados por inicio
+     */
+    @Query("SELECT c.id FROM PriceCampaign c " +
+            "WHERE c.status = com.aguardi.ecommerce.product.entity.PriceCampaignStatus.SCHEDULED " +
+            "AND c.startsAt <= :now AND c.endsAt > :now " +
+            "ORDER BY c.startsAt ASC, c.id ASC")
+    List<Long> findDueToStart(@Param("now") LocalDateTime now);
+
+    /**
+     * Campañas activas cuyo fin ya llegó
+     * @param now Fecha actual
+     * @return IDs ordenados por fin
+     */
+    @Query("SELECT c.id FROM PriceCampaign c " +
+            "WHERE c.status = com.aguardi.ecommerce.product.entity.PriceCampaignStatus.ACTIVE " +
+            "AND c.endsAt <= :now " +
+            "ORDER BY c.endsAt ASC, c.id ASC")
+    List<Long> findDueToEnd(@Param("now") LocalDateTime now);
+
+    // ========================================
+    // TRANSICIONES DE ESTADO
+    // ========================================
+
+    /**
+     * Cambiar el estado solo si sigue en el esperado: con varias instancias,
+     * solo una obtiene 1 y aplica la transición
+     * @return Filas actualizadas (0 o 1)
+     */
+    @Modifying
+    @Query("UPDATE PriceCampaign c SET c.status = :to, c.updatedAt = :now " +
+            "WHERE c.id = :id AND c.status = :from")
+    int transition(
+            @Param("id") Long id,
+            @Param("from") PriceCampaignStatus from,
+            @Param("to") PriceCampaignStatus to,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Terminar sin aplicar las campañas programadas cuyo período ya pasó
+     * (p. ej. la aplicación estuvo detenida durante toda la vigencia)
+     * @return Campañas terminadas
+     */
+    @Modifying
+    @Query("UPDATE PriceCampaign c " +
+            "SET c.status = com.aguardi.ecommerce.product.entity.PriceCampaignStatus.ENDED, c.updatedAt = :now " +
+            "WHERE c.status = com.aguardi.ecommerce.product.entity.PriceCampaignStatus.SCHEDULED " +
+            "AND c.endsAt <= :now")
+    int endMissed(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE PriceCampaign c SET c.productsApplied = :productsApplied WHERE c.id = :id")
+    void updateProductsApplied(@Param("id") Long id, @Param("productsApplied") int productsApplied);
+
+    // ========================================
+    // APLICACIÓN DE PRECIOS (una sentencia por paso)
+    // ========================================
+
+    /**
+     * Resolver las reglas contra el catálogo y guardar, por producto, el precio
+     * de campaña y la oferta que tenía antes. Gana la regla de producto y, entre
+     * iguales, el menor precio. Se omiten los productos que ya pertenecen a otra
+     * campaña y aquellos en los que el precio no baja respecto del que se cobra
+     * hoy (una oferta manual más barata se mantiene).
+     *
+     * Bloquea los productos (en orden de ID) hasta el commit: si otra campaña
+     * está activando los mismos productos en otra instancia, se espera a que
+     * confirme y se vuelven a evaluar con su estado nuevo (ya no están libres).
+     * @param campaignId ID de la campaña
+     * @return Productos resueltos
+     */
+    @Modifying
+    @Query(value = "INSERT INTO price_campaign_products " +
+            "(campaign_id, product_id, sale_price, previous_on_sale, previous_sale_price) " +
+            "SELECT :campaignId, p.id, r.sale_price, p.on_sale, p.sale_price " +
+            "FROM products p " +
+            "CROSS JOIN LATERAL (" +
+            "  SELECT COALESCE(pr.sale_price, ROUND(p.price * (100 - pr.discount_percent) / 100, 2)) AS sale_price " +
+            "  FROM price_campaign_rules pr " +
+            "  WHERE pr.campaign_id = :campaignId " +
+            "    AND (pr.product_id = p.id OR pr.category_id = p.category_id) " +
+            "  ORDER BY (pr.product_id IS NULL), 1 " +
+            "  LIMIT 1" +
+            ") r " +
+            "WHERE p.price_campaign_id IS NULL " +
+            "AND r.sale_price < CASE WHEN p.on_sale AND p.sale_price IS NOT NULL THEN p.sale_price ELSE p.price END " +
+            "AND (p.id IN (SELECT product_id FROM price_campaign_rules WHERE campaign_id = :campaignId) " +
+            "     OR p.category_id IN (SELECT category_id FROM price_campaign_rules WHERE campaign_id = :campaignId)) " +
+            "ORDER BY p.id " +
+            "FOR NO KEY UPDATE OF p",
+            nativeQuery = true)
+    int resolveCampaignProducts(@Param("campaignId") Long campaignId);
+
+    /**
+     * Poner en oferta los productos resueltos de una campaña. Vuelve a exigir que
+     * el producto esté libre: nunca pisa el precio de otra campaña.
+     * @param campaignId ID de la campaña
+     * @return IDs de los productos actualizados
+     */
+    @Query(value = "UPDATE products p SET on_sale = true, sale_price = cp.sale_price, " +
+            "price_campaign_id = cp.campaign_id, updated_at = CURRENT_TIMESTAMP " +
+            "FROM price_campaign_products cp " +
+            "WHERE cp.campaign_id = :campaignId AND p.id = cp.product_id " +
+            "AND (p.price_campaign_id IS NULL OR p.price_campaign_id = cp.campaign_id) RETURNING p.id", nativeQuery = true)
+    List<Long> applyCampaignPrices(@Param("campaignId") Long campaignId);
+
+    /**
+     * Devolver a su oferta previa los productos que siguen perteneciendo a la
+     * campaña (los editados a mano mientras tanto ya no le pertenecen)
+     * @param campaignId ID de la campaña
+     * @return IDs de los productos actualizados
+     */
+    @Query(value = "UPDATE products p SET on_sale = cp.previous_on_sale, sale_price = cp.previous_sale_price, " +
+            "price_campaign_id = NULL, updated_at = CURRENT_TIMESTAMP " +
+            "FROM price_campaign_products cp " +
+            "WHERE cp.campaign_id = :campaignId AND p.id = cp.product_id " +
+            "AND p.price_campaign_id = :campaignId RETURNING p.id", nativeQuery = true)
+    List<Long> restoreCampaignPrices(@Param("campaignId") Long campaignId);
+}
@@ -0,0 +1,25 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/repository/ProductFacets.java
+// Propósito: Valores de las facetas de un producto activo (índice de facetas en memoria)
+// ============================================
+
+package com.aguardi.ecommerce.product.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Solo las columnas por las que se filtra el catálogo (ver ProductFacetIndex).
+ */
+public record ProductFacets(
+        Long id,
+        Long categoryId,
+        BigDecimal price,
+        Boolean isNew,
+        Boolean onSale,
+        Integer stock
+) {
+
+    public boolean inStock() {
+        return stock != null && stock > 0;
+    }
+}
@@ -6,21 +6,40 @@
 package com.aguardi.ecommerce.product.repository;
 
 import com.aguardi.ecommerce.product.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductSearchRepository {
+
+    /**
+     * SELECT de los listados paginados: solo las columnas de ProductDTO, sin
+     * entidades administradas. La imagen principal es la marcada como principal
+     * o, si no hay ninguna, la primera por displayOrder (igual que Product.getMainImage)
+     */
+    String SUMMARY_SELECT = "SELECT new com.aguardi.ecommerce.product.repository.ProductSummary(" +
+            "p.id, p.name, p.description, p.price, p.salePrice, c.id, c.name, p.stock, " +
+            "p.isNew, p.onSale, p.active, mi.url, mi.publicId) " +
+            "FROM Product p JOIN p.category c " +
+            "LEFT JOIN ProductImage mi ON mi.id = (SELECT i.id FROM ProductImage i WHERE i.product = p " +
+            "ORDER BY i.isMain DESC, i.displayOrder ASC, i.id ASC LIMIT 1) ";
 
     // ========================================
     // BÚSQUEDAS BÁSICAS
@@ -33,6 +52,23 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      */
     Optional<Product> findByIdAndActiveTrue(Long id);
 
+    /**
+     * Verificar si un producto existe y está activo
+     * @param id ID del producto
+     * @return true si existe y está activo
+     */
+    boolean existsByIdAndActiveTrue(Long id);
+
+    /**
+     * Buscar varios productos activos por ID en una sola query
+     * (trae categoría e imágenes en el mismo SELECT)
+     * @param ids IDs de los productos
+     * @return Lista de productos activos encontrados (sin orden garantizado)
+     */
+    @EntityGraph(attributePaths = {"category", "images"})
+    @Query("SELECT DISTINCT p FROM Product p WHERE p.id IN :ids AND p.active = true")
+    List<Product> findActiveByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Buscar producto por SKU
      * @param sku SKU del producto
@@ -56,28 +92,36 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param pageable Configuración de paginación
      * @return Página de productos activos
      */
-    Page<Product> findByActiveTrue(Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE p.active = true",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.active = true")
+    Page<ProductSummary> findByActiveTrue(Pageable pageable);
 
     /**
      * Buscar productos inactivos
      * @param pageable Configuración de paginación
      * @return Página de productos inactivos
      */
-    Page<Product> findByActiveFalse(Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE p.active = false",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.active = false")
+    Page<ProductSummary> findByActiveFalse(Pageable pageable);
 
     /**
      * Buscar productos nuevos
      * @param pageable Configuración de paginación
      * @return Página de productos marcados como nuevos
      */
-    Page<Product> findByIsNewTrueAndActiveTrue(Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE p.isNew = true AND p.active = true",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.isNew = true AND p.active = true")
+    Page<ProductSummary> findByIsNewTrueAndActiveTrue(Pageable pageable);
 
     /**
      * Buscar productos en oferta
      * @param pageable Configuración de paginación
      * @return Página de productos en oferta
      */
-    Page<Product> findByOnSaleTrueAndActiveTrue(Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE p.onSale = true AND p.active = true",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.onSale = true AND p.active = true")
+    Page<ProductSummary> findByOnSaleTrueAndActiveTrue(Pageable pageable);
 
     // ========================================
     // BÚSQUEDAS POR CATEGORÍA
@@ -89,7 +133,9 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param pageable Configuración de paginación
      * @return Página de productos
      */
-    Page<Product> findByCategoryIdAndActiveTrue(Long categoryId, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE c.id = :categoryId AND p.active = true",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category.id = :categoryId AND p.active = true")
+    Page<ProductSummary> findByCategoryIdAndActiveTrue(@Param("categoryId") Long categoryId, Pageable pageable);
 
     /**
      * Buscar productos por slug de categoría
@@ -97,8 +143,9 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param pageable Configuración de paginación
      * @return Página de productos
      */
-    @Query("SELECT p FROM Product p WHERE p.category.slug = :categorySlug AND p.active = true")
-    Page<Product> findByCategorySlug(@Param("categorySlug") String categorySlug, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE c.slug = :categorySlug AND p.active = true",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category.slug = :categorySlug AND p.active = true")
+    Page<ProductSummary> findByCategorySlug(@Param("categorySlug") String categorySlug, Pageable pageable);
 
     /**
      * Contar productos por categoría
@@ -117,7 +164,10 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param pageable Configuración de paginación
      * @return Página de productos
      */
-    Page<Product> findByNameContainingIgnoreCaseAndActiveTrue(String name, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) AND p.active = true",
+            countQuery = "SELECT COUNT(p) FROM Product p " +
+                    "WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) AND p.active = true")
+    Page<ProductSummary> findByNameContainingIgnoreCaseAndActiveTrue(@Param("name") String name, Pageable pageable);
 
     /**
      * Buscar productos por nombre o descripción
@@ -125,11 +175,15 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param pageable Configuración de paginación
      * @return Página de productos
      */
-    @Query("SELECT p FROM Product p WHERE " +
+    @Query(value = SUMMARY_SELECT + "WHERE " +
             "(LOWER(p.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
             "OR LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
-            "AND p.active = true")
-    Page<Product> searchProducts(@Param("searchTerm") String searchTerm, Pageable pageable);
+            "AND p.active = true",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE " +
+                    "(LOWER(p.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+                    "OR LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
+                    "AND p.active = true")
+    Page<ProductSummary> searchProducts(@Param("searchTerm") String searchTerm, Pageable pageable);
 
     // ========================================
     // BÚSQUEDAS POR PRECIO
@@ -142,7 +196,12 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param pageable Configuración de paginación
      * @return Página de productos
      */
-    Page<Product> findByPriceBetweenAndActiveTrue(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE p.price BETWEEN :minPrice AND :maxPrice AND p.active = true",
+            countQuery = "SELECT COUNT(p) FROM Product p " +
+                    "WHERE p.price BETWEEN :minPrice AND :maxPrice AND p.active = true")
+    Page<ProductSummary> findByPriceBetweenAndActiveTrue(@Param("minPrice") BigDecimal minPrice,
+                                                         @Param("maxPrice") BigDecimal maxPrice,
+                                                         Pageable pageable);
 
     /**
      * Buscar productos por debajo de un precio
@@ -150,7 +209,9 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param pageable Configuración de paginación
      * @return Página de productos
      */
-    Page<Product> findByPriceLessThanEqualAndActiveTrue(BigDecimal price, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE p.price <= :price AND p.active = true",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.price <= :price AND p.active = true")
+    Page<ProductSummary> findByPriceLessThanEqualAndActiveTrue(@Param("price") BigDecimal price, Pageable pageable);
 
     // ========================================
     // BÚSQUEDAS POR STOCK
@@ -161,8 +222,9 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param pageable Configuración de paginación
      * @return Página de productos con stock > 0
      */
-    @Query("SELECT p FROM Product p WHERE p.stock > 0 AND p.active = true")
-    Page<Product> findProductsInStock(Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE p.stock > 0 AND p.active = true",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.stock > 0 AND p.active = true")
+    Page<ProductSummary> findProductsInStock(Pageable pageable);
 
     /**
      * Buscar productos sin stock
@@ -180,56 +242,53 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findProductsWithLowStock(@Param("threshold") int threshold);
 
     // ========================================
-    // FILTROS COMBINADOS
+    // FACETAS
     // ========================================
 
+    String FACETS_SELECT = "SELECT new com.aguardi.ecommerce.product.repository.ProductFacets(" +
+            "p.id, p.category.id, p.price, p.isNew, p.onSale, p.stock) FROM Product p ";
+
     /**
-     * Buscar productos con filtros múltiples
-     * @param categoryId ID de categoría (opcional)
-     * @param minPrice Precio mínimo (opcional)
-     * @param maxPrice Precio máximo (opcional)
-     * @param isNew Solo productos nuevos (opcional)
-     * @param onSale Solo productos en oferta (opcional)
-     * @param pageable Configuración de paginación
-     * @return Página de productos filtrados
-     */
-    @Query("SELECT p FROM Product p WHERE " +
-            "(:categoryId IS NULL OR p.category.id = :categoryId) AND " +
-            "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
-            "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
-            "(:isNew IS NULL OR p.isNew = :isNew) AND " +
-            "(:onSale IS NULL OR p.onSale = :onSale) AND " +
-            "p.active = true")
-    Page<Product> findWithFilters(
-            @Param("categoryId") Long categoryId,
-            @Param("minPrice") BigDecimal minPrice,
-            @Param("maxPrice") BigDecimal maxPrice,
-            @Param("isNew") Boolean isNew,
-            @Param("onSale") Boolean onSale,
-            Pageable pageable
-    );
+     * Valores de las facetas de todos los productos activos (carga del índice de facetas)
+     * @return Facetas de cada producto activo
+     */
+    @Query(FACETS_SELECT + "WHERE p.active = true")
+    List<ProductFacets> findActiveFacets();
+
+    /**
+     * Valores de las facetas de varios productos (solo los activos)
+     * @param ids IDs de los productos
+     * @return Facetas de los que existen y están activos
+     */
+    @Query(FACETS_SELECT + "WHERE p.id IN :ids AND p.active = true")
+    List<ProductFacets> findActiveFacetsByIdIn(@Param("ids") Collection<Long> ids);
 
     // ========================================
-    // PRODUCTOS RELACIONADOS / RECOMENDADOS
+    // AUTOCOMPLETADO
     // ========================================
 
+    String SUGGESTION_SELECT = "SELECT new com.aguardi.ecommerce.product.repository.ProductSuggestionSource(" +
+            "p.id, p.name, p.sku, p.category.id, COUNT(oi.id)) " +
+            "FROM Product p LEFT JOIN OrderItem oi ON oi.product.id = p.id ";
+
     /**
-     * Buscar productos similares (misma categoría, excluyendo el actual)
-     * @param categoryId ID de la categoría
-     * @param excludeProductId ID del producto a excluir
-     * @param pageable Configuración de paginación
-     * @return Lista de productos similares
+     * Textos y ventas de todos los productos activos (carga del índice de sugerencias)
+     * @return Datos de cada producto activo
      */
-    @Query("SELECT p FROM Product p WHERE " +
-            "p.category.id = :categoryId AND " +
-            "p.id != :excludeProductId AND " +
-            "p.active = true AND " +
-            "p.stock > 0")
-    List<Product> findSimilarProducts(
-            @Param("categoryId") Long categoryId,
-            @Param("excludeProductId") Long excludeProductId,
-            Pageable pageable
-    );
+    @Query(SUGGESTION_SELECT + "WHERE p.active = true GROUP BY p.id, p.name, p.sku, p.category.id")
+    List<ProductSuggestionSource> findActiveSuggestionSources();
+
+    /**
+     * Textos y ventas de varios productos (solo los activos)
+     * @param ids IDs de los productos
+     * @return Datos de los que existen y están activos
+     */
+    @Query(SUGGESTION_SELECT + "WHERE p.id IN :ids AND p.active = true GROUP BY p.id, p.name, p.sku, p.category.id")
+    List<ProductSuggestionSource> findActiveSuggestionSourcesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ========================================
+    // PRODUCTOS RELACIONADOS / RECOMENDADOS
+    // ========================================
 
     /**
      * Buscar productos más vendidos (basado en OrderItems - requiere join)
@@ -243,6 +302,19 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
             "ORDER BY COUNT(oi.id) DESC")
     List<Product> findBestSellers(Pageable pageable);
 
+    /**
+     * Buscar productos más vistos desde una fecha (product_view_stats)
+     * @param since Primer día incluido
+     * @param pageable Configuración de paginación
+     * @return Lista de productos activos, de más a menos vistos
+     */
+    @Query(value = "SELECT p.* FROM products p " +
+            "JOIN product_view_stats v ON v.product_id = p.id " +
+            "WHERE p.active = true AND v.view_date >= :since " +
+            "GROUP BY p.id " +
+            "ORDER BY SUM(v.views) DESC, p.id", nativeQuery = true)
+    List<Product> findMostViewedSince(@Param("since") LocalDate since, Pageable pageable);
+
     // ========================================
     // ESTADÍSTICAS
     // ========================================
@@ -253,6 +325,13 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      */
     long countByActiveTrue();
 
+    /**
+     * Versión del catálogo de productos (para ETag / Last-Modified)
+     * @return Última modificación y total de productos
+     */
+    @Query("SELECT MAX(p.updatedAt) AS lastModified, COUNT(p) AS total FROM Product p")
+    EntityVersion findVersion();
+
     /**
      * Contar productos nuevos
      * @return Total de productos nuevos
@@ -265,13 +344,36 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      */
     long countByOnSaleTrueAndActiveTrue();
 
+    /**
+     * Vistas y órdenes pagadas por producto desde una fecha, de más a menos vistos
+     * (las canceladas o reembolsadas después del pago no cuentan como conversión)
+     * @param since Primer día incluido
+     * @param pageable Configuración de paginación
+     * @return Estadísticas de los productos con vistas en el período
+     */
+    @Query(value = "SELECT p.id AS \"productId\", p.name AS \"name\", v.views AS \"views\", " +
+            "COALESCE(o.orders, 0) AS \"orders\" " +
+            "FROM (SELECT product_id, SUM(views) AS views FROM product_view_stats " +
+            "      WHERE view_date >= :since GROUP BY product_id) v " +
+            "JOIN products p ON p.id = v.product_id " +
+            "LEFT JOIN (SELECT oi.product_id, COUNT(DISTINCT oi.order_id) AS orders FROM order_items oi " +
+            "           JOIN orders o ON o.id = oi.order_id " +
+            "           WHERE o.paid_at >= CAST(:since AS TIMESTAMP) " +
+            "             AND o.status IN ('PAID', 'PROCESSING', 'SHIPPED', 'DELIVERED') " +
+            "           GROUP BY oi.product_id) o " +
+            "  ON o.product_id = v.product_id " +
+            "ORDER BY v.views DESC, p.id", nativeQuery = true)
+    List<ProductViewStats> findViewStatsSince(@Param("since") LocalDate since, Pageable pageable);
+
     /**
      * Buscar productos creados recientemente
      * @param date Fecha desde la cual buscar
      * @param pageable Configuración de paginación
      * @return Página de productos nuevos
      */
-    Page<Product> findByCreatedAtAfterAndActiveTrue(LocalDateTime date, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE p.createdAt > :date AND p.active = true",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.createdAt > :date AND p.active = true")
+    Page<ProductSummary> findByCreatedAtAfterAndActiveTrue(@Param("date") LocalDateTime date, Pageable pageable);
 
     // ========================================
     // ACTUALIZACIONES
@@ -287,13 +389,63 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     void updateStock(@Param("productId") Long productId, @Param("newStock") int newStock);
 
     /**
-     * Reducir stock de un producto
+     * Bloquear las filas de varios productos (en orden de ID, sin deadlocks entre
+     * órdenes con los mismos productos) antes de descontar su stock. Cada UPDATE
+     * posterior lee las reservas con el stock ya bloqueado: una reserva
+     * confirmada mientras esperaba el lock se cuenta
+     * @param productIds IDs de los productos
+     * @return IDs de los productos encontrados
+     */
+    @Query(value = "SELECT id FROM products WHERE id IN (:productIds) ORDER BY id FOR NO KEY UPDATE", nativeQuery = true)
+    List<Long> lockForStockUpdate(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Reducir stock de un producto solo si alcanza sin tocar las reservas
+     * vigentes de stock_holds (también avanza updated_at para que cambie la
+     * versión del catálogo)
+     * @param productId ID del producto
+     * @param quantity Cantidad a reducir
+     * @return Filas actualizadas (0 si no hay stock suficiente)
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "products"))
+    @Query(value = "UPDATE products p SET stock = p.stock - :quantity, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE p.id = :productId AND p.stock - (" +
+            "  SELECT COALESCE(SUM(h.quantity), 0) FROM stock_holds h " +
+            "  WHERE h.product_id = p.id AND h.expires_at > CURRENT_TIMESTAMP) >= :quantity", nativeQuery = true)
+    int reduceStock(@Param("productId") Long productId,
+                    @Param("quantity") int quantity);
+
+    /**
+     * Reducir stock de un producto para la orden de un carrito: la reserva del
+     * propio carrito se puede descontar, las de otros no
      * @param productId ID del producto
      * @param quantity Cantidad a reducir
+     * @param cartId Carrito que se convierte en la orden
+     * @return Filas actualizadas (0 si no hay stock suficiente)
      */
     @Modifying
-    @Query("UPDATE Product p SET p.stock = p.stock - :quantity WHERE p.id = :productId AND p.stock >= :quantity")
-    int reduceStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "products"))
+    @Query(value = "UPDATE products p SET stock = p.stock - :quantity, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE p.id = :productId AND p.stock - (" +
+            "  SELECT COALESCE(SUM(h.quantity), 0) FROM stock_holds h " +
+            "  WHERE h.product_id = p.id AND h.cart_id <> :cartId " +
+            "    AND h.expires_at > CURRENT_TIMESTAMP) >= :quantity", nativeQuery = true)
+    int reduceStockForCart(@Param("productId") Long productId,
+                           @Param("quantity") int quantity,
+                           @Param("cartId") UUID cartId);
+
+    /**
+     * Devolver al stock las unidades de varias órdenes canceladas en una sola
+     * sentencia (cantidades sumadas por producto)
+     * @param orderIds IDs de las órdenes canceladas
+     * @return IDs de los productos actualizados
+     */
+    @Query(value = "UPDATE products p SET stock = p.stock + r.quantity, updated_at = CURRENT_TIMESTAMP " +
+            "FROM (SELECT oi.product_id, SUM(oi.quantity) AS quantity FROM order_items oi " +
+            "      WHERE oi.order_id IN (:orderIds) GROUP BY oi.product_id) r " +
+            "WHERE p.id = r.product_id RETURNING p.id", nativeQuery = true)
+    List<Long> restoreStockForOrders(@Param("orderIds") Collection<Long> orderIds);
 
     /**
      * Activar/desactivar producto
@@ -0,0 +1,40 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/repository/ProductSearchRepository.java
+// Propósito: Búsqueda del catálogo con filtros componibles (fragmento de ProductRepository)
+// ============================================
+
+package com.aguardi.ecommerce.product.repository;
+
+import com.aguardi.ecommerce.product.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface ProductSearchRepository {
+
+    /**
+     * Buscar productos con los filtros dados, proyectados a ProductSummary
+     * @param spec Filtros (ver ProductSpecifications)
+     * @param pageable Paginación y ordenamiento
+     * @return Página de productos
+     */
+    Page<ProductSummary> findSummaries(Specification<Product> spec, Pageable pageable);
+
+    /**
+     * Igual que findSummaries, con el total ya conocido (no ejecuta el COUNT)
+     * @param spec Filtros (ver ProductSpecifications)
+     * @param pageable Paginación y ordenamiento
+     * @param total Total de productos que cumplen los filtros
+     * @return Página de productos
+     */
+    Page<ProductSummary> findSummaries(Specification<Product> spec, Pageable pageable, long total);
+
+    /**
+     * IDs de los productos que cumplen los filtros (sin ordenar ni paginar)
+     * @param spec Filtros (ver ProductSpecifications)
+     * @return IDs de productos
+     */
+    List<Long> findIds(Specification<Product> spec);
+}
@@ -0,0 +1,132 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/repository/ProductSearchRepositoryImpl.java
+// Propósito: Implementación con Criteria de la búsqueda del catálogo
+// ============================================
+
+package com.aguardi.ecommerce.product.repository;
+
+import com.aguardi.ecommerce.product.entity.Category;
+import com.aguardi.ecommerce.product.entity.Product;
+import com.aguardi.ecommerce.product.entity.ProductImage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.criteria.JpaSubQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+/**
+ * Misma proyección que ProductRepository.SUMMARY_SELECT, pero el WHERE se arma
+ * con los predicados de la Specification: solo los filtros presentes llegan al SQL.
+ */
+@RequiredArgsConstructor
+public class ProductSearchRepositoryImpl implements ProductSearchRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<ProductSummary> findSummaries(Specification<Product> spec, Pageable pageable) {
+        List<ProductSummary> content = findContent(spec, pageable);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public Page<ProductSummary> findSummaries(Specification<Product> spec, Pageable pageable, long total) {
+        return new PageImpl<>(findContent(spec, pageable), pageable, total);
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Product> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> product = query.from(Product.class);
+        query.select(product.get("id"));
+
+        Predicate where = spec.toPredicate(product, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    private List<ProductSummary> findContent(Specification<Product> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<ProductSummary> query = cb.createQuery(ProductSummary.class);
+        Root<Product> product = query.from(Product.class);
+        Join<Product, Category> category = product.join("category");
+        Join<Product, ProductImage> mainImage = product.join("images", JoinType.LEFT);
+        mainImage.on(cb.equal(mainImage.get("id"), mainImageId(query, product, cb)));
+
+        query.select(cb.construct(ProductSummary.class,
+                product.get("id"), product.get("name"), product.get("description"),
+                product.get("price"), product.get("salePrice"),
+                category.get("id"), category.get("name"),
+                product.get("stock"), product.get("isNew"), product.get("onSale"), product.get("active"),
+                mainImage.get("url"), mainImage.get("publicId")));
+
+        Predicate where = spec.toPredicate(product, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), product, cb));
+        }
+
+        TypedQuery<ProductSummary> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        return typedQuery.getResultList();
+    }
+
+    /**
+     * Imagen principal: la marcada como principal o, si no hay, la primera por displayOrder
+     */
+    private JpaSubQuery<Long> mainImageId(CriteriaQuery<?> query, Root<Product> product, CriteriaBuilder cb) {
+        JpaSubQuery<Long> subquery = (JpaSubQuery<Long>) query.subquery(Long.class);
+        Root<ProductImage> image = subquery.from(ProductImage.class);
+
+        subquery.select(image.get("id"))
+                .where(cb.equal(image.get("product"), product))
+                .orderBy(cb.desc(image.get("isMain")), cb.asc(image.get("displayOrder")), cb.asc(image.get("id")))
+                .fetch(1);
+
+        return subquery;
+    }
+
+    private long count(Specification<Product> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> product = query.from(Product.class);
+        query.select(cb.count(product));
+
+        Predicate where = spec.toPredicate(product, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
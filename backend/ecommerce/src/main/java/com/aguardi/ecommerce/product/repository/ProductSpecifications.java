@@ -0,0 +1,146 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/repository/ProductSpecifications.java
+// Propósito: Filtros componibles del catálogo (Specification sobre Product)
+// ============================================
+
+package com.aguardi.ecommerce.product.repository;
+
+import com.aguardi.ecommerce.product.dto.ProductFilterRequest;
+import com.aguardi.ecommerce.product.entity.Category;
+import com.aguardi.ecommerce.product.entity.Product;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Cada filtro genera su predicado solo si viene en el request: PostgreSQL
+ * recibe condiciones simples sobre columnas indexadas, en lugar de
+ * {@code (:param IS NULL OR columna = :param)}, y puede elegir el índice
+ * según los filtros que realmente se usan.
+ */
+public final class ProductSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private ProductSpecifications() {
+    }
+
+    /**
+     * Combinar todos los filtros presentes en el request (siempre solo productos activos)
+     * @param filter Filtros del catálogo
+     * @return Specification con un predicado por filtro presente
+     */
+    public static Specification<Product> matching(ProductFilterRequest filter) {
+        List<Specification<Product>> specs = new ArrayList<>();
+        specs.add(active());
+
+        if (filter.getSearchTerm() != null && !filter.getSearchTerm().isBlank()) {
+            specs.add(containsText(filter.getSearchTerm()));
+        }
+        if (filter.getCategoryId() != null) {
+            specs.add(inCategory(filter.getCategoryId()));
+        }
+        if (filter.getCategorySlug() != null && !filter.getCategorySlug().isBlank()) {
+            specs.add(inCategorySlug(filter.getCategorySlug()));
+        }
+        if (filter.getMinPrice() != null) {
+            specs.add(priceAtLeast(filter.getMinPrice()));
+        }
+        if (filter.getMaxPrice() != null) {
+            specs.add(priceAtMost(filter.getMaxPrice()));
+        }
+        if (filter.getIsNew() != null) {
+            specs.add(isNew(filter.getIsNew()));
+        }
+        if (filter.getOnSale() != null) {
+            specs.add(onSale(filter.getOnSale()));
+        }
+        if (filter.getInStock() != null) {
+            specs.add(inStock(filter.getInStock()));
+        }
+
+        return Specification.allOf(specs);
+    }
+
+    /**
+     * Productos ya resueltos por el índice de facetas (búsqueda por clave primaria)
+     */
+    public static Specification<Product> idIn(Collection<Long> ids) {
+        return (product, query, cb) -> product.get("id").in(ids);
+    }
+
+    public static Specification<Product> active() {
+        return (product, query, cb) -> cb.isTrue(product.get("active"));
+    }
+
+    /**
+     * Texto en nombre o descripción (índices trigram sobre lower(name) y lower(description))
+     */
+    public static Specification<Product> containsText(String term) {
+        String pattern = "%" + escapeLike(term.trim().toLowerCase(Locale.ROOT)) + "%";
+
+        return (product, query, cb) -> cb.or(
+                cb.like(cb.lower(product.get("name")), pattern, LIKE_ESCAPE),
+                cb.like(cb.lower(product.get("description")), pattern, LIKE_ESCAPE)
+        );
+    }
+
+    /**
+     * Compara la FK directamente (sin join a categories)
+     */
+    public static Specification<Product> inCategory(Long categoryId) {
+        return (product, query, cb) -> cb.equal(product.get("category").get("id"), categoryId);
+    }
+
+    /**
+     * El slug se resuelve con una subconsulta sobre el índice único de categories.slug,
+     * así el filtro sobre products sigue siendo por category_id
+     */
+    public static Specification<Product> inCategorySlug(String slug) {
+        return (product, query, cb) -> {
+            Subquery<Long> categoryId = query.subquery(Long.class);
+            Root<Category> category = categoryId.from(Category.class);
+            categoryId.select(category.get("id")).where(cb.equal(category.get("slug"), slug));
+
+            return cb.equal(product.get("category").get("id"), categoryId);
+        };
+    }
+
+    public static Specification<Product> priceAtLeast(BigDecimal minPrice) {
+        return (product, query, cb) -> cb.greaterThanOrEqualTo(product.get("price"), minPrice);
+    }
+
+    public static Specification<Product> priceAtMost(BigDecimal maxPrice) {
+        return (product, query, cb) -> cb.lessThanOrEqualTo(product.get("price"), maxPrice);
+    }
+
+    public static Specification<Product> isNew(boolean isNew) {
+        return (product, query, cb) -> cb.equal(product.get("isNew"), isNew);
+    }
+
+    public static Specification<Product> onSale(boolean onSale) {
+        return (product, query, cb) -> cb.equal(product.get("onSale"), onSale);
+    }
+
+    public static Specification<Product> inStock(boolean inStock) {
+        return (product, query, cb) -> inStock
+                ? cb.greaterThan(product.get("stock"), 0)
+                : cb.lessThanOrEqualTo(product.get("stock"), 0);
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
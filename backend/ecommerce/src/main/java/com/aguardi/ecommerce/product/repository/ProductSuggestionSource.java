@@ -0,0 +1,18 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/repository/ProductSuggestionSource.java
+// Propósito: Datos de un producto activo para el autocompletado de la búsqueda
+// ============================================
+
+package com.aguardi.ecommerce.product.repository;
+
+/**
+ * Textos por los que se sugiere el producto y sus ventas (mismo criterio que findBestSellers).
+ */
+public record ProductSuggestionSource(
+        Long id,
+        String name,
+        String sku,
+        Long categoryId,
+        Long sales
+) {
+}
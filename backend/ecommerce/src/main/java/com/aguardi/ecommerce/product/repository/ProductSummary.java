@@ -0,0 +1,39 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/repository/ProductSummary.java
+// Propósito: Modelo de lectura para listados de productos (sin entidades administradas)
+// ============================================
+
+package com.aguardi.ecommerce.product.repository;
+
+import com.aguardi.ecommerce.product.entity.Product;
+
+import java.math.BigDecimal;
+
+/**
+ * Columnas que necesita ProductDTO, con la categoría y la imagen principal ya resueltas
+ * en la misma consulta (ver ProductRepository.SUMMARY_SELECT).
+ */
+public record ProductSummary(
+        Long id,
+        String name,
+        String description,
+        BigDecimal price,
+        BigDecimal salePrice,
+        Long categoryId,
+        String categoryName,
+        Integer stock,
+        Boolean isNew,
+        Boolean onSale,
+        Boolean active,
+        String mainImageUrl,
+        String mainImagePublicId
+) {
+
+    public BigDecimal getEffectivePrice() {
+        return Product.effectivePrice(price, salePrice, onSale);
+    }
+
+    public Integer getDiscountPercentage() {
+        return Product.discountPercentage(price, salePrice, onSale);
+    }
+}
@@ -0,0 +1,19 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/repository/ProductViewStats.java
+// Propósito: Proyección con las vistas y las órdenes pagadas de un producto en un período
+// ============================================
+
+package com.aguardi.ecommerce.product.repository;
+
+public interface ProductViewStats {
+
+    Long getProductId();
+
+    String getName();
+
+    /** Vistas del detalle en el período */
+    Long getViews();
+
+    /** Órdenes pagadas en el período que incluyen el producto */
+    Long getOrders();
+}
@@ -0,0 +1,143 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/service/CatalogVersionTracker.java
+// Propósito: Versión actual del catálogo (ETag y Last-Modified de los endpoints públicos)
+// ============================================
+
+package com.aguardi.ecommerce.product.service;
+
+import com.aguardi.ecommerce.product.repository.CategoryRepository;
+import com.aguardi.ecommerce.product.repository.EntityVersion;
+import com.aguardi.ecommerce.product.repository.ProductRepository;
+import com.aguardi.ecommerce.shared.datasource.PrimaryReads;
+import com.aguardi.ecommerce.shared.event.CachesResyncEvent;
+import com.aguardi.ecommerce.shared.event.CatalogChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * La versión se calcula con MAX(updatedAt) y COUNT de productos y categorías.
+ * Queda en memoria hasta el próximo CatalogChangedEvent (o hasta que vence el TTL,
+ * para tomar cambios hechos por otras instancias).
+ *
+ * Se lee del primario: con una réplica atrasada, la versión calculada justo
+ * después de un cambio sería la anterior y quedaría en memoria hasta el TTL.
+ */
+@Component
+@Slf4j
+public class CatalogVersionTracker {
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate primaryRead;
+    private final long ttlMillis;
+
+    private volatile CatalogVersion current;
+
+    /** Se incrementa con cada cambio, para no guardar una versión leída antes del commit */
+    private final AtomicLong generation = new AtomicLong();
+
+    public CatalogVersionTracker(
+            ProductRepository productRepository,
+            CategoryRepository categoryRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.http-cache.version-ttl:30s}") Duration ttl
+    ) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.primaryRead = PrimaryReads.template(transactionManager);
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    /**
+     * Obtener la versión actual del catálogo
+     */
+    public CatalogVersion current() {
+        CatalogVersion version = current;
+        if (version != null && System.currentTimeMillis() - version.getComputedAt() < ttlMillis) {
+            return version;
+        }
+
+        long startGeneration = generation.get();
+        version = primaryRead.execute(status -> load());
+        if (generation.get() == startGeneration) {
+            current = version;
+        }
+
+        return version;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        generation.incrementAndGet();
+        current = null;
+    }
+
+    @EventListener
+    public void onCachesResync(CachesResyncEvent event) {
+        generation.incrementAndGet();
+        current = null;
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    private CatalogVersion load() {
+        EntityVersion products = productRepository.findVersion();
+        EntityVersion categories = categoryRepository.findVersion();
+
+        LocalDateTime lastModified = latest(products.getLastModified(), categories.getLastModified());
+
+        // HTTP maneja segundos: se trunca para que If-Modified-Since compare bien
+        long lastModifiedMillis = lastModified != null
+                ? lastModified.truncatedTo(ChronoUnit.SECONDS)
+                        .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : 0L;
+
+        String etag = String.format("W/\"%x-%d-%d\"",
+                lastModified != null
+                        ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                        : 0L,
+                products.getTotal(),
+                categories.getTotal());
+
+        log.debug("Catalog version loaded: {}", etag);
+
+        return new CatalogVersion(etag, lastModifiedMillis, System.currentTimeMillis());
+    }
+
+    private LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return a.isAfter(b) ? a : b;
+    }
+
+    // ========================================
+    // CLASES INTERNAS
+    // ========================================
+
+    @Getter
+    @AllArgsConstructor
+    public static class CatalogVersion {
+        private final String etag;
+        private final long lastModified;
+        private final long computedAt;
+    }
+}
@@ -11,11 +11,13 @@ import com.aguardi.ecommerce.product.dto.UpdateCategoryRequest;
 import com.aguardi.ecommerce.product.entity.Category;
 import com.aguardi.ecommerce.product.mapper.CategoryMapper;
 import com.aguardi.ecommerce.product.repository.CategoryRepository;
+import com.aguardi.ecommerce.shared.event.CatalogChangedEvent;
 import com.aguardi.ecommerce.shared.exception.BadRequestException;
 import com.aguardi.ecommerce.shared.exception.ConflictException;
 import com.aguardi.ecommerce.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +30,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -96,6 +99,7 @@ public class CategoryServiceImpl implements CategoryService {
         // Crear categoría
         Category category = categoryMapper.toEntity(request);
         category = categoryRepository.save(category);
+        eventPublisher.publishEvent(CatalogChangedEvent.category(category.getId()));
 
         log.info("Category created successfully: {}", category.getId());
 
@@ -120,6 +124,7 @@ public class CategoryServiceImpl implements CategoryService {
         // Actualizar datos
         categoryMapper.updateEntityFromDTO(request, category);
         category = categoryRepository.save(category);
+        eventPublisher.publishEvent(CatalogChangedEvent.category(categoryId));
 
         log.info("Category updated successfully: {}", categoryId);
 
@@ -142,6 +147,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(CatalogChangedEvent.category(categoryId));
 
         log.info("Category deleted successfully: {}", categoryId);
     }
@@ -0,0 +1,212 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/service/PriceCampaignScheduler.java
+// Propósito: Activar y terminar campañas de precios en su horario
+// ============================================
+
+package com.aguardi.ecommerce.product.service;
+
+import com.aguardi.ecommerce.product.entity.PriceCampaign;
+import com.aguardi.ecommerce.product.entity.PriceCampaignStatus;
+import com.aguardi.ecommerce.product.repository.PriceCampaignRepository;
+import com.aguardi.ecommerce.shared.event.CatalogChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledFuture;
+import java.util.stream.Stream;
+
+/**
+ * Una campaña no se evalúa al leer el catálogo: al activarse escribe su precio
+ * en on_sale/sale_price de cada producto (un INSERT ... SELECT que resuelve las
+ * reglas y un UPDATE ... FROM) y al terminar devuelve la oferta previa. Las
+ * lecturas siguen siendo las de siempre (y los caches se invalidan con un solo
+ * CatalogChangedEvent con todos los productos tocados).
+ *
+ * Se programa un timer para el próximo inicio o fin; el poll de
+ * {@code app.campaigns.poll-interval} cubre lo creado en otra instancia y los
+ * reinicios. Cada paso cambia el estado solo si sigue en el esperado, así que
+ * con varias instancias se aplica una sola vez.
+ */
+@Component
+@Slf4j
+public class PriceCampaignScheduler {
+
+    private final PriceCampaignRepository campaignRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+
+    private ScheduledFuture<?> nextBoundary;
+
+    public PriceCampaignScheduler(
+            PriceCampaignRepository campaignRepository,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            TaskScheduler taskScheduler
+    ) {
+        this.campaignRepository = campaignRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.taskScheduler = taskScheduler;
+    }
+
+    /**
+     * Terminar las campañas vencidas, activar las que empiezan y programar el
+     * timer para el próximo cambio
+     */
+    @Scheduled(fixedDelayString = "${app.campaigns.poll-interval:1m}")
+    public synchronized void processDue() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+
+            Integer missed = transactionTemplate.execute(status -> campaignRepository.endMissed(now));
+            if (missed != null && missed > 0) {
+                log.warn("{} price campaigns ended without being applied (their whole period elapsed)", missed);
+            }
+
+            // Primero las que terminan: sus productos quedan libres para las que empiezan
+            for (Long campaignId : campaignRepository.findDueToEnd(now)) {
+                runSafely(campaignId, () -> finish(campaignId, PriceCampaignStatus.ENDED));
+            }
+            for (Long campaignId : campaignRepository.findDueToStart(now)) {
+                runSafely(campaignId, () -> start(campaignId));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not process due price campaigns: {}", e.getMessage());
+        } finally {
+            scheduleNext();
+        }
+    }
+
+    /**
+     * Procesar en el thread del TaskScheduler (p. ej. después del commit que creó
+     * una campaña: desde afterCommit todavía está ligado el EntityManager de esa
+     * transacción y el TransactionTemplate se uniría a ella)
+     */
+    public void processDueAsync() {
+        taskScheduler.schedule(this::processDue, Instant.now());
+    }
+
+    /**
+     * Cancelar una campaña programada o activa (las activas devuelven la oferta previa)
+     * @param campaignId ID de la campaña
+     * @return false si la campaña ya había terminado
+     */
+    public synchronized boolean cancel(Long campaignId) {
+        Boolean cancelled = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (campaignRepository.transition(campaignId, PriceCampaignStatus.SCHEDULED,
+                    PriceCampaignStatus.CANCELLED, now) == 1) {
+                return true;
+            }
+            if (campaignRepository.transition(campaignId, PriceCampaignStatus.ACTIVE,
+                    PriceCampaignStatus.CANCELLED, now) == 1) {
+                restore(campaignId);
+                return true;
+            }
+            return false;
+        });
+
+        if (Boolean.TRUE.equals(cancelled)) {
+            log.info("Price campaign {} cancelled", campaignId);
+            scheduleNext();
+        }
+        return Boolean.TRUE.equals(cancelled);
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    private void start(Long campaignId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (campaignRepository.transition(campaignId, PriceCampaignStatus.SCHEDULED,
+                    PriceCampaignStatus.ACTIVE, LocalDateTime.now()) == 0) {
+                return;  // Otra instancia la activó (o se canceló)
+            }
+
+            campaignRepository.resolveCampaignProducts(campaignId);
+            List<Long> productIds = campaignRepository.applyCampaignPrices(campaignId);
+            campaignRepository.updateProductsApplied(campaignId, productIds.size());
+            publishChanged(productIds);
+
+            log.info("Price campaign {} started: {} products on sale", campaignId, productIds.size());
+        });
+    }
+
+    private void finish(Long campaignId, PriceCampaignStatus finalStatus) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (campaignRepository.transition(campaignId, PriceCampaignStatus.ACTIVE,
+                    finalStatus, LocalDateTime.now()) == 0) {
+                return;
+            }
+
+            int restored = restore(campaignId);
+            log.info("Price campaign {} ended: {} products restored", campaignId, restored);
+        });
+    }
+
+    /**
+     * Devolver la oferta previa a los productos de la campaña (dentro de la transacción)
+     * @return Cantidad de productos restaurados
+     */
+    private int restore(Long campaignId) {
+        List<Long> productIds = campaignRepository.restoreCampaignPrices(campaignId);
+        publishChanged(productIds);
+        return productIds.size();
+    }
+
+    private void publishChanged(List<Long> productIds) {
+        if (!productIds.isEmpty()) {
+            eventPublisher.publishEvent(CatalogChangedEvent.products(productIds));
+        }
+    }
+
+    private void runSafely(Long campaignId, Runnable step) {
+        try {
+            step.run();
+        } catch (RuntimeException e) {
+            // Queda en su estado y se reintenta en el próximo poll
+            log.error("Could not process price campaign {}: {}", campaignId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Programar el timer para el próximo inicio o fin (reemplaza al anterior)
+     */
+    private synchronized void scheduleNext() {
+        if (nextBoundary != null) {
+            nextBoundary.cancel(false);
+            nextBoundary = null;
+        }
+
+        try {
+            LocalDateTime next = Stream.of(
+                            campaignRepository.findFirstByStatusOrderByStartsAtAsc(PriceCampaignStatus.SCHEDULED)
+                                    .map(PriceCampaign::getStartsAt),
+                            campaignRepository.findFirstByStatusOrderByEndsAtAsc(PriceCampaignStatus.ACTIVE)
+                                    .map(PriceCampaign::getEndsAt)
+                    )
+                    .flatMap(Optional::stream)
+                    .min(LocalDateTime::compareTo)
+                    .orElse(null);
+
+            // Uno ya vencido es una campaña que falló: la reintenta el poll, no un timer inmediato
+            if (next != null && next.isAfter(LocalDateTime.now())) {
+                nextBoundary = taskScheduler.schedule(this::processDue, next.atZone(ZoneId.systemDefault()).toInstant());
+                log.debug("Next price campaign boundary at {}", next);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not schedule next price campaign boundary: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/service/PriceCampaignService.java
+// Propósito: Interface del servicio de campañas de precios
+// ============================================
+
+package com.aguardi.ecommerce.product.service;
+
+import com.aguardi.ecommerce.product.dto.CreatePriceCampaignRequest;
+import com.aguardi.ecommerce.product.dto.PriceCampaignDTO;
+import com.aguardi.ecommerce.product.entity.PriceCampaignStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface PriceCampaignService {
+
+    /**
+     * Programar una campaña (si ya empezó, se activa al confirmar)
+     * @param request Datos de la campaña y sus reglas
+     * @return Campaña creada
+     */
+    PriceCampaignDTO createCampaign(CreatePriceCampaignRequest request);
+
+    /**
+     * Listar campañas (sin reglas)
+     * @param status Estado (null = todos)
+     * @param pageable Configuración de paginación
+     * @return Página de campañas
+     */
+    Page<PriceCampaignDTO> getCampaigns(PriceCampaignStatus status, Pageable pageable);
+
+    /**
+     * Obtener campaña con sus reglas
+     * @param campaignId ID de la campaña
+     * @return DTO de la campaña
+     */
+    PriceCampaignDTO getCampaignById(Long campaignId);
+
+    /**
+     * Cancelar una campaña programada o activa
+     * @param campaignId ID de la campaña
+     * @return Campaña cancelada
+     */
+    PriceCampaignDTO cancelCampaign(Long campaignId);
+}
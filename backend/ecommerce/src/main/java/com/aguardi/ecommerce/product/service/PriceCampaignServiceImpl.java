@@ -0,0 +1,164 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/service/PriceCampaignServiceImpl.java
+// Propósito: Implementación del servicio de campañas de precios
+// ============================================
+
+package com.aguardi.ecommerce.product.service;
+
+import com.aguardi.ecommerce.product.dto.CreatePriceCampaignRequest;
+import com.aguardi.ecommerce.product.dto.PriceCampaignDTO;
+import com.aguardi.ecommerce.product.entity.PriceCampaign;
+import com.aguardi.ecommerce.product.entity.PriceCampaignStatus;
+import com.aguardi.ecommerce.product.mapper.PriceCampaignMapper;
+import com.aguardi.ecommerce.product.repository.CategoryRepository;
+import com.aguardi.ecommerce.product.repository.PriceCampaignRepository;
+import com.aguardi.ecommerce.product.repository.ProductRepository;
+import com.aguardi.ecommerce.shared.exception.BadRequestException;
+import com.aguardi.ecommerce.shared.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriceCampaignServiceImpl implements PriceCampaignService {
+
+    private final PriceCampaignRepository campaignRepository;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final PriceCampaignMapper campaignMapper;
+    private final PriceCampaignScheduler campaignScheduler;
+
+    @Override
+    @Transactional
+    public PriceCampaignDTO createCampaign(CreatePriceCampaignRequest request) {
+        log.info("Creating price campaign: {}", request.getName());
+
+        if (!request.getEndsAt().isAfter(request.getStartsAt())) {
+            throw new BadRequestException("La fecha de fin debe ser posterior a la de inicio");
+        }
+        if (!request.getEndsAt().isAfter(LocalDateTime.now())) {
+            throw new BadRequestException("La fecha de fin ya pasó");
+        }
+
+        validateRules(request);
+
+        PriceCampaign campaign = PriceCampaign.builder()
+                .name(request.getName())
+                .startsAt(request.getStartsAt())
+                .endsAt(request.getEndsAt())
+                .build();
+        request.getRules().forEach(rule -> campaign.addRule(campaignMapper.toRuleEntity(rule)));
+
+        PriceCampaign saved = campaignRepository.save(campaign);
+
+        // Activarla si ya empezó y reprogramar el timer, una vez confirmada
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                campaignScheduler.processDueAsync();
+            }
+        });
+
+        log.info("Price campaign {} scheduled from {} to {}", saved.getId(), saved.getStartsAt(), saved.getEndsAt());
+
+        return campaignMapper.toDTO(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PriceCampaignDTO> getCampaigns(PriceCampaignStatus status, Pageable pageable) {
+        log.info("Getting price campaigns - status: {}", status);
+
+        Page<PriceCampaign> campaigns = status != null
+                ? campaignRepository.findByStatus(status, pageable)
+                : campaignRepository.findAll(pageable);
+
+        return campaigns.map(campaignMapper::toSummaryDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PriceCampaignDTO getCampaignById(Long campaignId) {
+        log.info("Getting price campaign by ID: {}", campaignId);
+
+        PriceCampaign campaign = campaignRepository.findWithRulesById(campaignId)
+                .orElseThrow(() -> new ResourceNotFoundException("Campaña", "id", campaignId));
+
+        return campaignMapper.toDTO(campaign);
+    }
+
+    @Override
+    public PriceCampaignDTO cancelCampaign(Long campaignId) {
+        log.info("Cancelling price campaign: {}", campaignId);
+
+        if (!campaignRepository.existsById(campaignId)) {
+            throw new ResourceNotFoundException("Campaña", "id", campaignId);
+        }
+
+        if (!campaignScheduler.cancel(campaignId)) {
+            throw new BadRequestException("La campaña ya terminó o fue cancelada");
+        }
+
+        return getCampaignById(campaignId);
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    /**
+     * Cada regla con un solo destino y un solo precio, sobre productos y categorías existentes
+     */
+    private void validateRules(CreatePriceCampaignRequest request) {
+        Set<Long> productIds = new HashSet<>();
+        Set<Long> categoryIds = new HashSet<>();
+
+        for (CreatePriceCampaignRequest.RuleRequest rule : request.getRules()) {
+            if ((rule.getProductId() == null) == (rule.getCategoryId() == null)) {
+                throw new BadRequestException("Cada regla debe indicar un producto o una categoría");
+            }
+            if ((rule.getDiscountPercent() == null) == (rule.getSalePrice() == null)) {
+                throw new BadRequestException("Cada regla debe indicar un descuento o un precio de oferta");
+            }
+
+            if (rule.getProductId() != null) {
+                productIds.add(rule.getProductId());
+            } else {
+                categoryIds.add(rule.getCategoryId());
+            }
+        }
+
+        if (!productIds.isEmpty()) {
+            Set<Long> found = new HashSet<>();
+            productRepository.findAllById(productIds).forEach(product -> found.add(product.getId()));
+            productIds.stream()
+                    .filter(id -> !found.contains(id))
+                    .findFirst()
+                    .ifPresent(id -> {
+                        throw new ResourceNotFoundException("Producto", "id", id);
+                    });
+        }
+
+        if (!categoryIds.isEmpty()) {
+            Set<Long> found = new HashSet<>();
+            categoryRepository.findAllById(categoryIds).forEach(category -> found.add(category.getId()));
+            categoryIds.stream()
+                    .filter(id -> !found.contains(id))
+                    .findFirst()
+                    .ifPresent(id -> {
+                        throw new ResourceNotFoundException("Categoría", "id", id);
+                    });
+        }
+    }
+}
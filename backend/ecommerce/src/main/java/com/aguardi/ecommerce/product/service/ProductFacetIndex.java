@@ -0,0 +1,563 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/service/ProductFacetIndex.java
+// Propósito: Índice de facetas del catálogo en memoria (un bitmap comprimido por valor)
+// Uso: Filtros estructurados de la búsqueda y conteos por faceta sin ir a la BD
+// ============================================
+
+package com.aguardi.ecommerce.product.service;
+
+import com.aguardi.ecommerce.product.dto.ProductFilterRequest;
+import com.aguardi.ecommerce.product.entity.Category;
+import com.aguardi.ecommerce.product.repository.CategoryRepository;
+import com.aguardi.ecommerce.product.repository.ProductFacets;
+import com.aguardi.ecommerce.product.repository.ProductRepository;
+import com.aguardi.ecommerce.shared.datasource.PrimaryReads;
+import com.aguardi.ecommerce.shared.event.CachesResyncEvent;
+import com.aguardi.ecommerce.shared.event.CatalogChangedEvent;
+import com.aguardi.ecommerce.shared.util.DebouncedBatch;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Un RoaringBitmap de IDs de productos activos por cada valor de faceta
+ * (categoría, rango de precio, nuevo, en oferta, con stock). Filtrar es
+ * intersecar bitmaps y contar una faceta es la cardinalidad de una intersección.
+ *
+ * Se carga al arrancar y se actualiza con cada CatalogChangedEvent (locales y
+ * de otras instancias): los IDs se encolan y se releen juntos en segundo plano
+ * cada {@code app.facets.refresh-delay}, sin usar el thread ni la conexión de
+ * la transacción que confirmó. Es consistente "poco después del commit": el
+ * contenido de las páginas sigue saliendo de la BD.
+ *
+ * Los bitmaps guardan IDs de 32 bits: un ID fuera de rango hace fallar la carga
+ * en lugar de indexarse mal.
+ *
+ * La búsqueda por texto no está en el índice: llega como el conjunto de IDs
+ * que resolvió la BD y se interseca como una faceta más.
+ */
+@Component
+@Slf4j
+public class ProductFacetIndex {
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate primaryRead;
+    private final BigDecimal[] priceBounds;
+    private final DebouncedBatch productChanges;
+    private final DebouncedBatch categoryChanges;
+
+    // Guarda facets y categories: los bitmaps no son thread-safe
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildMonitor = new Object();
+
+    private Facets facets;
+    private Map<Long, CategoryLabel> categories = Map.of();
+    private Map<String, Long> categoryIdsBySlug = Map.of();
+
+    // Productos modificados mientras se recarga el índice (se vuelven a leer al terminar)
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean loaded;
+
+    public ProductFacetIndex(
+            ProductRepository productRepository,
+            CategoryRepository categoryRepository,
+            PlatformTransactionManager transactionManager,
+            TaskScheduler taskScheduler,
+            @Value("${app.facets.price-buckets:5000,10000,20000,50000}") BigDecimal[] priceBounds,
+            @Value("${app.facets.refresh-delay:200ms}") Duration refreshDelay
+    ) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.priceBounds = priceBounds.clone();
+        Arrays.sort(this.priceBounds);
+
+        // Se lee del primario (la réplica puede venir atrasada) en una transacción propia
+        this.primaryRead = PrimaryReads.template(transactionManager);
+
+        this.productChanges = new DebouncedBatch("facet product", taskScheduler, refreshDelay, this::refresh);
+        this.categoryChanges = new DebouncedBatch("facet category", taskScheduler, refreshDelay,
+                categoryIds -> refreshCategories());
+    }
+
+    /**
+     * IDs de los productos que cumplen los filtros estructurados
+     * @param filter Filtros (el término de búsqueda se ignora: ver textMatches)
+     * @param textMatches IDs que cumplen la búsqueda por texto, o null si no hay texto
+     * @return Bitmap con los IDs (copia, se puede modificar)
+     */
+    public RoaringBitmap match(ProductFilterRequest filter, Collection<Long> textMatches) {
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            return FastAggregation.and(selection(filter, textMatches).bitmaps(Selection.NONE));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Resultado de los filtros y conteo de cada valor de faceta. Cada faceta se
+     * cuenta con los demás filtros aplicados pero no el suyo (así se ven las
+     * opciones alternativas, p. ej. las otras categorías).
+     * @param filter Filtros (el término de búsqueda se ignora: ver textMatches)
+     * @param textMatches IDs que cumplen la búsqueda por texto, o null si no hay texto
+     * @return Total y conteos por faceta
+     */
+    public FacetCounts count(ProductFilterRequest filter, Collection<Long> textMatches) {
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            Selection selection = selection(filter, textMatches);
+            long total = FastAggregation.and(selection.bitmaps(Selection.NONE)).getLongCardinality();
+
+            RoaringBitmap categoryBase = FastAggregation.and(selection.bitmaps(Selection.CATEGORY));
+            Map<Long, Long> byCategory = new LinkedHashMap<>();
+            categories.keySet().forEach(categoryId -> {
+                RoaringBitmap members = facets.byCategory.get(categoryId);
+                long count = members != null ? RoaringBitmap.andCardinality(categoryBase, members) : 0L;
+                if (count > 0) {
+                    byCategory.put(categoryId, count);
+                }
+            });
+
+            RoaringBitmap priceBase = FastAggregation.and(selection.bitmaps(Selection.PRICE));
+            long[] byPrice = new long[facets.byPrice.length];
+            for (int i = 0; i < byPrice.length; i++) {
+                byPrice[i] = RoaringBitmap.andCardinality(priceBase, facets.byPrice[i]);
+            }
+
+            return new FacetCounts(
+                    total,
+                    byCategory,
+                    byPrice,
+                    RoaringBitmap.andCardinality(FastAggregation.and(selection.bitmaps(Selection.NEW)), facets.newProducts),
+                    RoaringBitmap.andCardinality(FastAggregation.and(selection.bitmaps(Selection.ON_SALE)), facets.onSale),
+                    RoaringBitmap.andCardinality(FastAggregation.and(selection.bitmaps(Selection.IN_STOCK)), facets.inStock)
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Categoría indexada (para armar la respuesta de facetas)
+     */
+    public Optional<CategoryLabel> category(Long categoryId) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(categories.get(categoryId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Límites de los rangos de precio: el rango i va de priceBounds[i-1] (inclusive)
+     * a priceBounds[i] (exclusive); el primero empieza en 0 y el último no tiene tope
+     */
+    public BigDecimal[] getPriceBounds() {
+        return priceBounds.clone();
+    }
+
+    /**
+     * Recargar el índice completo desde la BD
+     */
+    public void rebuild() {
+        synchronized (rebuildMonitor) {
+            long start = System.currentTimeMillis();
+            rebuilding = true;
+            changedDuringRebuild.clear();
+
+            try {
+                List<ProductFacets> rows = primaryRead.execute(status -> productRepository.findActiveFacets());
+                Map<Long, CategoryLabel> labels = primaryRead.execute(status -> loadCategories());
+
+                Facets fresh = new Facets(priceBounds.length + 1);
+                rows.forEach(row -> fresh.add(row, bucketOf(row.price())));
+                fresh.optimize();
+
+                lock.writeLock().lock();
+                try {
+                    facets = fresh;
+                    setCategories(labels);
+                    loaded = true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+
+                log.info("Product facet index rebuilt: {} products in {} ms",
+                        rows.size(), System.currentTimeMillis() - start);
+            } finally {
+                rebuilding = false;
+            }
+
+            // Cambios que llegaron mientras se leía la BD: la lectura pudo ser anterior al commit
+            List<Long> changed = new ArrayList<>(changedDuringRebuild);
+            changedDuringRebuild.removeAll(changed);
+            if (!changed.isEmpty()) {
+                refresh(changed);
+            }
+        }
+    }
+
+    /**
+     * Volver a leer las facetas de varios productos con una sola consulta (quita
+     * los que ya no están activos)
+     * @param productIds IDs de los productos
+     */
+    public void refresh(Collection<Long> productIds) {
+        if (rebuilding) {
+            changedDuringRebuild.addAll(productIds);
+        }
+
+        List<ProductFacets> rows = primaryRead.execute(status -> productRepository.findActiveFacetsByIdIn(productIds));
+
+        lock.writeLock().lock();
+        try {
+            if (facets == null) {
+                return;  // Todavía no se cargó: la carga completa ya lo va a leer
+            }
+            productIds.forEach(productId -> facets.remove(indexId(productId)));
+            rows.forEach(current -> facets.add(current, bucketOf(current.price())));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Volver a leer las categorías (nombres y slugs)
+     */
+    public void refreshCategories() {
+        Map<Long, CategoryLabel> labels = primaryRead.execute(status -> loadCategories());
+        lock.writeLock().lock();
+        try {
+            setCategories(labels);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        switch (event.getEntityType()) {
+            case PRODUCT -> productChanges.add(event.getEntityIds());
+            case CATEGORY -> categoryChanges.add(event.getEntityIds());
+        }
+    }
+
+    @EventListener
+    public void onCachesResync(CachesResyncEvent event) {
+        rebuild();
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    /**
+     * Si se consulta antes de la carga inicial, se carga en este thread
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+
+        synchronized (rebuildMonitor) {
+            if (!loaded) {
+                rebuild();
+            }
+        }
+    }
+
+    /**
+     * Bitmap de cada filtro presente (se llama con el read lock tomado)
+     */
+    private Selection selection(ProductFilterRequest filter, Collection<Long> textMatches) {
+        Selection selection = new Selection(facets.all);
+
+        if (textMatches != null) {
+            RoaringBitmap text = new RoaringBitmap();
+            // Un ID fuera de rango no puede estar en el índice
+            textMatches.stream()
+                    .filter(id -> id <= Integer.MAX_VALUE)
+                    .forEach(id -> text.add(id.intValue()));
+            selection.set(Selection.TEXT, text);
+        }
+
+        if (filter.getCategoryId() != null || hasText(filter.getCategorySlug())) {
+            selection.set(Selection.CATEGORY, categoryMembers(filter));
+        }
+
+        if (filter.getMinPrice() != null || filter.getMaxPrice() != null) {
+            selection.set(Selection.PRICE, priceRange(filter.getMinPrice(), filter.getMaxPrice()));
+        }
+
+        selection.set(Selection.NEW, flag(facets.newProducts, filter.getIsNew()));
+        selection.set(Selection.ON_SALE, flag(facets.onSale, filter.getOnSale()));
+        selection.set(Selection.IN_STOCK, flag(facets.inStock, filter.getInStock()));
+
+        return selection;
+    }
+
+    private RoaringBitmap categoryMembers(ProductFilterRequest filter) {
+        Long categoryId = filter.getCategoryId();
+
+        if (hasText(filter.getCategorySlug())) {
+            Long slugCategoryId = categoryIdsBySlug.get(filter.getCategorySlug());
+            if (slugCategoryId == null || (categoryId != null && !categoryId.equals(slugCategoryId))) {
+                return new RoaringBitmap();
+            }
+            categoryId = slugCategoryId;
+        }
+
+        RoaringBitmap members = facets.byCategory.get(categoryId);
+        return members != null ? members : new RoaringBitmap();
+    }
+
+    /**
+     * Los rangos completos dentro de [min, max] se toman enteros; en los que
+     * quedan cortados por un extremo se compara el precio de cada producto
+     */
+    private RoaringBitmap priceRange(BigDecimal min, BigDecimal max) {
+        RoaringBitmap result = new RoaringBitmap();
+
+        for (int i = 0; i < facets.byPrice.length; i++) {
+            BigDecimal lower = i > 0 ? priceBounds[i - 1] : null;
+            BigDecimal upper = i < priceBounds.length ? priceBounds[i] : null;
+
+            boolean below = min != null && upper != null && upper.compareTo(min) <= 0;
+            boolean above = max != null && lower != null && lower.compareTo(max) > 0;
+            if (below || above) {
+                continue;
+            }
+
+            boolean fromMin = min == null || (lower != null && lower.compareTo(min) >= 0);
+            boolean toMax = max == null || (upper != null && upper.compareTo(max) <= 0);
+            if (fromMin && toMax) {
+                result.or(facets.byPrice[i]);
+                continue;
+            }
+
+            facets.byPrice[i].forEach((int id) -> {
+                BigDecimal price = facets.rows.get(id).price();
+                if ((min == null || price.compareTo(min) >= 0) && (max == null || price.compareTo(max) <= 0)) {
+                    result.add(id);
+                }
+            });
+        }
+
+        return result;
+    }
+
+    private RoaringBitmap flag(RoaringBitmap members, Boolean value) {
+        if (value == null) {
+            return null;
+        }
+        return value ? members : RoaringBitmap.andNot(facets.all, members);
+    }
+
+    private int bucketOf(BigDecimal price) {
+        int bucket = 0;
+        while (bucket < priceBounds.length && price.compareTo(priceBounds[bucket]) >= 0) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private Map<Long, CategoryLabel> loadCategories() {
+        Map<Long, CategoryLabel> labels = new LinkedHashMap<>();
+        for (Category category : categoryRepository.findAll(Sort.by("displayOrder", "id"))) {
+            labels.put(category.getId(), new CategoryLabel(category.getId(), category.getSlug(), category.getName()));
+        }
+        return labels;
+    }
+
+    private void setCategories(Map<Long, CategoryLabel> labels) {
+        Map<String, Long> bySlug = new HashMap<>();
+        labels.values().forEach(label -> bySlug.put(label.getSlug(), label.getId()));
+
+        categories = labels;
+        categoryIdsBySlug = bySlug;
+    }
+
+    private boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    /**
+     * ID de producto como entero del bitmap
+     * @throws IllegalStateException si el ID no entra en 32 bits
+     */
+    private static int indexId(Long productId) {
+        if (productId < 0 || productId > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Product id " + productId
+                    + " does not fit the facet index (32-bit bitmaps); it needs Roaring64NavigableMap");
+        }
+        return productId.intValue();
+    }
+
+    // ========================================
+    // CLASES INTERNAS
+    // ========================================
+
+    /**
+     * Bitmaps del índice y valores actuales de cada producto (para poder
+     * quitarlo de sus facetas cuando cambia)
+     */
+    private static class Facets {
+        private final RoaringBitmap all = new RoaringBitmap();
+        private final Map<Long, RoaringBitmap> byCategory = new HashMap<>();
+        private final RoaringBitmap[] byPrice;
+        private final RoaringBitmap newProducts = new RoaringBitmap();
+        private final RoaringBitmap onSale = new RoaringBitmap();
+        private final RoaringBitmap inStock = new RoaringBitmap();
+        private final Map<Integer, ProductFacets> rows = new HashMap<>();
+        private final Map<Integer, Integer> buckets = new HashMap<>();
+
+        Facets(int priceBuckets) {
+            this.byPrice = new RoaringBitmap[priceBuckets];
+            for (int i = 0; i < priceBuckets; i++) {
+                byPrice[i] = new RoaringBitmap();
+            }
+        }
+
+        void add(ProductFacets row, int bucket) {
+            int id = indexId(row.id());
+
+            rows.put(id, row);
+            buckets.put(id, bucket);
+            all.add(id);
+            byCategory.computeIfAbsent(row.categoryId(), categoryId -> new RoaringBitmap()).add(id);
+            byPrice[bucket].add(id);
+            if (Boolean.TRUE.equals(row.isNew())) {
+                newProducts.add(id);
+            }
+            if (Boolean.TRUE.equals(row.onSale())) {
+                onSale.add(id);
+            }
+            if (row.inStock()) {
+                inStock.add(id);
+            }
+        }
+
+        void remove(int id) {
+            ProductFacets row = rows.remove(id);
+            if (row == null) {
+                return;
+            }
+
+            all.remove(id);
+            RoaringBitmap category = byCategory.get(row.categoryId());
+            category.remove(id);
+            if (category.isEmpty()) {
+                byCategory.remove(row.categoryId());
+            }
+            byPrice[buckets.remove(id)].remove(id);
+            newProducts.remove(id);
+            onSale.remove(id);
+            inStock.remove(id);
+        }
+
+        void optimize() {
+            all.runOptimize();
+            byCategory.values().forEach(RoaringBitmap::runOptimize);
+            Arrays.stream(byPrice).forEach(RoaringBitmap::runOptimize);
+            newProducts.runOptimize();
+            onSale.runOptimize();
+            inStock.runOptimize();
+        }
+    }
+
+    /**
+     * Bitmap de cada dimensión filtrada (null = sin filtro en esa dimensión)
+     */
+    private static class Selection {
+        static final int NONE = -1;
+        static final int TEXT = 0;
+        static final int CATEGORY = 1;
+        static final int PRICE = 2;
+        static final int NEW = 3;
+        static final int ON_SALE = 4;
+        static final int IN_STOCK = 5;
+
+        private final RoaringBitmap all;
+        private final RoaringBitmap[] dimensions = new RoaringBitmap[6];
+
+        Selection(RoaringBitmap all) {
+            this.all = all;
+        }
+
+        void set(int dimension, RoaringBitmap members) {
+            dimensions[dimension] = members;
+        }
+
+        /**
+         * Bitmaps a intersecar: todos los productos activos y cada filtro
+         * presente, salvo la dimensión excluida
+         */
+        RoaringBitmap[] bitmaps(int excluded) {
+            List<RoaringBitmap> bitmaps = new ArrayList<>();
+            bitmaps.add(all);
+            for (int i = 0; i < dimensions.length; i++) {
+                if (i != excluded && dimensions[i] != null) {
+                    bitmaps.add(dimensions[i]);
+                }
+            }
+            return bitmaps.toArray(RoaringBitmap[]::new);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CategoryLabel {
+        private final Long id;
+        private final String slug;
+        private final String name;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class FacetCounts {
+        private final long total;
+        private final Map<Long, Long> byCategory;
+        private final long[] byPriceBucket;
+        private final long newProducts;
+        private final long onSale;
+        private final long inStock;
+    }
+}
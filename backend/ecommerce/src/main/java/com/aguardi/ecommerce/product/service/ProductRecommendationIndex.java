@@ -0,0 +1,92 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/service/ProductRecommendationIndex.java
+// Propósito: Copia en memoria de product_recommendations (vecinos por co-compra de cada producto)
+// ============================================
+
+package com.aguardi.ecommerce.product.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * El job product-recommendations corre en un solo nodo; cada instancia lee la
+ * tabla por su cuenta y recarga solo las filas con updated_at posterior a la
+ * última que vio (el job escribe marcas crecientes). Consultar los vecinos de
+ * un producto es una búsqueda en un mapa.
+ */
+@Component
+@Slf4j
+public class ProductRecommendationIndex {
+
+    private static final long[] NONE = new long[0];
+
+    // Anterior a cualquier fila: la primera lectura trae la tabla completa
+    private static final Timestamp INITIAL_MARK = Timestamp.valueOf(LocalDateTime.of(2000, 1, 1, 0, 0));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, long[]> relatedById = new ConcurrentHashMap<>();
+    private Timestamp lastUpdatedAt = INITIAL_MARK;
+
+    public ProductRecommendationIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Productos comprados junto con uno, de mayor a menor afinidad
+     * @param productId ID del producto
+     * @return IDs (vacío si todavía no hay co-compras suficientes)
+     */
+    public long[] related(Long productId) {
+        return relatedById.getOrDefault(productId, NONE);
+    }
+
+    /**
+     * Leer las filas nuevas o recalculadas desde la última lectura
+     */
+    @Scheduled(fixedDelayString = "${app.recommendations.refresh-interval:1m}")
+    public synchronized void refresh() {
+        try {
+            int[] rows = {0};
+            jdbcTemplate.query(
+                    "SELECT product_id, related_ids, updated_at FROM product_recommendations " +
+                            "WHERE updated_at > ? ORDER BY updated_at",
+                    rs -> {
+                        relatedById.put(rs.getLong("product_id"), toLongs(rs.getArray("related_ids")));
+                        lastUpdatedAt = rs.getTimestamp("updated_at");
+                        rows[0]++;
+                    },
+                    lastUpdatedAt
+            );
+
+            if (rows[0] > 0) {
+                log.debug("Product recommendations refreshed: {} products updated, {} in memory",
+                        rows[0], relatedById.size());
+            }
+        } catch (RuntimeException e) {
+            // Sin la tabla al día se sigue respondiendo con lo que hay (y con el relleno por categoría)
+            log.warn("Could not refresh product recommendations: {}", e.getMessage());
+        }
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    private static long[] toLongs(Array array) throws SQLException {
+        Object[] values = (Object[]) array.getArray();
+        long[] ids = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            ids[i] = ((Number) values[i]).longValue();
+        }
+        return ids;
+    }
+}
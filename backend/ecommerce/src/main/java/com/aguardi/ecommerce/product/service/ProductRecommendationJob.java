@@ -0,0 +1,214 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/service/ProductRecommendationJob.java
+// Propósito: Job que acumula co-compras de las órdenes pagadas y precalcula los productos relacionados
+// ============================================
+
+package com.aguardi.ecommerce.product.service;
+
+import com.aguardi.ecommerce.shared.job.ScheduledJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Incremental: cada lote toma las órdenes pagadas posteriores al cursor
+ * (co_purchase_cursor, por paid_at e ID) y, en una sola transacción:
+ *
+ * 1. Suma las órdenes de cada producto (product_purchase_counts).
+ * 2. Suma cada par de productos comprados juntos, en ambos sentidos
+ *    (product_co_purchases). Las órdenes con demasiados productos no aportan
+ *    pares: son compras mayoristas, no afinidad.
+ * 3. Recalcula los vecinos de los productos del lote (product_recommendations).
+ * 4. Avanza el cursor.
+ *
+ * La afinidad es el coseno entre los conjuntos de órdenes de los dos productos
+ * (juntos / √(órdenes A × órdenes B)): un producto que está en todas las
+ * órdenes no aparece como relacionado de todos. Los vecinos de un producto que
+ * no está en el lote no se recalculan aunque cambie el total de órdenes de
+ * alguno de ellos; se corrigen la próxima vez que se venda.
+ *
+ * Las órdenes recién pagadas esperan {@code settle-delay}: paid_at se asigna
+ * antes del commit y una orden confirmada tarde podría quedar detrás del cursor.
+ */
+@Component
+@Slf4j
+public class ProductRecommendationJob implements ScheduledJob {
+
+    private static final String LOCK_CURSOR =
+            "SELECT last_paid_at, last_order_id FROM co_purchase_cursor WHERE id = 1 FOR UPDATE";
+
+    private static final String FIND_PAID_ORDERS =
+            "SELECT id, paid_at FROM orders " +
+                    "WHERE paid_at IS NOT NULL AND paid_at < ? AND (paid_at, id) > (?, ?) " +
+                    "ORDER BY paid_at, id LIMIT ?";
+
+    private static final String ADD_PURCHASE_COUNTS =
+            "INSERT INTO product_purchase_counts (product_id, orders_count) " +
+                    "SELECT product_id, COUNT(DISTINCT order_id) FROM order_items " +
+                    "WHERE order_id = ANY(?) GROUP BY product_id " +
+                    "ON CONFLICT (product_id) DO UPDATE " +
+                    "SET orders_count = product_purchase_counts.orders_count + EXCLUDED.orders_count";
+
+    private static final String ADD_CO_PURCHASES =
+            "WITH items AS (" +
+                    "  SELECT DISTINCT order_id, product_id FROM order_items WHERE order_id = ANY(?)" +
+                    "), eligible AS (" +
+                    "  SELECT order_id FROM items GROUP BY order_id HAVING COUNT(*) BETWEEN 2 AND ?" +
+                    ") " +
+                    "INSERT INTO product_co_purchases (product_id, related_product_id, orders_count) " +
+                    "SELECT a.product_id, b.product_id, COUNT(*) FROM items a " +
+                    "JOIN items b ON b.order_id = a.order_id AND b.product_id <> a.product_id " +
+                    "WHERE a.order_id IN (SELECT order_id FROM eligible) " +
+                    "GROUP BY a.product_id, b.product_id " +
+                    "ON CONFLICT (product_id, related_product_id) DO UPDATE " +
+                    "SET orders_count = product_co_purchases.orders_count + EXCLUDED.orders_count";
+
+    // clock_timestamp y no CURRENT_TIMESTAMP: con el cursor bloqueado, cada lote escribe
+    // una marca mayor que la de cualquier lote ya confirmado (ver ProductRecommendationIndex)
+    private static final String RECOMPUTE_NEIGHBOURS =
+            "INSERT INTO product_recommendations (product_id, related_ids, updated_at) " +
+                    "SELECT s.product_id, " +
+                    "       (ARRAY_AGG(s.related_product_id ORDER BY s.score DESC, s.related_product_id))[1:?], " +
+                    "       CAST(clock_timestamp() AS TIMESTAMP) " +
+                    "FROM (" +
+                    "  SELECT cp.product_id, cp.related_product_id, " +
+                    "         cp.orders_count / SQRT(CAST(pa.orders_count AS DOUBLE PRECISION) * pb.orders_count) AS score " +
+                    "  FROM product_co_purchases cp " +
+                    "  JOIN product_purchase_counts pa ON pa.product_id = cp.product_id " +
+                    "  JOIN product_purchase_counts pb ON pb.product_id = cp.related_product_id " +
+                    "  WHERE cp.product_id IN (SELECT product_id FROM order_items WHERE order_id = ANY(?)) " +
+                    "    AND cp.orders_count >= ?" +
+                    ") s " +
+                    "GROUP BY s.product_id " +
+                    "ON CONFLICT (product_id) DO UPDATE " +
+                    "SET related_ids = EXCLUDED.related_ids, updated_at = EXCLUDED.updated_at";
+
+    private static final String ADVANCE_CURSOR =
+            "UPDATE co_purchase_cursor SET last_paid_at = ?, last_order_id = ? WHERE id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration settleDelay;
+    private final int batchSize;
+    private final int maxOrderItems;
+    private final int minSupport;
+    private final int neighbours;
+
+    public ProductRecommendationJob(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.jobs.product-recommendations.settle-delay:5m}") Duration settleDelay,
+            @Value("${app.jobs.product-recommendations.batch-size:500}") int batchSize,
+            @Value("${app.jobs.product-recommendations.max-order-items:50}") int maxOrderItems,
+            @Value("${app.jobs.product-recommendations.min-support:2}") int minSupport,
+            @Value("${app.jobs.product-recommendations.neighbours:20}") int neighbours
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.settleDelay = settleDelay;
+        this.batchSize = batchSize;
+        this.maxOrderItems = maxOrderItems;
+        this.minSupport = minSupport;
+        this.neighbours = neighbours;
+    }
+
+    @Override
+    public String getName() {
+        return "product-recommendations";
+    }
+
+    @Override
+    public String getDefaultCron() {
+        return "0 */5 * * * *";
+    }
+
+    @Override
+    public String run() {
+        return String.format("%d paid orders processed", processPaidOrders());
+    }
+
+    /**
+     * Procesar las órdenes pagadas nuevas, lote por lote, hasta alcanzar el settle-delay
+     * @return Cantidad de órdenes procesadas
+     */
+    public int processPaidOrders() {
+        LocalDateTime paidBefore = LocalDateTime.now().minus(settleDelay);
+        int processed = 0;
+
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> processBatch(paidBefore));
+            processed += batch != null ? batch : 0;
+
+            if (batch == null || batch < batchSize) {
+                break;
+            }
+        }
+
+        if (processed > 0) {
+            log.info("Co-purchases updated from {} paid orders", processed);
+        }
+
+        return processed;
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    /**
+     * Procesar un lote (dentro de su transacción)
+     * @return Órdenes del lote
+     */
+    private int processBatch(LocalDateTime paidBefore) {
+        OrderKey cursor = jdbcTemplate.queryForObject(LOCK_CURSOR, (rs, rowNum) -> new OrderKey(
+                rs.getLong("last_order_id"), rs.getTimestamp("last_paid_at")));
+
+        List<OrderKey> orders = jdbcTemplate.query(FIND_PAID_ORDERS,
+                (rs, rowNum) -> new OrderKey(rs.getLong("id"), rs.getTimestamp("paid_at")),
+                Timestamp.valueOf(paidBefore), cursor.paidAt(), cursor.id(), batchSize);
+        if (orders.isEmpty()) {
+            return 0;
+        }
+
+        Long[] orderIds = orders.stream().map(OrderKey::id).toArray(Long[]::new);
+
+        jdbcTemplate.update(ADD_PURCHASE_COUNTS, ps -> ps.setArray(1, bigintArray(ps.getConnection(), orderIds)));
+        jdbcTemplate.update(ADD_CO_PURCHASES, ps -> {
+            ps.setArray(1, bigintArray(ps.getConnection(), orderIds));
+            ps.setInt(2, maxOrderItems);
+        });
+        int products = jdbcTemplate.update(RECOMPUTE_NEIGHBOURS, ps -> {
+            ps.setInt(1, neighbours);
+            ps.setArray(2, bigintArray(ps.getConnection(), orderIds));
+            ps.setInt(3, minSupport);
+        });
+
+        OrderKey last = orders.get(orders.size() - 1);
+        jdbcTemplate.update(ADVANCE_CURSOR, last.paidAt(), last.id());
+
+        log.debug("Co-purchase batch: {} orders, neighbours recomputed for {} products", orders.size(), products);
+
+        return orders.size();
+    }
+
+    private static Array bigintArray(Connection connection, Long[] values) throws SQLException {
+        return connection.createArrayOf("bigint", values);
+    }
+
+    // ========================================
+    // CLASES INTERNAS
+    // ========================================
+
+    private record OrderKey(long id, Timestamp paidAt) {
+    }
+}
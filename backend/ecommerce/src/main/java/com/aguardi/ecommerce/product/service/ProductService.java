@@ -6,6 +6,7 @@
 package com.aguardi.ecommerce.product.service;
 
 import com.aguardi.ecommerce.product.dto.*;
+import com.aguardi.ecommerce.shared.web.FieldSelection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -27,6 +28,21 @@ public interface ProductService {
      */
     Page<ProductDTO> searchProducts(ProductFilterRequest filter);
 
+    /**
+     * Contar los productos de cada filtro del catálogo (categorías, precios, especiales)
+     * @param filter Filtros aplicados (paginación y orden se ignoran)
+     * @return Total y conteos por faceta
+     */
+    ProductFacetsDTO getFacets(ProductFilterRequest filter);
+
+    /**
+     * Sugerencias de búsqueda (autocompletado) para un texto parcial
+     * @param query Texto escrito por el usuario
+     * @param limit Máximo de productos sugeridos
+     * @return Productos y categorías sugeridos
+     */
+    ProductSuggestionsDTO suggest(String query, int limit);
+
     /**
      * Obtener productos por categoría
      * @param categoryId ID de la categoría
@@ -60,14 +76,30 @@ public interface ProductService {
     /**
      * Obtener producto por ID (detalle completo)
      * @param productId ID del producto
+     * @param fields Campos pedidos (las relaciones no pedidas no se cargan)
      * @return Producto con detalles
      */
-    ProductDetailDTO getProductById(Long productId);
+    ProductDetailDTO getProductById(Long productId, FieldSelection fields);
+
+    /**
+     * Obtener varios productos por ID en una sola consulta
+     * @param productIds IDs de los productos (máximo 100)
+     * @return Productos activos encontrados, en el orden pedido
+     */
+    List<ProductDTO> getProductsByIds(List<Long> productIds);
+
+    /**
+     * Validar stock de varios ítems del carrito en una sola consulta
+     * @param items Productos y cantidades (máximo 100, un ítem por producto)
+     * @return Resultado por ítem con precio efectivo, stock e imagen principal
+     */
+    List<StockCheckResultDTO> checkStockBatch(List<StockCheckItemRequest> items);
 
     /**
-     * Obtener productos relacionados
+     * Obtener productos relacionados (comprados junto con este, completados con
+     * otros de la misma categoría)
      * @param productId ID del producto
-     * @param limit Cantidad de productos a retornar
+     * @param limit Cantidad de productos a retornar (hasta 20)
      * @return Lista de productos relacionados
      */
     List<ProductDTO> getRelatedProducts(Long productId, int limit);
@@ -79,6 +111,22 @@ public interface ProductService {
      */
     List<ProductDTO> getBestSellers(int limit);
 
+    /**
+     * Obtener productos más vistos en los últimos días
+     * @param days Días hacia atrás, incluyendo hoy
+     * @param limit Cantidad de productos
+     * @return Lista de productos, de más a menos vistos
+     */
+    List<ProductDTO> getTrendingProducts(int days, int limit);
+
+    /**
+     * Obtener vistas y conversión de los productos más vistos (solo admin)
+     * @param days Días hacia atrás, incluyendo hoy
+     * @param limit Cantidad de productos
+     * @return Estadísticas por producto, de más a menos vistos
+     */
+    List<ProductViewStatsDTO> getViewStats(int days, int limit);
+
     /**
      * Crear nuevo producto (solo admin)
      * @param request Datos del producto
@@ -112,7 +160,7 @@ public interface ProductService {
      * Verificar disponibilidad de stock
      * @param productId ID del producto
      * @param quantity Cantidad solicitada
-     * @return true si hay stock suficiente
+     * @return true si hay stock suficiente sin contar lo reservado por checkouts en curso
      */
     boolean checkStock(Long productId, Integer quantity);
 }
@@ -11,20 +11,40 @@ import com.aguardi.ecommerce.product.entity.Product;
 import com.aguardi.ecommerce.product.mapper.ProductMapper;
 import com.aguardi.ecommerce.product.repository.CategoryRepository;
 import com.aguardi.ecommerce.product.repository.ProductRepository;
+import com.aguardi.ecommerce.product.repository.ProductSpecifications;
+import com.aguardi.ecommerce.product.repository.ProductSummary;
+import com.aguardi.ecommerce.shared.event.CatalogChangedEvent;
 import com.aguardi.ecommerce.shared.exception.BadRequestException;
 import com.aguardi.ecommerce.shared.exception.ConflictException;
 import com.aguardi.ecommerce.shared.exception.InsufficientStockException;
 import com.aguardi.ecommerce.shared.exception.ResourceNotFoundException;
+import com.aguardi.ecommerce.shared.web.FieldSelection;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -34,13 +54,34 @@ public class ProductServiceImpl implements ProductService {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final ProductMapper productMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockHoldRegistry stockHoldRegistry;
+    private final ProductFacetIndex productFacetIndex;
+    private final ProductSuggestionIndex productSuggestionIndex;
+    private final ProductRecommendationIndex productRecommendationIndex;
+
+    /** Hasta cuántos resultados del índice de facetas se buscan por ID */
+    @Value("${app.facets.max-id-set:1000}")
+    private int maxIdSetSize;
+
+    /** Máximo de productos por consulta batch */
+    private static final int MAX_BATCH_SIZE = 100;
+
+    /** Máximo de productos relacionados por consulta */
+    private static final int MAX_RELATED = 20;
+
+    /** Período máximo de las estadísticas de vistas (retención de product_view_stats) */
+    private static final int MAX_VIEW_STATS_DAYS = 90;
+
+    /** Campos por los que se puede ordenar la búsqueda (cada uno con su índice) */
+    private static final Set<String> SEARCH_SORT_FIELDS = Set.of("createdAt", "price", "name");
 
     @Override
     @Transactional(readOnly = true)
     public Page<ProductDTO> getAllProducts(Pageable pageable) {
         log.info("Getting all products with pagination");
 
-        Page<Product> products = productRepository.findByActiveTrue(pageable);
+        Page<ProductSummary> products = productRepository.findByActiveTrue(pageable);
         return products.map(productMapper::toDTO);
     }
 
@@ -49,37 +90,68 @@ public class ProductServiceImpl implements ProductService {
     public Page<ProductDTO> searchProducts(ProductFilterRequest filter) {
         log.info("Searching products with filters: {}", filter);
 
-        // Crear ordenamiento
-        Sort sort = filter.getSortDirection().equalsIgnoreCase("ASC")
-                ? Sort.by(filter.getSortBy()).ascending()
-                : Sort.by(filter.getSortBy()).descending();
-
-        Pageable pageable = PageRequest.of(filter.getPage(), filter.getSize(), sort);
-
-        // Buscar con filtros
-        Page<Product> products;
-
-        if (filter.getSearchTerm() != null && !filter.getSearchTerm().isEmpty()) {
-            // Búsqueda por texto
-            products = productRepository.searchProducts(filter.getSearchTerm(), pageable);
-        } else if (filter.getCategorySlug() != null) {
-            // Buscar por slug de categoría
-            products = productRepository.findByCategorySlug(filter.getCategorySlug(), pageable);
-        } else {
-            // Aplicar filtros múltiples
-            products = productRepository.findWithFilters(
-                    filter.getCategoryId(),
-                    filter.getMinPrice(),
-                    filter.getMaxPrice(),
-                    filter.getIsNew(),
-                    filter.getOnSale(),
-                    pageable
-            );
+        Pageable pageable = PageRequest.of(filter.getPage(), filter.getSize(), searchSort(filter));
+
+        // El índice de facetas resuelve los filtros y el total en memoria
+        RoaringBitmap matches = productFacetIndex.match(filter, textMatches(filter));
+        long total = matches.getLongCardinality();
+        if (total == 0) {
+            return Page.empty(pageable);
         }
 
+        // Pocos resultados: se buscan por ID; si no, solo los filtros presentes llegan al WHERE
+        Specification<Product> spec = total <= maxIdSetSize
+                ? ProductSpecifications.active().and(ProductSpecifications.idIn(
+                        matches.stream().mapToObj(Long::valueOf).toList()))
+                : ProductSpecifications.matching(filter);
+
+        Page<ProductSummary> products = productRepository.findSummaries(spec, pageable, total);
         return products.map(productMapper::toDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ProductFacetsDTO getFacets(ProductFilterRequest filter) {
+        log.info("Counting product facets with filters: {}", filter);
+
+        ProductFacetIndex.FacetCounts counts = productFacetIndex.count(filter, textMatches(filter));
+
+        List<ProductFacetsDTO.CategoryFacet> categories = counts.getByCategory().entrySet().stream()
+                .flatMap(entry -> productFacetIndex.category(entry.getKey()).stream()
+                        .map(category -> ProductFacetsDTO.CategoryFacet.builder()
+                                .categoryId(category.getId())
+                                .slug(category.getSlug())
+                                .name(category.getName())
+                                .count(entry.getValue())
+                                .build()))
+                .toList();
+
+        BigDecimal[] bounds = productFacetIndex.getPriceBounds();
+        List<ProductFacetsDTO.PriceFacet> prices = new ArrayList<>();
+        for (int i = 0; i < counts.getByPriceBucket().length; i++) {
+            prices.add(ProductFacetsDTO.PriceFacet.builder()
+                    .minPrice(i > 0 ? bounds[i - 1] : null)
+                    .maxPrice(i < bounds.length ? bounds[i] : null)
+                    .count(counts.getByPriceBucket()[i])
+                    .build());
+        }
+
+        return ProductFacetsDTO.builder()
+                .total(counts.getTotal())
+                .categories(categories)
+                .prices(prices)
+                .newProducts(counts.getNewProducts())
+                .onSale(counts.getOnSale())
+                .inStock(counts.getInStock())
+                .build();
+    }
+
+    @Override
+    public ProductSuggestionsDTO suggest(String query, int limit) {
+        // Sin log por pedido: se llama en cada tecla
+        return productSuggestionIndex.suggest(query, limit);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<ProductDTO> getProductsByCategory(Long categoryId, Pageable pageable) {
@@ -90,7 +162,7 @@ public class ProductServiceImpl implements ProductService {
             throw new ResourceNotFoundException("Categoría", "id", categoryId);
         }
 
-        Page<Product> products = productRepository.findByCategoryIdAndActiveTrue(categoryId, pageable);
+        Page<ProductSummary> products = productRepository.findByCategoryIdAndActiveTrue(categoryId, pageable);
         return products.map(productMapper::toDTO);
     }
 
@@ -104,7 +176,7 @@ public class ProductServiceImpl implements ProductService {
             throw new ResourceNotFoundException("Categoría", "slug", categorySlug);
         }
 
-        Page<Product> products = productRepository.findByCategorySlug(categorySlug, pageable);
+        Page<ProductSummary> products = productRepository.findByCategorySlug(categorySlug, pageable);
         return products.map(productMapper::toDTO);
     }
 
@@ -113,7 +185,7 @@ public class ProductServiceImpl implements ProductService {
     public Page<ProductDTO> getNewProducts(Pageable pageable) {
         log.info("Getting new products");
 
-        Page<Product> products = productRepository.findByIsNewTrueAndActiveTrue(pageable);
+        Page<ProductSummary> products = productRepository.findByIsNewTrueAndActiveTrue(pageable);
         return products.map(productMapper::toDTO);
     }
 
@@ -122,31 +194,71 @@ public class ProductServiceImpl implements ProductService {
     public Page<ProductDTO> getProductsOnSale(Pageable pageable) {
         log.info("Getting products on sale");
 
-        Page<Product> products = productRepository.findByOnSaleTrueAndActiveTrue(pageable);
+        Page<ProductSummary> products = productRepository.findByOnSaleTrueAndActiveTrue(pageable);
         return products.map(productMapper::toDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public ProductDetailDTO getProductById(Long productId) {
+    public ProductDetailDTO getProductById(Long productId, FieldSelection fields) {
         log.info("Getting product detail by ID: {}", productId);
 
         Product product = productRepository.findByIdAndActiveTrue(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Producto", "id", productId));
 
-        ProductDetailDTO detail = productMapper.toDetailDTO(product);
+        ProductDetailDTO detail = productMapper.toDetailDTO(product, fields);
+
+        if (!fields.includes("relatedProducts")) {
+            return detail;
+        }
 
         // Agregar productos relacionados
-        List<Product> relatedProducts = productRepository.findSimilarProducts(
-                product.getCategory().getId(),
-                productId,
-                PageRequest.of(0, 4)
-        );
-        detail.setRelatedProducts(productMapper.toDTOList(relatedProducts));
+        detail.setRelatedProducts(productMapper.toDTOList(findRelatedProducts(product, 4)));
 
         return detail;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductDTO> getProductsByIds(List<Long> productIds) {
+        log.info("Getting {} products by IDs", productIds.size());
+
+        Map<Long, Product> products = findActiveProductsById(productIds);
+
+        return productIds.stream()
+                .distinct()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .map(productMapper::toDTO)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StockCheckResultDTO> checkStockBatch(List<StockCheckItemRequest> items) {
+        log.info("Checking stock for {} cart items", items.size());
+
+        // Cada línea se compara contra todo el stock disponible: un producto repetido lo contaría dos veces
+        Set<Long> productIds = new HashSet<>();
+        for (StockCheckItemRequest item : items) {
+            if (item.getProductId() == null || item.getQuantity() == null || item.getQuantity() < 1) {
+                throw new BadRequestException("Cada ítem debe tener productId y una cantidad mayor a 0");
+            }
+            if (!productIds.add(item.getProductId())) {
+                throw new BadRequestException("El producto " + item.getProductId() + " aparece en más de un ítem");
+            }
+        }
+
+        Map<Long, Product> products = findActiveProductsById(List.copyOf(productIds));
+
+        // Lo reservado por checkouts en curso no está disponible
+        Map<Long, Integer> reserved = products.isEmpty() ? Map.of() : stockHoldRegistry.reserved(products.keySet());
+
+        return items.stream()
+                .map(item -> toStockCheckResult(item, products.get(item.getProductId()), reserved))
+                .toList();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<ProductDTO> getRelatedProducts(Long productId, int limit) {
@@ -155,13 +267,7 @@ public class ProductServiceImpl implements ProductService {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Producto", "id", productId));
 
-        List<Product> relatedProducts = productRepository.findSimilarProducts(
-                product.getCategory().getId(),
-                productId,
-                PageRequest.of(0, limit)
-        );
-
-        return productMapper.toDTOList(relatedProducts);
+        return productMapper.toDTOList(findRelatedProducts(product, limit));
     }
 
     @Override
@@ -176,6 +282,36 @@ public class ProductServiceImpl implements ProductService {
         return productMapper.toDTOList(products);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductDTO> getTrendingProducts(int days, int limit) {
+        log.info("Getting trending products for the last {} days", days);
+
+        List<Product> products = productRepository.findMostViewedSince(
+                viewStatsSince(days),
+                PageRequest.of(0, limit)
+        );
+
+        return productMapper.toDTOList(products);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductViewStatsDTO> getViewStats(int days, int limit) {
+        log.info("Getting product view stats for the last {} days", days);
+
+        return productRepository.findViewStatsSince(viewStatsSince(days), PageRequest.of(0, limit)).stream()
+                .map(stats -> ProductViewStatsDTO.builder()
+                        .productId(stats.getProductId())
+                        .name(stats.getName())
+                        .views(stats.getViews())
+                        .orders(stats.getOrders())
+                        .conversionRate(BigDecimal.valueOf(stats.getOrders() * 100)
+                                .divide(BigDecimal.valueOf(stats.getViews()), 2, RoundingMode.HALF_UP))
+                        .build())
+                .toList();
+    }
+
     @Override
     @Transactional
     public ProductDTO createProduct(CreateProductRequest request) {
@@ -195,6 +331,7 @@ public class ProductServiceImpl implements ProductService {
         product.setCategory(category);
 
         product = productRepository.save(product);
+        eventPublisher.publishEvent(CatalogChangedEvent.product(product.getId()));
 
         log.info("Product created successfully: {}", product.getId());
 
@@ -223,9 +360,16 @@ public class ProductServiceImpl implements ProductService {
             }
         }
 
+        // Una oferta editada a mano deja de pertenecer a su campaña (al terminar no se pisa)
+        if (product.getPriceCampaignId() != null && changesSale(product, request)) {
+            log.info("Product {} released from price campaign {}", productId, product.getPriceCampaignId());
+            product.setPriceCampaignId(null);
+        }
+
         // Actualizar datos
         productMapper.updateEntityFromDTO(request, product);
         product = productRepository.save(product);
+        eventPublisher.publishEvent(CatalogChangedEvent.product(productId));
 
         log.info("Product updated successfully: {}", productId);
 
@@ -246,6 +390,7 @@ public class ProductServiceImpl implements ProductService {
 
         product.setStock(newStock);
         product = productRepository.save(product);
+        eventPublisher.publishEvent(CatalogChangedEvent.product(productId));
 
         log.info("Stock updated successfully for product: {}", productId);
 
@@ -263,6 +408,7 @@ public class ProductServiceImpl implements ProductService {
         // Soft delete (desactivar en lugar de eliminar)
         product.setActive(false);
         productRepository.save(product);
+        eventPublisher.publishEvent(CatalogChangedEvent.product(productId));
 
         log.info("Product deleted (deactivated) successfully: {}", productId);
     }
@@ -275,6 +421,155 @@ public class ProductServiceImpl implements ProductService {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Producto", "id", productId));
 
-        return product.hasStock(quantity);
+        // Igual que checkStockBatch, las cotizaciones y las órdenes: lo reservado por checkouts no está disponible
+        int reserved = stockHoldRegistry.reserved(List.of(productId)).getOrDefault(productId, 0);
+
+        return product.hasStock(quantity + reserved);
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    /**
+     * Si el request cambia la oferta del producto (los campos null no se actualizan)
+     */
+    private boolean changesSale(Product product, UpdateProductRequest request) {
+        if (request.getOnSale() != null && !request.getOnSale().equals(product.getOnSale())) {
+            return true;
+        }
+        return request.getSalePrice() != null
+                && (product.getSalePrice() == null || request.getSalePrice().compareTo(product.getSalePrice()) != 0);
+    }
+
+    /**
+     * IDs de los productos activos que cumplen la búsqueda por texto (null si no hay texto)
+     */
+    private List<Long> textMatches(ProductFilterRequest filter) {
+        if (filter.getSearchTerm() == null || filter.getSearchTerm().isBlank()) {
+            return null;
+        }
+
+        return productRepository.findIds(ProductSpecifications.active()
+                .and(ProductSpecifications.containsText(filter.getSearchTerm())));
+    }
+
+    /**
+     * Ordenamiento de la búsqueda: solo campos indexados, con el ID como
+     * desempate para que la paginación sea estable entre páginas
+     */
+    private Sort searchSort(ProductFilterRequest filter) {
+        if (!SEARCH_SORT_FIELDS.contains(filter.getSortBy())) {
+            throw new BadRequestException(
+                    String.format("No se puede ordenar por '%s'. Opciones: createdAt, price, name", filter.getSortBy())
+            );
+        }
+
+        Sort.Direction direction = Sort.Direction.fromOptionalString(filter.getSortDirection())
+                .orElseThrow(() -> new BadRequestException("La dirección de ordenamiento debe ser ASC o DESC"));
+
+        return Sort.by(direction, filter.getSortBy()).and(Sort.by(direction, "id"));
+    }
+
+    /**
+     * Productos relacionados: primero los comprados junto con este (precalculados
+     * por ProductRecommendationJob), completados con otros de la misma categoría
+     * con stock. Los candidatos salen de memoria y se cargan con una sola query IN.
+     */
+    private List<Product> findRelatedProducts(Product product, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_RELATED));
+        Set<Long> candidates = new LinkedHashSet<>();
+        for (long relatedId : productRecommendationIndex.related(product.getId())) {
+            candidates.add(relatedId);
+        }
+
+        // Relleno por categoría desde el índice de facetas (alcanza aunque se descarten todos los anteriores)
+        ProductFilterRequest sameCategory = ProductFilterRequest.builder()
+                .categoryId(product.getCategory().getId())
+                .inStock(true)
+                .build();
+        IntIterator categoryMembers = productFacetIndex.match(sameCategory, null).getIntIterator();
+        int fallback = 0;
+        while (categoryMembers.hasNext() && fallback <= size) {
+            if (candidates.add((long) categoryMembers.next())) {
+                fallback++;
+            }
+        }
+
+        candidates.remove(product.getId());
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Product> products = productRepository.findActiveByIdIn(candidates).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        return candidates.stream()
+                .map(products::get)
+                .filter(related -> related != null && related.getStock() > 0)
+                .limit(size)
+                .toList();
+    }
+
+    /**
+     * Primer día de un período de estadísticas de vistas (hoy cuenta como el primero)
+     */
+    private LocalDate viewStatsSince(int days) {
+        if (days < 1 || days > MAX_VIEW_STATS_DAYS) {
+            throw new BadRequestException(
+                    String.format("El período debe ser de 1 a %d días", MAX_VIEW_STATS_DAYS)
+            );
+        }
+
+        return LocalDate.now().minusDays(days - 1L);
+    }
+
+    /**
+     * Buscar productos activos por ID con una sola query IN
+     */
+    private Map<Long, Product> findActiveProductsById(List<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            throw new BadRequestException("Debe indicar al menos un producto");
+        }
+
+        Set<Long> uniqueIds = new LinkedHashSet<>(productIds);
+        if (uniqueIds.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException(
+                    String.format("No se pueden consultar más de %d productos a la vez", MAX_BATCH_SIZE)
+            );
+        }
+
+        return productRepository.findActiveByIdIn(uniqueIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    /**
+     * Armar el veredicto de stock de un ítem
+     */
+    private StockCheckResultDTO toStockCheckResult(StockCheckItemRequest item, Product product,
+                                                   Map<Long, Integer> reserved) {
+        if (product == null) {
+            return StockCheckResultDTO.builder()
+                    .productId(item.getProductId())
+                    .requestedQuantity(item.getQuantity())
+                    .availableStock(0)
+                    .available(false)
+                    .found(false)
+                    .build();
+        }
+
+        int availableStock = Math.max(0, product.getStock() - reserved.getOrDefault(product.getId(), 0));
+
+        return StockCheckResultDTO.builder()
+                .productId(product.getId())
+                .name(product.getName())
+                .requestedQuantity(item.getQuantity())
+                .availableStock(availableStock)
+                .available(item.getQuantity() <= availableStock)
+                .found(true)
+                .price(product.getPrice())
+                .effectivePrice(product.getEffectivePrice())
+                .mainImageUrl(productMapper.getMainImageUrl(product))
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,352 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/service/ProductSuggestionIndex.java
+// Propósito: Índice en memoria del autocompletado (nombres y SKU de productos, nombres de categorías)
+// ============================================
+
+package com.aguardi.ecommerce.product.service;
+
+import com.aguardi.ecommerce.product.dto.ProductSuggestionsDTO;
+import com.aguardi.ecommerce.product.repository.CategoryRepository;
+import com.aguardi.ecommerce.product.repository.ProductRepository;
+import com.aguardi.ecommerce.product.repository.ProductSuggestionSource;
+import com.aguardi.ecommerce.shared.datasource.PrimaryReads;
+import com.aguardi.ecommerce.shared.event.CachesResyncEvent;
+import com.aguardi.ecommerce.shared.event.CatalogChangedEvent;
+import com.aguardi.ecommerce.shared.util.DebouncedBatch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Dos árboles de prefijos (productos y categorías) sobre texto normalizado, sin
+ * acentos: "nino" encuentra "Niño". Se busca desde el comienzo de cualquier
+ * palabra del nombre, o por SKU.
+ *
+ * El peso de un producto son sus ventas (ítems de órdenes, como findBestSellers)
+ * y el de una categoría, la suma de las ventas de sus productos.
+ *
+ * Se carga al arrancar y se actualiza con cada CatalogChangedEvent (crear una
+ * orden también lo publica, así que las ventas se mantienen al día). Igual que
+ * ProductFacetIndex, los IDs se encolan y se releen juntos en segundo plano
+ * cada {@code app.suggest.refresh-delay}.
+ *
+ * De las categorías se guarda solo ID, slug y nombre (no entidades: quedarían
+ * desligadas de su sesión).
+ */
+@Component
+@Slf4j
+public class ProductSuggestionIndex {
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate primaryRead;
+    private final int maxResults;
+    private final int maxDepth;
+    private final int maxWords;
+    private final DebouncedBatch productChanges;
+    private final DebouncedBatch categoryChanges;
+
+    // Guarda los árboles y los mapas: nada de esto es thread-safe
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildMonitor = new Object();
+
+    private SuggestionTrie products;
+    private SuggestionTrie categories;
+    private Map<Long, ProductSuggestionSource> productSources = new HashMap<>();
+    private Map<Long, CategoryLabel> activeCategories = new HashMap<>();
+    private Map<Long, Long> salesByCategory = new HashMap<>();
+
+    // Productos modificados mientras se recarga el índice (se vuelven a leer al terminar)
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean loaded;
+
+    public ProductSuggestionIndex(
+            ProductRepository productRepository,
+            CategoryRepository categoryRepository,
+            PlatformTransactionManager transactionManager,
+            TaskScheduler taskScheduler,
+            @Value("${app.suggest.max-results:10}") int maxResults,
+            @Value("${app.suggest.max-prefix-length:20}") int maxDepth,
+            @Value("${app.suggest.max-words:6}") int maxWords,
+            @Value("${app.suggest.refresh-delay:200ms}") Duration refreshDelay
+    ) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.maxResults = maxResults;
+        this.maxDepth = maxDepth;
+        this.maxWords = maxWords;
+
+        // Mismo criterio que ProductFacetIndex: se lee del primario en una transacción propia
+        this.primaryRead = PrimaryReads.template(transactionManager);
+
+        this.productChanges = new DebouncedBatch("suggestion product", taskScheduler, refreshDelay,
+                this::refreshProducts);
+        this.categoryChanges = new DebouncedBatch("suggestion category", taskScheduler, refreshDelay,
+                categoryIds -> refreshCategories());
+    }
+
+    /**
+     * Sugerencias para lo que el usuario lleva escrito
+     * @param query Texto escrito (se normaliza)
+     * @param limit Máximo de productos (las categorías se limitan a la mitad)
+     * @return Productos y categorías sugeridos
+     */
+    public ProductSuggestionsDTO suggest(String query, int limit) {
+        ensureLoaded();
+
+        String prefix = SuggestionTrie.normalize(query);
+        int productLimit = Math.max(1, Math.min(limit, maxResults));
+        int categoryLimit = Math.max(1, productLimit / 2);
+
+        lock.readLock().lock();
+        try {
+            List<ProductSuggestionsDTO.ProductSuggestion> productMatches = products.search(prefix, productLimit).stream()
+                    .map(entry -> ProductSuggestionsDTO.ProductSuggestion.builder()
+                            .id(entry.id())
+                            .name(entry.label())
+                            .build())
+                    .toList();
+
+            List<ProductSuggestionsDTO.CategorySuggestion> categoryMatches = categories.search(prefix, categoryLimit).stream()
+                    .map(entry -> activeCategories.get(entry.id()))
+                    .map(category -> ProductSuggestionsDTO.CategorySuggestion.builder()
+                            .id(category.id())
+                            .slug(category.slug())
+                            .name(category.name())
+                            .build())
+                    .toList();
+
+            return ProductSuggestionsDTO.builder()
+                    .products(productMatches)
+                    .categories(categoryMatches)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recargar el índice completo desde la BD
+     */
+    public void rebuild() {
+        synchronized (rebuildMonitor) {
+            long start = System.currentTimeMillis();
+            rebuilding = true;
+            changedDuringRebuild.clear();
+
+            try {
+                List<ProductSuggestionSource> sources = primaryRead.execute(
+                        status -> productRepository.findActiveSuggestionSources());
+                List<CategoryLabel> categoryList = primaryRead.execute(status -> loadActiveCategories());
+
+                SuggestionTrie freshProducts = new SuggestionTrie(maxResults, maxDepth);
+                Map<Long, ProductSuggestionSource> freshSources = new HashMap<>();
+                Map<Long, Long> freshSales = new HashMap<>();
+                for (ProductSuggestionSource source : sources) {
+                    freshSources.put(source.id(), source);
+                    freshProducts.put(productEntry(source), productKeys(source));
+                    freshSales.merge(source.categoryId(), source.sales(), Long::sum);
+                }
+
+                SuggestionTrie freshCategories = new SuggestionTrie(maxResults, maxDepth);
+                Map<Long, CategoryLabel> freshCategoryMap = new HashMap<>();
+                for (CategoryLabel category : categoryList) {
+                    freshCategoryMap.put(category.id(), category);
+                    freshCategories.put(categoryEntry(category, freshSales), categoryKeys(category));
+                }
+
+                lock.writeLock().lock();
+                try {
+                    products = freshProducts;
+                    categories = freshCategories;
+                    productSources = freshSources;
+                    activeCategories = freshCategoryMap;
+                    salesByCategory = freshSales;
+                    loaded = true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+
+                log.info("Product suggestion index rebuilt: {} products, {} categories in {} ms",
+                        sources.size(), categoryList.size(), System.currentTimeMillis() - start);
+            } finally {
+                rebuilding = false;
+            }
+
+            // Cambios que llegaron mientras se leía la BD: la lectura pudo ser anterior al commit
+            List<Long> changed = new ArrayList<>(changedDuringRebuild);
+            changedDuringRebuild.removeAll(changed);
+            if (!changed.isEmpty()) {
+                refreshProducts(changed);
+            }
+        }
+    }
+
+    /**
+     * Volver a leer varios productos con una sola consulta (quita los que ya no
+     * están activos) y actualizar el peso de las categorías afectadas
+     * @param productIds IDs de los productos
+     */
+    public void refreshProducts(Collection<Long> productIds) {
+        if (rebuilding) {
+            changedDuringRebuild.addAll(productIds);
+        }
+
+        List<ProductSuggestionSource> sources = primaryRead.execute(
+                status -> productRepository.findActiveSuggestionSourcesByIdIn(productIds));
+
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;  // Todavía no se cargó: la carga completa ya lo va a leer
+            }
+
+            Set<Long> touchedCategories = new HashSet<>();
+            for (Long productId : productIds) {
+                ProductSuggestionSource previous = productSources.remove(productId);
+                products.remove(productId);
+                if (previous != null) {
+                    salesByCategory.merge(previous.categoryId(), -previous.sales(), Long::sum);
+                    touchedCategories.add(previous.categoryId());
+                }
+            }
+
+            for (ProductSuggestionSource current : sources) {
+                productSources.put(current.id(), current);
+                products.put(productEntry(current), productKeys(current));
+                salesByCategory.merge(current.categoryId(), current.sales(), Long::sum);
+                touchedCategories.add(current.categoryId());
+            }
+
+            touchedCategories.forEach(this::reindexCategory);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Volver a leer las categorías activas (nombres, slugs, altas y bajas)
+     */
+    public void refreshCategories() {
+        List<CategoryLabel> categoryList = primaryRead.execute(status -> loadActiveCategories());
+
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+
+            activeCategories.keySet().forEach(categories::remove);
+            activeCategories = new HashMap<>();
+            for (CategoryLabel category : categoryList) {
+                activeCategories.put(category.id(), category);
+                categories.put(categoryEntry(category, salesByCategory), categoryKeys(category));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        switch (event.getEntityType()) {
+            case PRODUCT -> productChanges.add(event.getEntityIds());
+            case CATEGORY -> categoryChanges.add(event.getEntityIds());
+        }
+    }
+
+    @EventListener
+    public void onCachesResync(CachesResyncEvent event) {
+        rebuild();
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    /**
+     * Si se consulta antes de la carga inicial, se carga en este thread
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+
+        synchronized (rebuildMonitor) {
+            if (!loaded) {
+                rebuild();
+            }
+        }
+    }
+
+    /**
+     * Actualizar el peso de una categoría (se llama con el write lock tomado)
+     */
+    private void reindexCategory(Long categoryId) {
+        CategoryLabel category = activeCategories.get(categoryId);
+        if (category != null) {
+            categories.put(categoryEntry(category, salesByCategory), categoryKeys(category));
+        }
+    }
+
+    private SuggestionTrie.Entry productEntry(ProductSuggestionSource source) {
+        return new SuggestionTrie.Entry(source.id(), source.name(), source.sales());
+    }
+
+    private Set<String> productKeys(ProductSuggestionSource source) {
+        Set<String> keys = SuggestionTrie.wordKeys(source.name(), maxWords);
+        String sku = SuggestionTrie.normalize(source.sku());
+        if (!sku.isEmpty()) {
+            keys.add(sku);
+        }
+        return keys;
+    }
+
+    private SuggestionTrie.Entry categoryEntry(CategoryLabel category, Map<Long, Long> sales) {
+        return new SuggestionTrie.Entry(category.id(), category.name(), sales.getOrDefault(category.id(), 0L));
+    }
+
+    private Set<String> categoryKeys(CategoryLabel category) {
+        return SuggestionTrie.wordKeys(category.name(), maxWords);
+    }
+
+    /**
+     * Categorías activas (se llama dentro de la transacción de lectura)
+     */
+    private List<CategoryLabel> loadActiveCategories() {
+        return categoryRepository.findByActiveTrueOrderByDisplayOrderAsc().stream()
+                .map(category -> new CategoryLabel(category.getId(), category.getSlug(), category.getName()))
+                .toList();
+    }
+
+    // ========================================
+    // CLASES INTERNAS
+    // ========================================
+
+    private record CategoryLabel(Long id, String slug, String name) {
+    }
+}
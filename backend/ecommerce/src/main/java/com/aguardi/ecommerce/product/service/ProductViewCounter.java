@@ -0,0 +1,104 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/service/ProductViewCounter.java
+// Propósito: Contar vistas de productos en memoria y volcarlas por lotes a product_view_stats
+// ============================================
+
+package com.aguardi.ecommerce.product.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registrar una vista es incrementar un LongAdder (sin locks ni BD): los
+ * requests concurrentes sobre el mismo producto no compiten por la misma celda.
+ *
+ * Cada {@code app.views.flush-interval} se toma lo acumulado de cada producto
+ * (sumThenReset) y se suma a la fila del día con un solo upsert. Si el upsert
+ * falla, lo tomado se devuelve a los contadores para el próximo intento.
+ */
+@Component
+@Slf4j
+public class ProductViewCounter {
+
+    // Los productos borrados entre la vista y el volcado se descartan en el JOIN
+    private static final String UPSERT_VIEWS =
+            "INSERT INTO product_view_stats (product_id, view_date, views) " +
+                    "SELECT v.product_id, CURRENT_DATE, v.views " +
+                    "FROM UNNEST(?, ?) AS v(product_id, views) " +
+                    "JOIN products p ON p.id = v.product_id " +
+                    "ON CONFLICT (product_id, view_date) DO UPDATE " +
+                    "SET views = product_view_stats.views + EXCLUDED.views";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Un contador por producto visto (acotado por el catálogo: solo se cuentan respuestas 200)
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public ProductViewCounter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Registrar una vista del detalle de un producto
+     * @param productId ID del producto
+     */
+    public void record(Long productId) {
+        LongAdder views = pending.get(productId);
+        if (views == null) {
+            views = pending.computeIfAbsent(productId, id -> new LongAdder());
+        }
+        views.increment();
+    }
+
+    /**
+     * Volcar a la BD las vistas acumuladas desde el último volcado
+     */
+    @Scheduled(fixedDelayString = "${app.views.flush-interval:30s}")
+    public synchronized void flush() {
+        List<Long> productIds = new ArrayList<>();
+        List<Long> views = new ArrayList<>();
+
+        pending.forEach((productId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                productIds.add(productId);
+                views.add(delta);
+            }
+        });
+
+        if (productIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.update(UPSERT_VIEWS, ps -> {
+                ps.setArray(1, ps.getConnection().createArrayOf("bigint", productIds.toArray()));
+                ps.setArray(2, ps.getConnection().createArrayOf("bigint", views.toArray()));
+            });
+
+            log.debug("Flushed views of {} products", productIds.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not flush views of {} products, retrying on next flush: {}",
+                    productIds.size(), e.getMessage());
+
+            for (int i = 0; i < productIds.size(); i++) {
+                pending.computeIfAbsent(productIds.get(i), id -> new LongAdder()).add(views.get(i));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing product views before shutdown");
+        flush();
+    }
+}
@@ -0,0 +1,50 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/service/ProductViewStatsCleanupJob.java
+// Propósito: Job que borra las vistas diarias de productos más antiguas que la retención
+// ============================================
+
+package com.aguardi.ecommerce.product.service;
+
+import com.aguardi.ecommerce.shared.job.ScheduledJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Las consultas de vistas abarcan hasta 90 días; lo anterior solo ocupa lugar.
+ */
+@Component
+@Slf4j
+public class ProductViewStatsCleanupJob implements ScheduledJob {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int retentionDays;
+
+    public ProductViewStatsCleanupJob(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.jobs.product-view-stats-cleanup.retention-days:90}") int retentionDays
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionDays = retentionDays;
+    }
+
+    @Override
+    public String getName() {
+        return "product-view-stats-cleanup";
+    }
+
+    @Override
+    public String getDefaultCron() {
+        return "0 45 3 * * *";
+    }
+
+    @Override
+    public String run() {
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM product_view_stats WHERE view_date < CURRENT_DATE - ?", retentionDays
+        );
+
+        return String.format("%d daily view rows older than %d days deleted", deleted, retentionDays);
+    }
+}
@@ -0,0 +1,38 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/service/StockHold.java
+// Propósito: Reserva temporal de stock de un checkout (expira sola)
+// ============================================
+
+package com.aguardi.ecommerce.product.service;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Copia inmutable de las filas de stock_holds de un carrito. Renovar o cambiar
+ * la reserva reemplaza las filas; esta instancia no se actualiza.
+ */
+@Getter
+public class StockHold {
+
+    // Dueño de la reserva (ID del carrito)
+    private final UUID ownerId;
+
+    // productId -> cantidad reservada
+    private final Map<Long, Integer> items;
+
+    private final Instant expiresAt;
+
+    StockHold(UUID ownerId, Map<Long, Integer> items, Instant expiresAt) {
+        this.ownerId = ownerId;
+        this.items = Map.copyOf(items);
+        this.expiresAt = expiresAt;
+    }
+
+    public int getQuantity(Long productId) {
+        return items.getOrDefault(productId, 0);
+    }
+}
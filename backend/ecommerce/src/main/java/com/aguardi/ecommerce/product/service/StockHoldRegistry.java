@@ -0,0 +1,280 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/service/StockHoldRegistry.java
+// Propósito: Reservas temporales de stock durante el checkout
+// ============================================
+
+package com.aguardi.ecommerce.product.service;
+
+import com.aguardi.ecommerce.shared.event.StockHoldsChangedEvent;
+import com.aguardi.ecommerce.shared.exception.InsufficientStockException;
+import com.aguardi.ecommerce.shared.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stock disponible = stock - unidades reservadas por checkouts activos. Las
+ * reservas viven en stock_holds, compartidas por todas las instancias: la fila
+ * de products no se modifica hasta que la orden se crea, y el UPDATE que
+ * descuenta el stock resta las reservas de otros carritos en la misma sentencia
+ * (ProductRepository.reduceStock).
+ *
+ * Una reserva vencida deja de contar apenas vence (todas las consultas filtran
+ * por expires_at con la hora de la BD). El barrido periódico solo borra las
+ * filas y avisa que el stock disponible cambió; corre en todas las instancias
+ * sin pisarse (SKIP LOCKED).
+ *
+ * Las escrituras usan una transacción propia: no dependen de la transacción
+ * (de solo lectura, o ya confirmada) de quien llama.
+ */
+@Component
+@Slf4j
+public class StockHoldRegistry {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long reserveTimeoutMinutes;
+    private final int releaseBatchSize;
+
+    // Carritos con reserva vigente, según el último barrido
+    private final AtomicInteger activeHolds = new AtomicInteger();
+
+    public StockHoldRegistry(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.stock.reserve-timeout-minutes:15}") long reserveTimeoutMinutes,
+            @Value("${app.stock.hold-release-batch:500}") int releaseBatchSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.reserveTimeoutMinutes = reserveTimeoutMinutes;
+        this.releaseBatchSize = releaseBatchSize;
+
+        Gauge.builder("stock.holds.active", activeHolds, AtomicInteger::get)
+                .description("Reservas de stock vigentes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reservar stock para un checkout. Reemplaza (y renueva) la reserva anterior
+     * del mismo dueño.
+     *
+     * Bloquea las filas de los productos (en orden de ID) antes de sumar las
+     * reservas ajenas: dos checkouts del mismo producto, o un checkout y una
+     * orden, no pueden validar contra el mismo stock a la vez.
+     * @param ownerId ID del carrito
+     * @param items productId -> cantidad
+     * @return Reserva creada
+     * @throws InsufficientStockException si algún producto no tiene stock disponible
+     */
+    public StockHold place(UUID ownerId, Map<Long, Integer> items) {
+        StockHold hold = writeTransaction.execute(status -> {
+            Map<Long, Integer> stock = new HashMap<>();
+            jdbcTemplate.query(
+                    "SELECT id, stock FROM products WHERE id = ANY(?) AND active = true ORDER BY id FOR NO KEY UPDATE",
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", items.keySet().toArray())),
+                    rs -> {
+                        stock.put(rs.getLong("id"), rs.getInt("stock"));
+                    }
+            );
+
+            Map<Long, Integer> reservedByOthers = reservedByOthers(items.keySet(), ownerId);
+
+            for (Map.Entry<Long, Integer> item : items.entrySet()) {
+                Integer productStock = stock.get(item.getKey());
+                if (productStock == null) {
+                    throw new ResourceNotFoundException("Producto", "id", item.getKey());
+                }
+
+                int available = Math.max(0, productStock - reservedByOthers.getOrDefault(item.getKey(), 0));
+
+                if (item.getValue() > available) {
+                    throw new InsufficientStockException(String.format(
+                            "Stock insuficiente para el producto %d. Solicitado: %d, Disponible: %d",
+                            item.getKey(), item.getValue(), available
+                    ));
+                }
+            }
+
+            Set<Long> changed = new HashSet<>(items.keySet());
+            changed.addAll(jdbcTemplate.queryForList(
+                    "DELETE FROM stock_holds WHERE cart_id = ? RETURNING product_id", Long.class, ownerId
+            ));
+
+            List<Long> productIds = List.copyOf(items.keySet());
+            List<Integer> quantities = productIds.stream().map(items::get).toList();
+
+            List<Instant> expiresAt = jdbcTemplate.query(
+                    "INSERT INTO stock_holds (cart_id, product_id, quantity, expires_at) " +
+                            "SELECT ?, t.product_id, t.quantity, CURRENT_TIMESTAMP + (? || ' minutes')::INTERVAL " +
+                            "FROM unnest(?::bigint[], ?::integer[]) AS t(product_id, quantity) " +
+                            "RETURNING expires_at",
+                    ps -> {
+                        ps.setObject(1, ownerId);
+                        ps.setLong(2, reserveTimeoutMinutes);
+                        ps.setArray(3, ps.getConnection().createArrayOf("bigint", productIds.toArray()));
+                        ps.setArray(4, ps.getConnection().createArrayOf("integer", quantities.toArray()));
+                    },
+                    (rs, rowNum) -> rs.getTimestamp("expires_at").toInstant()
+            );
+
+            // Dentro de la transacción: InvalidationBus lo notifica a las demás instancias al confirmar
+            eventPublisher.publishEvent(new StockHoldsChangedEvent(changed, false));
+
+            return new StockHold(ownerId, items, expiresAt.get(0));
+        });
+
+        log.debug("Stock hold placed for {}: {} (expires {})", ownerId, items, hold.getExpiresAt());
+
+        return hold;
+    }
+
+    /**
+     * Liberar la reserva de un checkout (orden creada, carrito eliminado o checkout cancelado)
+     * @param ownerId ID del carrito
+     */
+    public void release(UUID ownerId) {
+        writeTransaction.executeWithoutResult(status -> {
+            List<Long> productIds = jdbcTemplate.queryForList(
+                    "DELETE FROM stock_holds WHERE cart_id = ? RETURNING product_id", Long.class, ownerId
+            );
+
+            if (!productIds.isEmpty()) {
+                log.debug("Stock hold released for {}", ownerId);
+                eventPublisher.publishEvent(new StockHoldsChangedEvent(Set.copyOf(productIds), false));
+            }
+        });
+    }
+
+    /**
+     * Reserva vigente de un checkout
+     * @return Reserva, o null si no tiene o ya expiró
+     */
+    public StockHold find(UUID ownerId) {
+        Map<Long, Integer> items = new HashMap<>();
+        Instant[] expiresAt = new Instant[1];
+
+        jdbcTemplate.query(
+                "SELECT product_id, quantity, expires_at FROM stock_holds " +
+                        "WHERE cart_id = ? AND expires_at > CURRENT_TIMESTAMP",
+                rs -> {
+                    items.put(rs.getLong("product_id"), rs.getInt("quantity"));
+                    expiresAt[0] = rs.getTimestamp("expires_at").toInstant();
+                },
+                ownerId
+        );
+
+        return items.isEmpty() ? null : new StockHold(ownerId, items, expiresAt[0]);
+    }
+
+    /**
+     * Unidades reservadas de varios productos
+     * @return productId -> unidades (los productos sin reservas no aparecen)
+     */
+    public Map<Long, Integer> reserved(Collection<Long> productIds) {
+        return sumReserved(
+                "SELECT product_id, SUM(quantity) AS reserved FROM stock_holds " +
+                        "WHERE product_id = ANY(?) AND expires_at > CURRENT_TIMESTAMP GROUP BY product_id",
+                productIds, null
+        );
+    }
+
+    /**
+     * Unidades reservadas de varios productos por checkouts de otros dueños
+     * @return productId -> unidades (los productos sin reservas ajenas no aparecen)
+     */
+    public Map<Long, Integer> reservedByOthers(Collection<Long> productIds, UUID ownerId) {
+        return sumReserved(
+                "SELECT product_id, SUM(quantity) AS reserved FROM stock_holds " +
+                        "WHERE product_id = ANY(?) AND cart_id <> ? AND expires_at > CURRENT_TIMESTAMP GROUP BY product_id",
+                productIds, ownerId
+        );
+    }
+
+    /**
+     * Borrar en lote las reservas vencidas y avisar que su stock volvió a estar disponible
+     */
+    @Scheduled(fixedDelayString = "${app.stock.hold-sweep-interval:5s}")
+    public void releaseExpired() {
+        int released = 0;
+        int batch;
+
+        do {
+            List<Long> productIds = writeTransaction.execute(status -> {
+                List<Long> ids = jdbcTemplate.queryForList(
+                        "DELETE FROM stock_holds WHERE (cart_id, product_id) IN (" +
+                                "  SELECT cart_id, product_id FROM stock_holds WHERE expires_at <= CURRENT_TIMESTAMP " +
+                                "  LIMIT ? FOR UPDATE SKIP LOCKED) " +
+                                "RETURNING product_id",
+                        Long.class, releaseBatchSize
+                );
+
+                if (!ids.isEmpty()) {
+                    eventPublisher.publishEvent(new StockHoldsChangedEvent(Set.copyOf(ids), false));
+                }
+                return ids;
+            });
+
+            batch = productIds.size();
+            released += batch;
+        } while (batch == releaseBatchSize);
+
+        if (released > 0) {
+            log.info("Released {} expired stock hold lines", released);
+        }
+
+        Integer active = jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT cart_id) FROM stock_holds WHERE expires_at > CURRENT_TIMESTAMP", Integer.class
+        );
+        activeHolds.set(active != null ? active : 0);
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    private Map<Long, Integer> sumReserved(String sql, Collection<Long> productIds, UUID ownerId) {
+        Map<Long, Integer> reserved = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return reserved;
+        }
+
+        jdbcTemplate.query(
+                sql,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("bigint", productIds.toArray()));
+                    if (ownerId != null) {
+                        ps.setObject(2, ownerId);
+                    }
+                },
+                rs -> {
+                    reserved.put(rs.getLong("product_id"), rs.getInt("reserved"));
+                }
+        );
+
+        return reserved;
+    }
+}
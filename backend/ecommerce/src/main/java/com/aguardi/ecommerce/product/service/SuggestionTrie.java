@@ -0,0 +1,268 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/service/SuggestionTrie.java
+// Propósito: Árbol de prefijos con las K mejores sugerencias precalculadas en cada nodo
+// ============================================
+
+package com.aguardi.ecommerce.product.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Cada nodo guarda las topK entradas de mayor peso de todo su subárbol: una
+ * consulta solo recorre los caracteres del prefijo y devuelve esa lista, sin
+ * importar cuántas entradas tenga el árbol.
+ *
+ * Las claves se guardan hasta maxDepth caracteres; las entradas con una clave
+ * más larga quedan en el nodo de esa profundidad con la clave completa, y los
+ * prefijos más largos se filtran ahí.
+ *
+ * No es thread-safe: lo sincroniza quien lo usa.
+ */
+public class SuggestionTrie {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+
+    private static final Comparator<Entry> BY_WEIGHT = Comparator
+            .comparingLong(Entry::weight).reversed()
+            .thenComparing(Entry::label)
+            .thenComparingLong(Entry::id);
+
+    private final int topK;
+    private final int maxDepth;
+    private final Node root = new Node();
+
+    // Claves de cada entrada, para poder sacarla
+    private final Map<Long, Set<String>> keysById = new HashMap<>();
+
+    public SuggestionTrie(int topK, int maxDepth) {
+        this.topK = topK;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Texto normalizado: minúsculas, sin acentos (á -> a, ñ -> n) y con un solo
+     * espacio entre palabras
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String plain = DIACRITICS.matcher(decomposed).replaceAll("");
+        return SEPARATORS.matcher(plain.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Claves de un texto: desde el comienzo de cada palabra hasta el final
+     * ("vestido de fiesta" -> "vestido de fiesta", "de fiesta", "fiesta")
+     * @param text Texto sin normalizar
+     * @param maxWords Palabras desde las que se genera una clave
+     */
+    public static Set<String> wordKeys(String text, int maxWords) {
+        String normalized = normalize(text);
+        Set<String> keys = new LinkedHashSet<>();
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+
+        keys.add(normalized);
+        int from = normalized.indexOf(' ');
+        while (from >= 0 && keys.size() < maxWords) {
+            keys.add(normalized.substring(from + 1));
+            from = normalized.indexOf(' ', from + 1);
+        }
+        return keys;
+    }
+
+    /**
+     * Agregar o reemplazar una entrada
+     * @param entry Entrada (si ya existe una con el mismo ID, se reemplaza)
+     * @param keys Claves normalizadas por las que se encuentra
+     */
+    public void put(Entry entry, Set<String> keys) {
+        remove(entry.id());
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        keysById.put(entry.id(), keys);
+        for (String key : keys) {
+            List<Node> path = path(key, true);
+            path.get(path.size() - 1).postings.add(new Posting(entry, key));
+            path.forEach(node -> node.offer(entry, topK));
+        }
+    }
+
+    /**
+     * Sacar una entrada (no hace nada si no existe)
+     */
+    public void remove(long id) {
+        Set<String> keys = keysById.remove(id);
+        if (keys == null) {
+            return;
+        }
+
+        for (String key : keys) {
+            List<Node> path = path(key, false);
+            if (path == null) {
+                continue;
+            }
+            path.get(path.size() - 1).postings.removeIf(posting -> posting.entry().id() == id);
+            recompute(path);
+            prune(key, path);
+        }
+    }
+
+    /**
+     * Mejores entradas cuyo texto tiene alguna palabra que empieza con el prefijo
+     * @param prefix Prefijo normalizado
+     * @param limit Máximo de entradas (hasta topK)
+     */
+    public List<Entry> search(String prefix, int limit) {
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+
+        List<Node> path = path(prefix, false);
+        if (path == null) {
+            return List.of();
+        }
+
+        Node node = path.get(path.size() - 1);
+        if (prefix.length() <= maxDepth) {
+            return List.copyOf(node.top.subList(0, Math.min(limit, node.top.size())));
+        }
+
+        // Prefijo más largo que el árbol: se filtran las claves completas del último nodo
+        Map<Long, Entry> matches = new LinkedHashMap<>();
+        for (Posting posting : node.postings) {
+            if (posting.key().startsWith(prefix)) {
+                matches.putIfAbsent(posting.entry().id(), posting.entry());
+            }
+        }
+        return matches.values().stream().sorted(BY_WEIGHT).limit(limit).toList();
+    }
+
+    public int size() {
+        return keysById.size();
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    /**
+     * Nodos desde la raíz hasta el de la clave (truncada a maxDepth)
+     * @return Camino, o null si no existe y no se pidió crearlo
+     */
+    private List<Node> path(String key, boolean create) {
+        int depth = Math.min(key.length(), maxDepth);
+        List<Node> path = new ArrayList<>(depth + 1);
+
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < depth; i++) {
+            char c = key.charAt(i);
+            Node child = node.children.get(c);
+            if (child == null) {
+                if (!create) {
+                    return null;
+                }
+                child = new Node();
+                node.children.put(c, child);
+            }
+            node = child;
+            path.add(node);
+        }
+        return path;
+    }
+
+    /**
+     * Recalcular las mejores entradas de cada nodo del camino, de la hoja a la raíz
+     * (al sacar una entrada puede entrar otra que no estaba en top)
+     */
+    private void recompute(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+
+            // Una entrada puede llegar por varias claves: se cuenta una vez
+            Map<Long, Entry> candidates = new HashMap<>();
+            node.postings.forEach(posting -> candidates.put(posting.entry().id(), posting.entry()));
+            node.children.values().forEach(child ->
+                    child.top.forEach(entry -> candidates.put(entry.id(), entry)));
+
+            node.top = candidates.values().stream().sorted(BY_WEIGHT).limit(topK).toList();
+        }
+    }
+
+    /**
+     * Quitar los nodos que quedaron sin entradas
+     */
+    private void prune(String key, List<Node> path) {
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            if (!node.postings.isEmpty() || !node.children.isEmpty()) {
+                return;
+            }
+            path.get(i - 1).children.remove(key.charAt(i - 1));
+        }
+    }
+
+    // ========================================
+    // CLASES INTERNAS
+    // ========================================
+
+    /**
+     * Sugerencia: ID de lo sugerido, texto a mostrar y peso (mayor = primero)
+     */
+    public record Entry(long id, String label, long weight) {
+    }
+
+    private record Posting(Entry entry, String key) {
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final List<Posting> postings = new ArrayList<>(1);
+        private List<Entry> top = List.of();
+
+        /**
+         * Sumar una entrada nueva al subárbol: entra en top solo si supera a la
+         * última (las demás siguen siendo las mejores, no hace falta recalcular)
+         */
+        void offer(Entry entry, int topK) {
+            for (Entry current : top) {
+                if (current.id() == entry.id()) {
+                    return;
+                }
+            }
+            if (top.size() >= topK && BY_WEIGHT.compare(entry, top.get(top.size() - 1)) >= 0) {
+                return;
+            }
+
+            List<Entry> updated = new ArrayList<>(top.size() + 1);
+            updated.addAll(top);
+            int position = 0;
+            while (position < updated.size() && BY_WEIGHT.compare(updated.get(position), entry) < 0) {
+                position++;
+            }
+            updated.add(position, entry);
+            if (updated.size() > topK) {
+                updated.remove(updated.size() - 1);
+            }
+            top = List.copyOf(updated);
+        }
+    }
+}
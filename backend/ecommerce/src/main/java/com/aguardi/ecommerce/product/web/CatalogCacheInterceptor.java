@@ -0,0 +1,66 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/web/CatalogCacheInterceptor.java
+// Propósito: Respuestas condicionales (ETag / Last-Modified / 304) del catálogo público
+// ============================================
+
+package com.aguardi.ecommerce.product.web;
+
+import com.aguardi.ecommerce.product.service.CatalogVersionTracker;
+import com.aguardi.ecommerce.product.service.CatalogVersionTracker.CatalogVersion;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Se registra una instancia por grupo de endpoints, cada una con su Cache-Control.
+ *
+ * La validación corre antes del controller: si el cliente ya tiene la versión
+ * actual se responde 304 sin consultar productos, mapear DTOs ni serializar JSON.
+ */
+public class CatalogCacheInterceptor implements HandlerInterceptor {
+
+    private final CatalogVersionTracker versionTracker;
+    private final CacheControl cacheControl;
+
+    public CatalogCacheInterceptor(CatalogVersionTracker versionTracker, CacheControl cacheControl) {
+        this.versionTracker = versionTracker;
+        this.cacheControl = cacheControl;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!isCacheable(request, handler)) {
+            return true;
+        }
+
+        CatalogVersion version = versionTracker.current();
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        // El mismo ETag vale para JSON, Smile y CBOR: la representación depende de Accept
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        // Si coincide If-None-Match / If-Modified-Since deja la respuesta en 304
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        return !webRequest.checkNotModified(version.getEtag(), version.getLastModified());
+    }
+
+    /**
+     * Solo lecturas públicas: los endpoints de admin no se cachean
+     */
+    private boolean isCacheable(HttpServletRequest request, Object handler) {
+        String method = request.getMethod();
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            return false;
+        }
+
+        return handler instanceof HandlerMethod handlerMethod
+                && !handlerMethod.hasMethodAnnotation(PreAuthorize.class)
+                && !handlerMethod.getBeanType().isAnnotationPresent(PreAuthorize.class);
+    }
+}
@@ -0,0 +1,129 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/web/CatalogResponseCache.java
+// Propósito: Cache de respuestas del catálogo ya serializadas (JSON y gzip)
+// Uso: CatalogResponseCacheFilter las escribe directo, sin pasar por el controller
+// ============================================
+
+package com.aguardi.ecommerce.product.web;
+
+import com.aguardi.ecommerce.shared.event.CachesResyncEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Las entradas guardan el ETag de la versión del catálogo con la que se generaron;
+ * el filtro solo las usa si coincide con la versión actual. Por eso un cambio del
+ * catálogo no vacía el cache: las entradas viejas dejan de coincidir y se
+ * reemplazan al pedirse (o las desaloja el límite de tamaño).
+ */
+@Component
+@Slf4j
+public class CatalogResponseCache {
+
+    private final boolean enabled;
+    private final long maxBodyBytes;
+    private final Cache<String, CachedResponse> cache;
+
+    public CatalogResponseCache(
+            @Value("${app.response-cache.enabled:true}") boolean enabled,
+            @Value("${app.response-cache.max-bytes:33554432}") long maxBytes,
+            @Value("${app.response-cache.max-body-bytes:1048576}") long maxBodyBytes,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.maxBodyBytes = maxBodyBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse response) -> response.weight())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "catalogResponses");
+
+        log.info("Catalog response cache {} (budget: {} bytes)",
+                enabled ? "enabled" : "disabled", maxBytes);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Guardar una respuesta; el gzip se calcula una sola vez acá
+     */
+    public void put(String key, String contentType, String etag, long lastModified,
+                    String cacheControl, byte[] body) {
+        if (body.length > maxBodyBytes) {
+            return;
+        }
+
+        cache.put(key, new CachedResponse(contentType, etag, lastModified, cacheControl, body, gzip(body)));
+    }
+
+    @EventListener
+    public void onCachesResync(CachesResyncEvent event) {
+        cache.invalidateAll();
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    private byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    // ========================================
+    // CLASES INTERNAS
+    // ========================================
+
+    /**
+     * Respuesta final, inmutable y compartida entre requests
+     */
+    @Getter
+    public static class CachedResponse {
+
+        private final String contentType;
+        private final String etag;
+        private final long lastModified;
+        private final String cacheControl;
+        private final byte[] body;
+        private final byte[] gzipBody;
+
+        CachedResponse(String contentType, String etag, long lastModified,
+                       String cacheControl, byte[] body, byte[] gzipBody) {
+            this.contentType = contentType;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.cacheControl = cacheControl;
+            this.body = body;
+            this.gzipBody = gzipBody;
+        }
+
+        int weight() {
+            return body.length + gzipBody.length;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/web/CatalogResponseCacheFilter.java
+// Propósito: Servir respuestas públicas del catálogo desde CatalogResponseCache
+// ============================================
+
+package com.aguardi.ecommerce.product.web;
+
+import com.aguardi.ecommerce.product.service.CatalogVersionTracker;
+import com.aguardi.ecommerce.product.web.CatalogResponseCache.CachedResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Corre después de Spring Security y antes del DispatcherServlet.
+ *
+ * En un hit la respuesta se escribe tal cual (JSON o gzip ya comprimido), sin
+ * controller, mapper ni Jackson. En un miss se deja pasar el request y se guarda
+ * la respuesta final si fue un 200 con JSON.
+ *
+ * Solo se cachean requests anónimos: los que traen Authorization pueden llegar a
+ * endpoints de admin que comparten el prefijo /api/categories o /api/products.
+ *
+ * Tampoco se cachean los paths de {@code excludedPaths}: sus datos (vistas,
+ * recomendaciones, índice de sugerencias, reservas de stock) cambian sin que cambie la versión del
+ * catálogo, así que el ETag no sirve para saber si lo guardado sigue vigente.
+ */
+public class CatalogResponseCacheFilter extends OncePerRequestFilter {
+
+    private final CatalogResponseCache responseCache;
+    private final CatalogVersionTracker versionTracker;
+    private final List<String> excludedPaths;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    public CatalogResponseCacheFilter(CatalogResponseCache responseCache, CatalogVersionTracker versionTracker,
+                                      List<String> excludedPaths) {
+        this.responseCache = responseCache;
+        this.versionTracker = versionTracker;
+        this.excludedPaths = excludedPaths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !responseCache.isEnabled()
+                || !HttpMethod.GET.matches(request.getMethod())
+                || request.getHeader(HttpHeaders.AUTHORIZATION) != null
+                || isExcluded(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String key = cacheKey(request);
+        String currentEtag = versionTracker.current().getEtag();
+
+        CachedResponse cached = responseCache.get(key);
+        if (cached != null && cached.getEtag().equals(currentEtag)) {
+            writeCached(request, response, cached);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            store(key, wrapper);
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    private boolean isExcluded(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return excludedPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    private void writeCached(HttpServletRequest request, HttpServletResponse response,
+                             CachedResponse cached) throws IOException {
+        if (cached.getCacheControl() != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cached.getCacheControl());
+        }
+
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        if (webRequest.checkNotModified(cached.getEtag(), cached.getLastModified())) {
+            return;
+        }
+
+        response.setContentType(cached.getContentType());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        byte[] body = cached.getBody();
+        if (acceptsGzip(request)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = cached.getGzipBody();
+        }
+
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private void store(String key, ContentCachingResponseWrapper wrapper) {
+        String etag = wrapper.getHeader(HttpHeaders.ETAG);
+        String contentType = wrapper.getContentType();
+
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK
+                || etag == null
+                || contentType == null
+                || !MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)
+                || wrapper.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            return;
+        }
+
+        long lastModified = -1;
+        String lastModifiedHeader = wrapper.getHeader(HttpHeaders.LAST_MODIFIED);
+        if (lastModifiedHeader != null) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.LAST_MODIFIED, lastModifiedHeader);
+            lastModified = headers.getLastModified();
+        }
+
+        responseCache.put(key, contentType, etag, lastModified,
+                wrapper.getHeader(HttpHeaders.CACHE_CONTROL), wrapper.getContentAsByteArray());
+    }
+
+    /**
+     * Clave normalizada: path + parámetros ordenados por nombre + Accept (negociación de formato).
+     * Los valores de cada parámetro mantienen su orden (ids=3,1 devuelve en ese orden)
+     */
+    private String cacheKey(HttpServletRequest request) {
+        String params = request.getParameterMap().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getKey() + "=" + String.join(",", entry.getValue()))
+                .collect(Collectors.joining("&"));
+
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+
+        return request.getRequestURI() + "?" + params + "|" + (accept != null ? accept : "");
+    }
+
+    private boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+}
@@ -0,0 +1,57 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/product/web/ProductViewTrackingFilter.java
+// Propósito: Contar las vistas del detalle de producto (GET /api/products/{id})
+// ============================================
+
+package com.aguardi.ecommerce.product.web;
+
+import com.aguardi.ecommerce.product.service.ProductViewCounter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Va antes de CatalogResponseCacheFilter: las respuestas servidas desde el
+ * cache (sin llegar al controller) también cuentan como vista.
+ *
+ * Se cuenta después de responder y solo con 200 o 304, así un ID inexistente
+ * no crea contadores.
+ */
+public class ProductViewTrackingFilter extends OncePerRequestFilter {
+
+    private static final Pattern PRODUCT_DETAIL = Pattern.compile("/api/products/(\\d{1,18})");
+
+    private final ProductViewCounter viewCounter;
+
+    public ProductViewTrackingFilter(ProductViewCounter viewCounter) {
+        this.viewCounter = viewCounter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        filterChain.doFilter(request, response);
+
+        Matcher matcher = PRODUCT_DETAIL.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+        if (!matcher.matches()) {
+            return;
+        }
+
+        int status = response.getStatus();
+        if (status == HttpServletResponse.SC_OK || status == HttpServletResponse.SC_NOT_MODIFIED) {
+            viewCounter.record(Long.valueOf(matcher.group(1)));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/datasource/DataSourceTarget.java
+// Propósito: Pools a los que ReplicaRoutingDataSource puede enviar una conexión
+// ============================================
+
+package com.aguardi.ecommerce.shared.datasource;
+
+public enum DataSourceTarget {
+    PRIMARY,
+    REPLICA
+}
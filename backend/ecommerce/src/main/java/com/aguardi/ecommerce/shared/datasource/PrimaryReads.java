@@ -0,0 +1,52 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/datasource/PrimaryReads.java
+// Propósito: Transacciones de solo lectura que siempre van al primario
+// Uso: Lecturas que vuelven a llenar caches compartidos después de una invalidación
+// ============================================
+
+package com.aguardi.ecommerce.shared.datasource;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Lo que se arma con estas lecturas (home, versión del catálogo, índices en
+ * memoria) lo ven todos los usuarios hasta la próxima invalidación. Si se leyera
+ * de una réplica atrasada, el cambio que disparó la invalidación podría no estar
+ * y el cache quedaría con el estado anterior.
+ *
+ * A diferencia de una transacción de escritura, no marca al usuario actual para
+ * ReadYourWritesTracker.
+ */
+public final class PrimaryReads {
+
+    /** Nombre con el que ReplicaRoutingDataSource reconoce la transacción */
+    static final String TRANSACTION_NAME = "primary-read";
+
+    private PrimaryReads() {
+    }
+
+    /**
+     * Transacción propia (REQUIRES_NEW), de solo lectura y ruteada al primario:
+     * tampoco reutiliza la conexión de una transacción que ya hizo commit
+     * @param transactionManager Transaction manager de la aplicación
+     * @return Template para ejecutar las lecturas
+     */
+    public static TransactionTemplate template(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setName(TRANSACTION_NAME);
+        template.setReadOnly(true);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        return template;
+    }
+
+    /**
+     * Si la transacción actual se creó con {@link #template}
+     */
+    static boolean isCurrent() {
+        return TRANSACTION_NAME.equals(TransactionSynchronizationManager.getCurrentTransactionName());
+    }
+}
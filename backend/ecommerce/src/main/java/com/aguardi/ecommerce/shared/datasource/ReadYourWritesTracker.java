@@ -0,0 +1,51 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/datasource/ReadYourWritesTracker.java
+// Propósito: Recordar qué usuarios escribieron hace poco para leer desde el primario
+// ============================================
+
+package com.aguardi.ecommerce.shared.datasource;
+
+import com.aguardi.ecommerce.shared.util.SecurityUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Después de confirmar una escritura, las lecturas del mismo usuario van al
+ * primario durante {@code app.datasource.replica.sticky-window}: así ve su
+ * propia orden o pago aunque la réplica todavía no los tenga.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration stickyWindow) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    /**
+     * Registrar una escritura confirmada del usuario actual (si hay sesión)
+     */
+    public void recordWrite() {
+        Long userId = currentUserId();
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Si el usuario actual escribió dentro de la ventana
+     */
+    public boolean isSticky() {
+        Long userId = currentUserId();
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    private static Long currentUserId() {
+        return SecurityUtils.isAuthenticated() ? SecurityUtils.getCurrentUserId() : null;
+    }
+}
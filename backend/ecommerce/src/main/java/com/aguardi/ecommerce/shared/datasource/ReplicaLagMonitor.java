@@ -0,0 +1,93 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/datasource/ReplicaLagMonitor.java
+// Propósito: Medir periódicamente el retraso de la réplica de lectura
+// ============================================
+
+package com.aguardi.ecommerce.shared.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * El retraso es el tiempo desde la última transacción reproducida, salvo que la
+ * réplica ya haya reproducido todo lo recibido (primario sin escrituras): ahí
+ * es 0 aunque la última transacción sea vieja.
+ *
+ * Si la consulta falla la réplica se considera no disponible hasta la próxima medición.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String LAG_QUERY =
+            "SELECT CASE " +
+            "  WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "  WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "  ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) " +
+            "END";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxLag;
+
+    private volatile double lagSeconds;
+    private volatile boolean available;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.replicaJdbcTemplate.setQueryTimeout(2);
+        this.maxLag = maxLag;
+
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Retraso de la réplica de lectura")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, monitor -> monitor.isUsable() ? 1 : 0)
+                .description("1 si las lecturas se envían a la réplica")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Si las transacciones de solo lectura pueden ir a la réplica
+     */
+    public boolean isUsable() {
+        return available && lagSeconds * 1000 <= maxLag.toMillis();
+    }
+
+    /**
+     * Si en la última medición la réplica ya había reproducido todo lo recibido
+     */
+    public boolean isCaughtUp() {
+        return available && lagSeconds == 0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:5s}")
+    public void check() {
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+            update(lag != null ? lag : 0, true);
+        } catch (RuntimeException e) {
+            if (available) {
+                log.warn("Read replica unavailable, routing reads to primary: {}", e.getMessage());
+            }
+            update(0, false);
+        }
+    }
+
+    void update(double lagSeconds, boolean available) {
+        boolean wasUsable = isUsable();
+
+        this.lagSeconds = lagSeconds;
+        this.available = available;
+
+        if (wasUsable && available && !isUsable()) {
+            log.warn("Read replica lag {}s exceeds {}, routing reads to primary", lagSeconds, maxLag);
+        } else if (!wasUsable && isUsable()) {
+            log.info("Read replica usable again (lag {}s)", lagSeconds);
+        }
+    }
+}
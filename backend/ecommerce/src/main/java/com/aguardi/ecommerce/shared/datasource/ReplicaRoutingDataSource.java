@@ -0,0 +1,136 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/datasource/ReplicaRoutingDataSource.java
+// Propósito: Enviar las transacciones de solo lectura a la réplica y el resto al primario
+// ============================================
+
+package com.aguardi.ecommerce.shared.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Tiene que usarse detrás de un LazyConnectionDataSourceProxy: la conexión se
+ * pide con la primera sentencia, cuando la transacción ya marcó si es readOnly.
+ *
+ * Una transacción readOnly va a la réplica salvo que:
+ * - sea una lectura que llena caches compartidos (PrimaryReads),
+ * - la réplica esté atrasada más de lo permitido o no responda (ReplicaLagMonitor), o
+ * - el usuario actual haya escrito hace poco (ReadYourWritesTracker).
+ *
+ * Mientras la réplica no esté al día, lo que se lee de ella no se guarda en el
+ * cache de segundo nivel de Hibernate: una entidad recién desalojada por un
+ * cambio se volvería a cachear con el estado anterior para todos los usuarios.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWrites;
+
+    private final Counter primaryWrites;
+    private final Counter replicaReads;
+    private final Counter primaryReadsPinned;
+    private final Counter primaryReadsLag;
+    private final Counter primaryReadsSticky;
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            DataSource replica,
+            ReplicaLagMonitor lagMonitor,
+            ReadYourWritesTracker readYourWrites,
+            MeterRegistry meterRegistry
+    ) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+
+        setTargetDataSources(Map.of(DataSourceTarget.PRIMARY, primary, DataSourceTarget.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        this.primaryWrites = routingCounter(meterRegistry, DataSourceTarget.PRIMARY, "write");
+        this.replicaReads = routingCounter(meterRegistry, DataSourceTarget.REPLICA, "read");
+        this.primaryReadsPinned = routingCounter(meterRegistry, DataSourceTarget.PRIMARY, "cache-refill");
+        this.primaryReadsLag = routingCounter(meterRegistry, DataSourceTarget.PRIMARY, "replica-lag");
+        this.primaryReadsSticky = routingCounter(meterRegistry, DataSourceTarget.PRIMARY, "read-your-writes");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            registerWrite();
+            primaryWrites.increment();
+            return DataSourceTarget.PRIMARY;
+        }
+
+        if (PrimaryReads.isCurrent()) {
+            primaryReadsPinned.increment();
+            return DataSourceTarget.PRIMARY;
+        }
+
+        if (!lagMonitor.isUsable()) {
+            primaryReadsLag.increment();
+            return DataSourceTarget.PRIMARY;
+        }
+
+        if (readYourWrites.isSticky()) {
+            primaryReadsSticky.increment();
+            return DataSourceTarget.PRIMARY;
+        }
+
+        if (!lagMonitor.isCaughtUp()) {
+            skipSecondLevelCachePuts();
+        }
+
+        replicaReads.increment();
+        return DataSourceTarget.REPLICA;
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    /**
+     * Marcar al usuario como escritor reciente cuando la transacción confirma
+     */
+    private void registerWrite() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWrites.recordWrite();
+            }
+        });
+    }
+
+    /**
+     * La sesión de la transacción sigue leyendo del cache de segundo nivel pero
+     * no lo llena. La conexión se pide con la primera sentencia, antes de cargar
+     * cualquier entidad.
+     */
+    private static void skipSecondLevelCachePuts() {
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+            }
+        }
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, DataSourceTarget target, String reason) {
+        return Counter.builder("datasource.routing")
+                .description("Conexiones entregadas por pool y motivo")
+                .tag("target", target.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
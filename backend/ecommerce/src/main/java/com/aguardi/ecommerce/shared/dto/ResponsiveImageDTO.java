@@ -0,0 +1,29 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/dto/ResponsiveImageDTO.java
+// Propósito: DTO con URLs de una imagen en distintos tamaños (listo para srcset)
+// ============================================
+
+package com.aguardi.ecommerce.shared.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResponsiveImageDTO {
+
+    // URL por defecto (preset "card" a 1x)
+    private String src;
+
+    // Valor para el atributo srcset con descriptores de ancho: "url 150w, url 400w, ..."
+    private String srcset;
+
+    // Por preset, srcset con descriptores de densidad: "thumb" -> "url 1x, url 2x"
+    private Map<String, String> presets;
+}
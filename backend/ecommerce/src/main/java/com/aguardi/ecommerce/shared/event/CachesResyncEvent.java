@@ -0,0 +1,19 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/event/CachesResyncEvent.java
+// Propósito: Evento publicado cuando pudieron perderse invalidaciones de otras instancias
+// Uso: Vaciar todos los caches locales (reconexión del listener de InvalidationBus)
+// ============================================
+
+package com.aguardi.ecommerce.shared.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class CachesResyncEvent {
+
+    private final String reason;
+}
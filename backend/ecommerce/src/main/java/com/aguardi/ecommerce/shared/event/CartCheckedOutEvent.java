@@ -0,0 +1,21 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/event/CartCheckedOutEvent.java
+// Propósito: Evento publicado cuando un carrito se convierte en orden
+// ============================================
+
+package com.aguardi.ecommerce.shared.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class CartCheckedOutEvent {
+
+    private final UUID cartId;
+    private final Long orderId;
+}
@@ -0,0 +1,48 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/event/CatalogChangedEvent.java
+// Propósito: Evento publicado cuando cambian productos, su stock o una categoría
+// Uso: Invalidar caches del catálogo (home, respuestas HTTP, etc)
+// ============================================
+
+package com.aguardi.ecommerce.shared.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Un cambio masivo (una orden con varias líneas, una campaña de precios) se
+ * publica como un solo evento con todos los IDs: los listeners releen o
+ * invalidan una vez por lote, no una vez por producto.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class CatalogChangedEvent {
+
+    private final EntityType entityType;
+    private final Set<Long> entityIds;
+
+    // true si el cambio se hizo en otra instancia (llegó por InvalidationBus)
+    private final boolean remote;
+
+    public static CatalogChangedEvent product(Long productId) {
+        return new CatalogChangedEvent(EntityType.PRODUCT, Set.of(productId), false);
+    }
+
+    public static CatalogChangedEvent products(Collection<Long> productIds) {
+        return new CatalogChangedEvent(EntityType.PRODUCT, Set.copyOf(productIds), false);
+    }
+
+    public static CatalogChangedEvent category(Long categoryId) {
+        return new CatalogChangedEvent(EntityType.CATEGORY, Set.of(categoryId), false);
+    }
+
+    public enum EntityType {
+        PRODUCT,
+        CATEGORY
+    }
+}
@@ -0,0 +1,24 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/event/StockHoldsChangedEvent.java
+// Propósito: Evento publicado cuando se crean, convierten o liberan reservas de stock
+// ============================================
+
+package com.aguardi.ecommerce.shared.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Set;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class StockHoldsChangedEvent {
+
+    // Productos cuyo stock disponible cambió
+    private final Set<Long> productIds;
+
+    // true si la reserva cambió en otra instancia (llegó por InvalidationBus)
+    private final boolean remote;
+}
@@ -0,0 +1,26 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/event/UserChangedEvent.java
+// Propósito: Evento publicado cuando cambian los datos de seguridad de un usuario
+// Uso: Invalidar el cache de usuarios autenticados (estado, rol, contraseña)
+// ============================================
+
+package com.aguardi.ecommerce.shared.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class UserChangedEvent {
+
+    private final Long userId;
+
+    // true si el cambio se hizo en otra instancia (llegó por InvalidationBus)
+    private final boolean remote;
+
+    public static UserChangedEvent of(Long userId) {
+        return new UserChangedEvent(userId, false);
+    }
+}
@@ -0,0 +1,112 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/health/ExternalServiceHealthIndicator.java
+// Propósito: Base para health checks de servicios externos verificados en segundo plano
+// ============================================
+
+package com.aguardi.ecommerce.shared.health;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Los clientes externos (Cloudinary, MercadoPago, SMTP) no se conectan durante el arranque:
+ * la primera verificación corre en el executor asíncrono cuando la aplicación ya está lista,
+ * y /actuator/health devuelve el último resultado sin bloquear en llamadas de red.
+ */
+@Slf4j
+public abstract class ExternalServiceHealthIndicator implements HealthIndicator {
+
+    private final Executor executor;
+    private final Duration maxAge;
+    private final AtomicBoolean checking = new AtomicBoolean(false);
+
+    private volatile Health lastHealth = Health.unknown()
+            .withDetail("status", "Verificación pendiente")
+            .build();
+    private volatile Instant lastCheck;
+
+    protected ExternalServiceHealthIndicator(Executor executor, Duration maxAge) {
+        this.executor = executor;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Nombre del servicio (para logs)
+     */
+    protected abstract String serviceName();
+
+    /**
+     * Verificar el servicio con una llamada real
+     * @return Detalles a mostrar en el health check
+     */
+    protected abstract Map<String, Object> verify() throws Exception;
+
+    /**
+     * Indica si el servicio está configurado; si no, no se hacen llamadas de red
+     */
+    protected boolean isConfigured() {
+        return true;
+    }
+
+    /**
+     * Primera verificación en segundo plano, con la aplicación ya lista
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyOnStartup() {
+        refreshAsync();
+    }
+
+    @Override
+    public Health health() {
+        Instant checkedAt = lastCheck;
+        if (checkedAt == null || checkedAt.plus(maxAge).isBefore(Instant.now())) {
+            refreshAsync();
+        }
+        return lastHealth;
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    private void refreshAsync() {
+        if (!checking.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            executor.execute(this::refresh);
+        } catch (RuntimeException e) {
+            checking.set(false);
+            log.warn("Could not schedule {} health check: {}", serviceName(), e.getMessage());
+        }
+    }
+
+    private void refresh() {
+        try {
+            if (!isConfigured()) {
+                lastHealth = Health.unknown().withDetail("status", "No configurado").build();
+                return;
+            }
+
+            Map<String, Object> details = verify();
+            lastHealth = Health.up().withDetails(details).build();
+            log.info("{} connection verified", serviceName());
+        } catch (Exception e) {
+            lastHealth = Health.down().withDetail("error", e.getMessage()).build();
+            log.warn("{} is not reachable: {}", serviceName(), e.getMessage());
+        } finally {
+            lastCheck = Instant.now();
+            checking.set(false);
+        }
+    }
+}
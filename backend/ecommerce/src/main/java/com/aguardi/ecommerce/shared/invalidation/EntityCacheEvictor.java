@@ -0,0 +1,66 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/invalidation/EntityCacheEvictor.java
+// Propósito: Invalidar el cache de segundo nivel de Hibernate ante cambios que no pasan por el EntityManager
+// ============================================
+
+package com.aguardi.ecommerce.shared.invalidation;
+
+import com.aguardi.ecommerce.config.HibernateCacheConfig;
+import com.aguardi.ecommerce.product.entity.Category;
+import com.aguardi.ecommerce.product.entity.Product;
+import com.aguardi.ecommerce.shared.event.CachesResyncEvent;
+import com.aguardi.ecommerce.shared.event.CatalogChangedEvent;
+import com.aguardi.ecommerce.shared.event.UserChangedEvent;
+import com.aguardi.ecommerce.user.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Hibernate mantiene el cache al día con lo que escribe esta instancia, pero no
+ * ve las sentencias nativas (devolución de stock de órdenes canceladas) ni los
+ * cambios hechos en otras instancias (llegan por InvalidationListener).
+ *
+ * Se desaloja después del commit: antes, otra transacción podría volver a
+ * cargar el estado viejo.
+ */
+@Component
+@Slf4j
+public class EntityCacheEvictor {
+
+    private final Cache cache;
+
+    public EntityCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        switch (event.getEntityType()) {
+            case PRODUCT -> event.getEntityIds().forEach(productId -> {
+                cache.evictEntityData(Product.class, productId);
+                cache.evictCollectionData(Product.class.getName() + ".images", productId);
+            });
+            case CATEGORY -> {
+                event.getEntityIds().forEach(categoryId -> cache.evictEntityData(Category.class, categoryId));
+                // Los timestamps de tablas son locales: un cambio remoto no invalida las consultas
+                cache.evictQueryRegion(HibernateCacheConfig.CATEGORY_QUERIES_REGION);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        cache.evictEntityData(User.class, event.getUserId());
+    }
+
+    @EventListener
+    public void onCachesResync(CachesResyncEvent event) {
+        log.info("Evicting Hibernate second-level cache ({})", event.getReason());
+        cache.evictAllRegions();
+    }
+}
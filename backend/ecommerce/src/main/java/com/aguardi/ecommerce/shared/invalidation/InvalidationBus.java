@@ -0,0 +1,130 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/invalidation/InvalidationBus.java
+// Propósito: Propagar invalidaciones de cache a las demás instancias con pg_notify
+// ============================================
+
+package com.aguardi.ecommerce.shared.invalidation;
+
+import com.aguardi.ecommerce.shared.event.CatalogChangedEvent;
+import com.aguardi.ecommerce.shared.event.StockHoldsChangedEvent;
+import com.aguardi.ecommerce.shared.event.UserChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Cada cambio local se notifica en la misma transacción que la escritura
+ * (BEFORE_COMMIT): PostgreSQL entrega el NOTIFY solo si la transacción confirma
+ * y descarta los duplicados idénticos dentro de ella.
+ *
+ * Payload compacto: {@code TIPO:id,id,...:nodo}. Un evento con muchos IDs se
+ * parte en varias notificaciones (el payload de NOTIFY tiene un límite de 8000
+ * bytes). InvalidationListener lo recibe en las demás instancias.
+ *
+ * No lleva versión: la notificación solo invalida y quien la recibe vuelve a
+ * leer el estado actual, así que un duplicado o un desorden no dejan datos viejos.
+ *
+ * Cada pg_notify corre en un savepoint JDBC sobre la conexión de la transacción:
+ * en PostgreSQL una sentencia que falla aborta toda la transacción, así que sin
+ * él un NOTIFY fallido haría fallar el commit de la escritura. (JpaTransactionManager
+ * con Hibernate no soporta PROPAGATION_NESTED.)
+ */
+@Component
+@ConditionalOnProperty(name = "app.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class InvalidationBus {
+
+    // Identifica a esta instancia para ignorar sus propias notificaciones
+    static final String NODE_ID = UUID.randomUUID().toString().substring(0, 8);
+
+    // IDs por notificación (19 dígitos como máximo cada uno: queda lejos del límite)
+    private static final int IDS_PER_NOTIFICATION = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+
+    public InvalidationBus(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.invalidation.channel:aguardi_invalidation}") String channel
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = channel;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!event.isRemote()) {
+            notifyAll(event.getEntityType().name(), List.copyOf(event.getEntityIds()));
+        }
+    }
+
+    /**
+     * Las cotizaciones de carritos de otras instancias restan las reservas ajenas
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onStockHoldsChanged(StockHoldsChangedEvent event) {
+        if (!event.isRemote()) {
+            notifyAll(InvalidationMessage.STOCK_HOLDS, List.copyOf(event.getProductIds()));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (!event.isRemote()) {
+            notify(InvalidationMessage.USER, List.of(event.getUserId()));
+        }
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    private void notifyAll(String entityType, List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += IDS_PER_NOTIFICATION) {
+            notify(entityType, ids.subList(from, Math.min(ids.size(), from + IDS_PER_NOTIFICATION)));
+        }
+    }
+
+    private void notify(String entityType, List<Long> entityIds) {
+        String ids = entityIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                // Sin transacción (fallbackExecution) no hace falta: no hay nada que abortar
+                Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+
+                try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ? || ':' || ?)")) {
+                    statement.setString(1, channel);
+                    statement.setString(2, entityType + ":" + ids);
+                    statement.setString(3, NODE_ID);
+                    statement.execute();
+                } catch (SQLException e) {
+                    // Volver al savepoint: la transacción de la escritura sigue viva
+                    if (savepoint != null) {
+                        connection.rollback(savepoint);
+                    }
+                    throw e;
+                }
+
+                if (savepoint != null) {
+                    connection.releaseSavepoint(savepoint);
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // Las demás instancias se ponen al día por TTL; la escritura confirma igual
+            log.warn("Could not publish invalidation {}:{}: {}", entityType, ids, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,231 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/invalidation/InvalidationListener.java
+// Propósito: Escuchar (LISTEN) las invalidaciones de otras instancias y aplicarlas localmente
+// ============================================
+
+package com.aguardi.ecommerce.shared.invalidation;
+
+import com.aguardi.ecommerce.shared.event.CachesResyncEvent;
+import com.aguardi.ecommerce.shared.event.CatalogChangedEvent;
+import com.aguardi.ecommerce.shared.event.StockHoldsChangedEvent;
+import com.aguardi.ecommerce.shared.event.UserChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Usa una conexión propia (fuera del pool de Hikari) que queda en LISTEN.
+ *
+ * Cada notificación de otra instancia se republica como evento local marcado
+ * como remoto (los caches la aplican igual que un cambio propio y el bus no la
+ * reenvía). Si la conexión se cae, se reconecta con backoff y se publica un
+ * CachesResyncEvent: las notificaciones perdidas mientras tanto no se pueden
+ * recuperar, así que se vacían los caches locales.
+ */
+@Component
+@ConditionalOnProperty(name = "app.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class InvalidationListener {
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectProvider<JdbcConnectionDetails> connectionDetails;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String channel;
+    private final Duration pollTimeout;
+    private final Duration maxBackoff;
+    private final Counter received;
+    private final Counter reconnects;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread thread;
+
+    public InvalidationListener(
+            DataSourceProperties dataSourceProperties,
+            ObjectProvider<JdbcConnectionDetails> connectionDetails,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.invalidation.channel:aguardi_invalidation}") String channel,
+            @Value("${app.invalidation.poll-timeout:10s}") Duration pollTimeout,
+            @Value("${app.invalidation.max-backoff:30s}") Duration maxBackoff,
+            MeterRegistry meterRegistry
+    ) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.connectionDetails = connectionDetails;
+        this.eventPublisher = eventPublisher;
+        this.channel = channel;
+        this.pollTimeout = pollTimeout;
+        this.maxBackoff = maxBackoff;
+        this.received = Counter.builder("invalidation.received")
+                .description("Invalidaciones recibidas de otras instancias")
+                .register(meterRegistry);
+        this.reconnects = Counter.builder("invalidation.reconnects")
+                .description("Reconexiones del listener (cada una vacía los caches locales)")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        thread = Thread.ofPlatform()
+                .name("invalidation-listener")
+                .daemon()
+                .start(this::listenLoop);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        closeQuietly(connection);
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    private void listenLoop() {
+        Duration backoff = INITIAL_BACKOFF;
+        boolean firstConnection = true;
+
+        while (running) {
+            try (Connection listenConnection = openConnection()) {
+
+                connection = listenConnection;
+                PGConnection pgConnection = listenConnection.unwrap(PGConnection.class);
+
+                try (Statement statement = listenConnection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+
+                log.info("Listening for cache invalidations on channel '{}'", channel);
+                backoff = INITIAL_BACKOFF;
+
+                // Lo que pasó antes del LISTEN (o mientras estaba caído) no llega como notificación
+                if (!firstConnection) {
+                    reconnects.increment();
+                    eventPublisher.publishEvent(new CachesResyncEvent("invalidation listener reconnected"));
+                }
+                firstConnection = false;
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+
+                    if (notifications == null || notifications.length == 0) {
+                        // Sin tráfico: verificar que la conexión siga viva
+                        try (Statement statement = listenConnection.createStatement()) {
+                            statement.execute("SELECT 1");
+                        }
+                        continue;
+                    }
+
+                    for (PGNotification notification : notifications) {
+                        apply(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Invalidation listener disconnected, retrying in {}: {}", backoff, e.getMessage());
+                sleep(backoff);
+                backoff = backoff.multipliedBy(2).compareTo(maxBackoff) > 0 ? maxBackoff : backoff.multipliedBy(2);
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in invalidation listener", e);
+                sleep(backoff);
+            } finally {
+                connection = null;
+            }
+        }
+
+        log.info("Invalidation listener stopped");
+    }
+
+    /**
+     * Conexión al primario fuera del pool (con los mismos datos que spring.datasource)
+     */
+    private Connection openConnection() throws SQLException {
+        JdbcConnectionDetails details = connectionDetails.getIfAvailable();
+        if (details != null) {
+            return DriverManager.getConnection(details.getJdbcUrl(), details.getUsername(), details.getPassword());
+        }
+
+        return DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword()
+        );
+    }
+
+    private void apply(String payload) {
+        InvalidationMessage message = InvalidationMessage.parse(payload);
+        if (message == null) {
+            log.warn("Ignoring malformed invalidation: {}", payload);
+            return;
+        }
+
+        // Los cambios propios ya se aplicaron al confirmar la transacción
+        if (InvalidationBus.NODE_ID.equals(message.node())) {
+            return;
+        }
+
+        received.increment();
+        log.debug("Remote invalidation received: {}", message);
+
+        try {
+            if (InvalidationMessage.USER.equals(message.entityType())) {
+                message.entityIds().forEach(userId -> eventPublisher.publishEvent(new UserChangedEvent(userId, true)));
+            } else if (InvalidationMessage.STOCK_HOLDS.equals(message.entityType())) {
+                eventPublisher.publishEvent(new StockHoldsChangedEvent(Set.copyOf(message.entityIds()), true));
+            } else {
+                eventPublisher.publishEvent(new CatalogChangedEvent(
+                        CatalogChangedEvent.EntityType.valueOf(message.entityType()), Set.copyOf(message.entityIds()), true
+                ));
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring invalidation for unknown entity type: {}", payload);
+        }
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Se está apagando la aplicación
+        }
+    }
+}
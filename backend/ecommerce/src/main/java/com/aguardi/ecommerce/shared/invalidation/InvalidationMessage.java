@@ -0,0 +1,41 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/invalidation/InvalidationMessage.java
+// Propósito: Payload de una notificación de InvalidationBus (TIPO:id,id,...:nodo)
+// ============================================
+
+package com.aguardi.ecommerce.shared.invalidation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+record InvalidationMessage(String entityType, List<Long> entityIds, String node) {
+
+    static final String USER = "USER";
+    static final String STOCK_HOLDS = "STOCK_HOLDS";
+
+    /**
+     * Parsear un payload
+     * @return Mensaje, o null si el formato no es válido
+     */
+    static InvalidationMessage parse(String payload) {
+        String[] parts = payload.split(":", 3);
+        if (parts.length != 3) {
+            return null;
+        }
+
+        try {
+            List<Long> ids = new ArrayList<>();
+            for (String id : parts[1].split(",")) {
+                ids.add(Long.valueOf(id));
+            }
+
+            return new InvalidationMessage(
+                    parts[0],
+                    List.copyOf(ids),
+                    parts[2]
+            );
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
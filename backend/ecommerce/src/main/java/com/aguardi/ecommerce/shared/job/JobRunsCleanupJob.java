@@ -0,0 +1,53 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/job/JobRunsCleanupJob.java
+// Propósito: Job que recorta el historial de ejecuciones de jobs (job_runs)
+// ============================================
+
+package com.aguardi.ecommerce.shared.job;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cada disparo de cada job deja una fila (uno cada 5 minutos son ~100.000 por
+ * año). Las ejecuciones en RUNNING no se borran: las cierra JobScheduler en el
+ * siguiente disparo del job.
+ */
+@Component
+@Slf4j
+public class JobRunsCleanupJob implements ScheduledJob {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int retentionDays;
+
+    public JobRunsCleanupJob(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.jobs.job-runs-cleanup.retention-days:30}") int retentionDays
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionDays = retentionDays;
+    }
+
+    @Override
+    public String getName() {
+        return "job-runs-cleanup";
+    }
+
+    @Override
+    public String getDefaultCron() {
+        return "0 50 3 * * *";
+    }
+
+    @Override
+    public String run() {
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM job_runs WHERE status <> 'RUNNING' " +
+                        "AND started_at < CURRENT_TIMESTAMP - (? || ' days')::INTERVAL",
+                retentionDays
+        );
+
+        return String.format("%d job runs older than %d days deleted", deleted, retentionDays);
+    }
+}
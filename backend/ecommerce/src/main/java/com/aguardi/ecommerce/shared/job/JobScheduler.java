@@ -0,0 +1,325 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/job/JobScheduler.java
+// Propósito: Ejecutar los ScheduledJob por cron en un solo nodo, con historial y métricas
+// ============================================
+
+package com.aguardi.ecommerce.shared.job;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Todas las réplicas programan los mismos disparos; en cada uno:
+ *
+ * 1. Se toma pg_try_advisory_lock con una conexión propia, fuera del pool de
+ *    Hikari: si otro nodo está corriendo el job, este se saltea el disparo (sin
+ *    esperar).
+ * 2. Las ejecuciones del job que quedaron en RUNNING se marcan como FAILED: con
+ *    el lock tomado ningún otro nodo lo está corriendo, así que son de un nodo
+ *    que murió a mitad de camino.
+ * 3. Se inserta la ejecución en job_runs con clave única (job, disparo): si otro
+ *    nodo ya lo corrió (relojes desfasados), tampoco se repite.
+ * 4. Se ejecuta el job y se registra resultado, duración y error.
+ *
+ * El lock es de sesión porque los jobs confirman en varias transacciones (por
+ * lote) con conexiones del pool. Tomarlo con una conexión del pool dejaría una
+ * conexión ocupada por job en curso además de la de trabajo; fuera del pool, los
+ * jobs no le quitan conexiones a los requests.
+ *
+ * No hace falta coordinador externo: PostgreSQL libera el lock si el nodo muere.
+ * El historial lo recorta JobRunsCleanupJob.
+ * Las tareas que deben correr en cada nodo (volcado de vistas, reservas de stock)
+ * siguen usando @Scheduled.
+ */
+@Component
+@Slf4j
+public class JobScheduler {
+
+    // Primer entero del advisory lock (separa estos locks de cualquier otro uso)
+    private static final int LOCK_NAMESPACE = 0x4A4F42;
+
+    private final List<ScheduledJob> jobs;
+    private final TaskScheduler taskScheduler;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectProvider<JdbcConnectionDetails> connectionDetails;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final String node;
+
+    private final Map<String, ScheduledFuture<?>> scheduled = new ConcurrentHashMap<>();
+    private final Map<String, JobMetrics> metrics = new ConcurrentHashMap<>();
+    private volatile boolean stopped;
+
+    public JobScheduler(
+            List<ScheduledJob> jobs,
+            TaskScheduler taskScheduler,
+            DataSourceProperties dataSourceProperties,
+            ObjectProvider<JdbcConnectionDetails> connectionDetails,
+            Environment environment,
+            MeterRegistry meterRegistry
+    ) {
+        this.jobs = jobs;
+        this.taskScheduler = taskScheduler;
+        this.dataSourceProperties = dataSourceProperties;
+        this.connectionDetails = connectionDetails;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.node = resolveNodeName();
+    }
+
+    /**
+     * Programar los jobs habilitados una vez que la aplicación está lista
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (ScheduledJob job : jobs) {
+            String prefix = "app.jobs." + job.getName() + ".";
+
+            if (!environment.getProperty(prefix + "enabled", Boolean.class, job.isEnabledByDefault())) {
+                log.info("Job {} disabled", job.getName());
+                continue;
+            }
+
+            CronExpression cron = CronExpression.parse(
+                    environment.getProperty(prefix + "cron", job.getDefaultCron())
+            );
+
+            metrics.put(job.getName(), new JobMetrics(job.getName()));
+            scheduleNext(job, cron);
+
+            log.info("Job {} scheduled with cron '{}'", job.getName(), cron);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        scheduled.values().forEach(future -> future.cancel(false));
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    private void scheduleNext(ScheduledJob job, CronExpression cron) {
+        if (stopped) {
+            return;
+        }
+
+        LocalDateTime fireTime = cron.next(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        if (fireTime == null) {
+            return;
+        }
+
+        scheduled.put(job.getName(), taskScheduler.schedule(
+                () -> fire(job, cron, fireTime),
+                fireTime.atZone(ZoneId.systemDefault()).toInstant()
+        ));
+    }
+
+    private void fire(ScheduledJob job, CronExpression cron, LocalDateTime fireTime) {
+        try {
+            execute(job, fireTime);
+        } catch (Exception e) {
+            log.error("Job {} could not be coordinated for {}", job.getName(), fireTime, e);
+        } finally {
+            scheduleNext(job, cron);
+        }
+    }
+
+    private void execute(ScheduledJob job, LocalDateTime fireTime) throws SQLException {
+        JobMetrics jobMetrics = metrics.get(job.getName());
+        int lockKey = job.getName().hashCode();
+
+        // Cerrar la conexión suelta el advisory lock (también si el unlock falla)
+        try (Connection connection = openLockConnection()) {
+            JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+
+            if (!Boolean.TRUE.equals(jdbc.queryForObject(
+                    "SELECT pg_try_advisory_lock(?, ?)", Boolean.class, LOCK_NAMESPACE, lockKey))) {
+                log.debug("Job {} is running on another node, skipping {}", job.getName(), fireTime);
+                jobMetrics.skipped("locked");
+                return;
+            }
+
+            try {
+                failInterruptedRuns(jdbc, job);
+
+                Long runId = startRun(jdbc, job, fireTime);
+                if (runId == null) {
+                    log.debug("Job {} already ran for {}, skipping", job.getName(), fireTime);
+                    jobMetrics.skipped("already-run");
+                    return;
+                }
+
+                run(jdbc, job, runId, fireTime, jobMetrics);
+            } finally {
+                jdbc.queryForObject("SELECT pg_advisory_unlock(?, ?)", Boolean.class, LOCK_NAMESPACE, lockKey);
+            }
+        }
+    }
+
+    /**
+     * Conexión al primario fuera del pool (con los mismos datos que spring.datasource)
+     */
+    private Connection openLockConnection() throws SQLException {
+        JdbcConnectionDetails details = connectionDetails.getIfAvailable();
+        if (details != null) {
+            return DriverManager.getConnection(details.getJdbcUrl(), details.getUsername(), details.getPassword());
+        }
+
+        return DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword()
+        );
+    }
+
+    /**
+     * Marcar como fallidas las ejecuciones que quedaron en RUNNING (el lock
+     * está tomado: ningún nodo vivo las está corriendo)
+     */
+    private void failInterruptedRuns(JdbcTemplate jdbc, ScheduledJob job) {
+        int interrupted = jdbc.update(
+                "UPDATE job_runs SET status = 'FAILED', finished_at = CURRENT_TIMESTAMP, " +
+                        "error = 'Interrupted: node ' || COALESCE(node, '?') || ' stopped before finishing' " +
+                        "WHERE job_name = ? AND status = 'RUNNING'",
+                job.getName()
+        );
+
+        if (interrupted > 0) {
+            log.warn("Job {}: {} interrupted runs marked as failed", job.getName(), interrupted);
+        }
+    }
+
+    private Long startRun(JdbcTemplate jdbc, ScheduledJob job, LocalDateTime fireTime) {
+        return jdbc.query(
+                "INSERT INTO job_runs (job_name, scheduled_at, started_at, status, node) " +
+                        "VALUES (?, ?, CURRENT_TIMESTAMP, 'RUNNING', ?) " +
+                        "ON CONFLICT (job_name, scheduled_at) DO NOTHING RETURNING id",
+                rs -> rs.next() ? rs.getLong(1) : null,
+                job.getName(), Timestamp.valueOf(fireTime), node
+        );
+    }
+
+    private void run(JdbcTemplate jdbc, ScheduledJob job, long runId, LocalDateTime fireTime, JobMetrics jobMetrics) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        jobMetrics.lagMillis.set(Math.max(0, Duration.between(fireTime, startedAt).toMillis()));
+
+        log.info("Job {} started (run {})", job.getName(), runId);
+
+        long start = System.nanoTime();
+        String status;
+        String result = null;
+        String error = null;
+
+        try {
+            result = job.run();
+            status = "SUCCEEDED";
+        } catch (Exception e) {
+            log.error("Job {} failed (run {})", job.getName(), runId, e);
+            status = "FAILED";
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+
+        long durationNanos = System.nanoTime() - start;
+        jobMetrics.record(status, durationNanos);
+
+        jdbc.update(
+                "UPDATE job_runs SET status = ?, finished_at = CURRENT_TIMESTAMP, duration_ms = ?, " +
+                        "result = ?, error = ? WHERE id = ?",
+                status, Duration.ofNanos(durationNanos).toMillis(), result, error, runId
+        );
+
+        log.info("Job {} finished with {} in {} ms{}", job.getName(), status,
+                Duration.ofNanos(durationNanos).toMillis(), result != null ? ": " + result : "");
+    }
+
+    private static String resolveNodeName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+    }
+
+    // ========================================
+    // CLASES INTERNAS
+    // ========================================
+
+    /**
+     * Métricas de un job: duración por resultado, último éxito, lag del último disparo y salteos
+     */
+    private class JobMetrics {
+
+        private final String jobName;
+        private final AtomicLong lastSuccessEpochSeconds = new AtomicLong();
+        private final AtomicLong lagMillis = new AtomicLong();
+
+        JobMetrics(String jobName) {
+            this.jobName = jobName;
+
+            Gauge.builder("jobs.last.success", lastSuccessEpochSeconds, AtomicLong::get)
+                    .description("Epoch (segundos) de la última ejecución exitosa en este nodo")
+                    .tag("job", jobName)
+                    .register(meterRegistry);
+
+            Gauge.builder("jobs.lag", lagMillis, lag -> lag.get() / 1000.0)
+                    .description("Segundos entre el disparo programado y el inicio de la última ejecución")
+                    .tag("job", jobName)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+
+        void record(String status, long durationNanos) {
+            Timer.builder("jobs.duration")
+                    .tag("job", jobName)
+                    .tag("status", status)
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(durationNanos));
+
+            if ("SUCCEEDED".equals(status)) {
+                lastSuccessEpochSeconds.set(System.currentTimeMillis() / 1000);
+            }
+        }
+
+        void skipped(String reason) {
+            Counter.builder("jobs.skipped")
+                    .tag("job", jobName)
+                    .tag("reason", reason)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/job/ScheduledJob.java
+// Propósito: Contrato de un job de mantenimiento ejecutado por JobScheduler
+// ============================================
+
+package com.aguardi.ecommerce.shared.job;
+
+/**
+ * Cada job corre en un solo nodo por disparo (advisory lock de PostgreSQL) y
+ * deja su ejecución en job_runs.
+ *
+ * Se configura con app.jobs.&lt;name&gt;.enabled y app.jobs.&lt;name&gt;.cron; los
+ * valores por defecto los define cada job.
+ */
+public interface ScheduledJob {
+
+    /**
+     * Nombre único del job (clave del lock y del historial)
+     */
+    String getName();
+
+    /**
+     * Expresión cron de Spring (con segundos) usada si no se configura otra
+     */
+    String getDefaultCron();
+
+    /**
+     * Si el job corre cuando no se configura app.jobs.&lt;name&gt;.enabled
+     */
+    default boolean isEnabledByDefault() {
+        return true;
+    }
+
+    /**
+     * Ejecutar el job
+     * @return Resumen del resultado para el historial (puede ser null)
+     */
+    String run() throws Exception;
+}
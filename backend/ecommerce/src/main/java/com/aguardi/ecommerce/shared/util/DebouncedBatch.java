@@ -0,0 +1,91 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/util/DebouncedBatch.java
+// Propósito: Acumular IDs modificados y procesarlos juntos en segundo plano
+// Uso: Índices en memoria que se actualizan después de cada commit
+// ============================================
+
+package com.aguardi.ecommerce.shared.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Los listeners AFTER_COMMIT corren en el thread que confirmó, con su conexión
+ * todavía tomada: leer la BD ahí pide una segunda conexión del pool por cada
+ * evento. Con esto el listener solo agrega los IDs y vuelve; una única tarea
+ * del TaskScheduler los procesa {@code delay} después, todos juntos.
+ *
+ * Los lotes se procesan de a uno (en orden). Si el proceso falla, los IDs
+ * vuelven a la cola y se reintenta más tarde.
+ */
+@Slf4j
+public class DebouncedBatch {
+
+    private final String name;
+    private final TaskScheduler taskScheduler;
+    private final Duration delay;
+    private final Consumer<Collection<Long>> processor;
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    public DebouncedBatch(String name, TaskScheduler taskScheduler, Duration delay,
+                          Consumer<Collection<Long>> processor) {
+        this.name = name;
+        this.taskScheduler = taskScheduler;
+        this.delay = delay;
+        this.processor = processor;
+    }
+
+    /**
+     * Encolar IDs (vuelve enseguida)
+     * @param ids IDs modificados
+     */
+    public void add(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        pending.addAll(ids);
+        scheduleDrain(delay);
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    private void scheduleDrain(Duration after) {
+        if (scheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::drain, Instant.now().plus(after));
+        }
+    }
+
+    private synchronized void drain() {
+        // Lo que llegue desde acá en adelante programa otra tarea
+        scheduled.set(false);
+
+        List<Long> batch = new ArrayList<>(pending);
+        if (batch.isEmpty()) {
+            return;
+        }
+        pending.removeAll(batch);
+
+        try {
+            processor.accept(batch);
+        } catch (RuntimeException e) {
+            log.warn("Could not process {} pending {} changes, retrying: {}", batch.size(), name, e.getMessage());
+            pending.addAll(batch);
+            scheduleDrain(delay.multipliedBy(10));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/web/FieldSelection.java
+// Propósito: Campos pedidos con ?fields= (sparse fieldsets)
+// Ejemplo: ?fields=id,name,price,images.url
+// ============================================
+
+package com.aguardi.ecommerce.shared.web;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Árbol de campos seleccionados. Un nodo sin hijos significa "el campo completo".
+ *
+ * Los servicios lo usan para no cargar relaciones que no se pidieron y
+ * FieldSelectionResponseAdvice para recortar el JSON.
+ */
+public class FieldSelection {
+
+    /** Nombre del query param */
+    public static final String PARAM = "fields";
+
+    private static final FieldSelection ALL = new FieldSelection(null);
+
+    /** null = todos los campos */
+    private final Map<String, FieldSelection> fields;
+
+    private FieldSelection(Map<String, FieldSelection> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Selección sin recortes (comportamiento por defecto)
+     */
+    public static FieldSelection all() {
+        return ALL;
+    }
+
+    /**
+     * Parsear el valor de ?fields= (lista separada por comas, con rutas por punto)
+     * @param value Valor del parámetro (puede ser null)
+     * @return Selección; todos los campos si el parámetro viene vacío
+     */
+    public static FieldSelection parse(String value) {
+        if (value == null || value.isBlank()) {
+            return ALL;
+        }
+
+        Node root = new Node();
+        for (String token : value.split(",")) {
+            String path = token.trim();
+            if (!path.isEmpty()) {
+                root.add(path.split("\\."), 0);
+            }
+        }
+
+        return root.children.isEmpty() ? ALL : root.toSelection();
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    /**
+     * ¿Se pidió el campo (completo o alguno de sus sub-campos)?
+     */
+    public boolean includes(String field) {
+        return fields == null || fields.containsKey(field);
+    }
+
+    /**
+     * Selección aplicada dentro de un campo
+     */
+    public FieldSelection child(String field) {
+        if (fields == null) {
+            return ALL;
+        }
+        FieldSelection child = fields.get(field);
+        return child != null ? child : ALL;
+    }
+
+    /**
+     * Nombres de los campos seleccionados en este nivel (vacío si son todos)
+     */
+    public Set<String> names() {
+        return fields != null ? fields.keySet() : Collections.emptySet();
+    }
+
+    // ========================================
+    // CLASES INTERNAS
+    // ========================================
+
+    /**
+     * Nodo mutable usado solo durante el parseo
+     */
+    private static class Node {
+
+        private final Map<String, Node> children = new LinkedHashMap<>();
+        private boolean whole;
+
+        void add(String[] path, int index) {
+            String name = path[index].trim();
+            if (name.isEmpty()) {
+                return;
+            }
+
+            Node child = children.computeIfAbsent(name, k -> new Node());
+            if (index == path.length - 1) {
+                child.whole = true;
+            } else {
+                child.add(path, index + 1);
+            }
+        }
+
+        FieldSelection toSelection() {
+            if (whole || children.isEmpty()) {
+                return ALL;
+            }
+
+            Map<String, FieldSelection> selection = new LinkedHashMap<>();
+            children.forEach((name, node) -> selection.put(name, node.toSelection()));
+            return new FieldSelection(Collections.unmodifiableMap(selection));
+        }
+    }
+}
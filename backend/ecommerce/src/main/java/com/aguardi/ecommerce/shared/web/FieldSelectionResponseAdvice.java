@@ -0,0 +1,90 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/web/FieldSelectionResponseAdvice.java
+// Propósito: Recortar el "data" de ApiResponse según ?fields=
+// ============================================
+
+package com.aguardi.ecommerce.shared.web;
+
+import com.aguardi.ecommerce.shared.dto.ApiResponse;
+import com.aguardi.ecommerce.shared.dto.PageResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Aplica a los controllers marcados con {@link SparseFieldsets}.
+ *
+ * Los campos se recortan sobre cada DTO: en respuestas paginadas se recorta cada
+ * elemento de "content" y se conservan los datos de paginación.
+ */
+@RestControllerAdvice(annotations = SparseFieldsets.class)
+@RequiredArgsConstructor
+public class FieldSelectionResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(body instanceof ApiResponse<?> apiResponse) || apiResponse.getData() == null
+                || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+
+        FieldSelection selection = FieldSelection.parse(
+                servletRequest.getServletRequest().getParameter(FieldSelection.PARAM)
+        );
+        if (selection.isAll()) {
+            return body;
+        }
+
+        Object data = apiResponse.getData();
+        JsonNode tree = objectMapper.valueToTree(data);
+
+        if (data instanceof PageResponse<?>) {
+            prune(tree.get("content"), selection);
+        } else {
+            prune(tree, selection);
+        }
+
+        ((ApiResponse<Object>) apiResponse).setData(tree);
+        return apiResponse;
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    private void prune(JsonNode node, FieldSelection selection) {
+        if (node == null || selection.isAll()) {
+            return;
+        }
+
+        if (node.isArray()) {
+            node.forEach(element -> prune(element, selection));
+            return;
+        }
+
+        if (node instanceof ObjectNode object) {
+            object.retain(selection.names());
+            object.properties().forEach(entry -> prune(entry.getValue(), selection.child(entry.getKey())));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/shared/web/SparseFieldsets.java
+// Propósito: Marca los controllers que aceptan ?fields= en sus respuestas
+// ============================================
+
+package com.aguardi.ecommerce.shared.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SparseFieldsets {
+}
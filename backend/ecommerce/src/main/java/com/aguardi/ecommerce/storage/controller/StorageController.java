@@ -8,6 +8,7 @@ package com.aguardi.ecommerce.storage.controller;
 import com.aguardi.ecommerce.shared.dto.ApiResponse;
 import com.aguardi.ecommerce.shared.dto.MessageResponse;
 import com.aguardi.ecommerce.shared.dto.UploadResponse;
+import com.aguardi.ecommerce.storage.service.HotFileCache;
 import com.aguardi.ecommerce.storage.service.StorageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,6 +16,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.http.HttpHeaders;
@@ -38,6 +40,10 @@ import java.util.List;
 public class StorageController {
 
     private final StorageService storageService;
+    private final HotFileCache hotFileCache;
+
+    @Value("${storage.local.upload-dir:./uploads}")
+    private String uploadDirectory;
 
     // ========================================
     // ENDPOINTS DE UPLOAD (ADMIN)
@@ -162,7 +168,7 @@ public class StorageController {
             log.debug("Serving file: {}/{}", folder, filename);
 
             // Construir ruta del archivo
-            Path uploadDir = Paths.get("./uploads").toAbsolutePath().normalize();
+            Path uploadDir = Paths.get(uploadDirectory).toAbsolutePath().normalize();
             Path filePath = uploadDir.resolve(folder).resolve(filename).normalize();
 
             // Verificar que el archivo existe y está dentro del directorio permitido
@@ -170,17 +176,31 @@ public class StorageController {
                 throw new SecurityException("Acceso denegado");
             }
 
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (!resource.exists()) {
+            if (!Files.isRegularFile(filePath)) {
                 return ResponseEntity.notFound().build();
             }
 
+            // Archivos populares se sirven desde memoria
+            HotFileCache.CachedFile cached = hotFileCache.getOrLoad(folder + "/" + filename, filePath);
+            if (cached != null) {
+                return ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType(cached.getContentType()))
+                        .contentLength(cached.getSize())
+                        .header(HttpHeaders.CONTENT_DISPOSITION,
+                                "inline; filename=\"" + cached.getFilename() + "\"")
+                        .body(cached.asResource());
+            }
+
+            Resource resource = new UrlResource(filePath.toUri());
+
             // Determinar content type
             String contentType;
             try {
                 contentType = Files.probeContentType(filePath);
             } catch (IOException e) {
+                contentType = null;
+            }
+            if (contentType == null) {
                 contentType = "application/octet-stream";
             }
 
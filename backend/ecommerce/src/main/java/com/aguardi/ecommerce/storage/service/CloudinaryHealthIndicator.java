@@ -0,0 +1,48 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/storage/service/CloudinaryHealthIndicator.java
+// Propósito: Health check de Cloudinary (ping en segundo plano)
+// ============================================
+
+package com.aguardi.ecommerce.storage.service;
+
+import com.aguardi.ecommerce.shared.health.ExternalServiceHealthIndicator;
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "cloudinary")
+public class CloudinaryHealthIndicator extends ExternalServiceHealthIndicator {
+
+    private final Cloudinary cloudinary;
+
+    public CloudinaryHealthIndicator(
+            Cloudinary cloudinary,
+            @Qualifier("taskExecutor") Executor taskExecutor,
+            @Value("${app.health.external-check-interval:5m}") Duration checkInterval
+    ) {
+        super(taskExecutor, checkInterval);
+        this.cloudinary = cloudinary;
+    }
+
+    @Override
+    protected String serviceName() {
+        return "Cloudinary";
+    }
+
+    @Override
+    protected Map<String, Object> verify() throws Exception {
+        Map<?, ?> result = cloudinary.api().ping(ObjectUtils.emptyMap());
+        return Map.of(
+                "cloud", cloudinary.config.cloudName,
+                "status", String.valueOf(result.get("status"))
+        );
+    }
+}
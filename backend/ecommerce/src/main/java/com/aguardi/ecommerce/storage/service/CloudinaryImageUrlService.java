@@ -0,0 +1,144 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/storage/service/CloudinaryImageUrlService.java
+// Propósito: URLs firmadas de transformaciones de Cloudinary por preset, memorizadas
+// Uso: Producción
+// ============================================
+
+package com.aguardi.ecommerce.storage.service;
+
+import com.aguardi.ecommerce.shared.dto.ResponsiveImageDTO;
+import com.cloudinary.Cloudinary;
+import com.cloudinary.Transformation;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Genera de una vez todas las URLs firmadas de una imagen (cada preset y dpr),
+ * junto con el srcset y el mapa de presets, y las guarda por publicId en un
+ * cache acotado (Caffeine, sin lock global en las lecturas). Cada imagen se
+ * firma una sola vez en lugar de en cada request.
+ */
+@Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "cloudinary")
+@Slf4j
+public class CloudinaryImageUrlService implements ImageUrlService {
+
+    private final Cloudinary cloudinary;
+
+    // publicId -> URLs de la imagen; el peso de cada entrada es su cantidad de URLs
+    private final Cache<String, ImageUrls> urlCache;
+
+    public CloudinaryImageUrlService(
+            Cloudinary cloudinary,
+            @Value("${storage.images.url-cache-size:10000}") int urlCacheSize
+    ) {
+        this.cloudinary = cloudinary;
+        this.urlCache = Caffeine.newBuilder()
+                .maximumWeight(urlCacheSize)
+                .weigher((String publicId, ImageUrls urls) -> urls.urls().size())
+                .build();
+    }
+
+    @Override
+    public String getUrl(String publicId, String fallbackUrl, ImagePreset preset, int dpr) {
+        if (publicId == null || publicId.isBlank()) {
+            return fallbackUrl;
+        }
+
+        String url = urlCache.get(publicId, this::generateUrls).urls().get(urlKey(preset, dpr));
+
+        // Un dpr fuera de ImagePreset.DPRS no se guarda
+        return url != null ? url : generateUrl(publicId, preset, dpr);
+    }
+
+    @Override
+    public ResponsiveImageDTO getResponsiveImage(String publicId, String fallbackUrl) {
+        if (publicId == null || publicId.isBlank()) {
+            if (fallbackUrl == null) {
+                return null;
+            }
+            return ResponsiveImageDTO.builder().src(fallbackUrl).build();
+        }
+
+        ImageUrls urls = urlCache.get(publicId, this::generateUrls);
+
+        // DTO nuevo (es mutable); los strings y el mapa inmutable de presets se comparten
+        return ResponsiveImageDTO.builder()
+                .src(urls.urls().get(urlKey(ImagePreset.CARD, 1)))
+                .srcset(urls.srcset())
+                .presets(urls.presets())
+                .build();
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    /**
+     * Generar las URLs firmadas de todos los presets y densidades de una imagen
+     */
+    private ImageUrls generateUrls(String publicId) {
+        Map<String, String> urls = new HashMap<>();
+        StringJoiner srcset = new StringJoiner(", ");
+        Map<String, String> presets = new LinkedHashMap<>();
+
+        for (ImagePreset preset : ImagePreset.values()) {
+            StringJoiner densities = new StringJoiner(", ");
+            for (int dpr : ImagePreset.DPRS) {
+                String url = generateUrl(publicId, preset, dpr);
+                urls.put(urlKey(preset, dpr), url);
+                densities.add(url + " " + dpr + "x");
+            }
+
+            srcset.add(urls.get(urlKey(preset, 1)) + " " + preset.getWidth() + "w");
+            presets.put(preset.getKey(), densities.toString());
+        }
+
+        return new ImageUrls(Map.copyOf(urls), srcset.toString(), Collections.unmodifiableMap(presets));
+    }
+
+    private static String urlKey(ImagePreset preset, int dpr) {
+        return preset.getKey() + "|" + dpr;
+    }
+
+    /**
+     * Generar URL firmada con la transformación del preset
+     */
+    @SuppressWarnings("rawtypes")
+    private String generateUrl(String publicId, ImagePreset preset, int dpr) {
+        Transformation transformation = new Transformation()
+                .width(preset.getWidth())
+                .crop(preset.getCrop())
+                .gravity("auto")
+                .quality("auto")
+                .fetchFormat("auto")
+                .dpr(dpr);
+
+        return cloudinary.url()
+                .secure(true)
+                .signed(true)
+                .transformation(transformation)
+                .generate(publicId);
+    }
+
+    // ========================================
+    // CLASES INTERNAS
+    // ========================================
+
+    /**
+     * URLs de una imagen: por preset y dpr ("card|2"), srcset por ancho y srcset
+     * por densidad de cada preset (orden de ImagePreset)
+     */
+    private record ImageUrls(Map<String, String> urls, String srcset, Map<String, String> presets) {
+    }
+}
@@ -32,32 +32,24 @@ public class CloudinaryStorageService implements StorageService {
     private final String folderPrefix;
 
     public CloudinaryStorageService(
-            @Value("${cloudinary.cloud-name}") String cloudName,
-            @Value("${cloudinary.api-key}") String apiKey,
-            @Value("${cloudinary.api-secret}") String apiSecret,
+            Cloudinary cloudinary,
             @Value("${cloudinary.folder:aguardi}") String folderPrefix
     ) {
-        this.cloudinary = new Cloudinary(ObjectUtils.asMap(
-                "cloud_name", cloudName,
-                "api_key", apiKey,
-                "api_secret", apiSecret,
-                "secure", true
-        ));
+        this.cloudinary = cloudinary;
         this.folderPrefix = folderPrefix;
 
-        log.info("Cloudinary storage initialized with cloud: {}", cloudName);
+        log.info("Cloudinary storage initialized with cloud: {}", cloudinary.config.cloudName);
         init();
     }
 
+    /**
+     * No hace llamadas de red: la conexión se verifica en segundo plano
+     * (ver CloudinaryHealthIndicator) para no bloquear el arranque.
+     */
     @Override
     public void init() {
-        try {
-            // Verificar conexión con Cloudinary
-            Map<?, ?> result = cloudinary.api().ping(ObjectUtils.emptyMap());
-            log.info("Cloudinary connection verified: {}", result.get("status"));
-        } catch (Exception e) {
-            log.error("Could not connect to Cloudinary", e);
-            throw new FileUploadException("No se pudo conectar con Cloudinary");
+        if (cloudinary.config.cloudName == null || cloudinary.config.cloudName.isBlank()) {
+            log.warn("Cloudinary cloud name is not configured");
         }
     }
 
@@ -0,0 +1,334 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/storage/service/HotFileCache.java
+// Propósito: Cache en memoria (off-heap) de los archivos locales más servidos
+// Uso: StorageController.serveFile evita leer disco en cada request
+// ============================================
+
+package com.aguardi.ecommerce.storage.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache LRU con presupuesto de bytes para archivos servidos desde el storage local.
+ *
+ * El contenido se guarda en buffers directos (fuera del heap) para no presionar al GC.
+ * Un archivo solo se admite después de ser pedido {@code admission-threshold} veces,
+ * así las imágenes que se piden una sola vez no desplazan a las más populares.
+ */
+@Component
+@Slf4j
+public class HotFileCache {
+
+    private static final int MAX_TRACKED_CANDIDATES = 10_000;
+
+    private final boolean enabled;
+    private final long maxBytes;
+    private final long maxFileBytes;
+    private final int admissionThreshold;
+
+    /** Entradas en orden de acceso (LRU). Protegido por synchronized(this) */
+    private final LinkedHashMap<String, CachedFile> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long usedBytes = 0;
+
+    /** Contador de pedidos de archivos todavía no admitidos */
+    private final Map<String, AtomicInteger> candidates = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public HotFileCache(
+            @Value("${storage.cache.enabled:true}") boolean enabled,
+            @Value("${storage.cache.max-bytes:67108864}") long maxBytes,
+            @Value("${storage.cache.max-file-bytes:2097152}") long maxFileBytes,
+            @Value("${storage.cache.admission-threshold:2}") int admissionThreshold,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.maxFileBytes = maxFileBytes;
+        this.admissionThreshold = Math.max(1, admissionThreshold);
+
+        registerMetrics(meterRegistry);
+
+        log.info("Hot file cache {} (budget: {} bytes, max file: {} bytes)",
+                enabled ? "enabled" : "disabled", maxBytes, maxFileBytes);
+    }
+
+    /**
+     * Obtener un archivo del cache, o leerlo de disco y admitirlo si ya es "caliente"
+     *
+     * @param key Clave relativa del archivo (folder/filename)
+     * @param filePath Ruta absoluta del archivo en disco
+     * @return Archivo en memoria, o null si no está cacheado (el caller lo sirve desde disco)
+     */
+    public CachedFile getOrLoad(String key, Path filePath) throws IOException {
+        if (!enabled) {
+            return null;
+        }
+
+        CachedFile cached;
+        synchronized (this) {
+            cached = entries.get(key);
+        }
+
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+
+        if (!shouldAdmit(key)) {
+            return null;
+        }
+
+        long size = Files.size(filePath);
+        if (size > maxFileBytes || size > maxBytes) {
+            return null;
+        }
+
+        CachedFile loaded = load(filePath, size);
+        put(key, loaded);
+        candidates.remove(key);
+
+        // Si se borró mientras se leía, el invalidate pudo correr antes del put
+        if (!Files.exists(filePath)) {
+            invalidate(key);
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Invalidar un archivo. Llamar después de borrarlo del disco: si se invalida
+     * antes, un pedido intermedio lo vuelve a cargar.
+     */
+    public void invalidate(String key) {
+        candidates.remove(key);
+
+        synchronized (this) {
+            CachedFile removed = entries.remove(key);
+            if (removed != null) {
+                usedBytes -= removed.getSize();
+                log.debug("Hot file cache entry invalidated: {}", key);
+            }
+        }
+    }
+
+    /**
+     * Vaciar el cache completo
+     */
+    public void clear() {
+        candidates.clear();
+
+        synchronized (this) {
+            entries.clear();
+            usedBytes = 0;
+        }
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    /**
+     * Política de admisión por frecuencia: el archivo entra al cache recién
+     * cuando alcanzó el umbral de pedidos.
+     */
+    private boolean shouldAdmit(String key) {
+        if (admissionThreshold <= 1) {
+            return true;
+        }
+
+        if (candidates.size() >= MAX_TRACKED_CANDIDATES) {
+            // Reiniciar la ventana para acotar la memoria del contador
+            candidates.clear();
+        }
+
+        int requests = candidates.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+        return requests >= admissionThreshold;
+    }
+
+    private CachedFile load(Path filePath, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Leer hasta completar el buffer
+            }
+        }
+        buffer.flip();
+
+        String contentType;
+        try {
+            contentType = Files.probeContentType(filePath);
+        } catch (IOException e) {
+            contentType = null;
+        }
+
+        return new CachedFile(
+                filePath.getFileName().toString(),
+                contentType != null ? contentType : "application/octet-stream",
+                buffer.asReadOnlyBuffer()
+        );
+    }
+
+    private synchronized void put(String key, CachedFile file) {
+        CachedFile previous = entries.put(key, file);
+        if (previous != null) {
+            usedBytes -= previous.getSize();
+        }
+        usedBytes += file.getSize();
+
+        // Desalojar los menos usados hasta respetar el presupuesto
+        Iterator<Map.Entry<String, CachedFile>> iterator = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, CachedFile> eldest = iterator.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            usedBytes -= eldest.getValue().getSize();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+
+    private double hitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("storage.hot_cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Pedidos de archivos servidos desde memoria")
+                .register(registry);
+        FunctionCounter.builder("storage.hot_cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Pedidos de archivos servidos desde disco")
+                .register(registry);
+        FunctionCounter.builder("storage.hot_cache.evictions", evictions, LongAdder::sum)
+                .description("Archivos desalojados por presupuesto de memoria")
+                .register(registry);
+        Gauge.builder("storage.hot_cache.hit_ratio", this, HotFileCache::hitRatio)
+                .description("Proporción de aciertos del cache de archivos")
+                .register(registry);
+        Gauge.builder("storage.hot_cache.size_bytes", this, HotFileCache::usedBytes)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("storage.hot_cache.entries", this, HotFileCache::size)
+                .register(registry);
+    }
+
+    // ========================================
+    // CLASES INTERNAS
+    // ========================================
+
+    /**
+     * Archivo en memoria, inmutable y compartido entre requests
+     */
+    @Getter
+    public static class CachedFile {
+
+        private final String filename;
+        private final String contentType;
+        private final ByteBuffer content;
+
+        CachedFile(String filename, String contentType, ByteBuffer content) {
+            this.filename = filename;
+            this.contentType = contentType;
+            this.content = content;
+        }
+
+        public long getSize() {
+            return content.capacity();
+        }
+
+        /**
+         * Resource que lee directamente del buffer (sin copiar a heap)
+         */
+        public AbstractResource asResource() {
+            return new AbstractResource() {
+                @Override
+                public String getDescription() {
+                    return "Cached file [" + filename + "]";
+                }
+
+                @Override
+                public String getFilename() {
+                    return filename;
+                }
+
+                @Override
+                public long contentLength() {
+                    return getSize();
+                }
+
+                @Override
+                public InputStream getInputStream() {
+                    return new ByteBufferInputStream(content.duplicate());
+                }
+            };
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/storage/service/ImagePreset.java
+// Propósito: Tamaños de imagen predefinidos usados por el frontend
+// ============================================
+
+package com.aguardi.ecommerce.storage.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ImagePreset {
+
+    THUMB("thumb", 150, "fill"),    // Carrito, miniaturas de galería
+    CARD("card", 400, "fill"),      // Tarjetas de listados
+    DETAIL("detail", 1000, "limit"); // Página de producto
+
+    private final String key;
+    private final int width;
+    private final String crop;
+
+    /** Densidades de pantalla generadas para cada preset */
+    public static final int[] DPRS = {1, 2};
+}
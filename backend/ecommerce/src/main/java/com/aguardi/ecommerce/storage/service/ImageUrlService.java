@@ -0,0 +1,30 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/storage/service/ImageUrlService.java
+// Propósito: Interface para generar URLs de imágenes por tamaño (presets)
+// Implementaciones: CloudinaryImageUrlService, LocalImageUrlService
+// ============================================
+
+package com.aguardi.ecommerce.storage.service;
+
+import com.aguardi.ecommerce.shared.dto.ResponsiveImageDTO;
+
+public interface ImageUrlService {
+
+    /**
+     * Obtener la URL de una imagen para un preset y densidad
+     * @param publicId ID público del archivo en el storage (puede ser null)
+     * @param fallbackUrl URL original de la imagen
+     * @param preset Tamaño deseado
+     * @param dpr Densidad de pantalla (1, 2)
+     * @return URL de la imagen transformada
+     */
+    String getUrl(String publicId, String fallbackUrl, ImagePreset preset, int dpr);
+
+    /**
+     * Obtener todas las variantes de una imagen listas para srcset
+     * @param publicId ID público del archivo en el storage (puede ser null)
+     * @param fallbackUrl URL original de la imagen
+     * @return DTO con src, srcset y URLs por preset, o null si no hay imagen
+     */
+    ResponsiveImageDTO getResponsiveImage(String publicId, String fallbackUrl);
+}
@@ -0,0 +1,43 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/storage/service/LocalImageUrlService.java
+// Propósito: URLs de imágenes para storage LOCAL (sin transformaciones)
+// Uso: Desarrollo y testing
+// ============================================
+
+package com.aguardi.ecommerce.storage.service;
+
+import com.aguardi.ecommerce.shared.dto.ResponsiveImageDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * El storage local no redimensiona imágenes: todos los presets apuntan al original.
+ */
+@Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalImageUrlService implements ImageUrlService {
+
+    @Override
+    public String getUrl(String publicId, String fallbackUrl, ImagePreset preset, int dpr) {
+        return fallbackUrl;
+    }
+
+    @Override
+    public ResponsiveImageDTO getResponsiveImage(String publicId, String fallbackUrl) {
+        if (fallbackUrl == null) {
+            return null;
+        }
+
+        Map<String, String> presets = Arrays.stream(ImagePreset.values())
+                .collect(Collectors.toMap(ImagePreset::getKey, preset -> fallbackUrl));
+
+        return ResponsiveImageDTO.builder()
+                .src(fallbackUrl)
+                .presets(presets)
+                .build();
+    }
+}
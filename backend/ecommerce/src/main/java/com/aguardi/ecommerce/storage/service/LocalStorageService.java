@@ -33,13 +33,16 @@ public class LocalStorageService implements StorageService {
 
     private final Path uploadDir;
     private final String baseUrl;
+    private final HotFileCache hotFileCache;
 
     public LocalStorageService(
             @Value("${storage.local.upload-dir:./uploads}") String uploadDir,
-            @Value("${storage.local.base-url:http://localhost:8080/api/storage/files}") String baseUrl
+            @Value("${storage.local.base-url:http://localhost:8080/api/storage/files}") String baseUrl,
+            HotFileCache hotFileCache
     ) {
         this.uploadDir = Paths.get(uploadDir).toAbsolutePath().normalize();
         this.baseUrl = baseUrl;
+        this.hotFileCache = hotFileCache;
 
         log.info("Local storage initialized at: {}", this.uploadDir);
         init();
@@ -119,6 +122,8 @@ public class LocalStorageService implements StorageService {
 
             if (Files.exists(filePath)) {
                 Files.delete(filePath);
+                // Después de borrar: una lectura anterior al delete no puede volver a cachearlo
+                hotFileCache.invalidate(publicId);
                 log.info("File deleted successfully: {}", publicId);
                 return true;
             } else {
@@ -165,6 +170,7 @@ public class LocalStorageService implements StorageService {
                     .forEach(path -> {
                         try {
                             Files.delete(path);
+                            hotFileCache.invalidate(uploadDir.relativize(path).toString().replace('\\', '/'));
                             log.debug("Deleted old file: {}", path);
                         } catch (IOException e) {
                             log.error("Error deleting old file: {}", path, e);
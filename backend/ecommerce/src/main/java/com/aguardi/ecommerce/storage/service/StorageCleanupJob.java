@@ -0,0 +1,46 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/storage/service/StorageCleanupJob.java
+// Propósito: Job que borra archivos subidos antiguos del almacenamiento
+// ============================================
+
+package com.aguardi.ecommerce.storage.service;
+
+import com.aguardi.ecommerce.shared.job.ScheduledJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deshabilitado por defecto: cleanupOldFiles borra por antigüedad sin verificar
+ * si el archivo sigue referenciado por un producto.
+ */
+@Component
+@RequiredArgsConstructor
+public class StorageCleanupJob implements ScheduledJob {
+
+    private final StorageService storageService;
+
+    @Value("${app.jobs.storage-cleanup.days-old:365}")
+    private int daysOld;
+
+    @Override
+    public String getName() {
+        return "storage-cleanup";
+    }
+
+    @Override
+    public String getDefaultCron() {
+        return "0 0 4 * * SUN";
+    }
+
+    @Override
+    public boolean isEnabledByDefault() {
+        return false;
+    }
+
+    @Override
+    public String run() {
+        storageService.cleanupOldFiles(daysOld);
+        return String.format("Files older than %d days cleaned up", daysOld);
+    }
+}
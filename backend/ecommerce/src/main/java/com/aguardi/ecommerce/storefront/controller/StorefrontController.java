@@ -0,0 +1,47 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/storefront/controller/StorefrontController.java
+// Propósito: Controller para respuestas compuestas de la tienda
+// ============================================
+
+package com.aguardi.ecommerce.storefront.controller;
+
+import com.aguardi.ecommerce.shared.dto.ApiResponse;
+import com.aguardi.ecommerce.storefront.dto.StorefrontHomeDTO;
+import com.aguardi.ecommerce.storefront.service.StorefrontService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/storefront")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Storefront", description = "Endpoints compuestos de la tienda")
+public class StorefrontController {
+
+    private final StorefrontService storefrontService;
+
+    /**
+     * Obtener la página de inicio en una sola llamada (público)
+     * GET /api/storefront/home
+     */
+    @GetMapping("/home")
+    @Operation(
+            summary = "Página de inicio",
+            description = "Productos nuevos, ofertas, más vendidos y categorías activas en una sola respuesta"
+    )
+    public ResponseEntity<ApiResponse<StorefrontHomeDTO>> getHome() {
+        log.info("Get storefront home request received");
+
+        StorefrontHomeDTO home = storefrontService.getHome();
+
+        return ResponseEntity.ok(
+                ApiResponse.success(home)
+        );
+    }
+}
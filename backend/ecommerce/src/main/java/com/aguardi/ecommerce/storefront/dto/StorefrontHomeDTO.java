@@ -0,0 +1,30 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/storefront/dto/StorefrontHomeDTO.java
+// Propósito: DTO con todo lo que necesita la página de inicio en una sola respuesta
+// ============================================
+
+package com.aguardi.ecommerce.storefront.dto;
+
+import com.aguardi.ecommerce.product.dto.CategoryDTO;
+import com.aguardi.ecommerce.product.dto.ProductDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StorefrontHomeDTO {
+    private List<ProductDTO> newArrivals;
+    private List<ProductDTO> onSale;
+    private List<ProductDTO> bestSellers;
+    private List<CategoryDTO> categories;
+
+    // Momento en que se armó la respuesta (puede venir del cache)
+    private LocalDateTime generatedAt;
+}
@@ -0,0 +1,17 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/storefront/service/StorefrontService.java
+// Propósito: Interface del servicio de la tienda (respuestas compuestas)
+// ============================================
+
+package com.aguardi.ecommerce.storefront.service;
+
+import com.aguardi.ecommerce.storefront.dto.StorefrontHomeDTO;
+
+public interface StorefrontService {
+
+    /**
+     * Obtener la página de inicio completa: nuevos, ofertas, más vendidos y categorías
+     * @return Respuesta compuesta (cacheada hasta el próximo cambio del catálogo)
+     */
+    StorefrontHomeDTO getHome();
+}
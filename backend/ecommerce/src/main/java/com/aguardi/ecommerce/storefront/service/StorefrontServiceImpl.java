@@ -0,0 +1,157 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/storefront/service/StorefrontServiceImpl.java
+// Propósito: Implementación del servicio de la tienda
+// ============================================
+
+package com.aguardi.ecommerce.storefront.service;
+
+import com.aguardi.ecommerce.config.CacheConfig;
+import com.aguardi.ecommerce.product.dto.CategoryDTO;
+import com.aguardi.ecommerce.product.dto.ProductDTO;
+import com.aguardi.ecommerce.product.service.CategoryService;
+import com.aguardi.ecommerce.product.service.ProductService;
+import com.aguardi.ecommerce.shared.datasource.PrimaryReads;
+import com.aguardi.ecommerce.shared.event.CachesResyncEvent;
+import com.aguardi.ecommerce.shared.event.CatalogChangedEvent;
+import com.aguardi.ecommerce.storefront.dto.StorefrontHomeDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+@Service
+@Slf4j
+public class StorefrontServiceImpl implements StorefrontService {
+
+    private final ProductService productService;
+    private final CategoryService categoryService;
+    private final ExecutorService executor;
+    private final TransactionTemplate primaryRead;
+    private final int sectionSize;
+
+    public StorefrontServiceImpl(
+            ProductService productService,
+            CategoryService categoryService,
+            @Qualifier("virtualThreadExecutor") ExecutorService executor,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.storefront.section-size:8}") int sectionSize
+    ) {
+        this.productService = productService;
+        this.categoryService = categoryService;
+        this.executor = executor;
+        this.primaryRead = PrimaryReads.template(transactionManager);
+        this.sectionSize = sectionSize;
+    }
+
+    /**
+     * sync: después de cada invalidación la arma un solo request; los demás
+     * esperan ese resultado en lugar de recalcularla todos a la vez.
+     *
+     * Las secciones se leen del primario: con una réplica atrasada, la home armada
+     * justo después de un cambio lo perdería y quedaría cacheada así
+     */
+    @Override
+    @Cacheable(value = CacheConfig.STOREFRONT_HOME, sync = true)
+    public StorefrontHomeDTO getHome() {
+        log.info("Building storefront home");
+
+        PageRequest newest = PageRequest.of(0, sectionSize, Sort.by("createdAt").descending());
+
+        // Cada sección corre en su propio virtual thread (y su propia transacción de lectura en el primario)
+        CompletionService<Object> sections = new ExecutorCompletionService<>(executor);
+        Future<List<ProductDTO>> newArrivals = fork(sections,
+                () -> productService.getNewProducts(newest).getContent());
+        Future<List<ProductDTO>> onSale = fork(sections,
+                () -> productService.getProductsOnSale(newest).getContent());
+        Future<List<ProductDTO>> bestSellers = fork(sections,
+                () -> productService.getBestSellers(sectionSize));
+        Future<List<CategoryDTO>> categories = fork(sections,
+                categoryService::getAllActiveCategories);
+
+        joinAll(sections, newArrivals, onSale, bestSellers, categories);
+
+        return StorefrontHomeDTO.builder()
+                .newArrivals(newArrivals.resultNow())
+                .onSale(onSale.resultNow())
+                .bestSellers(bestSellers.resultNow())
+                .categories(categories.resultNow())
+                .generatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Invalidar la home cuando cambia el catálogo (después del commit)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(value = CacheConfig.STOREFRONT_HOME, allEntries = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        log.debug("Storefront home evicted: {}", event);
+    }
+
+    @EventListener
+    @CacheEvict(value = CacheConfig.STOREFRONT_HOME, allEntries = true)
+    public void onCachesResync(CachesResyncEvent event) {
+        log.debug("Storefront home evicted: {}", event);
+    }
+
+    // ========================================
+    // MÉTODOS PRIVADOS
+    // ========================================
+
+    @SuppressWarnings("unchecked")
+    private <T> Future<T> fork(CompletionService<Object> sections, Supplier<T> task) {
+        // submit devuelve el mismo Future que después entrega take()
+        return (Future<T>) sections.submit(() -> primaryRead.execute(status -> task.get()));
+    }
+
+    /**
+     * Esperar todas las sub-consultas en orden de finalización. La primera que
+     * falla interrumpe a las demás y su error es el que se propaga (mismo
+     * contrato que ShutdownOnFailure).
+     */
+    private void joinAll(CompletionService<Object> sections, Future<?>... tasks) {
+        try {
+            for (int i = 0; i < tasks.length; i++) {
+                try {
+                    sections.take().get();
+                } catch (ExecutionException e) {
+                    cancelAll(tasks);
+                    if (e.getCause() instanceof RuntimeException cause) {
+                        throw cause;
+                    }
+                    if (e.getCause() instanceof Error error) {
+                        throw error;
+                    }
+                    throw new IllegalStateException("Storefront section failed", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            cancelAll(tasks);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building storefront home", e);
+        }
+    }
+
+    private void cancelAll(Future<?>... tasks) {
+        for (Future<?> task : tasks) {
+            task.cancel(true);
+        }
+    }
+}
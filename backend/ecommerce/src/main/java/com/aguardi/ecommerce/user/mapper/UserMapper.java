@@ -7,6 +7,7 @@ package com.aguardi.ecommerce.user.mapper;
 
 import com.aguardi.ecommerce.user.dto.*;
 import com.aguardi.ecommerce.user.entity.User;
+import com.aguardi.ecommerce.user.repository.UserSummary;
 import org.mapstruct.*;
 
 import java.util.List;
@@ -29,6 +30,13 @@ public interface UserMapper {
      */
     UserDTO toDTO(User user);
 
+    /**
+     * Convertir un UserSummary (listados paginados) a UserDTO
+     * @param summary Modelo de lectura del usuario
+     * @return DTO de usuario
+     */
+    UserDTO toDTO(UserSummary summary);
+
     /**
      * Convertir lista de User a lista de UserDTO
      * @param users Lista de entidades
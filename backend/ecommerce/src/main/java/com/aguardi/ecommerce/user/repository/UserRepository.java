@@ -22,6 +22,15 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * SELECT de los listados paginados: solo las columnas de UserDTO, sin
+     * entidades administradas
+     */
+    String SUMMARY_SELECT = "SELECT new com.aguardi.ecommerce.user.repository.UserSummary(" +
+            "u.id, u.firstName, u.lastName, u.email, u.phone, u.role, u.enabled, u.emailVerified, " +
+            "u.createdAt, u.lastLoginAt) " +
+            "FROM User u ";
+
     // ========================================
     // BÚSQUEDAS BÁSICAS
     // ========================================
@@ -47,6 +56,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmailIgnoreCase(String email);
 
+    /**
+     * Listar todos los usuarios
+     * @param pageable Configuración de paginación
+     * @return Página de usuarios
+     */
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserSummary> findSummaries(Pageable pageable);
+
     // ========================================
     // BÚSQUEDAS POR ROL
     // ========================================
@@ -64,7 +81,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param pageable Configuración de paginación
      * @return Página de usuarios
      */
-    Page<User> findByRole(Role role, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE u.role = :role",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE u.role = :role")
+    Page<UserSummary> findByRole(@Param("role") Role role, Pageable pageable);
 
     /**
      * Contar usuarios por rol
@@ -82,14 +101,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param pageable Configuración de paginación
      * @return Página de usuarios activos
      */
-    Page<User> findByEnabledTrue(Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE u.enabled = true",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE u.enabled = true")
+    Page<UserSummary> findByEnabledTrue(Pageable pageable);
 
     /**
      * Buscar usuarios inactivos
      * @param pageable Configuración de paginación
      * @return Página de usuarios inactivos
      */
-    Page<User> findByEnabledFalse(Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE u.enabled = false",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE u.enabled = false")
+    Page<UserSummary> findByEnabledFalse(Pageable pageable);
 
     /**
      * Buscar usuarios con email verificado
@@ -113,7 +136,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param pageable Configuración de paginación
      * @return Página de usuarios
      */
-    Page<User> findByFirstNameContainingIgnoreCase(String firstName, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE LOWER(u.firstName) LIKE LOWER(CONCAT('%', :firstName, '%'))",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE LOWER(u.firstName) LIKE LOWER(CONCAT('%', :firstName, '%'))")
+    Page<UserSummary> findByFirstNameContainingIgnoreCase(@Param("firstName") String firstName, Pageable pageable);
 
     /**
      * Buscar usuarios por apellido (ignorando mayúsculas)
@@ -121,7 +146,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param pageable Configuración de paginación
      * @return Página de usuarios
      */
-    Page<User> findByLastNameContainingIgnoreCase(String lastName, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE LOWER(u.lastName) LIKE LOWER(CONCAT('%', :lastName, '%'))",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE LOWER(u.lastName) LIKE LOWER(CONCAT('%', :lastName, '%'))")
+    Page<UserSummary> findByLastNameContainingIgnoreCase(@Param("lastName") String lastName, Pageable pageable);
 
     /**
      * Buscar usuarios por nombre completo usando query personalizada
@@ -129,10 +156,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param pageable Configuración de paginación
      * @return Página de usuarios
      */
-    @Query("SELECT u FROM User u WHERE " +
+    @Query(value = SUMMARY_SELECT + "WHERE " +
             "LOWER(CONCAT(u.firstName, ' ', u.lastName)) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-            "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<User> searchUsers(@Param("searchTerm") String searchTerm, Pageable pageable);
+            "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE " +
+                    "LOWER(CONCAT(u.firstName, ' ', u.lastName)) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+                    "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    Page<UserSummary> searchUsers(@Param("searchTerm") String searchTerm, Pageable pageable);
 
     // ========================================
     // BÚSQUEDAS POR FECHA
@@ -0,0 +1,27 @@
+// ============================================
+// FILE: src/main/java/com/aguardi/ecommerce/user/repository/UserSummary.java
+// Propósito: Modelo de lectura para listados de usuarios (sin entidades administradas)
+// ============================================
+
+package com.aguardi.ecommerce.user.repository;
+
+import com.aguardi.ecommerce.user.entity.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columnas que necesita UserDTO; el hash de la contraseña no se lee.
+ */
+public record UserSummary(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        String phone,
+        Role role,
+        Boolean enabled,
+        Boolean emailVerified,
+        LocalDateTime createdAt,
+        LocalDateTime lastLoginAt
+) {
+}
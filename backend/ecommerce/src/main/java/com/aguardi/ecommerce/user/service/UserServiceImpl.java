@@ -5,6 +5,7 @@
 
 package com.aguardi.ecommerce.user.service;
 
+import com.aguardi.ecommerce.shared.event.UserChangedEvent;
 import com.aguardi.ecommerce.shared.exception.BadRequestException;
 import com.aguardi.ecommerce.shared.exception.ConflictException;
 import com.aguardi.ecommerce.shared.exception.ForbiddenException;
@@ -17,8 +18,10 @@ import com.aguardi.ecommerce.user.mapper.AddressMapper;
 import com.aguardi.ecommerce.user.mapper.UserMapper;
 import com.aguardi.ecommerce.user.repository.AddressRepository;
 import com.aguardi.ecommerce.user.repository.UserRepository;
+import com.aguardi.ecommerce.user.repository.UserSummary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -37,6 +40,7 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final AddressMapper addressMapper;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -80,7 +84,7 @@ public class UserServiceImpl implements UserService {
             throw new ForbiddenException("Solo los administradores pueden ver todos los usuarios");
         }
 
-        Page<User> users = userRepository.findAll(pageable);
+        Page<UserSummary> users = userRepository.findSummaries(pageable);
         return users.map(userMapper::toDTO);
     }
 
@@ -94,7 +98,7 @@ public class UserServiceImpl implements UserService {
             throw new ForbiddenException("Solo los administradores pueden buscar usuarios");
         }
 
-        Page<User> users = userRepository.searchUsers(searchTerm, pageable);
+        Page<UserSummary> users = userRepository.searchUsers(searchTerm, pageable);
         return users.map(userMapper::toDTO);
     }
 
@@ -118,6 +122,7 @@ public class UserServiceImpl implements UserService {
         userMapper.updateUserFromDTO(request, user);
 
         user = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.of(userId));
 
         log.info("Profile updated successfully for user: {}", userId);
 
@@ -146,6 +151,7 @@ public class UserServiceImpl implements UserService {
         // Actualizar contraseña
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.of(userId));
 
         log.info("Password changed successfully for user: {}", userId);
 
@@ -167,6 +173,7 @@ public class UserServiceImpl implements UserService {
 
         user.setEnabled(enabled);
         user = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.of(userId));
 
         log.info("User status toggled successfully for user: {}", userId);
 
@@ -189,6 +196,7 @@ public class UserServiceImpl implements UserService {
         // Soft delete (deshabilitar usuario en lugar de eliminarlo)
         user.setEnabled(false);
         userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.of(userId));
 
         log.info("User deleted (disabled) successfully: {}", userId);
     }
@@ -0,0 +1,19 @@
+-- ============================================
+-- FILE: src/main/resources/db/migration/V10__add_product_search_indexes.sql
+-- Propósito: Índices para la búsqueda del catálogo (texto y ordenamientos sobre productos activos)
+-- Versión: 10
+-- ============================================
+
+-- LIKE '%texto%' no puede usar un B-tree: los índices trigram sí
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_product_name_trgm ON products USING GIN (LOWER(name) gin_trgm_ops);
+CREATE INDEX idx_product_description_trgm ON products USING GIN (LOWER(description) gin_trgm_ops);
+
+-- Ordenamientos permitidos en la búsqueda (solo productos activos, con el ID como desempate)
+CREATE INDEX idx_product_active_created_at ON products(created_at DESC, id DESC) WHERE active = true;
+CREATE INDEX idx_product_active_price ON products(price, id) WHERE active = true;
+CREATE INDEX idx_product_active_name ON products(name, id) WHERE active = true;
+
+COMMENT ON INDEX idx_product_name_trgm IS 'Búsqueda por texto en el nombre (LIKE sobre LOWER(name))';
+COMMENT ON INDEX idx_product_description_trgm IS 'Búsqueda por texto en la descripción (LIKE sobre LOWER(description))';
@@ -0,0 +1,59 @@
+-- ============================================
+-- FILE: src/main/resources/db/migration/V11__create_product_recommendations.sql
+-- Propósito: Co-compras de productos y recomendaciones precalculadas ("comprados juntos")
+-- Versión: 11
+-- ============================================
+
+-- Órdenes pagadas en las que aparece cada producto
+CREATE TABLE product_purchase_counts (
+    product_id BIGINT PRIMARY KEY,
+    orders_count INTEGER NOT NULL,
+
+    CONSTRAINT fk_purchase_count_product FOREIGN KEY (product_id)
+        REFERENCES products(id) ON DELETE CASCADE
+);
+
+-- Órdenes pagadas en las que aparecen juntos dos productos (se guardan ambos sentidos)
+CREATE TABLE product_co_purchases (
+    product_id BIGINT NOT NULL,
+    related_product_id BIGINT NOT NULL,
+    orders_count INTEGER NOT NULL,
+
+    PRIMARY KEY (product_id, related_product_id),
+    CONSTRAINT fk_co_purchase_product FOREIGN KEY (product_id)
+        REFERENCES products(id) ON DELETE CASCADE,
+    CONSTRAINT fk_co_purchase_related FOREIGN KEY (related_product_id)
+        REFERENCES products(id) ON DELETE CASCADE
+);
+
+-- Vecinos más afines de cada producto, de mayor a menor afinidad
+CREATE TABLE product_recommendations (
+    product_id BIGINT PRIMARY KEY,
+    related_ids BIGINT[] NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_recommendation_product FOREIGN KEY (product_id)
+        REFERENCES products(id) ON DELETE CASCADE
+);
+
+-- Cada instancia recarga solo lo que cambió desde su última lectura
+CREATE INDEX idx_product_recommendation_updated ON product_recommendations(updated_at);
+
+-- Última orden pagada procesada (una sola fila)
+CREATE TABLE co_purchase_cursor (
+    id SMALLINT PRIMARY KEY DEFAULT 1,
+    last_paid_at TIMESTAMP NOT NULL,
+    last_order_id BIGINT NOT NULL,
+
+    CONSTRAINT check_co_purchase_cursor_single CHECK (id = 1)
+);
+
+INSERT INTO co_purchase_cursor (id, last_paid_at, last_order_id) VALUES (1, '2000-01-01', 0);
+
+-- Recorrido de las órdenes pagadas por (paid_at, id)
+CREATE INDEX idx_order_paid_at ON orders(paid_at, id) WHERE paid_at IS NOT NULL;
+
+COMMENT ON TABLE product_co_purchases IS 'Órdenes pagadas que contienen ambos productos';
+COMMENT ON TABLE product_recommendations IS 'Top-N de productos comprados junto a cada producto';
+COMMENT ON COLUMN product_recommendations.related_ids IS 'IDs ordenados por afinidad (coseno entre conjuntos de órdenes)';
+COMMENT ON TABLE co_purchase_cursor IS 'Posición del job product-recommendations en las órdenes pagadas';
@@ -0,0 +1,22 @@
+-- ============================================
+-- FILE: src/main/resources/db/migration/V12__create_product_view_stats.sql
+-- Propósito: Vistas diarias del detalle de cada producto (volcadas en lotes desde memoria)
+-- Versión: 12
+-- ============================================
+
+-- Una fila por producto y día: cada volcado suma a la fila del día
+CREATE TABLE product_view_stats (
+    product_id BIGINT NOT NULL,
+    view_date DATE NOT NULL,
+    views BIGINT NOT NULL,
+
+    PRIMARY KEY (product_id, view_date),
+    CONSTRAINT fk_product_view_stats_product FOREIGN KEY (product_id)
+        REFERENCES products(id) ON DELETE CASCADE
+);
+
+-- Rankings por período (más vistos, conversión) y limpieza por antigüedad
+CREATE INDEX idx_product_view_stats_date ON product_view_stats(view_date, product_id) INCLUDE (views);
+
+COMMENT ON TABLE product_view_stats IS 'Vistas del detalle de producto por día';
+COMMENT ON COLUMN product_view_stats.views IS 'Requests GET /api/products/{id} respondidos (incluye los servidos desde cache)';
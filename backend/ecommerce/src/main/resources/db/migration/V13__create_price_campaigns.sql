@@ -0,0 +1,73 @@
+-- ============================================
+-- FILE: src/main/resources/db/migration/V13__create_price_campaigns.sql
+-- Propósito: Campañas de precios con vigencia (ofertas por producto o por categoría)
+-- Versión: 13
+-- ============================================
+
+CREATE TABLE price_campaigns (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(200) NOT NULL,
+    starts_at TIMESTAMP NOT NULL,
+    ends_at TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    products_applied INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT check_price_campaign_dates CHECK (ends_at > starts_at),
+    CONSTRAINT check_price_campaign_status CHECK (status IN ('SCHEDULED', 'ACTIVE', 'ENDED', 'CANCELLED'))
+);
+
+-- Próximo inicio y próximo fin (el timer se programa con el menor de los dos)
+CREATE INDEX idx_price_campaign_scheduled_start ON price_campaigns(starts_at) WHERE status = 'SCHEDULED';
+CREATE INDEX idx_price_campaign_active_end ON price_campaigns(ends_at) WHERE status = 'ACTIVE';
+
+-- Reglas: un producto o una categoría, con precio fijo o porcentaje de descuento
+CREATE TABLE price_campaign_rules (
+    id BIGSERIAL PRIMARY KEY,
+    campaign_id BIGINT NOT NULL,
+    product_id BIGINT,
+    category_id BIGINT,
+    discount_percent DECIMAL(5, 2),
+    sale_price DECIMAL(10, 2),
+
+    CONSTRAINT fk_price_campaign_rule_campaign FOREIGN KEY (campaign_id)
+        REFERENCES price_campaigns(id) ON DELETE CASCADE,
+    CONSTRAINT fk_price_campaign_rule_product FOREIGN KEY (product_id)
+        REFERENCES products(id) ON DELETE CASCADE,
+    CONSTRAINT fk_price_campaign_rule_category FOREIGN KEY (category_id)
+        REFERENCES categories(id) ON DELETE CASCADE,
+    CONSTRAINT check_price_campaign_rule_target CHECK ((product_id IS NULL) <> (category_id IS NULL)),
+    CONSTRAINT check_price_campaign_rule_price CHECK ((discount_percent IS NULL) <> (sale_price IS NULL)),
+    CONSTRAINT check_price_campaign_rule_discount CHECK (discount_percent IS NULL OR (discount_percent > 0 AND discount_percent < 100)),
+    CONSTRAINT check_price_campaign_rule_sale_price CHECK (sale_price IS NULL OR sale_price > 0)
+);
+
+CREATE INDEX idx_price_campaign_rule_campaign ON price_campaign_rules(campaign_id);
+
+-- Productos a los que se aplicó cada campaña, con la oferta manual que tenían antes
+CREATE TABLE price_campaign_products (
+    campaign_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    sale_price DECIMAL(10, 2) NOT NULL,
+    previous_on_sale BOOLEAN NOT NULL,
+    previous_sale_price DECIMAL(10, 2),
+
+    PRIMARY KEY (campaign_id, product_id),
+    CONSTRAINT fk_price_campaign_product_campaign FOREIGN KEY (campaign_id)
+        REFERENCES price_campaigns(id) ON DELETE CASCADE,
+    CONSTRAINT fk_price_campaign_product_product FOREIGN KEY (product_id)
+        REFERENCES products(id) ON DELETE CASCADE
+);
+
+-- Campaña que fijó la oferta actual del producto (NULL = oferta manual o sin oferta)
+ALTER TABLE products ADD COLUMN price_campaign_id BIGINT;
+ALTER TABLE products ADD CONSTRAINT fk_product_price_campaign FOREIGN KEY (price_campaign_id)
+    REFERENCES price_campaigns(id) ON DELETE SET NULL;
+
+CREATE INDEX idx_product_price_campaign ON products(price_campaign_id) WHERE price_campaign_id IS NOT NULL;
+
+COMMENT ON TABLE price_campaigns IS 'Campañas de precios con inicio y fin programados';
+COMMENT ON COLUMN price_campaigns.products_applied IS 'Productos que pasaron a oferta al activarse';
+COMMENT ON TABLE price_campaign_products IS 'Precios aplicados por cada campaña y oferta previa a restaurar al terminar';
+COMMENT ON COLUMN products.price_campaign_id IS 'Campaña dueña de sale_price/on_sale (una edición manual la libera)';
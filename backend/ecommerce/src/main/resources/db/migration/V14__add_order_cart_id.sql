@@ -0,0 +1,13 @@
+-- ============================================
+-- FILE: src/main/resources/db/migration/V14__add_order_cart_id.sql
+-- Propósito: Carrito del que salió cada orden (un carrito genera a lo sumo una orden)
+-- Versión: 14
+-- ============================================
+
+-- Dos checkouts concurrentes del mismo carrito: el segundo INSERT espera al
+-- primero y falla por la restricción única, deshaciendo su descuento de stock
+ALTER TABLE orders ADD COLUMN cart_id UUID;
+
+ALTER TABLE orders ADD CONSTRAINT uk_order_cart_id UNIQUE (cart_id);
+
+COMMENT ON COLUMN orders.cart_id IS 'Carrito convertido en la orden; NULL si se creó con items sueltos';
@@ -0,0 +1,29 @@
+-- ============================================
+-- FILE: src/main/resources/db/migration/V15__create_stock_holds.sql
+-- Propósito: Reservas temporales de stock de los checkouts en curso
+-- Versión: 15
+-- ============================================
+
+-- Compartidas por todas las instancias: el descuento de stock de una orden
+-- resta lo reservado por otros carritos en el mismo UPDATE condicional.
+-- Sin FK a carts: un carrito puede existir solo en memoria hasta el flush
+CREATE TABLE stock_holds (
+    cart_id UUID NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+
+    PRIMARY KEY (cart_id, product_id),
+    CONSTRAINT fk_stock_hold_product FOREIGN KEY (product_id)
+        REFERENCES products(id) ON DELETE CASCADE,
+    CONSTRAINT chk_stock_hold_quantity CHECK (quantity > 0)
+);
+
+-- Unidades reservadas de un producto (solo reservas vigentes)
+CREATE INDEX idx_stock_hold_product ON stock_holds(product_id, expires_at) INCLUDE (quantity);
+
+-- Barrido de reservas vencidas
+CREATE INDEX idx_stock_hold_expires ON stock_holds(expires_at);
+
+COMMENT ON TABLE stock_holds IS 'Unidades reservadas por cada checkout hasta que se crea la orden o vence la reserva';
+COMMENT ON COLUMN stock_holds.expires_at IS 'Hora de la BD en la que vence; las vencidas no cuentan aunque el barrido no las haya borrado';
@@ -0,0 +1,11 @@
+-- ============================================
+-- FILE: src/main/resources/db/migration/V16__add_cart_version.sql
+-- Propósito: Versión de cada carrito (cada cambio se escribe en la BD con control optimista)
+-- Versión: 16
+-- ============================================
+
+-- Cada escritura hace UPDATE ... WHERE version = <la leída> y la incrementa:
+-- dos instancias que modifican el mismo carrito no se pisan, la segunda relee y reintenta
+ALTER TABLE carts ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN carts.version IS 'Se incrementa con cada cambio del carrito o de sus items';
@@ -0,0 +1,45 @@
+-- ============================================
+-- FILE: src/main/resources/db/migration/V7__create_carts_table.sql
+-- Propósito: Crear tablas de carritos (persistencia diferida del carrito en memoria)
+-- Versión: 7
+-- ============================================
+
+-- Tabla de carritos
+CREATE TABLE carts (
+    id UUID PRIMARY KEY,
+    user_id BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_cart_user FOREIGN KEY (user_id)
+        REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Índices para carritos
+CREATE INDEX idx_cart_user_id ON carts(user_id);
+CREATE INDEX idx_cart_updated_at ON carts(updated_at);
+
+-- Comentarios
+COMMENT ON TABLE carts IS 'Carritos de compra (anónimos o de usuarios registrados)';
+COMMENT ON COLUMN carts.user_id IS 'Dueño del carrito; NULL si es anónimo';
+
+-- ============================================
+
+-- Tabla de items del carrito
+CREATE TABLE cart_items (
+    cart_id UUID NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+
+    PRIMARY KEY (cart_id, product_id),
+    CONSTRAINT fk_cart_item_cart FOREIGN KEY (cart_id)
+        REFERENCES carts(id) ON DELETE CASCADE,
+    CONSTRAINT fk_cart_item_product FOREIGN KEY (product_id)
+        REFERENCES products(id) ON DELETE CASCADE,
+    CONSTRAINT check_cart_item_quantity_positive CHECK (quantity > 0)
+);
+
+-- Índices para cart_items
+CREATE INDEX idx_cart_item_product_id ON cart_items(product_id);
+
+-- ============================================
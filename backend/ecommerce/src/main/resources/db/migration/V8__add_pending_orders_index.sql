@@ -0,0 +1,8 @@
+-- ============================================
+-- FILE: src/main/resources/db/migration/V8__add_pending_orders_index.sql
+-- Propósito: Índice parcial para recorrer órdenes pendientes por (created_at, id)
+-- Versión: 8
+-- ============================================
+
+-- Usado por el job que cancela órdenes pendientes de pago vencidas
+CREATE INDEX idx_order_pending_created ON orders(created_at, id) WHERE status = 'PENDING';
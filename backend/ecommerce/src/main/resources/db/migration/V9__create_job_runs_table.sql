@@ -0,0 +1,28 @@
+-- ============================================
+-- FILE: src/main/resources/db/migration/V9__create_job_runs_table.sql
+-- Propósito: Historial de ejecuciones de los jobs de mantenimiento
+-- Versión: 9
+-- ============================================
+
+CREATE TABLE job_runs (
+    id BIGSERIAL PRIMARY KEY,
+    job_name VARCHAR(100) NOT NULL,
+    scheduled_at TIMESTAMP NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP,
+    status VARCHAR(20) NOT NULL,
+    duration_ms BIGINT,
+    node VARCHAR(255),
+    result TEXT,
+    error TEXT,
+
+    -- Un disparo se ejecuta una sola vez aunque varios nodos lo programen
+    CONSTRAINT uk_job_run_schedule UNIQUE (job_name, scheduled_at),
+    CONSTRAINT check_job_run_status CHECK (status IN ('RUNNING', 'SUCCEEDED', 'FAILED'))
+);
+
+CREATE INDEX idx_job_run_name_started ON job_runs(job_name, started_at DESC);
+
+COMMENT ON TABLE job_runs IS 'Historial de ejecuciones de jobs programados';
+COMMENT ON COLUMN job_runs.scheduled_at IS 'Disparo del cron que originó la ejecución';
+COMMENT ON COLUMN job_runs.node IS 'Nodo que tomó el advisory lock y ejecutó el job';
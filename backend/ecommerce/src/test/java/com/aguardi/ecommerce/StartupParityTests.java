@@ -0,0 +1,108 @@
+package com.aguardi.ecommerce;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.NativeDetector;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Paridad JVM / imagen nativa contra PostgreSQL en Testcontainers.
+ * JVM: mvn test -Dtest=StartupParityTests | Nativo: mvn -PnativeTest test
+ * Ambos modos registran tiempo de arranque y RSS en el log y los comparan con un
+ * límite por modo (se puede cambiar con -Dstartup.max-time=... y
+ * -Dstartup.max-rss-mb=...). El RSS solo se verifica donde existe /proc.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@Import({TestcontainersConfiguration.class, StartupParityTests.StartupRecorder.class})
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class StartupParityTests {
+
+	private static final Logger log = LoggerFactory.getLogger(StartupParityTests.class);
+
+	// Límites por defecto: holgados respecto de lo medido, para detectar regresiones y no ruido
+	private static final Duration JVM_MAX_STARTUP = Duration.ofSeconds(30);
+	private static final long JVM_MAX_RSS_MB = 1024;
+	private static final Duration NATIVE_MAX_STARTUP = Duration.ofSeconds(3);
+	private static final long NATIVE_MAX_RSS_MB = 384;
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Test
+	void publicCatalogEndpointsRespond() {
+		ResponseEntity<Map> categories = restTemplate.getForEntity("/api/categories", Map.class);
+		ResponseEntity<Map> products = restTemplate.getForEntity("/api/products?page=0&size=5", Map.class);
+		ResponseEntity<Map> health = restTemplate.getForEntity("/api/actuator/health", Map.class);
+
+		assertThat(categories.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(categories.getBody()).containsEntry("success", true);
+		assertThat(products.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(products.getBody()).containsKey("data");
+		assertThat(health.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+		boolean nativeImage = NativeDetector.inNativeImage();
+		Duration maxStartup = Duration.parse(System.getProperty("startup.max-time",
+				(nativeImage ? NATIVE_MAX_STARTUP : JVM_MAX_STARTUP).toString()));
+		long maxRssMb = Long.getLong("startup.max-rss-mb", nativeImage ? NATIVE_MAX_RSS_MB : JVM_MAX_RSS_MB);
+
+		Duration startup = StartupRecorder.startupTime;
+		OptionalLong rssMb = readResidentSetSizeMb();
+
+		log.info("Startup parity [{}] startup={} ms rss={}", nativeImage ? "native" : "jvm",
+				startup.toMillis(), rssMb.isPresent() ? rssMb.getAsLong() + " MB" : "n/a");
+
+		assertThat(startup).as("tiempo de arranque").isPositive().isLessThanOrEqualTo(maxStartup);
+		rssMb.ifPresent(rss -> assertThat(rss).as("RSS (MB)").isLessThanOrEqualTo(maxRssMb));
+	}
+
+	// ========================================
+	// MÉTODOS PRIVADOS
+	// ========================================
+
+	/**
+	 * VmRSS de /proc/self/status (Linux), en MB
+	 */
+	private static OptionalLong readResidentSetSizeMb() {
+		try {
+			return Files.readAllLines(Path.of("/proc/self/status")).stream()
+					.filter(line -> line.startsWith("VmRSS:"))
+					.map(line -> line.substring("VmRSS:".length()).replace("kB", "").trim())
+					.mapToLong(kb -> Long.parseLong(kb) / 1024)
+					.findFirst();
+		} catch (IOException e) {
+			return OptionalLong.empty();
+		}
+	}
+
+	@TestConfiguration(proxyBeanMethods = false)
+	static class StartupRecorder {
+
+		static volatile Duration startupTime = Duration.ZERO;
+
+		@Bean
+		ApplicationListener<ApplicationReadyEvent> startupTimeListener() {
+			return event -> startupTime = event.getTimeTaken();
+		}
+	}
+
+}
@@ -0,0 +1,187 @@
+package com.aguardi.ecommerce.config;
+
+import com.aguardi.ecommerce.order.dto.OrderDTO;
+import com.aguardi.ecommerce.order.entity.OrderStatus;
+import com.aguardi.ecommerce.payment.dto.PaymentDTO;
+import com.aguardi.ecommerce.payment.entity.PaymentMethod;
+import com.aguardi.ecommerce.payment.entity.PaymentStatus;
+import com.aguardi.ecommerce.product.dto.ProductDTO;
+import com.aguardi.ecommerce.shared.dto.ApiResponse;
+import com.aguardi.ecommerce.shared.dto.PageResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara JSON contra Smile y CBOR (mismo builder que WebMvcConfig) sobre páginas
+ * de 100 ProductDTO, OrderDTO y PaymentDTO: tamaño, encode y decode.
+ *
+ * El tamaño es determinístico y se verifica contra el JSON; los tiempos solo se
+ * registran en el log. Fuera del build normal: mvn -Pbenchmark test
+ */
+@Tag("benchmark")
+class BinaryFormatBenchmarkTests {
+
+	private static final Logger log = LoggerFactory.getLogger(BinaryFormatBenchmarkTests.class);
+
+	private static final int WARMUP_ITERATIONS = 2_000;
+	private static final int MEASURED_ITERATIONS = 5_000;
+
+	// Tamaño máximo respecto del JSON (medido: Smile ~0,45-0,56, CBOR ~0,86-0,93)
+	private static final Map<String, Double> MAX_SIZE_RATIO = Map.of(
+			"smile", 0.60,
+			"cbor", 0.95
+	);
+
+	@Test
+	void binaryFormatsRoundTripAndAreSmallerThanJson() throws Exception {
+		Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+		mappers.put("json", builder().build());
+		mappers.put("smile", builder().smile().build());
+		mappers.put("cbor", builder().cbor().build());
+
+		Map<String, Payload<?>> payloads = new LinkedHashMap<>();
+		payloads.put("products", new Payload<>(page(BinaryFormatBenchmarkTests::product),
+				new TypeReference<ApiResponse<PageResponse<ProductDTO>>>() {}));
+		payloads.put("orders", new Payload<>(page(BinaryFormatBenchmarkTests::order),
+				new TypeReference<ApiResponse<PageResponse<OrderDTO>>>() {}));
+		payloads.put("payments", new Payload<>(page(BinaryFormatBenchmarkTests::payment),
+				new TypeReference<ApiResponse<PageResponse<PaymentDTO>>>() {}));
+
+		for (Map.Entry<String, Payload<?>> payload : payloads.entrySet()) {
+			Result json = measure(mappers.get("json"), payload.getValue());
+
+			for (Map.Entry<String, ObjectMapper> mapper : mappers.entrySet()) {
+				Result result = mapper.getKey().equals("json") ? json : measure(mapper.getValue(), payload.getValue());
+
+				log.info("{} {}: {} bytes | encode {} us/op | decode {} us/op",
+						payload.getKey(), mapper.getKey(), result.bytes(),
+						String.format("%.1f", result.encodeMicros()), String.format("%.1f", result.decodeMicros()));
+
+				if (!mapper.getKey().equals("json")) {
+					assertThat(result.bytes()).as("%s %s", payload.getKey(), mapper.getKey())
+							.isLessThanOrEqualTo((int) (json.bytes() * MAX_SIZE_RATIO.get(mapper.getKey())));
+				}
+			}
+		}
+	}
+
+	private static Jackson2ObjectMapperBuilder builder() {
+		return new Jackson2ObjectMapperBuilder()
+				.serializationInclusion(JsonInclude.Include.NON_NULL)
+				.modulesToInstall(new ObjectMapperConfig().blackbirdModule());
+	}
+
+	private <T> Result measure(ObjectMapper mapper, Payload<T> payload) throws Exception {
+		byte[] encoded = mapper.writeValueAsBytes(payload.value());
+
+		// El decode tiene que reconstruir el mismo DTO
+		T decoded = mapper.readValue(encoded, payload.type());
+		assertThat(decoded).isEqualTo(payload.value());
+
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			mapper.readValue(mapper.writeValueAsBytes(payload.value()), payload.type());
+		}
+
+		int sink = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+			sink += mapper.writeValueAsBytes(payload.value()).length & 1;
+		}
+		long encodeNanos = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+			sink += mapper.readValue(encoded, payload.type()) != null ? 1 : 0;
+		}
+		long decodeNanos = System.nanoTime() - start;
+
+		assertThat(sink).isPositive();
+
+		return new Result(encoded.length,
+				encodeNanos / 1_000.0 / MEASURED_ITERATIONS,
+				decodeNanos / 1_000.0 / MEASURED_ITERATIONS);
+	}
+
+	private static <T> ApiResponse<PageResponse<T>> page(IntFunction<T> factory) {
+		ApiResponse<PageResponse<T>> response = ApiResponse.success(PageResponse.of(new PageImpl<>(
+				IntStream.range(0, 100).mapToObj(factory).toList(),
+				PageRequest.of(0, 100), 1_000)));
+		response.setTimestamp(LocalDateTime.of(2025, 1, 15, 10, 30));
+		return response;
+	}
+
+	private static ProductDTO product(int i) {
+		return ProductDTO.builder()
+				.id((long) i)
+				.name("Vestido de fiesta " + i)
+				.description("Vestido de fiesta para niñas con tul y lentejuelas, talle " + (i % 12))
+				.price(new BigDecimal("45999.00"))
+				.salePrice(i % 3 == 0 ? new BigDecimal("39999.00") : null)
+				.categoryId(1L)
+				.categoryName("Fiesta")
+				.stock(i % 7)
+				.isNew(i % 5 == 0)
+				.onSale(i % 3 == 0)
+				.active(true)
+				.mainImageUrl("https://res.cloudinary.com/aguardi/image/upload/products/vestido_" + i + ".jpg")
+				.discountPercentage(i % 3 == 0 ? 13 : 0)
+				.effectivePrice(i % 3 == 0 ? new BigDecimal("39999.00") : new BigDecimal("45999.00"))
+				.build();
+	}
+
+	private static OrderDTO order(int i) {
+		return OrderDTO.builder()
+				.id((long) i)
+				.orderNumber(String.format("ORD-2025-%05d", i))
+				.userId((long) (i % 20))
+				.status(OrderStatus.values()[i % OrderStatus.values().length])
+				.subtotal(new BigDecimal("91998.00"))
+				.shippingCost(new BigDecimal("2500.00"))
+				.discount(BigDecimal.ZERO)
+				.total(new BigDecimal("94498.00"))
+				.itemCount(2)
+				.createdAt(LocalDateTime.of(2025, 1, 15, 10, 30).plusMinutes(i))
+				.paidAt(i % 2 == 0 ? LocalDateTime.of(2025, 1, 15, 11, 0).plusMinutes(i) : null)
+				.build();
+	}
+
+	private static PaymentDTO payment(int i) {
+		return PaymentDTO.builder()
+				.id((long) i)
+				.orderId((long) i)
+				.orderNumber(String.format("ORD-2025-%05d", i))
+				.userId((long) (i % 20))
+				.amount(new BigDecimal("94498.00"))
+				.status(PaymentStatus.values()[i % PaymentStatus.values().length])
+				.method(PaymentMethod.CREDIT_CARD)
+				.externalPaymentId(String.valueOf(1_300_000_000L + i))
+				.statusDetail("accredited")
+				.createdAt(LocalDateTime.of(2025, 1, 15, 10, 30).plusMinutes(i))
+				.build();
+	}
+
+	private record Payload<T>(T value, TypeReference<T> type) {
+	}
+
+	private record Result(int bytes, double encodeMicros, double decodeMicros) {
+	}
+
+}
@@ -0,0 +1,142 @@
+package com.aguardi.ecommerce.config;
+
+import com.aguardi.ecommerce.product.dto.CategoryDTO;
+import com.aguardi.ecommerce.product.dto.ProductDTO;
+import com.aguardi.ecommerce.product.dto.ProductDetailDTO;
+import com.aguardi.ecommerce.product.dto.ProductImageDTO;
+import com.aguardi.ecommerce.shared.dto.ApiResponse;
+import com.aguardi.ecommerce.shared.dto.PageResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara la configuración anterior (ObjectMapper propio con INDENT_OUTPUT)
+ * contra la actual de producción (mapper de Boot compacto + Blackbird)
+ * sobre una página de 100 ProductDTO y un ProductDetailDTO.
+ *
+ * El tamaño es determinístico y se verifica; los tiempos solo se registran en el
+ * log. Fuera del build normal: mvn -Pbenchmark test
+ */
+@Tag("benchmark")
+class JsonSerializationBenchmarkTests {
+
+	private static final Logger log = LoggerFactory.getLogger(JsonSerializationBenchmarkTests.class);
+
+	private static final int WARMUP_ITERATIONS = 2_000;
+	private static final int MEASURED_ITERATIONS = 5_000;
+
+	// Tamaño máximo del JSON compacto respecto del indentado (medido: ~0,69 la página, ~0,63 el detalle)
+	private static final double MAX_SIZE_RATIO = 0.75;
+
+	@Test
+	void compactBlackbirdMapperIsSmallerAndFaster() throws Exception {
+		ObjectMapper previous = new ObjectMapper()
+				.registerModule(new JavaTimeModule())
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.enable(SerializationFeature.INDENT_OUTPUT);
+
+		ObjectMapper current = Jackson2ObjectMapperBuilder.json()
+				.serializationInclusion(JsonInclude.Include.NON_NULL)
+				.modulesToInstall(new ObjectMapperConfig().blackbirdModule())
+				.build();
+
+		Object page = ApiResponse.success(PageResponse.of(new PageImpl<>(
+				IntStream.range(0, 100).mapToObj(JsonSerializationBenchmarkTests::product).toList(),
+				PageRequest.of(0, 100), 1_000)));
+		Object detail = ApiResponse.success(productDetail());
+
+		for (Object payload : List.of(page, detail)) {
+			Result before = measure(previous, payload);
+			Result after = measure(current, payload);
+
+			String name = payload == page ? "page" : "detail";
+			log.info("JSON {}: previous {} bytes {} us/op | current {} bytes {} us/op", name,
+					before.bytes(), String.format("%.1f", before.microsPerOp()),
+					after.bytes(), String.format("%.1f", after.microsPerOp()));
+
+			assertThat(after.bytes()).as("JSON %s", name)
+					.isLessThanOrEqualTo((int) (before.bytes() * MAX_SIZE_RATIO));
+		}
+	}
+
+	private Result measure(ObjectMapper mapper, Object payload) throws Exception {
+		int bytes = 0;
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			bytes = mapper.writeValueAsBytes(payload).length;
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+			bytes += mapper.writeValueAsBytes(payload).length & 1;
+		}
+		long elapsed = System.nanoTime() - start;
+
+		return new Result(mapper.writeValueAsBytes(payload).length, elapsed / 1_000.0 / MEASURED_ITERATIONS);
+	}
+
+	private static ProductDTO product(int i) {
+		return ProductDTO.builder()
+				.id((long) i)
+				.name("Vestido de fiesta " + i)
+				.description("Vestido de fiesta para niñas con tul y lentejuelas, talle " + (i % 12))
+				.price(new BigDecimal("45999.00"))
+				.salePrice(i % 3 == 0 ? new BigDecimal("39999.00") : null)
+				.categoryId(1L)
+				.categoryName("Fiesta")
+				.stock(i % 7)
+				.isNew(i % 5 == 0)
+				.onSale(i % 3 == 0)
+				.active(true)
+				.mainImageUrl("https://res.cloudinary.com/aguardi/image/upload/products/vestido_" + i + ".jpg")
+				.discountPercentage(i % 3 == 0 ? 13 : 0)
+				.effectivePrice(i % 3 == 0 ? new BigDecimal("39999.00") : new BigDecimal("45999.00"))
+				.build();
+	}
+
+	private static ProductDetailDTO productDetail() {
+		return ProductDetailDTO.builder()
+				.id(1L)
+				.name("Vestido de fiesta")
+				.description("Vestido de fiesta para niñas con tul y lentejuelas")
+				.price(new BigDecimal("45999.00"))
+				.category(CategoryDTO.builder().id(1L).name("Fiesta").slug("fiesta").build())
+				.stock(4)
+				.weight(new BigDecimal("0.35"))
+				.isNew(true)
+				.onSale(false)
+				.active(true)
+				.sku("VF-001")
+				.images(IntStream.range(0, 4).mapToObj(i -> ProductImageDTO.builder()
+						.id((long) i)
+						.url("https://res.cloudinary.com/aguardi/image/upload/products/vestido_1_" + i + ".jpg")
+						.isMain(i == 0)
+						.displayOrder(i)
+						.build()).toList())
+				.effectivePrice(new BigDecimal("45999.00"))
+				.discountPercentage(0)
+				.inStock(true)
+				.createdAt(LocalDateTime.of(2025, 1, 15, 10, 30))
+				.relatedProducts(IntStream.range(0, 4).mapToObj(JsonSerializationBenchmarkTests::product).toList())
+				.build();
+	}
+
+	private record Result(int bytes, double microsPerOp) {
+	}
+
+}
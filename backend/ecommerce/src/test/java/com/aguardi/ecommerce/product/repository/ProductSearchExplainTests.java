@@ -0,0 +1,232 @@
+package com.aguardi.ecommerce.product.repository;
+
+import com.aguardi.ecommerce.product.dto.ProductFilterRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cada combinación de filtros de la búsqueda genera SQL que PostgreSQL resuelve
+ * con índices: se ejecuta la consulta real, se captura el SQL que emite
+ * Hibernate (con parámetros, como en producción) y se revisa el plan genérico
+ * (plan_cache_mode = force_generic_plan), el que se reutiliza para cualquier
+ * valor de los parámetros.
+ *
+ * Se revisa la página (ORDER BY + OFFSET/FETCH): tiene que usar el índice del
+ * ordenamiento o alguno de los índices del filtro, nunca recorrer la tabla. El
+ * COUNT de un filtro amplio puede recorrerla con razón y no se revisa.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ProductSearchExplainTests {
+
+	@Container
+	private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+	private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+	// Índice parcial (active = true) de cada ordenamiento permitido
+	private static final Map<String, String> SORT_INDEXES = Map.of(
+			"createdAt", "idx_product_active_created_at",
+			"price", "idx_product_active_price",
+			"name", "idx_product_active_name"
+	);
+
+	private static SingleConnectionDataSource dataSource;
+	private static JdbcTemplate jdbcTemplate;
+	private static EntityManagerFactory entityManagerFactory;
+
+	@BeforeAll
+	static void setUp() {
+		Flyway.configure()
+				.dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+				.locations("classpath:db/migration")
+				.load()
+				.migrate();
+
+		// Una sola conexión: el SET de la sesión vale para las consultas y sus EXPLAIN
+		dataSource = new SingleConnectionDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword(), true);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		seed();
+		jdbcTemplate.execute("SET plan_cache_mode = force_generic_plan");
+
+		LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+		factoryBean.setDataSource(dataSource);
+		factoryBean.setPackagesToScan("com.aguardi.ecommerce");
+		factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+		factoryBean.setJpaPropertyMap(Map.of(
+				AvailableSettings.PHYSICAL_NAMING_STRATEGY, "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy",
+				AvailableSettings.USE_SECOND_LEVEL_CACHE, false,
+				AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+					statements.add(sql);
+					return sql;
+				}
+		));
+		factoryBean.afterPropertiesSet();
+		entityManagerFactory = factoryBean.getObject();
+	}
+
+	@AfterAll
+	static void tearDown() {
+		if (entityManagerFactory != null) {
+			entityManagerFactory.close();
+		}
+		if (dataSource != null) {
+			dataSource.destroy();
+		}
+	}
+
+	static Stream<Arguments> filters() {
+		List<String> category = List.of("idx_product_category_id", "idx_product_category_active");
+		List<String> text = List.of("idx_product_name_trgm", "idx_product_description_trgm");
+		List<String> price = List.of("idx_product_price", "idx_product_active_price");
+
+		return Stream.of(
+				Arguments.of("sin filtros", ProductFilterRequest.builder().build(), List.of()),
+				Arguments.of("categoría", ProductFilterRequest.builder().categoryId(3L).build(), category),
+				Arguments.of("slug", ProductFilterRequest.builder().categorySlug("categoria-3").build(), category),
+				Arguments.of("texto", ProductFilterRequest.builder().searchTerm("vestido 42").build(), text),
+				Arguments.of("precio", ProductFilterRequest.builder()
+						.minPrice(BigDecimal.valueOf(9_000)).maxPrice(BigDecimal.valueOf(9_100)).build(), price),
+				Arguments.of("nuevos", ProductFilterRequest.builder().isNew(true).build(),
+						List.of("idx_product_is_new")),
+				Arguments.of("ofertas", ProductFilterRequest.builder().onSale(true).build(),
+						List.of("idx_product_on_sale")),
+				Arguments.of("sin stock", ProductFilterRequest.builder().inStock(false).build(),
+						List.of("idx_product_stock", "idx_product_active_stock")),
+				Arguments.of("texto + categoría + precio", ProductFilterRequest.builder()
+						.searchTerm("remera").categoryId(5L)
+						.minPrice(BigDecimal.valueOf(1_000)).maxPrice(BigDecimal.valueOf(5_000)).build(),
+						concat(text, category, price)),
+				Arguments.of("categoría + flags", ProductFilterRequest.builder()
+						.categorySlug("categoria-7").isNew(true).onSale(true).inStock(true).build(),
+						concat(category, List.of("idx_product_is_new", "idx_product_on_sale"))),
+				Arguments.of("todos", ProductFilterRequest.builder()
+						.searchTerm("vestido").categoryId(2L)
+						.minPrice(BigDecimal.valueOf(100)).maxPrice(BigDecimal.valueOf(9_000))
+						.isNew(true).onSale(false).inStock(true).build(),
+						concat(text, category, price, List.of("idx_product_is_new")))
+		);
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("filters")
+	void searchUsesIndexes(String description, ProductFilterRequest filter, List<String> filterIndexes) {
+		for (Map.Entry<String, String> sort : SORT_INDEXES.entrySet()) {
+			statements.clear();
+
+			EntityManager entityManager = entityManagerFactory.createEntityManager();
+			try {
+				// Página chica de una búsqueda amplia: se ejecutan la consulta y el COUNT
+				new ProductSearchRepositoryImpl(entityManager).findSummaries(
+						ProductSpecifications.matching(filter),
+						PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, sort.getKey()).and(Sort.by(Sort.Direction.DESC, "id"))));
+			} finally {
+				entityManager.close();
+			}
+
+			List<String> pageQueries = statements.stream()
+					.filter(sql -> sql.toLowerCase(Locale.ROOT).contains(" offset "))
+					.toList();
+			assertThat(pageQueries).as("SQL de la página").hasSize(1);
+
+			List<String> expected = concat(List.of(sort.getValue()), filterIndexes);
+			String plan = explainGeneric(pageQueries.get(0));
+
+			assertThat(plan).as("%s / %s%n%s", description, sort.getKey(), plan)
+					.doesNotContain("Seq Scan on products")
+					.containsAnyOf(expected.toArray(String[]::new));
+		}
+	}
+
+	// ========================================
+	// MÉTODOS PRIVADOS
+	// ========================================
+
+	/**
+	 * Catálogo sesgado: pocos productos nuevos, en oferta o sin stock, y textos
+	 * que se repiten poco, para que los índices sean selectivos
+	 */
+	private static void seed() {
+		jdbcTemplate.update("INSERT INTO categories (name, slug) " +
+				"SELECT 'Categoría ' || n, 'categoria-' || n FROM generate_series(1, 20) n");
+
+		jdbcTemplate.update("INSERT INTO products (name, description, price, category_id, stock, is_new, on_sale, active, created_at) " +
+				"SELECT (ARRAY['Vestido', 'Remera', 'Pantalón', 'Campera'])[1 + n % 4] || ' ' || n, " +
+				"       'Descripción del producto ' || md5(n::text), " +
+				"       100 + (n % 10000), " +
+				"       (SELECT id FROM categories WHERE slug = 'categoria-' || (1 + n % 20)), " +
+				"       CASE WHEN n % 50 = 0 THEN 0 ELSE n % 30 + 1 END, " +
+				"       n % 100 = 0, n % 40 = 0, n % 200 <> 0, " +
+				"       now() - (n || ' minutes')::interval " +
+				"FROM generate_series(1, 20000) n");
+
+		jdbcTemplate.update("INSERT INTO product_images (product_id, url, public_id, is_main, display_order) " +
+				"SELECT p.id, 'https://img/' || p.id || '/' || i, 'p' || p.id || '-' || i, i = 1, i " +
+				"FROM products p CROSS JOIN generate_series(1, 2) i");
+
+		jdbcTemplate.execute("ANALYZE");
+	}
+
+	/**
+	 * EXPLAIN del plan genérico del SQL capturado: se prepara con los ? como $n
+	 * (los tipos los infiere PostgreSQL) y se ejecuta con NULL en cada parámetro.
+	 * Con force_generic_plan los valores no cambian el plan
+	 */
+	private static String explainGeneric(String sql) {
+		StringBuilder numbered = new StringBuilder();
+		int parameters = 0;
+		for (char c : sql.toCharArray()) {
+			if (c == '?') {
+				numbered.append('$').append(++parameters);
+			} else {
+				numbered.append(c);
+			}
+		}
+
+		jdbcTemplate.execute("PREPARE search_plan AS " + numbered);
+		try {
+			String execute = parameters == 0
+					? "EXPLAIN EXECUTE search_plan"
+					: "EXPLAIN EXECUTE search_plan(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")";
+
+			return jdbcTemplate.queryForList(execute, String.class).stream()
+					.collect(Collectors.joining("\n"));
+		} finally {
+			jdbcTemplate.execute("DEALLOCATE search_plan");
+		}
+	}
+
+	@SafeVarargs
+	private static List<String> concat(List<String>... lists) {
+		return Stream.of(lists).flatMap(List::stream).toList();
+	}
+}
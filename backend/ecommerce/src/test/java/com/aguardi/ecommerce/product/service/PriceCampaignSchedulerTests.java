@@ -0,0 +1,370 @@
+package com.aguardi.ecommerce.product.service;
+
+import com.aguardi.ecommerce.product.repository.PriceCampaignRepository;
+import com.aguardi.ecommerce.shared.event.CatalogChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ciclo de vida de las campañas contra las sentencias reales (resolución de
+ * reglas, aplicación y restauración): cada instancia de PriceCampaignScheduler
+ * hace de un nodo, todas sobre la misma BD.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PriceCampaignSchedulerTests {
+
+	@Container
+	private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+	private static JdbcTemplate jdbcTemplate;
+	private static EntityManagerFactory entityManagerFactory;
+	private static PriceCampaignRepository campaignRepository;
+	private static TransactionTemplate transactionTemplate;
+	private static ThreadPoolTaskScheduler taskScheduler;
+
+	private final List<Object> events = new CopyOnWriteArrayList<>();
+
+	private Long categoryId;
+
+	@BeforeAll
+	static void setUp() {
+		Flyway.configure()
+				.dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+				.locations("classpath:db/migration")
+				.load()
+				.migrate();
+
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+		jdbcTemplate = new JdbcTemplate(dataSource);
+
+		LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+		factoryBean.setDataSource(dataSource);
+		factoryBean.setPackagesToScan("com.aguardi.ecommerce");
+		factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+		factoryBean.setJpaPropertyMap(Map.of(
+				AvailableSettings.PHYSICAL_NAMING_STRATEGY, "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy",
+				AvailableSettings.USE_SECOND_LEVEL_CACHE, false
+		));
+		factoryBean.afterPropertiesSet();
+		entityManagerFactory = factoryBean.getObject();
+
+		campaignRepository = new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory))
+				.getRepository(PriceCampaignRepository.class);
+		transactionTemplate = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+
+		taskScheduler = new ThreadPoolTaskScheduler();
+		taskScheduler.initialize();
+	}
+
+	@AfterAll
+	static void tearDown() {
+		if (taskScheduler != null) {
+			taskScheduler.shutdown();
+		}
+		if (entityManagerFactory != null) {
+			entityManagerFactory.close();
+		}
+	}
+
+	@BeforeEach
+	void resetCatalog() {
+		jdbcTemplate.update("DELETE FROM price_campaigns");
+		jdbcTemplate.update("DELETE FROM products");
+		jdbcTemplate.update("DELETE FROM categories");
+
+		categoryId = jdbcTemplate.queryForObject(
+				"INSERT INTO categories (name, slug) VALUES ('Vestidos', 'vestidos') RETURNING id", Long.class);
+	}
+
+	@Test
+	void activatesThenExpiresAndRestoresPreviousOffer() {
+		Long manualOffer = insertProduct("Vestido largo", "1000.00", "900.00");
+		Long noOffer = insertProduct("Vestido corto", "1000.00", null);
+
+		Long campaignId = insertCampaign(LocalDateTime.now().minusMinutes(5), LocalDateTime.now().plusHours(1));
+		productRule(campaignId, manualOffer, "700.00");
+		productRule(campaignId, noOffer, "800.00");
+
+		PriceCampaignScheduler node = node();
+		node.processDue();
+
+		assertThat(status(campaignId)).isEqualTo("ACTIVE");
+		assertThat(productsApplied(campaignId)).isEqualTo(2);
+		assertOffer(manualOffer, "700.00", campaignId);
+		assertOffer(noOffer, "800.00", campaignId);
+		assertThat(changedProducts()).containsExactlyInAnyOrder(manualOffer, noOffer);
+
+		endNow(campaignId);
+		node.processDue();
+
+		assertThat(status(campaignId)).isEqualTo("ENDED");
+		assertOffer(manualOffer, "900.00", null);
+		assertNoOffer(noOffer);
+	}
+
+	@Test
+	void productRuleBeatsCategoryRule() {
+		Long withProductRule = insertProduct("Vestido largo", "1000.00", null);
+		Long categoryOnly = insertProduct("Vestido corto", "1000.00", null);
+
+		Long campaignId = insertCampaign(LocalDateTime.now().minusMinutes(5), LocalDateTime.now().plusHours(1));
+		categoryRule(campaignId, "10.00");
+		productRule(campaignId, withProductRule, "950.00");
+
+		node().processDue();
+
+		// La regla de producto gana aunque la de categoría dé un precio menor
+		assertOffer(withProductRule, "950.00", campaignId);
+		assertOffer(categoryOnly, "900.00", campaignId);
+	}
+
+	@Test
+	void manualEditReleasesProductFromCampaign() {
+		Long edited = insertProduct("Vestido largo", "1000.00", null);
+		Long untouched = insertProduct("Vestido corto", "1000.00", null);
+
+		Long campaignId = insertCampaign(LocalDateTime.now().minusMinutes(5), LocalDateTime.now().plusHours(1));
+		categoryRule(campaignId, "20.00");
+
+		PriceCampaignScheduler node = node();
+		node.processDue();
+
+		// Lo que hace ProductServiceImpl.updateProduct al cambiar la oferta a mano
+		jdbcTemplate.update("UPDATE products SET sale_price = 850, price_campaign_id = NULL WHERE id = ?", edited);
+
+		endNow(campaignId);
+		node.processDue();
+
+		assertOffer(edited, "850.00", null);
+		assertNoOffer(untouched);
+		// Al terminar solo se avisa por el producto que la campaña restauró
+		assertThat(events.get(events.size() - 1)).isInstanceOfSatisfying(CatalogChangedEvent.class,
+				event -> assertThat(event.getEntityIds()).containsExactly(untouched));
+	}
+
+	@Test
+	void overlappingCampaignSkipsProductsOfActiveCampaign() {
+		Long productId = insertProduct("Vestido largo", "1000.00", null);
+
+		Long first = insertCampaign(LocalDateTime.now().minusMinutes(10), LocalDateTime.now().plusHours(1));
+		productRule(first, productId, "700.00");
+		Long second = insertCampaign(LocalDateTime.now().minusMinutes(5), LocalDateTime.now().plusHours(2));
+		productRule(second, productId, "600.00");
+
+		PriceCampaignScheduler node = node();
+		node.processDue();
+
+		assertThat(status(first)).isEqualTo("ACTIVE");
+		assertThat(status(second)).isEqualTo("ACTIVE");
+		assertThat(productsApplied(second)).isZero();
+		assertOffer(productId, "700.00", first);
+
+		// La segunda no lo toma al terminar la primera: los productos se resuelven al activarse
+		endNow(first);
+		node.processDue();
+
+		assertNoOffer(productId);
+	}
+
+	@Test
+	void racingNodesApplyCampaignOnce() throws Exception {
+		Long first = insertProduct("Vestido largo", "1000.00", null);
+		Long second = insertProduct("Vestido corto", "1000.00", null);
+
+		Long campaignId = insertCampaign(LocalDateTime.now().minusMinutes(5), LocalDateTime.now().plusHours(1));
+		categoryRule(campaignId, "15.00");
+
+		List<PriceCampaignScheduler> nodes = List.of(node(), node());
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(nodes.size());
+		try {
+			List<Future<?>> runs = new ArrayList<>();
+			for (PriceCampaignScheduler node : nodes) {
+				runs.add(executor.submit(() -> {
+					start.await();
+					node.processDue();
+					return null;
+				}));
+			}
+
+			start.countDown();
+			for (Future<?> run : runs) {
+				run.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(status(campaignId)).isEqualTo("ACTIVE");
+		assertThat(productsApplied(campaignId)).isEqualTo(2);
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM price_campaign_products WHERE campaign_id = ?", Integer.class, campaignId)).isEqualTo(2);
+		assertOffer(first, "850.00", campaignId);
+		assertOffer(second, "850.00", campaignId);
+
+		// Solo el nodo que ganó la transición aplicó precios y avisó a los caches
+		assertThat(events).hasSize(1);
+	}
+
+	@Test
+	void racingDifferentCampaignsKeepFirstOwnersPrice() throws Exception {
+		Long shared = insertProduct("Vestido largo", "1000.00", null);
+		Long secondOnly = insertProduct("Vestido corto", "1000.00", null);
+
+		Long first = insertCampaign(LocalDateTime.now().minusMinutes(10), LocalDateTime.now().plusHours(1));
+		productRule(first, shared, "700.00");
+		// Más cara que la primera: pisarla subiría el precio que se cobra
+		Long second = insertCampaign(LocalDateTime.now().minusMinutes(5), LocalDateTime.now().plusHours(1));
+		productRule(second, shared, "800.00");
+		productRule(second, secondOnly, "800.00");
+
+		CountDownLatch firstResolved = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			// Cada campaña en su nodo: la segunda resuelve mientras la primera todavía no confirmó
+			Future<List<Long>> firstRun = executor.submit(() -> transactionTemplate.execute(status -> {
+				campaignRepository.resolveCampaignProducts(first);
+				firstResolved.countDown();
+				pause();
+				return campaignRepository.applyCampaignPrices(first);
+			}));
+			Future<List<Long>> secondRun = executor.submit(() -> {
+				firstResolved.await();
+				return transactionTemplate.execute(status -> {
+					campaignRepository.resolveCampaignProducts(second);
+					return campaignRepository.applyCampaignPrices(second);
+				});
+			});
+
+			assertThat(firstRun.get()).containsExactly(shared);
+			assertThat(secondRun.get()).containsExactly(secondOnly);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertOffer(shared, "700.00", first);
+		assertOffer(secondOnly, "800.00", second);
+		assertThat(jdbcTemplate.queryForList(
+				"SELECT product_id FROM price_campaign_products WHERE campaign_id = ?", Long.class, second))
+				.containsExactly(secondOnly);
+	}
+
+	// ========================================
+	// MÉTODOS PRIVADOS
+	// ========================================
+
+	private PriceCampaignScheduler node() {
+		return new PriceCampaignScheduler(campaignRepository, events::add, transactionTemplate, taskScheduler);
+	}
+
+	/**
+	 * Dar tiempo a la otra transacción para llegar a su resolución (y quedar esperando el lock)
+	 */
+	private static void pause() {
+		try {
+			Thread.sleep(300);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private Long insertProduct(String name, String price, String salePrice) {
+		return jdbcTemplate.queryForObject(
+				"INSERT INTO products (name, description, price, sale_price, category_id, stock, is_new, on_sale, active, created_at) " +
+						"VALUES (?, 'Descripción', ?, ?, ?, 10, false, ?, true, now()) RETURNING id",
+				Long.class, name, new BigDecimal(price), salePrice != null ? new BigDecimal(salePrice) : null,
+				categoryId, salePrice != null);
+	}
+
+	private Long insertCampaign(LocalDateTime startsAt, LocalDateTime endsAt) {
+		return jdbcTemplate.queryForObject(
+				"INSERT INTO price_campaigns (name, starts_at, ends_at, status) VALUES ('Campaña', ?, ?, 'SCHEDULED') RETURNING id",
+				Long.class, Timestamp.valueOf(startsAt), Timestamp.valueOf(endsAt));
+	}
+
+	private void productRule(Long campaignId, Long productId, String salePrice) {
+		jdbcTemplate.update("INSERT INTO price_campaign_rules (campaign_id, product_id, sale_price) VALUES (?, ?, ?)",
+				campaignId, productId, new BigDecimal(salePrice));
+	}
+
+	private void categoryRule(Long campaignId, String discountPercent) {
+		jdbcTemplate.update("INSERT INTO price_campaign_rules (campaign_id, category_id, discount_percent) VALUES (?, ?, ?)",
+				campaignId, categoryId, new BigDecimal(discountPercent));
+	}
+
+	/**
+	 * Mover el fin de la campaña al pasado (con la hora de la JVM, la misma que usa el scheduler)
+	 */
+	private void endNow(Long campaignId) {
+		jdbcTemplate.update("UPDATE price_campaigns SET ends_at = ? WHERE id = ?",
+				Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)), campaignId);
+	}
+
+	private String status(Long campaignId) {
+		return jdbcTemplate.queryForObject("SELECT status FROM price_campaigns WHERE id = ?", String.class, campaignId);
+	}
+
+	private int productsApplied(Long campaignId) {
+		return jdbcTemplate.queryForObject("SELECT products_applied FROM price_campaigns WHERE id = ?", Integer.class, campaignId);
+	}
+
+	private void assertOffer(Long productId, String salePrice, Long campaignId) {
+		Map<String, Object> product = jdbcTemplate.queryForMap(
+				"SELECT on_sale, sale_price, price_campaign_id FROM products WHERE id = ?", productId);
+
+		assertThat(product.get("on_sale")).as("on_sale de %d", productId).isEqualTo(true);
+		assertThat((BigDecimal) product.get("sale_price")).as("sale_price de %d", productId)
+				.isEqualByComparingTo(salePrice);
+		assertThat(product.get("price_campaign_id")).as("campaña de %d", productId).isEqualTo(campaignId);
+	}
+
+	private void assertNoOffer(Long productId) {
+		Map<String, Object> product = jdbcTemplate.queryForMap(
+				"SELECT on_sale, sale_price, price_campaign_id FROM products WHERE id = ?", productId);
+
+		assertThat(product.get("on_sale")).as("on_sale de %d", productId).isEqualTo(false);
+		assertThat(product.get("sale_price")).as("sale_price de %d", productId).isNull();
+		assertThat(product.get("price_campaign_id")).as("campaña de %d", productId).isNull();
+	}
+
+	private List<Long> changedProducts() {
+		return events.stream()
+				.filter(CatalogChangedEvent.class::isInstance)
+				.map(CatalogChangedEvent.class::cast)
+				.flatMap(event -> event.getEntityIds().stream())
+				.toList();
+	}
+}
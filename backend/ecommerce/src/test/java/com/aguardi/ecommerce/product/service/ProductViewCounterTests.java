@@ -0,0 +1,125 @@
+package com.aguardi.ecommerce.product.service;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Volcado de vistas contra el upsert real: las vistas se suman a la fila del
+ * día y, si el volcado falla, quedan en memoria para el siguiente.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ProductViewCounterTests {
+
+	@Container
+	private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+	private static JdbcTemplate jdbcTemplate;
+	private static Long firstProductId;
+	private static Long secondProductId;
+
+	private ProductViewCounter counter;
+
+	@BeforeAll
+	static void setUp() {
+		Flyway.configure()
+				.dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+				.locations("classpath:db/migration")
+				.load()
+				.migrate();
+
+		jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+				postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+
+		Long categoryId = jdbcTemplate.queryForObject(
+				"INSERT INTO categories (name, slug) VALUES ('Vestidos', 'vestidos') RETURNING id", Long.class);
+		firstProductId = insertProduct("Vestido largo", categoryId);
+		secondProductId = insertProduct("Vestido corto", categoryId);
+	}
+
+	@BeforeEach
+	void resetStats() {
+		jdbcTemplate.update("DELETE FROM product_view_stats");
+		counter = new ProductViewCounter(jdbcTemplate);
+	}
+
+	@Test
+	void flushAddsViewsToTodayRow() {
+		record(firstProductId, 3);
+		record(secondProductId, 1);
+		counter.flush();
+
+		// Sin vistas nuevas no se toca la BD
+		counter.flush();
+
+		record(firstProductId, 2);
+		counter.flush();
+
+		assertThat(viewsToday(firstProductId)).isEqualTo(5);
+		assertThat(viewsToday(secondProductId)).isEqualTo(1);
+	}
+
+	@Test
+	void failedFlushKeepsViewsForNextFlush() {
+		record(firstProductId, 4);
+
+		jdbcTemplate.execute("ALTER TABLE product_view_stats RENAME TO product_view_stats_offline");
+		try {
+			assertThatCode(counter::flush).doesNotThrowAnyException();
+		} finally {
+			jdbcTemplate.execute("ALTER TABLE product_view_stats_offline RENAME TO product_view_stats");
+		}
+		assertThat(viewsToday(firstProductId)).isZero();
+
+		// Lo que no se pudo volcar se suma a lo registrado mientras tanto
+		record(firstProductId, 1);
+		counter.flush();
+
+		assertThat(viewsToday(firstProductId)).isEqualTo(5);
+	}
+
+	@Test
+	void viewsOfDeletedProductsAreDiscarded() {
+		record(firstProductId, 2);
+		record(Long.MAX_VALUE, 7);
+
+		assertThatCode(counter::flush).doesNotThrowAnyException();
+
+		assertThat(viewsToday(firstProductId)).isEqualTo(2);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product_view_stats", Integer.class)).isEqualTo(1);
+	}
+
+	// ========================================
+	// MÉTODOS PRIVADOS
+	// ========================================
+
+	private void record(Long productId, int views) {
+		for (int i = 0; i < views; i++) {
+			counter.record(productId);
+		}
+	}
+
+	private static long viewsToday(Long productId) {
+		Long views = jdbcTemplate.queryForObject(
+				"SELECT COALESCE(SUM(views), 0) FROM product_view_stats WHERE product_id = ? AND view_date = CURRENT_DATE",
+				Long.class, productId);
+		return views == null ? 0 : views;
+	}
+
+	private static Long insertProduct(String name, Long categoryId) {
+		return jdbcTemplate.queryForObject(
+				"INSERT INTO products (name, description, price, category_id, stock, is_new, on_sale, active, created_at) " +
+						"VALUES (?, 'Descripción', 1000, ?, 10, false, false, true, now()) RETURNING id",
+				Long.class, name, categoryId);
+	}
+}
@@ -0,0 +1,126 @@
+package com.aguardi.ecommerce.shared.datasource;
+
+import com.aguardi.ecommerce.auth.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ruteo primario / réplica con dos PostgreSQL independientes: cada transacción
+ * se identifica por current_database().
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReplicaRoutingDataSourceTests {
+
+	@Container
+	private static final PostgreSQLContainer<?> primary = new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"))
+			.withDatabaseName("primary_db");
+
+	@Container
+	private static final PostgreSQLContainer<?> replica = new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"))
+			.withDatabaseName("replica_db");
+
+	private ReplicaLagMonitor lagMonitor;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate writeTransaction;
+	private TransactionTemplate readOnlyTransaction;
+	private TransactionTemplate primaryReadTransaction;
+
+	@BeforeEach
+	void setUp() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		DataSource replicaDataSource = dataSource(replica);
+
+		lagMonitor = new ReplicaLagMonitor(replicaDataSource, Duration.ofSeconds(5), meterRegistry);
+		lagMonitor.check();
+
+		DataSource dataSource = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+				dataSource(primary), replicaDataSource, lagMonitor,
+				new ReadYourWritesTracker(Duration.ofSeconds(10)), meterRegistry));
+
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		writeTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+		primaryReadTransaction = PrimaryReads.template(transactionManager);
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void readOnlyTransactionsGoToReplica() {
+		assertThat(currentDatabase(readOnlyTransaction)).isEqualTo("replica_db");
+		assertThat(currentDatabase(writeTransaction)).isEqualTo("primary_db");
+	}
+
+	@Test
+	void laggingReplicaFallsBackToPrimary() {
+		lagMonitor.update(60, true);
+		assertThat(currentDatabase(readOnlyTransaction)).isEqualTo("primary_db");
+
+		lagMonitor.update(0, true);
+		assertThat(currentDatabase(readOnlyTransaction)).isEqualTo("replica_db");
+	}
+
+	@Test
+	void userReadsOwnWritesFromPrimary() {
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				new UserPrincipal(42L, "cliente@aguardi.com", "", List.of(), true), null, List.of()));
+
+		assertThat(currentDatabase(readOnlyTransaction)).isEqualTo("replica_db");
+
+		writeTransaction.executeWithoutResult(status -> jdbcTemplate.execute("SELECT 1"));
+
+		assertThat(currentDatabase(readOnlyTransaction)).isEqualTo("primary_db");
+
+		// Otro usuario sigue leyendo de la réplica
+		SecurityContextHolder.clearContext();
+		assertThat(currentDatabase(readOnlyTransaction)).isEqualTo("replica_db");
+	}
+
+	@Test
+	void cacheRefillsReadFromPrimaryWithoutStickiness() {
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				new UserPrincipal(42L, "cliente@aguardi.com", "", List.of(), true), null, List.of()));
+
+		assertThat(currentDatabase(primaryReadTransaction)).isEqualTo("primary_db");
+
+		// Las lecturas anidadas se suman a la transacción del primario
+		String nested = primaryReadTransaction.execute(status -> currentDatabase(readOnlyTransaction));
+		assertThat(nested).isEqualTo("primary_db");
+
+		// No cuenta como escritura del usuario
+		assertThat(currentDatabase(readOnlyTransaction)).isEqualTo("replica_db");
+	}
+
+	private String currentDatabase(TransactionTemplate transaction) {
+		return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+	}
+
+	private static DataSource dataSource(PostgreSQLContainer<?> container) {
+		return new DriverManagerDataSource(container.getJdbcUrl(), container.getUsername(), container.getPassword());
+	}
+
+}